@@ -69,15 +69,50 @@ typedef struct _DataBuffer {
     void* currentPosition;
 } DataBuffer;
 
+// Index for a script in the compact format (version 2). The entries are accessed in-place,
+// only the pointers to the individual entries are stored separately.
+typedef struct _ScriptV2 {
+    i32 numberOfTypeEntries;
+    byte** typeEntries;
+    i32 numberOfOperations;
+    byte** operations;
+    i32 numberOfOperationEntries;
+    byte** operationEntries;
+} ScriptV2;
+
+typedef struct _RecordTypeEntryV2 {
+    i32 typeId;
+    i32 dataSize;
+    i32 numberOfFieldMappings;
+    void* fieldMappings;
+} RecordTypeEntryV2;
+
+#define SCRIPT_V2_VERSION 2
+#define SCRIPT_V2_CHECKSUM_OFFSET 5
+#define SCRIPT_V2_HEADER_SIZE 9
+#define ENUM_VALUE_SIZE 4
+#define TYPE_ID_SIZE 4
+
+static const byte SCRIPT_V2_MAGIC[] = {'G', 'A', 'M', 'S'};
+
 static void* consumerScript = NULL;
 static void* providerScript = NULL;
 
+static ScriptV2* consumerScriptV2 = NULL;
+static ScriptV2* providerScriptV2 = NULL;
+
 char errorMessage[80];
 
 int convertStructureForOperation(void* sourceData, void* targetData, void* script, offsetlist typeList, offsetlist operationList, int operationIndex, int mappingType);
 
 int performMappingOperation(DataBuffer* sourceData, DataBuffer* targetData, DataBuffer* scriptPosition, offsetlist typeList);
 
+int prepareScriptV2(void* script, size_t scriptSize, ScriptV2** scriptLocation);
+
+int convertDataV2(int operationIndex, int mappingType, void* sourceData, void* targetData, ScriptV2* script);
+
+void freeScriptV2(ScriptV2** scriptLocation);
+
 int reportError(char* message) {
     printf("Error: %s\n", message);
     return FAILURE;
@@ -217,7 +252,7 @@ void cobolToC(char* source, char* target, int maxLength) {
     }
 }
 
-int loadScript(char* scriptName, void** scriptLocation) {
+int loadScript(char* scriptName, void** scriptLocation, size_t* scriptSizeLocation) {
     struct stat fileStats;
     int returnCode;
     size_t scriptSize;
@@ -251,12 +286,15 @@ int loadScript(char* scriptName, void** scriptLocation) {
     }
     
     *scriptLocation = scriptData;
+    *scriptSizeLocation = scriptSize;
     return SUCCESS;
 }
 
 int loadScripts(char* givenConsumerScriptName, char* givenProviderScriptName) {
     char consumerScriptName[31];
     char providerScriptName[31];
+    size_t consumerScriptSize;
+    size_t providerScriptSize;
     int returnCode;
 
     cobolToC(givenConsumerScriptName, consumerScriptName, 30);
@@ -266,16 +304,27 @@ int loadScripts(char* givenConsumerScriptName, char* givenProviderScriptName) {
     printf("cs: %s, ps: %s\n", consumerScriptName, providerScriptName);
 #endif
 
-    returnCode = loadScript(consumerScriptName, &consumerScript);
+    returnCode = loadScript(consumerScriptName, &consumerScript, &consumerScriptSize);
     if (returnCode != SUCCESS) {
         return reportError("Error loading consumer script.");
     }
     
-    returnCode = loadScript(providerScriptName, &providerScript);
+    returnCode = loadScript(providerScriptName, &providerScript, &providerScriptSize);
     if (returnCode != SUCCESS) {
         return reportError("Error loading provider script.");
     }
     
+    // Build the index for scripts in the compact format
+    returnCode = prepareScriptV2(consumerScript, consumerScriptSize, &consumerScriptV2);
+    if (returnCode != SUCCESS) {
+        return reportError("Error preparing consumer script.");
+    }
+    
+    returnCode = prepareScriptV2(providerScript, providerScriptSize, &providerScriptV2);
+    if (returnCode != SUCCESS) {
+        return reportError("Error preparing provider script.");
+    }
+    
 #ifdef DEBUG
     printf("cs at %p, ps at %p\n", consumerScript, providerScript);
 #endif
@@ -300,10 +349,17 @@ int convertData(int operationIndex, int direction, int mappingType, void* source
 #endif
 
     void* script;
+    ScriptV2* scriptV2;
     if (direction == CONSUMER_TO_PROVIDER) {
         script = consumerScript;
+        scriptV2 = consumerScriptV2;
     } else {
         script = providerScript;
+        scriptV2 = providerScriptV2;
+    }
+    
+    if (scriptV2 != NULL) {
+        return convertDataV2(operationIndex, mappingType, sourceData, targetData, scriptV2);
     }
     
     // Determine offsets for type and operation lists
@@ -954,6 +1010,598 @@ int convertStructureForOperation(void* sourceData, void* targetData, void* scrip
     }
 }
 
+// ------------------------------------------------------------------------------------------
+// Scripts in the compact format (version 2)
+//
+// All integers in the script are stored as unsigned variable-length integers (LEB128), and
+// operations are stored in a shared pool and referenced by their index.
+// ------------------------------------------------------------------------------------------
+
+i32 readVarInt(DataBuffer* buffer) {
+    unsigned char* position = (unsigned char*) buffer->currentPosition;
+    unsigned int value = 0;
+    int shift = 0;
+    unsigned char currentByte;
+    
+    do {
+        currentByte = *position;
+        position++;
+        
+        value |= ((unsigned int) (currentByte & 0x7F)) << shift;
+        shift += 7;
+    } while ((currentByte & 0x80) != 0 && shift < 35);
+    
+    buffer->currentPosition = (void*) position;
+    return (i32) value;
+}
+
+void skipVarInts(DataBuffer* buffer, i32 count) {
+    for (i32 index = 0; index < count; index++) {
+        readVarInt(buffer);
+    }
+}
+
+unsigned int computeCrc32(unsigned char* data, size_t length) {
+    unsigned int crc = 0xFFFFFFFF;
+    
+    for (size_t index = 0; index < length; index++) {
+        crc ^= data[index];
+        
+        for (int bit = 0; bit < 8; bit++) {
+            crc = (crc >> 1) ^ (0xEDB88320 & (0 - (crc & 1)));
+        }
+    }
+    
+    return ~crc;
+}
+
+int skipTypeEntryV2(DataBuffer* scriptPosition) {
+    byte entryType = readByte(scriptPosition);
+    
+    switch (entryType) {
+    case ENTRY_TYPE_ENUM:
+        // Type id, followed by the index map
+        skipVarInts(scriptPosition, 1);
+        skipVarInts(scriptPosition, readVarInt(scriptPosition));
+        break;
+        
+    case ENTRY_TYPE_RECORD:
+        // Type id and data size, followed by pairs of field offsets and operation indexes
+        skipVarInts(scriptPosition, 2);
+        skipVarInts(scriptPosition, 2 * readVarInt(scriptPosition));
+        break;
+        
+    default:
+        snprintf(errorMessage, sizeof(errorMessage), "Unknown entry type %d.", (int) entryType);
+        return reportError(errorMessage);
+    }
+    
+    return SUCCESS;
+}
+
+int skipOperationV2(DataBuffer* scriptPosition) {
+    byte opcode = readByte(scriptPosition);
+    
+    switch (opcode) {
+    case OPCODE_COPY:
+    case OPCODE_SKIP:
+    case OPCODE_MAP_ENUM:
+    case OPCODE_MAP_RECORD:
+    case OPCODE_MAP_MONO_TO_POLY_RECORD:
+        skipVarInts(scriptPosition, 1);
+        break;
+        
+    case OPCODE_MAP_LIST:
+        skipVarInts(scriptPosition, 4);
+        break;
+        
+    case OPCODE_MAP_POLYMORPHIC_RECORD:
+        skipVarInts(scriptPosition, 3 * readVarInt(scriptPosition));
+        break;
+        
+    case OPCODE_MAP_POLY_TO_MONO_RECORD:
+        skipVarInts(scriptPosition, 1);
+        skipVarInts(scriptPosition, readVarInt(scriptPosition));
+        break;
+        
+    default:
+        snprintf(errorMessage, sizeof(errorMessage), "Unsupported opcode %d to skip.", (int) opcode);
+        return reportError(errorMessage);
+    }
+    
+    return SUCCESS;
+}
+
+int skipOperationEntryV2(DataBuffer* scriptPosition) {
+    i32 nameLength = readVarInt(scriptPosition);
+    skipData(scriptPosition, nameLength);
+    
+    // Indexes of the parameter and result mapping operations
+    skipVarInts(scriptPosition, 2);
+    return SUCCESS;
+}
+
+byte** scanSectionV2(DataBuffer* scriptPosition, void* scriptEnd, i32* numberOfElements, int (*skipElement)(DataBuffer*)) {
+    i32 elementCount = readVarInt(scriptPosition);
+    byte** elements = (byte**) malloc(((elementCount > 0) ? elementCount : 1) * sizeof(byte*));
+    if (elements == NULL) {
+        reportError("Error allocating memory for the script index.");
+        return NULL;
+    }
+    
+    for (i32 elementIndex = 0; elementIndex < elementCount; elementIndex++) {
+        elements[elementIndex] = (byte*) getCurrentPosition(scriptPosition);
+        
+        if (skipElement(scriptPosition) != SUCCESS || getCurrentPosition(scriptPosition) > scriptEnd) {
+            free(elements);
+            reportError("Malformed script section.");
+            return NULL;
+        }
+    }
+    
+    *numberOfElements = elementCount;
+    return elements;
+}
+
+void freeScriptV2(ScriptV2** scriptLocation) {
+    ScriptV2* script = *scriptLocation;
+    if (script == NULL) {
+        return;
+    }
+    
+    free(script->typeEntries);
+    free(script->operations);
+    free(script->operationEntries);
+    free(script);
+    
+    *scriptLocation = NULL;
+}
+
+int prepareScriptV2(void* script, size_t scriptSize, ScriptV2** scriptLocation) {
+    *scriptLocation = NULL;
+    
+    // Scripts without the magic number are in the original format and need no preparation
+    if (scriptSize < SCRIPT_V2_HEADER_SIZE || memcmp(script, SCRIPT_V2_MAGIC, sizeof(SCRIPT_V2_MAGIC)) != 0) {
+        return SUCCESS;
+    }
+    
+    byte formatVersion = ((byte*) script)[sizeof(SCRIPT_V2_MAGIC)];
+    if (formatVersion != SCRIPT_V2_VERSION) {
+        snprintf(errorMessage, sizeof(errorMessage), "Unsupported format version %d.", (int) formatVersion);
+        return reportError(errorMessage);
+    }
+    
+    i32 storedChecksum;
+    memcpy(&storedChecksum, (void*) (script + SCRIPT_V2_CHECKSUM_OFFSET), sizeof(i32));
+    unsigned int expectedChecksum = (unsigned int) bigEndianIntToPlatform(storedChecksum);
+    unsigned int actualChecksum = computeCrc32((unsigned char*) (script + SCRIPT_V2_HEADER_SIZE), scriptSize - SCRIPT_V2_HEADER_SIZE);
+    if (expectedChecksum != actualChecksum) {
+        return reportError("Script checksum mismatch.");
+    }
+    
+    ScriptV2* scriptIndex = (ScriptV2*) calloc(1, sizeof(ScriptV2));
+    if (scriptIndex == NULL) {
+        return reportError("Error allocating memory for the script index.");
+    }
+    
+    DataBuffer scriptPosition;
+    setStartPosition(&scriptPosition, script);
+    skipData(&scriptPosition, SCRIPT_V2_HEADER_SIZE);
+    void* scriptEnd = (void*) (script + scriptSize);
+    
+    scriptIndex->typeEntries = scanSectionV2(&scriptPosition, scriptEnd, &scriptIndex->numberOfTypeEntries, skipTypeEntryV2);
+    if (scriptIndex->typeEntries != NULL) {
+        scriptIndex->operations = scanSectionV2(&scriptPosition, scriptEnd, &scriptIndex->numberOfOperations, skipOperationV2);
+    }
+    if (scriptIndex->operations != NULL) {
+        scriptIndex->operationEntries = scanSectionV2(&scriptPosition, scriptEnd, &scriptIndex->numberOfOperationEntries, skipOperationEntryV2);
+    }
+    
+    if (scriptIndex->operationEntries == NULL) {
+        freeScriptV2(&scriptIndex);
+        return FAILURE;
+    }
+    
+#ifdef DEBUG
+    printf("Indexed v2 script: %d types, %d pooled operations, %d operation entries.\n", scriptIndex->numberOfTypeEntries,
+        scriptIndex->numberOfOperations, scriptIndex->numberOfOperationEntries);
+#endif
+    
+    *scriptLocation = scriptIndex;
+    return SUCCESS;
+}
+
+byte* elementFromIndexV2(byte** elements, i32 numberOfElements, i32 index) {
+    if (index < 0 || index >= numberOfElements) {
+        snprintf(errorMessage, sizeof(errorMessage), "Invalid index %d (max index is %d).", index, numberOfElements - 1);
+        reportError(errorMessage);
+        return NULL;
+    }
+    
+    return elements[index];
+}
+
+int performMappingOperationV2(DataBuffer* sourceData, DataBuffer* targetData, i32 operationIndex, ScriptV2* script);
+
+int getRecordTypeEntryV2(i32 typeIndex, ScriptV2* script, RecordTypeEntryV2* typeEntry) {
+    byte* typeEntryPtr = elementFromIndexV2(script->typeEntries, script->numberOfTypeEntries, typeIndex);
+    if (typeEntryPtr == NULL) {
+        return FAILURE;
+    }
+    
+    DataBuffer scriptPosition;
+    setStartPosition(&scriptPosition, typeEntryPtr);
+    
+    byte entryType = readByte(&scriptPosition);
+    if (entryType != ENTRY_TYPE_RECORD) {
+        snprintf(errorMessage, sizeof(errorMessage), "Unexpected entry type %d in record mapping.", (int) entryType);
+        return reportError(errorMessage);
+    }
+    
+    typeEntry->typeId = readVarInt(&scriptPosition);
+    typeEntry->dataSize = readVarInt(&scriptPosition);
+    typeEntry->numberOfFieldMappings = readVarInt(&scriptPosition);
+    typeEntry->fieldMappings = getCurrentPosition(&scriptPosition);
+    
+    return SUCCESS;
+}
+
+int mapRecordFieldsV2(DataBuffer* sourceData, DataBuffer* targetData, RecordTypeEntryV2* typeEntry, ScriptV2* script) {
+    DataBuffer fieldPosition;
+    setStartPosition(&fieldPosition, typeEntry->fieldMappings);
+    
+    for (i32 fieldIndex = 0; fieldIndex < typeEntry->numberOfFieldMappings; fieldIndex++) {
+        i32 sourceFieldOffset = readVarInt(&fieldPosition);
+        i32 operationIndex = readVarInt(&fieldPosition);
+        
+        moveToOffset(sourceData, sourceFieldOffset);
+        if (performMappingOperationV2(sourceData, targetData, operationIndex, script) != SUCCESS) {
+            return FAILURE;
+        }
+    }
+    
+    return SUCCESS;
+}
+
+int mapRecordV2(DataBuffer* sourceData, DataBuffer* targetData, RecordTypeEntryV2* typeEntry, ScriptV2* script) {
+    DataBuffer newSourceData;
+    setStartPosition(&newSourceData, getCurrentPosition(sourceData));
+    
+    return mapRecordFieldsV2(&newSourceData, targetData, typeEntry, script);
+}
+
+int performMapEnumOperationV2(DataBuffer* sourceData, DataBuffer* targetData, DataBuffer* operationPosition, ScriptV2* script) {
+    i32 typeIndex = readVarInt(operationPosition);
+    byte* typeEntryPtr = elementFromIndexV2(script->typeEntries, script->numberOfTypeEntries, typeIndex);
+    if (typeEntryPtr == NULL) {
+        return FAILURE;
+    }
+    
+    DataBuffer entryPosition;
+    setStartPosition(&entryPosition, typeEntryPtr);
+    
+    byte entryType = readByte(&entryPosition);
+    if (entryType != ENTRY_TYPE_ENUM) {
+        snprintf(errorMessage, sizeof(errorMessage), "Unexpected entry type %d in enum mapping.", (int) entryType);
+        return reportError(errorMessage);
+    }
+    
+    byte flags = readByte(sourceData);
+    
+    switch (flags) {
+    case VALUE_ABSENT:
+    case VALUE_UNREPRESENTABLE:
+        writeByte(targetData, flags);
+        return writeNulls(targetData, ENUM_VALUE_SIZE);
+        
+    case VALUE_PRESENT:
+        i32 sourceValue = readInt32(sourceData);
+        
+        // Skip the type id
+        readVarInt(&entryPosition);
+        i32 numberOfValues = readVarInt(&entryPosition);
+        
+        if (sourceValue < 0 || sourceValue >= numberOfValues) {
+            snprintf(errorMessage, sizeof(errorMessage), "Unsupported enum value %d.", (int) sourceValue);
+            return reportError(errorMessage);
+        }
+        
+        // Target indexes are shifted by one, with zero denoting an unmapped value
+        skipVarInts(&entryPosition, sourceValue);
+        i32 mappedValue = readVarInt(&entryPosition) - 1;
+        
+        if (mappedValue >= 0) {
+            writeByte(targetData, VALUE_PRESENT);
+            writeInt32(targetData, mappedValue);
+        } else {
+            writeByte(targetData, VALUE_UNREPRESENTABLE);
+            writeInt32(targetData, 0);
+        }
+        return SUCCESS;
+        
+    default:
+        snprintf(errorMessage, sizeof(errorMessage), "Unsupported value flags %d.", (int) flags);
+        return reportError(errorMessage);
+    }
+}
+
+int performMapRecordOperationV2(DataBuffer* sourceData, DataBuffer* targetData, DataBuffer* operationPosition, ScriptV2* script) {
+    RecordTypeEntryV2 typeEntry;
+    if (getRecordTypeEntryV2(readVarInt(operationPosition), script, &typeEntry) != SUCCESS) {
+        return FAILURE;
+    }
+    
+    byte flags = readByte(sourceData);
+    
+    switch (flags) {
+    case VALUE_ABSENT:
+    case VALUE_UNREPRESENTABLE:
+        writeByte(targetData, flags);
+        return writeNulls(targetData, typeEntry.dataSize);
+        
+    case VALUE_PRESENT:
+        writeByte(targetData, VALUE_PRESENT);
+        return mapRecordV2(sourceData, targetData, &typeEntry, script);
+        
+    default:
+        snprintf(errorMessage, sizeof(errorMessage), "Unsupported value flags %d.", (int) flags);
+        return reportError(errorMessage);
+    }
+}
+
+int performListMappingOperationV2(DataBuffer* sourceData, DataBuffer* targetData, DataBuffer* operationPosition, ScriptV2* script) {
+    i32 maxElementCount = readVarInt(operationPosition);
+    i32 sourceElementSize = readVarInt(operationPosition);
+    i32 targetElementSize = readVarInt(operationPosition);
+    i32 elementOperationIndex = readVarInt(operationPosition);
+    
+    byte listFlags = readByte(sourceData);
+    if (listFlags != VALUE_PRESENT) {
+        // If no value is present, copy the flags as-is and set the target data to null
+        writeByte(targetData, listFlags);
+        writeInt32(targetData, 0);
+        return writeNulls(targetData, (maxElementCount * targetElementSize));
+    }
+    
+    i32 actualElementCount = readInt32(sourceData);
+    writeByte(targetData, VALUE_PRESENT);
+    writeInt32(targetData, actualElementCount);
+    
+    byte* elementOperationPtr = elementFromIndexV2(script->operations, script->numberOfOperations, elementOperationIndex);
+    if (elementOperationPtr == NULL) {
+        return FAILURE;
+    }
+    
+    // Lists of elements that are copied as-is are copied in one go
+    DataBuffer elementOperation;
+    setStartPosition(&elementOperation, elementOperationPtr);
+    if (readByte(&elementOperation) == OPCODE_COPY && readVarInt(&elementOperation) == sourceElementSize && sourceElementSize == targetElementSize) {
+        copyDataToBuffer(sourceData, (size_t) (actualElementCount * sourceElementSize), targetData);
+    } else {
+        void* currentSourceElementPtr = getCurrentPosition(sourceData);
+        for (i32 elementIndex = 0; elementIndex < actualElementCount; elementIndex++) {
+            if (performMappingOperationV2(sourceData, targetData, elementOperationIndex, script) != SUCCESS) {
+                return FAILURE;
+            }
+            
+            // Position the source buffer at the beginning of the next element
+            currentSourceElementPtr += sourceElementSize;
+            setCurrentPosition(sourceData, currentSourceElementPtr);
+        }
+    }
+    
+    i32 remainingElements = maxElementCount - actualElementCount;
+    return writeNulls(targetData, (remainingElements * targetElementSize));
+}
+
+int performMonoToPolyMappingOperationV2(DataBuffer* sourceData, DataBuffer* targetData, DataBuffer* operationPosition, ScriptV2* script) {
+    RecordTypeEntryV2 typeEntry;
+    if (getRecordTypeEntryV2(readVarInt(operationPosition), script, &typeEntry) != SUCCESS) {
+        return FAILURE;
+    }
+    
+    byte flags = readByte(sourceData);
+    
+    switch (flags) {
+    case VALUE_ABSENT:
+    case VALUE_UNREPRESENTABLE:
+        writeByte(targetData, flags);
+        return writeNulls(targetData, (TYPE_ID_SIZE + typeEntry.dataSize));
+        
+    case VALUE_PRESENT:
+        writeByte(targetData, VALUE_PRESENT);
+        writeInt32(targetData, typeEntry.typeId);
+        return mapRecordV2(sourceData, targetData, &typeEntry, script);
+        
+    default:
+        snprintf(errorMessage, sizeof(errorMessage), "Unsupported value flags %d.", (int) flags);
+        return reportError(errorMessage);
+    }
+}
+
+int performPolyToMonoMappingOperationV2(DataBuffer* sourceData, DataBuffer* targetData, DataBuffer* operationPosition, ScriptV2* script) {
+    RecordTypeEntryV2 typeEntry;
+    if (getRecordTypeEntryV2(readVarInt(operationPosition), script, &typeEntry) != SUCCESS) {
+        return FAILURE;
+    }
+    
+    i32 numberOfTypeIds = readVarInt(operationPosition);
+    byte flags = readByte(sourceData);
+    
+    switch (flags) {
+    case VALUE_ABSENT:
+    case VALUE_UNREPRESENTABLE:
+        writeByte(targetData, flags);
+        return writeNulls(targetData, typeEntry.dataSize);
+        
+    case VALUE_PRESENT:
+        i32 sourceTypeId = readInt32(sourceData);
+        
+        // Check whether the id is mappable
+        bool mappableId = false;
+        for (i32 typeIndex = 0; typeIndex < numberOfTypeIds; typeIndex++) {
+            if (readVarInt(operationPosition) == sourceTypeId) {
+                mappableId = true;
+                break;
+            }
+        }
+        
+        if (mappableId) {
+            writeByte(targetData, VALUE_PRESENT);
+            return mapRecordV2(sourceData, targetData, &typeEntry, script);
+        } else {
+            writeByte(targetData, VALUE_UNREPRESENTABLE);
+            return writeNulls(targetData, typeEntry.dataSize);
+        }
+        
+    default:
+        snprintf(errorMessage, sizeof(errorMessage), "Unsupported value flags %d.", (int) flags);
+        return reportError(errorMessage);
+    }
+}
+
+i32 determineMaxTargetSizeV2(i32 numberOfMappings, void* mappings, ScriptV2* script) {
+    i32 maxSize = 0;
+    DataBuffer mappingPosition;
+    setStartPosition(&mappingPosition, mappings);
+    
+    for (i32 mappingIndex = 0; mappingIndex < numberOfMappings; mappingIndex++) {
+        // Skip source and target type id
+        skipVarInts(&mappingPosition, 2);
+        
+        RecordTypeEntryV2 typeEntry;
+        if (getRecordTypeEntryV2(readVarInt(&mappingPosition), script, &typeEntry) == SUCCESS && typeEntry.dataSize > maxSize) {
+            maxSize = typeEntry.dataSize;
+        }
+    }
+    
+    return maxSize;
+}
+
+int performMapPolymorphicRecordOperationV2(DataBuffer* sourceData, DataBuffer* targetData, DataBuffer* operationPosition, ScriptV2* script) {
+    i32 numberOfMappings = readVarInt(operationPosition);
+    void* mappings = getCurrentPosition(operationPosition);
+    i32 maxSize = determineMaxTargetSizeV2(numberOfMappings, mappings, script);
+    
+    byte flags = readByte(sourceData);
+    
+    switch (flags) {
+    case VALUE_ABSENT:
+    case VALUE_UNREPRESENTABLE:
+        // If no (representable) value is present, copy the flags as-is, set the type id to zero and
+        // fill the data area with nulls
+        writeByte(targetData, flags);
+        writeInt32(targetData, 0);
+        return writeNulls(targetData, maxSize);
+        
+    case VALUE_PRESENT:
+        i32 sourceTypeId = readInt32(sourceData);
+        
+        for (i32 mappingIndex = 0; mappingIndex < numberOfMappings; mappingIndex++) {
+            i32 currentSourceTypeId = readVarInt(operationPosition);
+            i32 targetTypeId = readVarInt(operationPosition);
+            i32 typeIndex = readVarInt(operationPosition);
+            
+            if (currentSourceTypeId != sourceTypeId) {
+                continue;
+            }
+            
+            // Corresponding mapping found => value is representable
+            RecordTypeEntryV2 typeEntry;
+            if (getRecordTypeEntryV2(typeIndex, script, &typeEntry) != SUCCESS) {
+                return FAILURE;
+            }
+            
+            writeByte(targetData, VALUE_PRESENT);
+            writeInt32(targetData, targetTypeId);
+            
+            if (mapRecordV2(sourceData, targetData, &typeEntry, script) != SUCCESS) {
+                return FAILURE;
+            }
+            
+            // Pad the remainder of the record with nulls, if necessary
+            return writeNulls(targetData, (maxSize - typeEntry.dataSize));
+        }
+        
+        // No corresponding mapping => value is unrepresentable
+        writeByte(targetData, VALUE_UNREPRESENTABLE);
+        writeInt32(targetData, 0);
+        return writeNulls(targetData, maxSize);
+        
+    default:
+        snprintf(errorMessage, sizeof(errorMessage), "Unsupported value flags %d.", (int) flags);
+        return reportError(errorMessage);
+    }
+}
+
+int performMappingOperationV2(DataBuffer* sourceData, DataBuffer* targetData, i32 operationIndex, ScriptV2* script) {
+    byte* operationPtr = elementFromIndexV2(script->operations, script->numberOfOperations, operationIndex);
+    if (operationPtr == NULL) {
+        return FAILURE;
+    }
+    
+    DataBuffer operationPosition;
+    setStartPosition(&operationPosition, operationPtr);
+    byte opcode = readByte(&operationPosition);
+    
+    switch (opcode) {
+        case OPCODE_COPY:
+            copyDataToBuffer(sourceData, (size_t) readVarInt(&operationPosition), targetData);
+            return SUCCESS;
+            
+        case OPCODE_SKIP:
+            return writeNulls(targetData, readVarInt(&operationPosition));
+            
+        case OPCODE_MAP_ENUM:
+            return performMapEnumOperationV2(sourceData, targetData, &operationPosition, script);
+    
+        case OPCODE_MAP_RECORD:
+            return performMapRecordOperationV2(sourceData, targetData, &operationPosition, script);
+        
+        case OPCODE_MAP_LIST:
+            return performListMappingOperationV2(sourceData, targetData, &operationPosition, script);
+            
+        case OPCODE_MAP_POLYMORPHIC_RECORD:
+            return performMapPolymorphicRecordOperationV2(sourceData, targetData, &operationPosition, script);
+            
+        case OPCODE_MAP_MONO_TO_POLY_RECORD:
+            return performMonoToPolyMappingOperationV2(sourceData, targetData, &operationPosition, script);
+        
+        case OPCODE_MAP_POLY_TO_MONO_RECORD:
+            return performPolyToMonoMappingOperationV2(sourceData, targetData, &operationPosition, script);
+        
+        default:
+            snprintf(errorMessage, sizeof(errorMessage), "Invalid opcode %d in operation %d.", (int) opcode, operationIndex);
+            return reportError(errorMessage);
+    }
+}
+
+int convertDataV2(int operationIndex, int mappingType, void* sourceData, void* targetData, ScriptV2* script) {
+    byte* operationEntryPtr = elementFromIndexV2(script->operationEntries, script->numberOfOperationEntries, operationIndex);
+    if (operationEntryPtr == NULL) {
+        return FAILURE;
+    }
+    
+    DataBuffer entryPosition;
+    setStartPosition(&entryPosition, operationEntryPtr);
+    
+    // Skip the name
+    i32 nameLength = readVarInt(&entryPosition);
+    skipData(&entryPosition, nameLength);
+    
+    i32 parameterOperationIndex = readVarInt(&entryPosition);
+    i32 resultOperationIndex = readVarInt(&entryPosition);
+    
+    DataBuffer sourceBuffer;
+    setStartPosition(&sourceBuffer, sourceData);
+    
+    DataBuffer targetBuffer;
+    setStartPosition(&targetBuffer, targetData);
+    
+    i32 mappingOperationIndex = (mappingType == PARAMETER) ? parameterOperationIndex : resultOperationIndex;
+    return performMappingOperationV2(&sourceBuffer, &targetBuffer, mappingOperationIndex, script);
+}
+
 int unloadScripts() {
 #ifdef DEBUG
      printf("Unloading scripts.\n");
@@ -968,6 +1616,9 @@ int unloadScripts() {
         providerScript = NULL;
     }
     
+    freeScriptV2(&consumerScriptV2);
+    freeScriptV2(&providerScriptV2);
+    
     return SUCCESS;
 }
 
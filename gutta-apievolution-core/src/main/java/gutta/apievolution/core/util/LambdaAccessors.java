@@ -0,0 +1,187 @@
+package gutta.apievolution.core.util;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Utility class to generate accessor objects for constructors, getters and setters at runtime. The accessors are spun by the
+ * {@link LambdaMetafactory}, so that they invoke the respective member directly instead of reflectively. Accessors for {@code int}-typed members
+ * use primitive functional interfaces to avoid boxing.
+ * <p>
+ * Generated accessors are defined in the class loader of this class. If the accessed type is not visible from that class loader (e.g., in an
+ * application server), the accessors fall back to proxies that invoke method handles of the respective type exactly.
+ */
+public final class LambdaAccessors {
+
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+
+    private LambdaAccessors() {
+        // Private constructor
+    }
+
+    /**
+     * Creates a supplier invoking the public no-arg constructor of the given type.
+     *
+     * @param <T>  The type of the created objects
+     * @param type The type to create the supplier for
+     * @return The supplier
+     */
+    public static <T> Supplier<T> constructorOf(Class<? extends T> type) {
+        Constructor<? extends T> constructor;
+        try {
+            constructor = type.getConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to access the default constructor of " + type + ".", e);
+        }
+
+        return constructorFor(constructor);
+    }
+
+    /**
+     * Creates a supplier invoking the given no-arg constructor.
+     *
+     * @param <T>         The type of the created objects
+     * @param constructor The constructor to invoke, must not take any parameters
+     * @return The supplier
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Supplier<T> constructorFor(Constructor<? extends T> constructor) {
+        MethodHandle constructorHandle;
+        try {
+            constructorHandle = LOOKUP.unreflectConstructor(constructor);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access constructor " + constructor + ".", e);
+        }
+
+        return (Supplier<T>) createAccessor(Supplier.class, "get", methodType(Object.class), constructorHandle,
+                methodType(constructor.getDeclaringClass()));
+    }
+
+    /**
+     * Creates a function invoking the given getter.
+     *
+     * @param getter The getter to invoke
+     * @return The function
+     */
+    @SuppressWarnings("unchecked")
+    public static Function<Object, Object> getterFor(Method getter) {
+        MethodHandle getterHandle = unreflect(getter);
+        return (Function<Object, Object>) createAccessor(Function.class, "apply", methodType(Object.class, Object.class), getterHandle,
+                getterHandle.type().wrap());
+    }
+
+    /**
+     * Creates a function invoking the given {@code int}-typed getter without boxing the result.
+     *
+     * @param getter The getter to invoke
+     * @return The function
+     */
+    @SuppressWarnings("unchecked")
+    public static ToIntFunction<Object> intGetterFor(Method getter) {
+        MethodHandle getterHandle = unreflect(getter);
+        return (ToIntFunction<Object>) createAccessor(ToIntFunction.class, "applyAsInt", methodType(int.class, Object.class), getterHandle,
+                getterHandle.type());
+    }
+
+    /**
+     * Creates a consumer invoking the given setter.
+     *
+     * @param setter The setter to invoke
+     * @return The consumer
+     */
+    @SuppressWarnings("unchecked")
+    public static BiConsumer<Object, Object> setterFor(Method setter) {
+        MethodHandle setterHandle = unreflect(setter);
+
+        // Setters may return a value (e.g., for fluent interfaces), which is discarded
+        MethodType instantiatedType = setterHandle.type().wrap().changeReturnType(void.class);
+        return (BiConsumer<Object, Object>) createAccessor(BiConsumer.class, "accept", methodType(void.class, Object.class, Object.class), setterHandle,
+                instantiatedType);
+    }
+
+    /**
+     * Creates a consumer invoking the given {@code int}-typed setter without boxing the value.
+     *
+     * @param setter The setter to invoke
+     * @return The consumer
+     */
+    @SuppressWarnings("unchecked")
+    public static ObjIntConsumer<Object> intSetterFor(Method setter) {
+        MethodHandle setterHandle = unreflect(setter);
+
+        MethodType instantiatedType = setterHandle.type().changeReturnType(void.class);
+        return (ObjIntConsumer<Object>) createAccessor(ObjIntConsumer.class, "accept", methodType(void.class, Object.class, int.class), setterHandle,
+                instantiatedType);
+    }
+
+    private static boolean isVisible(MethodType signature) {
+        if (!isVisible(signature.returnType())) {
+            return false;
+        }
+
+        for (Class<?> parameterType : signature.parameterList()) {
+            if (!isVisible(parameterType)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type) {
+        if (type.isPrimitive()) {
+            return true;
+        }
+
+        ClassLoader classLoader = LambdaAccessors.class.getClassLoader();
+
+        try {
+            return (Class.forName(type.getName(), false, classLoader) == type);
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Unable to access method " + method + ".", e);
+        }
+    }
+
+    private static <T> T createAccessor(Class<T> interfaceType, String methodName, MethodType samType, MethodHandle implementation,
+            MethodType instantiatedType) {
+
+        // Generated accessors can only refer to types that are visible from the class loader of this class
+        if (isVisible(instantiatedType)) {
+            try {
+                CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, methodName, methodType(interfaceType), samType, implementation,
+                        instantiatedType);
+                return interfaceType.cast(callSite.getTarget().invoke());
+            } catch (LambdaConversionException e) {
+                // Fall back to an accessor based on the method handle
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to generate accessor for " + implementation + ".", e);
+            }
+        }
+
+        return MethodHandleProxies.asInterfaceInstance(interfaceType, implementation.asType(samType));
+    }
+
+}
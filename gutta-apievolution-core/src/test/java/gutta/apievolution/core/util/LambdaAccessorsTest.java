@@ -0,0 +1,153 @@
+package gutta.apievolution.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for the class {@link LambdaAccessors}.
+ */
+class LambdaAccessorsTest {
+
+    /**
+     * Test case: Getters and setters for reference and primitive types read and write the respective values, boxing and unboxing as necessary.
+     *
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void gettersAndSetters() throws NoSuchMethodException {
+        BiConsumer<Object, Object> stringSetter = LambdaAccessors.setterFor(TestRecord.class.getMethod("setStringValue", String.class));
+        BiConsumer<Object, Object> intSetter = LambdaAccessors.setterFor(TestRecord.class.getMethod("setIntValue", int.class));
+        Function<Object, Object> stringGetter = LambdaAccessors.getterFor(TestRecord.class.getMethod("getStringValue"));
+        Function<Object, Object> intGetter = LambdaAccessors.getterFor(TestRecord.class.getMethod("getIntValue"));
+
+        TestRecord record = new TestRecord();
+        stringSetter.accept(record, "value");
+        intSetter.accept(record, 1234);
+
+        assertEquals("value", record.getStringValue());
+        assertEquals(1234, record.getIntValue());
+        assertEquals("value", stringGetter.apply(record));
+        assertEquals(1234, intGetter.apply(record));
+
+        // The accessors must be bound directly instead of using the method handle-based fallback
+        assertFalse(Proxy.isProxyClass(stringGetter.getClass()));
+        assertFalse(Proxy.isProxyClass(intSetter.getClass()));
+    }
+
+    /**
+     * Test case: Accessors for {@code int} values read and write the respective values without boxing.
+     *
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void intGettersAndSetters() throws NoSuchMethodException {
+        ObjIntConsumer<Object> intSetter = LambdaAccessors.intSetterFor(TestRecord.class.getMethod("setIntValue", int.class));
+        ToIntFunction<Object> intGetter = LambdaAccessors.intGetterFor(TestRecord.class.getMethod("getIntValue"));
+
+        TestRecord record = new TestRecord();
+        intSetter.accept(record, 1234);
+
+        assertEquals(1234, intGetter.applyAsInt(record));
+    }
+
+    /**
+     * Test case: Constructor accessors create new instances of the respective class.
+     *
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void constructor() throws NoSuchMethodException {
+        Supplier<TestRecord> constructor = LambdaAccessors.constructorFor(TestRecord.class.getConstructor());
+        Supplier<Object> typeConstructor = LambdaAccessors.constructorOf(TestRecord.class);
+
+        assertNotNull(constructor.get());
+        assertTrue(typeConstructor.get() instanceof TestRecord);
+        assertThrows(IllegalStateException.class, () -> LambdaAccessors.constructorOf(Integer.class));
+    }
+
+    /**
+     * Test case: Exceptions thrown by an accessed method are passed on unchanged.
+     *
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void exceptionInAccessor() throws NoSuchMethodException {
+        Function<Object, Object> failingGetter = LambdaAccessors.getterFor(TestRecord.class.getMethod("getFailingValue"));
+
+        assertThrows(UnsupportedOperationException.class, () -> failingGetter.apply(new TestRecord()));
+    }
+
+    /**
+     * Test case: For types that are not visible from the class loader of the accessors, accessors based on method handles are created, which work
+     * like the generated ones.
+     *
+     * @throws ReflectiveOperationException For formal reasons, not expected
+     * @throws IOException                  For formal reasons, not expected
+     */
+    @Test
+    void accessorsForInvisibleType() throws ReflectiveOperationException, IOException {
+        URL classLocation = TestRecord.class.getProtectionDomain().getCodeSource().getLocation();
+
+        try (URLClassLoader isolatedClassLoader = new URLClassLoader(new URL[] { classLocation }, null)) {
+            Class<?> isolatedType = isolatedClassLoader.loadClass(TestRecord.class.getName());
+
+            Supplier<Object> constructor = LambdaAccessors.constructorOf(isolatedType);
+            ObjIntConsumer<Object> intSetter = LambdaAccessors.intSetterFor(isolatedType.getMethod("setIntValue", int.class));
+            Function<Object, Object> intGetter = LambdaAccessors.getterFor(isolatedType.getMethod("getIntValue"));
+
+            Object record = constructor.get();
+            intSetter.accept(record, 1234);
+
+            assertEquals(isolatedType, record.getClass());
+            assertEquals(1234, intGetter.apply(record));
+            assertTrue(Proxy.isProxyClass(intGetter.getClass()));
+        }
+    }
+
+    /**
+     * Record class used for the test cases.
+     */
+    public static class TestRecord {
+
+        private String stringValue;
+
+        private int intValue;
+
+        public String getStringValue() {
+            return this.stringValue;
+        }
+
+        public void setStringValue(String stringValue) {
+            this.stringValue = stringValue;
+        }
+
+        public int getIntValue() {
+            return this.intValue;
+        }
+
+        public void setIntValue(int intValue) {
+            this.intValue = intValue;
+        }
+
+        public String getFailingValue() {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -37,7 +37,7 @@ public class ApiMappingScript {
      * @param target A buffer to receive the mapped data
      */
     public void mapParameterFor(String operationName, ByteBuffer source, ByteBuffer target) {
-        this.mapDataForOperation(operationName, OperationEntry::getParameterMappingOperation, source, target);
+        this.resolveOperation(operationName).mapParameter(source, target);
     }
     
     /**
@@ -47,18 +47,24 @@ public class ApiMappingScript {
      * @param target A buffer to receive the mapped data
      */
     public void mapResultFor(String operationName, ByteBuffer source, ByteBuffer target) {
-        this.mapDataForOperation(operationName, OperationEntry::getResultMappingOperation, source, target);
+        this.resolveOperation(operationName).mapResult(source, target);
     }
     
-    private void mapDataForOperation(String operationName, Function<OperationEntry, 
-            ApiMappingOperation> operationProvider, ByteBuffer source, ByteBuffer target) {        
+    /**
+     * Resolves the operation with the given name. The resulting handle can be reused for any number of mappings, thus avoiding
+     * the lookup by name for each invocation.
+     * 
+     * @param operationName The name of the desired operation
+     * @return A handle for the given operation
+     * @throws IllegalArgumentException If there is no operation with the given name
+     */
+    public OperationHandle resolveOperation(String operationName) {
         OperationEntry operationEntry = this.nameToOperation.get(operationName);
         if (operationEntry == null) {
             throw new IllegalArgumentException("No entry for operation '" + operationName + "'.");
         }
         
-        ApiMappingOperation operation = operationProvider.apply(operationEntry);
-        operation.apply(0, source, target);
+        return operationEntry;
     }
     
     /**
@@ -81,7 +87,7 @@ public class ApiMappingScript {
     
     @Override
     public int hashCode() {
-        return Objects.hash(this.typeEntries, this.operationEntries);
+        return Objects.hash(this.getTypeEntries(), this.getOperationEntries());
     }
     
     @Override
@@ -90,8 +96,8 @@ public class ApiMappingScript {
     }
     
     private boolean equalsInternal(ApiMappingScript that) {
-        return this.typeEntries.equals(that.typeEntries) &&
-               this.operationEntries.equals(that.operationEntries);
+        return this.getTypeEntries().equals(that.getTypeEntries()) &&
+               this.getOperationEntries().equals(that.getOperationEntries());
     }
 
 }
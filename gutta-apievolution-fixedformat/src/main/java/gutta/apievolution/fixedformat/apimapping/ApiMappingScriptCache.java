@@ -0,0 +1,209 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.core.resolution.DefinitionResolution;
+import gutta.apievolution.core.util.EqualityUtil;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Cache for generated mapping scripts. Scripts are identified by the {@link ApiMappingScriptFingerprint fingerprint} of their inputs and the mapping
+ * direction. The cache retains a bounded number of scripts in memory, evicting the least recently used ones, and may optionally store the scripts
+ * in encoded form in a directory, so that they can be reused across JVMs.
+ *
+ * <p/>
+ * Instances of this class are thread-safe. Concurrent requests for the same missing script may generate the script more than once, but always
+ * result in the same script being cached.
+ */
+public class ApiMappingScriptCache {
+
+    private static final String SCRIPT_FILE_SUFFIX = ".script";
+
+    private final Map<CacheKey, ApiMappingScript> scripts;
+
+    private final Path storeDirectory;
+
+    private final ApiMappingScriptGenerator generator = new ApiMappingScriptGenerator();
+
+    private final ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+
+    /**
+     * Creates a new cache that retains the given maximum number of scripts in memory.
+     *
+     * @param maxEntries The maximum number of scripts to retain in memory
+     */
+    public ApiMappingScriptCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * Creates a new cache that retains the given maximum number of scripts in memory and stores encoded scripts in the given directory.
+     *
+     * @param maxEntries     The maximum number of scripts to retain in memory
+     * @param storeDirectory The directory to store the encoded scripts in, or {@code null} if scripts should not be stored
+     */
+    public ApiMappingScriptCache(int maxEntries, Path storeDirectory) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The cache must be able to hold at least one entry.");
+        }
+
+        this.scripts = new LruMap<>(maxEntries);
+        this.storeDirectory = storeDirectory;
+    }
+
+    /**
+     * Returns the mapping script for the given fingerprint and direction. If the script is neither in memory nor in the store, it is generated from
+     * the definition resolution provided by the given supplier.
+     *
+     * @param fingerprint        The fingerprint of the inputs of the script
+     * @param direction          The direction of the desired mapping
+     * @param resolutionSupplier Supplier for the definition resolution, invoked only if the script needs to be generated
+     * @return The mapping script
+     */
+    public ApiMappingScript getScript(ApiMappingScriptFingerprint fingerprint, MappingDirection direction,
+            Supplier<DefinitionResolution> resolutionSupplier) {
+
+        CacheKey key = new CacheKey(fingerprint, direction);
+
+        ApiMappingScript script = this.lookup(key);
+        if (script != null) {
+            return script;
+        }
+
+        script = this.readFromStore(key);
+        if (script == null) {
+            script = this.generator.generateMappingScript(resolutionSupplier.get(), direction);
+            this.writeToStore(key, script);
+        }
+
+        return this.cache(key, script);
+    }
+
+    private ApiMappingScript lookup(CacheKey key) {
+        synchronized (this.scripts) {
+            return this.scripts.get(key);
+        }
+    }
+
+    private ApiMappingScript cache(CacheKey key, ApiMappingScript script) {
+        synchronized (this.scripts) {
+            // If another thread has cached the script in the meantime, use the existing one
+            ApiMappingScript existingScript = this.scripts.putIfAbsent(key, script);
+            return (existingScript != null) ? existingScript : script;
+        }
+    }
+
+    /**
+     * Returns the number of scripts currently held in memory.
+     *
+     * @return see above
+     */
+    public int size() {
+        synchronized (this.scripts) {
+            return this.scripts.size();
+        }
+    }
+
+    private Path storePathFor(CacheKey key) {
+        String fileName = key.fingerprint + "-" + key.direction.name().toLowerCase(Locale.ROOT) + SCRIPT_FILE_SUFFIX;
+        return this.storeDirectory.resolve(fileName);
+    }
+
+    private ApiMappingScript readFromStore(CacheKey key) {
+        if (this.storeDirectory == null) {
+            return null;
+        }
+
+        Path scriptPath = this.storePathFor(key);
+        if (!Files.exists(scriptPath)) {
+            return null;
+        }
+
+        try {
+            return this.codec.decodeScript(Files.readAllBytes(scriptPath));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading script from '" + scriptPath + "'.", e);
+        }
+    }
+
+    private void writeToStore(CacheKey key, ApiMappingScript script) {
+        if (this.storeDirectory == null) {
+            return;
+        }
+
+        Path scriptPath = this.storePathFor(key);
+        try {
+            Files.createDirectories(this.storeDirectory);
+
+            // Write to a temporary file first, so that other processes never see partially written scripts
+            Path temporaryPath = Files.createTempFile(this.storeDirectory, key.fingerprint.toString(), null);
+            Files.write(temporaryPath, this.codec.encodeScript(script));
+
+            try {
+                Files.move(temporaryPath, scriptPath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryPath, scriptPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing script to '" + scriptPath + "'.", e);
+        }
+    }
+
+    private static class CacheKey {
+
+        final ApiMappingScriptFingerprint fingerprint;
+
+        final MappingDirection direction;
+
+        CacheKey(ApiMappingScriptFingerprint fingerprint, MappingDirection direction) {
+            this.fingerprint = fingerprint;
+            this.direction = direction;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.fingerprint, this.direction);
+        }
+
+        @Override
+        public boolean equals(Object that) {
+            return EqualityUtil.equals(this, that, this::equalsInternal);
+        }
+
+        private boolean equalsInternal(CacheKey that) {
+            return this.fingerprint.equals(that.fingerprint) &&
+                    this.direction == that.direction;
+        }
+
+    }
+
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 2739563071534287185L;
+
+        private final int maxEntries;
+
+        LruMap(int maxEntries) {
+            super(16, 0.75f, true);
+
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return (this.size() > this.maxEntries);
+        }
+
+    }
+
+}
@@ -6,13 +6,16 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -20,35 +23,59 @@ import java.util.Set;
  */
 public class ApiMappingScriptCodec {
 
-    private static final Charset CHARSET = StandardCharsets.UTF_8;
+    static final Charset CHARSET = StandardCharsets.UTF_8;
 
-    private static final byte OPCODE_COPY = 0x01;
+    static final byte OPCODE_COPY = 0x01;
 
-    private static final byte OPCODE_SKIP = 0x02;
+    static final byte OPCODE_SKIP = 0x02;
 
-    private static final byte OPCODE_MAP_ENUM = 0x03;
+    static final byte OPCODE_MAP_ENUM = 0x03;
 
-    private static final byte OPCODE_MAP_RECORD = 0x04;
+    static final byte OPCODE_MAP_RECORD = 0x04;
 
-    private static final byte OPCODE_MAP_LIST = 0x05;
+    static final byte OPCODE_MAP_LIST = 0x05;
 
-    private static final byte OPCODE_MAP_POLYMORPHIC_RECORD = 0x06;
+    static final byte OPCODE_MAP_POLYMORPHIC_RECORD = 0x06;
 
-    private static final byte OPCODE_MAP_MONO_TO_POLY_RECORD = 0x07;
+    static final byte OPCODE_MAP_MONO_TO_POLY_RECORD = 0x07;
 
-    private static final byte OPCODE_MAP_POLY_TO_MONO_RECORD = 0x08;
+    static final byte OPCODE_MAP_POLY_TO_MONO_RECORD = 0x08;
 
-    private static final byte ENTRY_TYPE_ENUM = 0x01;
+    static final byte ENTRY_TYPE_ENUM = 0x01;
 
-    private static final byte ENTRY_TYPE_RECORD = 0x02;
+    static final byte ENTRY_TYPE_RECORD = 0x02;
 
     /**
-     * Encodes the given script and returns the result as a byte buffer.
+     * Encodes the given script in the default format ({@link FormatVersion#V1}) and returns the result as a byte buffer.
      * 
      * @param script The script to encode
      * @return The encoded script
      */
     public byte[] encodeScript(ApiMappingScript script) {
+        return this.encodeScript(script, FormatVersion.V1);
+    }
+
+    /**
+     * Encodes the given script in the given format and returns the result as a byte buffer.
+     * 
+     * @param script        The script to encode
+     * @param formatVersion The format version to use
+     * @return The encoded script
+     */
+    public byte[] encodeScript(ApiMappingScript script, FormatVersion formatVersion) {
+        switch (formatVersion) {
+        case V1:
+            return this.encodeScriptV1(script);
+
+        case V2:
+            return new ScriptEncoderV2().encodeScript(script);
+
+        default:
+            throw new IllegalArgumentException("Unsupported format version " + formatVersion + ".");
+        }
+    }
+
+    private byte[] encodeScriptV1(ApiMappingScript script) {
         try (ByteArrayOutputStream byteStream = new ByteArrayOutputStream(); DataOutputStream dataStream = new DataOutputStream(byteStream)) {
 
             // Write the actual script
@@ -143,13 +170,16 @@ public class ApiMappingScriptCodec {
     }
 
     /**
-     * Decodes an encoded API mapping script.
+     * Decodes an encoded API mapping script. The format version is determined from the encoded script.
      * 
      * @param encodedScript The encoded script stored in a byte array
      * @return The decoded API mapping script
      */
     public ApiMappingScript decodeScript(byte[] encodedScript) {
         ByteBuffer scriptBuffer = ByteBuffer.wrap(encodedScript);
+        if (ScriptFormatV2.isScriptV2(scriptBuffer)) {
+            return this.decodeScriptV2(new ScriptReaderV2(scriptBuffer));
+        }
 
         // Read offsets for the type list and the operations list
         int typesOffset = scriptBuffer.getInt();
@@ -184,7 +214,73 @@ public class ApiMappingScriptCodec {
         return new ApiMappingScript(Arrays.asList(typeEntries), operationEntries);
     }
 
-    private int[] readOffsetTable(ByteBuffer buffer) {
+    private ApiMappingScript decodeScriptV2(EncodedScriptReader reader) {
+        int numberOfTypeEntries = reader.getNumberOfTypeEntries();
+        List<TypeEntry> typeEntries = new ArrayList<>(numberOfTypeEntries);
+        for (int entryIndex = 0; entryIndex < numberOfTypeEntries; entryIndex++) {
+            typeEntries.add(reader.getOrReadTypeEntry(entryIndex));
+        }
+
+        int numberOfOperations = reader.getNumberOfOperationEntries();
+        List<OperationEntry> operationEntries = new ArrayList<>(numberOfOperations);
+        for (int operationIndex = 0; operationIndex < numberOfOperations; operationIndex++) {
+            operationEntries.add(reader.readOperationEntry(operationIndex));
+        }
+
+        return new ApiMappingScript(typeEntries, operationEntries);
+    }
+
+    /**
+     * Decodes an encoded API mapping script lazily. Only the offset tables and the operation names are read eagerly, and each operation is decoded
+     * on its first use. This makes loading large scripts cheap if only a few operations are actually used.
+     * 
+     * @param encodedScript The encoded script stored in a byte array
+     * @return A script operating on the encoded representation
+     */
+    public ApiMappingScript decodeScriptLazily(byte[] encodedScript) {
+        return this.decodeScriptLazily(ByteBuffer.wrap(encodedScript));
+    }
+
+    /**
+     * Decodes an encoded API mapping script lazily. Only the offset tables and the operation names are read eagerly, and each operation is decoded
+     * on its first use. The encoded script is expected to start at the current position of the given buffer, which may also be a direct or
+     * memory-mapped buffer. The contents of the buffer must not be modified while the script is in use.
+     * 
+     * @param encodedScript A buffer containing the encoded script
+     * @return A script operating on the encoded representation
+     */
+    public ApiMappingScript decodeScriptLazily(ByteBuffer encodedScript) {
+        ByteBuffer scriptBuffer = encodedScript.slice().order(ByteOrder.BIG_ENDIAN);
+        EncodedScriptReader reader = (ScriptFormatV2.isScriptV2(scriptBuffer)) ? new ScriptReaderV2(scriptBuffer) :
+                this.createReaderV1(scriptBuffer);
+
+        // Read the operation names, as they are required for resolving operations
+        int numberOfOperations = reader.getNumberOfOperationEntries();
+        Map<String, Integer> nameToOperationIndex = new HashMap<>(numberOfOperations);
+        for (int operationIndex = 0; operationIndex < numberOfOperations; operationIndex++) {
+            String operationName = reader.readOperationName(operationIndex);
+            nameToOperationIndex.put(operationName, operationIndex);
+        }
+
+        return new LazyApiMappingScript(reader, nameToOperationIndex);
+    }
+
+    private EncodedScriptReader createReaderV1(ByteBuffer scriptBuffer) {
+        // Read offsets for the type list and the operations list
+        int typesOffset = scriptBuffer.getInt();
+        int operationsOffset = scriptBuffer.getInt();
+
+        // Read the offset tables, but not the entries themselves
+        scriptBuffer.position(typesOffset);
+        int[] typeEntryOffsets = this.readOffsetTable(scriptBuffer);
+
+        scriptBuffer.position(operationsOffset);
+        int[] operationEntryOffsets = this.readOffsetTable(scriptBuffer);
+
+        return new ScriptReaderV1(scriptBuffer, typeEntryOffsets, operationEntryOffsets);
+    }
+
+    int[] readOffsetTable(ByteBuffer buffer) {
         int numberOfEntries = buffer.getInt();
 
         int[] offsets = new int[numberOfEntries];
@@ -195,15 +291,21 @@ public class ApiMappingScriptCodec {
         return offsets;
     }
 
-    private OperationEntry readOperationEntry(int operationIndex, int[] operationEntryOffsets, int[] typeEntryOffsets, TypeEntry[] typeEntries,
-            ByteBuffer buffer) {
-
+    String readOperationName(int operationIndex, int[] operationEntryOffsets, ByteBuffer buffer) {
         buffer.position(operationEntryOffsets[operationIndex]);
 
         int nameLength = buffer.getInt();
         byte[] nameBytes = new byte[nameLength];
         buffer.get(nameBytes);
-        String operationName = new String(nameBytes, CHARSET);
+        
+        return new String(nameBytes, CHARSET);
+    }
+
+    OperationEntry readOperationEntry(int operationIndex, int[] operationEntryOffsets, int[] typeEntryOffsets, TypeEntry[] typeEntries,
+            ByteBuffer buffer) {
+
+        // Reading the name positions the buffer at the first mapping operation
+        String operationName = this.readOperationName(operationIndex, operationEntryOffsets, buffer);
 
         ApiMappingOperation parameterMappingOperation = this.readApiMappingOperation(typeEntryOffsets, typeEntries, buffer);
         ApiMappingOperation resultMappingOperation = this.readApiMappingOperation(typeEntryOffsets, typeEntries, buffer);
@@ -211,7 +313,7 @@ public class ApiMappingScriptCodec {
         return new OperationEntry(operationIndex, operationName, parameterMappingOperation, resultMappingOperation);
     }
 
-    private TypeEntry getOrReadTypeEntry(int entryIndex, int[] entryOffsets, TypeEntry[] typeEntries, ByteBuffer buffer) {
+    TypeEntry getOrReadTypeEntry(int entryIndex, int[] entryOffsets, TypeEntry[] typeEntries, ByteBuffer buffer) {
         TypeEntry candidate = typeEntries[entryIndex];
         if (candidate != null) {
             return candidate;
@@ -385,6 +487,68 @@ public class ApiMappingScriptCodec {
         return new PolyToMonoRecordMappingOperation(mappableTypeIds, typeEntry);
     }
 
+    /**
+     * Enumeration of the supported binary formats of API mapping scripts.
+     */
+    public enum FormatVersion {
+        /**
+         * Original format, in which all integers are stored as 4-byte values and nested operations are stored inline.
+         */
+        V1,
+        /**
+         * Compact format with variable-length integers, a shared pool of operations and a checksum. See {@link ScriptFormatV2} for details.
+         */
+        V2
+    }
+
+    /**
+     * Reader for scripts in format version 1, which keeps track of the decoded type entries.
+     */
+    private class ScriptReaderV1 implements EncodedScriptReader {
+
+        private final ByteBuffer scriptBuffer;
+
+        private final int[] typeEntryOffsets;
+
+        private final int[] operationEntryOffsets;
+
+        private final TypeEntry[] typeEntries;
+
+        public ScriptReaderV1(ByteBuffer scriptBuffer, int[] typeEntryOffsets, int[] operationEntryOffsets) {
+            this.scriptBuffer = scriptBuffer;
+            this.typeEntryOffsets = typeEntryOffsets;
+            this.operationEntryOffsets = operationEntryOffsets;
+            this.typeEntries = new TypeEntry[typeEntryOffsets.length];
+        }
+
+        @Override
+        public int getNumberOfTypeEntries() {
+            return this.typeEntryOffsets.length;
+        }
+
+        @Override
+        public int getNumberOfOperationEntries() {
+            return this.operationEntryOffsets.length;
+        }
+
+        @Override
+        public TypeEntry getOrReadTypeEntry(int entryIndex) {
+            return ApiMappingScriptCodec.this.getOrReadTypeEntry(entryIndex, this.typeEntryOffsets, this.typeEntries, this.scriptBuffer);
+        }
+
+        @Override
+        public String readOperationName(int operationIndex) {
+            return ApiMappingScriptCodec.this.readOperationName(operationIndex, this.operationEntryOffsets, this.scriptBuffer);
+        }
+
+        @Override
+        public OperationEntry readOperationEntry(int operationIndex) {
+            return ApiMappingScriptCodec.this.readOperationEntry(operationIndex, this.operationEntryOffsets, this.typeEntryOffsets, this.typeEntries,
+                    this.scriptBuffer);
+        }
+
+    }
+
     private static class TypeEntryWriter implements TypeEntryVisitor<Void> {
 
         private final DataOutputStream dataStream;
@@ -0,0 +1,529 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.fixedformat.apimapping.PolymorphicRecordMappingOperation.PolymorphicRecordMapping;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.FLAGS_SIZE;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_ABSENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_PRESENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_UNREPRESENTABLE;
+
+/**
+ * This class provides operations to compile an API mapping script into an executable form. A compiled script performs the same mapping as the original
+ * script, but does not interpret the operation tree for each value. Instead, the field mappings of each record are flattened into arrays with constant
+ * offsets, adjacent copy and skip operations are merged, and all source data is accessed by absolute offsets.
+ *
+ * <p/>
+ * The compiled script retains the type and operation entries of the original script, so that it can still be encoded using the
+ * {@link ApiMappingScriptCodec}.
+ */
+public class ApiMappingScriptCompiler {
+
+    private static final int ELEMENT_COUNT_SIZE = 4;
+
+    private static final int TYPE_ID_SIZE = 4;
+
+    /**
+     * Compiles the given mapping script.
+     *
+     * @param script The script to compile
+     * @return A script that executes the compiled operations
+     */
+    public ApiMappingScript compileScript(ApiMappingScript script) {
+        OperationCompiler operationCompiler = new OperationCompiler();
+
+        List<OperationEntry> operationEntries = script.getOperationEntries();
+        Map<String, CompiledOperationEntry> compiledEntries = new HashMap<>(operationEntries.size());
+
+        for (OperationEntry operationEntry : operationEntries) {
+            CompiledOperation parameterMappingOperation = operationCompiler.compileOperation(operationEntry.getParameterMappingOperation());
+            CompiledOperation resultMappingOperation = operationCompiler.compileOperation(operationEntry.getResultMappingOperation());
+
+            String operationName = operationEntry.getName();
+            compiledEntries.put(operationName, new CompiledOperationEntry(operationName, parameterMappingOperation, resultMappingOperation));
+        }
+
+        return new CompiledApiMappingScript(script.getTypeEntries(), operationEntries, compiledEntries);
+    }
+
+    private static class OperationCompiler implements ApiMappingOperationVisitor<CompiledOperation> {
+
+        private final Map<RecordTypeEntry, CompiledRecordBody> recordBodies = new IdentityHashMap<>();
+
+        public CompiledOperation compileOperation(ApiMappingOperation operation) {
+            return operation.accept(this);
+        }
+
+        private CompiledRecordBody compileRecordBody(RecordTypeEntry typeEntry) {
+            // Records cannot contain themselves, so computeIfAbsent is safe here
+            return this.recordBodies.computeIfAbsent(typeEntry, this::createRecordBody);
+        }
+
+        private CompiledRecordBody createRecordBody(RecordTypeEntry typeEntry) {
+            List<FieldMapping> fieldMappings = typeEntry.getFieldMappings();
+
+            List<Integer> fieldOffsets = new ArrayList<>(fieldMappings.size());
+            List<CompiledOperation> fieldOperations = new ArrayList<>(fieldMappings.size());
+
+            for (FieldMapping fieldMapping : fieldMappings) {
+                int fieldOffset = fieldMapping.getOffset();
+                CompiledOperation fieldOperation = this.compileOperation(fieldMapping.getMappingOperation());
+
+                int lastIndex = (fieldOperations.size() - 1);
+                CompiledOperation previousOperation = (lastIndex >= 0) ? fieldOperations.get(lastIndex) : null;
+
+                if (previousOperation instanceof CompiledCopyOperation && fieldOperation instanceof CompiledCopyOperation) {
+                    // Merge copy operations on adjacent source data into a single copy operation
+                    int previousOffset = fieldOffsets.get(lastIndex);
+                    int previousLength = ((CompiledCopyOperation) previousOperation).length;
+
+                    if (previousOffset + previousLength == fieldOffset) {
+                        int mergedLength = previousLength + ((CompiledCopyOperation) fieldOperation).length;
+                        fieldOperations.set(lastIndex, new CompiledCopyOperation(mergedLength));
+                        continue;
+                    }
+                } else if (previousOperation instanceof CompiledSkipOperation && fieldOperation instanceof CompiledSkipOperation) {
+                    // Merge subsequent skip operations, as they only depend on the target position
+                    int mergedAmount = ((CompiledSkipOperation) previousOperation).amount + ((CompiledSkipOperation) fieldOperation).amount;
+                    fieldOperations.set(lastIndex, new CompiledSkipOperation(mergedAmount));
+                    continue;
+                }
+
+                fieldOffsets.add(fieldOffset);
+                fieldOperations.add(fieldOperation);
+            }
+
+            int[] offsets = fieldOffsets.stream().mapToInt(Integer::intValue).toArray();
+            CompiledOperation[] operations = fieldOperations.toArray(new CompiledOperation[fieldOperations.size()]);
+
+            return new CompiledRecordBody(offsets, operations);
+        }
+
+        @Override
+        public CompiledOperation handleCopyOperation(CopyOperation copyOperation) {
+            return new CompiledCopyOperation(copyOperation.getLength());
+        }
+
+        @Override
+        public CompiledOperation handleSkipOperation(SkipOperation skipOperation) {
+            return new CompiledSkipOperation(skipOperation.getAmount());
+        }
+
+        @Override
+        public CompiledOperation handleEnumMappingOperation(EnumMappingOperation enumMappingOperation) {
+            int[] indexMap = enumMappingOperation.getTypeEntry().getIndexMap();
+            return new CompiledEnumMappingOperation(enumMappingOperation.getTargetDataLength(), indexMap);
+        }
+
+        @Override
+        public CompiledOperation handleListMappingOperation(ListMappingOperation listMappingOperation) {
+            CompiledOperation elementMappingOperation = this.compileOperation(listMappingOperation.elementMappingOperation);
+
+            return new CompiledListMappingOperation(listMappingOperation.getTargetDataLength(), listMappingOperation.maxElements,
+                    listMappingOperation.sourceElementSize, listMappingOperation.targetElementSize, elementMappingOperation);
+        }
+
+        @Override
+        public CompiledOperation handleMonomorphicRecordMappingOperation(MonomorphicRecordMappingOperation recordMappingOperation) {
+            CompiledRecordBody recordBody = this.compileRecordBody(recordMappingOperation.getTypeEntry());
+            return new CompiledRecordMappingOperation(recordMappingOperation.getTargetDataLength(), recordBody);
+        }
+
+        @Override
+        public CompiledOperation handleMonoToPolyRecordMappingOperation(MonoToPolyRecordMappingOperation recordMappingOperation) {
+            CompiledRecordBody recordBody = this.compileRecordBody(recordMappingOperation.getTypeEntry());
+            return new CompiledMonoToPolyRecordMappingOperation(recordMappingOperation.getTargetDataLength(), recordMappingOperation.getTargetTypeId(),
+                    recordBody);
+        }
+
+        @Override
+        public CompiledOperation handlePolyToMonoRecordMappingOperation(PolyToMonoRecordMappingOperation recordMappingOperation) {
+            CompiledRecordBody recordBody = this.compileRecordBody(recordMappingOperation.getTypeEntry());
+
+            // All mappable types are mapped by the same record body
+            Map<Integer, CompiledRecordBody> typeIdToRecordBody = new HashMap<>();
+            recordMappingOperation.getMappableTypeIds().forEach(typeId -> typeIdToRecordBody.put(typeId, recordBody));
+
+            return new CompiledPolyToMonoRecordMappingOperation(recordMappingOperation.getTargetDataLength(), TypeIdTable.of(typeIdToRecordBody));
+        }
+
+        @Override
+        public CompiledOperation handlePolymorphicRecordMappingOperation(PolymorphicRecordMappingOperation polymorphicRecordMappingOperation) {
+            Map<Integer, CompiledPolymorphicRecordMapping> typeIdToRecordMapping = new HashMap<>();
+
+            for (PolymorphicRecordMapping recordMapping : polymorphicRecordMappingOperation.getRecordMappings()) {
+                CompiledRecordBody recordBody = this.compileRecordBody(recordMapping.getTypeEntry());
+                typeIdToRecordMapping.put(recordMapping.getSourceTypeId(), new CompiledPolymorphicRecordMapping(recordMapping.getTargetTypeId(), recordBody));
+            }
+
+            return new CompiledPolymorphicRecordMappingOperation(polymorphicRecordMappingOperation.getTargetDataLength(),
+                    TypeIdTable.of(typeIdToRecordMapping));
+        }
+
+    }
+
+    /**
+     * Compiled operations for a single operation entry.
+     */
+    static class CompiledOperationEntry implements OperationHandle {
+
+        private final String operationName;
+
+        private final CompiledOperation parameterMappingOperation;
+
+        private final CompiledOperation resultMappingOperation;
+
+        CompiledOperationEntry(String operationName, CompiledOperation parameterMappingOperation, CompiledOperation resultMappingOperation) {
+            this.operationName = operationName;
+            this.parameterMappingOperation = parameterMappingOperation;
+            this.resultMappingOperation = resultMappingOperation;
+        }
+
+        @Override
+        public String getOperationName() {
+            return this.operationName;
+        }
+
+        @Override
+        public void mapParameter(int sourceOffset, ByteBuffer source, ByteBuffer target) {
+            this.parameterMappingOperation.apply(sourceOffset, source, target);
+        }
+
+        @Override
+        public void mapResult(int sourceOffset, ByteBuffer source, ByteBuffer target) {
+            this.resultMappingOperation.apply(sourceOffset, source, target);
+        }
+
+    }
+
+    /**
+     * Base class for all compiled operations. In contrast to {@link ApiMappingOperation}s, compiled operations never change the position of the source
+     * buffer.
+     */
+    abstract static class CompiledOperation {
+
+        abstract void apply(int sourceOffset, ByteBuffer source, ByteBuffer target);
+
+    }
+
+    private static final class CompiledCopyOperation extends CompiledOperation {
+
+        final int length;
+
+        CompiledCopyOperation(int length) {
+            this.length = length;
+        }
+
+        @Override
+        void apply(int sourceOffset, ByteBuffer source, ByteBuffer target) {
+            ByteBufferOperations.copy(source, sourceOffset, target, this.length);
+        }
+
+    }
+
+    private static final class CompiledSkipOperation extends CompiledOperation {
+
+        final int amount;
+
+        CompiledSkipOperation(int amount) {
+            this.amount = amount;
+        }
+
+        @Override
+        void apply(int sourceOffset, ByteBuffer source, ByteBuffer target) {
+            target.position(target.position() + this.amount);
+        }
+
+    }
+
+    /**
+     * Compiled counterpart of the {@link NullableTypeMappingOperation}.
+     */
+    private abstract static class CompiledNullableOperation extends CompiledOperation {
+
+        private final int targetDataLength;
+
+        protected CompiledNullableOperation(int targetDataLength) {
+            this.targetDataLength = targetDataLength;
+        }
+
+        @Override
+        final void apply(int sourceOffset, ByteBuffer source, ByteBuffer target) {
+            byte flags = source.get(sourceOffset);
+
+            switch (flags) {
+            case IS_ABSENT:
+                target.put(IS_ABSENT);
+                this.writeNulls(target);
+                break;
+
+            case IS_PRESENT:
+                if (!this.mayBeUnrepresentable()) {
+                    target.put(IS_PRESENT);
+                }
+
+                this.mapNonNullValue(sourceOffset + FLAGS_SIZE, source, target);
+                break;
+
+            case IS_UNREPRESENTABLE:
+                throw new UnsupportedOperationException("Unrepresentable values cannot be mapped.");
+
+            default:
+                throw new IllegalStateException("Unsupported flag value " + flags + ".");
+            }
+        }
+
+        protected boolean mayBeUnrepresentable() {
+            return false;
+        }
+
+        protected void writeNulls(ByteBuffer target) {
+            ByteBufferOperations.fillWithZeros(target, this.targetDataLength);
+        }
+
+        protected void writeUnrepresentable(ByteBuffer target) {
+            target.put(IS_UNREPRESENTABLE);
+            this.writeNulls(target);
+        }
+
+        protected abstract void mapNonNullValue(int dataOffset, ByteBuffer source, ByteBuffer target);
+
+    }
+
+    private static final class CompiledEnumMappingOperation extends CompiledNullableOperation {
+
+        private final int[] indexMap;
+
+        CompiledEnumMappingOperation(int targetDataLength, int[] indexMap) {
+            super(targetDataLength);
+
+            this.indexMap = indexMap;
+        }
+
+        @Override
+        protected boolean mayBeUnrepresentable() {
+            return true;
+        }
+
+        @Override
+        protected void mapNonNullValue(int dataOffset, ByteBuffer source, ByteBuffer target) {
+            int sourceIndex = source.getInt(dataOffset);
+            int targetIndex = this.indexMap[sourceIndex];
+
+            if (targetIndex >= 0) {
+                target.put(IS_PRESENT);
+                target.putInt(targetIndex);
+            } else {
+                target.put(IS_UNREPRESENTABLE);
+                target.putInt(0);
+            }
+        }
+
+    }
+
+    private static final class CompiledListMappingOperation extends CompiledNullableOperation {
+
+        private final int maxElements;
+
+        private final int sourceElementSize;
+
+        private final int targetElementSize;
+
+        private final CompiledOperation elementMappingOperation;
+
+        private final boolean isFlatCopy;
+
+        CompiledListMappingOperation(int targetDataLength, int maxElements, int sourceElementSize, int targetElementSize,
+                CompiledOperation elementMappingOperation) {
+            super(targetDataLength);
+
+            this.maxElements = maxElements;
+            this.sourceElementSize = sourceElementSize;
+            this.targetElementSize = targetElementSize;
+            this.elementMappingOperation = elementMappingOperation;
+            this.isFlatCopy = isFlatCopy(sourceElementSize, targetElementSize, elementMappingOperation);
+        }
+
+        private static boolean isFlatCopy(int sourceElementSize, int targetElementSize, CompiledOperation elementMappingOperation) {
+            // If the elements are simply copied and have the same size in source and target,
+            // all elements can be copied at once
+            return (elementMappingOperation instanceof CompiledCopyOperation) && (sourceElementSize == targetElementSize) &&
+                    (((CompiledCopyOperation) elementMappingOperation).length == sourceElementSize);
+        }
+
+        @Override
+        protected void mapNonNullValue(int dataOffset, ByteBuffer source, ByteBuffer target) {
+            int actualElements = source.getInt(dataOffset);
+            int elementsOffset = (dataOffset + ELEMENT_COUNT_SIZE);
+
+            if (actualElements > this.maxElements) {
+                throw new IllegalStateException("Too many elements (" + actualElements + ") at offset " + elementsOffset + ".");
+            }
+
+            target.putInt(actualElements);
+
+            if (this.isFlatCopy) {
+                ByteBufferOperations.copy(source, elementsOffset, target, actualElements * this.sourceElementSize);
+            } else {
+                int currentOffset = elementsOffset;
+                for (int elementIndex = 0; elementIndex < actualElements; elementIndex++) {
+                    this.elementMappingOperation.apply(currentOffset, source, target);
+                    currentOffset += this.sourceElementSize;
+                }
+            }
+
+            // Skip unused bytes in the target buffer
+            int unusedElements = (this.maxElements - actualElements);
+            target.position(target.position() + (unusedElements * this.targetElementSize));
+        }
+
+    }
+
+    /**
+     * The body of a record mapping, i.e., the field mappings of a record type entry.
+     */
+    private static final class CompiledRecordBody {
+
+        private final int[] fieldOffsets;
+
+        private final CompiledOperation[] fieldOperations;
+
+        CompiledRecordBody(int[] fieldOffsets, CompiledOperation[] fieldOperations) {
+            this.fieldOffsets = fieldOffsets;
+            this.fieldOperations = fieldOperations;
+        }
+
+        void mapFields(int dataOffset, ByteBuffer source, ByteBuffer target) {
+            int[] offsets = this.fieldOffsets;
+            CompiledOperation[] operations = this.fieldOperations;
+
+            for (int fieldIndex = 0; fieldIndex < operations.length; fieldIndex++) {
+                operations[fieldIndex].apply(dataOffset + offsets[fieldIndex], source, target);
+            }
+        }
+
+    }
+
+    private static final class CompiledRecordMappingOperation extends CompiledNullableOperation {
+
+        private final CompiledRecordBody recordBody;
+
+        CompiledRecordMappingOperation(int targetDataLength, CompiledRecordBody recordBody) {
+            super(targetDataLength);
+
+            this.recordBody = recordBody;
+        }
+
+        @Override
+        protected void mapNonNullValue(int dataOffset, ByteBuffer source, ByteBuffer target) {
+            this.recordBody.mapFields(dataOffset, source, target);
+        }
+
+    }
+
+    private static final class CompiledMonoToPolyRecordMappingOperation extends CompiledNullableOperation {
+
+        private final int targetTypeId;
+
+        private final CompiledRecordBody recordBody;
+
+        CompiledMonoToPolyRecordMappingOperation(int targetDataLength, int targetTypeId, CompiledRecordBody recordBody) {
+            super(targetDataLength);
+
+            this.targetTypeId = targetTypeId;
+            this.recordBody = recordBody;
+        }
+
+        @Override
+        protected void mapNonNullValue(int dataOffset, ByteBuffer source, ByteBuffer target) {
+            target.putInt(this.targetTypeId);
+            this.recordBody.mapFields(dataOffset, source, target);
+        }
+
+    }
+
+    private static final class CompiledPolyToMonoRecordMappingOperation extends CompiledNullableOperation {
+
+        private final TypeIdTable<CompiledRecordBody> recordBodyTable;
+
+        CompiledPolyToMonoRecordMappingOperation(int targetDataLength, TypeIdTable<CompiledRecordBody> recordBodyTable) {
+            super(targetDataLength);
+
+            this.recordBodyTable = recordBodyTable;
+        }
+
+        @Override
+        protected boolean mayBeUnrepresentable() {
+            return true;
+        }
+
+        @Override
+        protected void mapNonNullValue(int dataOffset, ByteBuffer source, ByteBuffer target) {
+            int sourceTypeId = source.getInt(dataOffset);
+            CompiledRecordBody recordBody = this.recordBodyTable.lookup(sourceTypeId);
+
+            if (recordBody == null) {
+                // If the actual type id does not match the expected one, the value is unrepresentable
+                this.writeUnrepresentable(target);
+                return;
+            }
+
+            target.put(IS_PRESENT);
+            recordBody.mapFields(dataOffset + TYPE_ID_SIZE, source, target);
+        }
+
+    }
+
+    private static final class CompiledPolymorphicRecordMapping {
+
+        final int targetTypeId;
+
+        final CompiledRecordBody recordBody;
+
+        CompiledPolymorphicRecordMapping(int targetTypeId, CompiledRecordBody recordBody) {
+            this.targetTypeId = targetTypeId;
+            this.recordBody = recordBody;
+        }
+
+    }
+
+    private static final class CompiledPolymorphicRecordMappingOperation extends CompiledNullableOperation {
+
+        private final TypeIdTable<CompiledPolymorphicRecordMapping> recordMappingTable;
+
+        CompiledPolymorphicRecordMappingOperation(int targetDataLength, TypeIdTable<CompiledPolymorphicRecordMapping> recordMappingTable) {
+            super(targetDataLength);
+
+            this.recordMappingTable = recordMappingTable;
+        }
+
+        @Override
+        protected boolean mayBeUnrepresentable() {
+            return true;
+        }
+
+        @Override
+        protected void mapNonNullValue(int dataOffset, ByteBuffer source, ByteBuffer target) {
+            int sourceTypeId = source.getInt(dataOffset);
+            CompiledPolymorphicRecordMapping recordMapping = this.recordMappingTable.lookup(sourceTypeId);
+
+            if (recordMapping == null) {
+                // If the type id does not exist, the value is unrepresentable.
+                this.writeUnrepresentable(target);
+                return;
+            }
+
+            target.put(IS_PRESENT);
+            target.putInt(recordMapping.targetTypeId);
+            recordMapping.recordBody.mapFields(dataOffset + TYPE_ID_SIZE, source, target);
+        }
+
+    }
+
+}
@@ -0,0 +1,115 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.core.util.EqualityUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A fingerprint identifies the inputs of a mapping script generation, i.e., the consumer API definition, the provider's revision history and the
+ * supported revisions. It is computed as a SHA-256 hash over the textual definitions, so that equal inputs result in equal fingerprints across JVMs.
+ * Note that textual changes that do not affect the resulting script (such as comments) still result in different fingerprints.
+ */
+public class ApiMappingScriptFingerprint {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    // Version of the fingerprint format, needs to be incremented when the script generation changes in an incompatible way
+    private static final int FINGERPRINT_VERSION = 1;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final String hash;
+
+    private ApiMappingScriptFingerprint(String hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Computes the fingerprint for the given inputs.
+     *
+     * @param consumerDefinition The text of the consumer API definition
+     * @param referencedRevision The provider revision referenced by the consumer API definition
+     * @param providerRevisions  The texts of the provider revisions in the revision history, in ascending order
+     * @param supportedRevisions The supported revisions of the provider
+     * @return The fingerprint for the given inputs
+     */
+    public static ApiMappingScriptFingerprint of(String consumerDefinition, int referencedRevision, List<String> providerRevisions,
+            Set<Integer> supportedRevisions) {
+
+        MessageDigest digest = createDigest();
+
+        updateInt(digest, FINGERPRINT_VERSION);
+        updateString(digest, consumerDefinition);
+        updateInt(digest, referencedRevision);
+
+        updateInt(digest, providerRevisions.size());
+        providerRevisions.forEach(revision -> updateString(digest, revision));
+
+        // Sort the supported revisions, as the order of the set is arbitrary
+        List<Integer> sortedRevisions = new ArrayList<>(supportedRevisions);
+        Collections.sort(sortedRevisions);
+        updateInt(digest, sortedRevisions.size());
+        sortedRevisions.forEach(revision -> updateInt(digest, revision));
+
+        return new ApiMappingScriptFingerprint(toHexString(digest.digest()));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update(ByteBuffer.allocate(4).putInt(value).array());
+    }
+
+    private static void updateString(MessageDigest digest, String value) {
+        // Prefix the string with its length to avoid ambiguities between subsequent strings
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static String toHexString(byte[] bytes) {
+        char[] characters = new char[bytes.length * 2];
+
+        for (int index = 0; index < bytes.length; index++) {
+            int value = (bytes[index] & 0xFF);
+            characters[2 * index] = HEX_DIGITS[value >>> 4];
+            characters[2 * index + 1] = HEX_DIGITS[value & 0x0F];
+        }
+
+        return new String(characters);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object that) {
+        return EqualityUtil.equals(this, that, this::equalsInternal);
+    }
+
+    private boolean equalsInternal(ApiMappingScriptFingerprint that) {
+        return this.hash.equals(that.hash);
+    }
+
+    @Override
+    public String toString() {
+        return this.hash;
+    }
+
+}
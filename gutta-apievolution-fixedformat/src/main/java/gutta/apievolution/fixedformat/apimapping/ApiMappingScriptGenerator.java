@@ -31,13 +31,17 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static gutta.apievolution.fixedformat.objectmapping.Flags.FLAGS_SIZE;
 
 /**
- * This class provides operations to generate an API mapping script from a definition resolution.
+ * This class provides operations to generate an API mapping script from a definition resolution. Optionally, the script can be generated in
+ * parallel using a fork-join pool, which is useful for large APIs. The generated scripts are identical in both modes.
  */
 public class ApiMappingScriptGenerator {
 
@@ -51,6 +55,30 @@ public class ApiMappingScriptGenerator {
 
     private static final int DISCRIMINATOR_SIZE = 4;
 
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a new generator that generates scripts sequentially.
+     */
+    public ApiMappingScriptGenerator() {
+        this(null);
+    }
+
+    private ApiMappingScriptGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Returns a generator that generates scripts in parallel using the given pool. Type infos and type entries of independent types are created
+     * concurrently, whereas the resulting entries are assembled in the same order as in sequential mode.
+     *
+     * @param pool The pool to use for the generation
+     * @return The generator
+     */
+    public ApiMappingScriptGenerator withParallelism(ForkJoinPool pool) {
+        return new ApiMappingScriptGenerator(pool);
+    }
+
     /**
      * Generates a mapping script from the given definition resolution.
      * 
@@ -59,16 +87,19 @@ public class ApiMappingScriptGenerator {
      * @return The generated mapping script
      */
     public ApiMappingScript generateMappingScript(DefinitionResolution resolution, MappingDirection direction) {
+        if (this.pool == null) {
+            return this.generateMappingScriptSequentially(resolution, direction);
+        } else {
+            return this.pool.invoke(ForkJoinTask.adapt(() -> this.generateMappingScriptConcurrently(resolution, direction)));
+        }
+    }
+
+    private ApiMappingScript generateMappingScriptSequentially(DefinitionResolution resolution, MappingDirection direction) {
         // First, calculate the sizes and offsets of all relevant types for both consumer and provider
         Map<Type, TypeInfo<?>> consumerTypeInfo = this.createTypeInfos(resolution.consumerTypes());
         Map<Type, TypeInfo<?>> providerTypeInfo = this.createTypeInfos(resolution.providerTypes());
 
-        MappingInfoProvider mappingInfoProvider;
-        if (direction == MappingDirection.CONSUMER_TO_PROVIDER) {
-            mappingInfoProvider = new ConsumerToProviderMappingInfoProvider(consumerTypeInfo, providerTypeInfo, resolution);
-        } else {
-            mappingInfoProvider = new ProviderToConsumerMappingInfoProvider(consumerTypeInfo, providerTypeInfo, resolution);
-        }
+        MappingInfoProvider mappingInfoProvider = createMappingInfoProvider(consumerTypeInfo, providerTypeInfo, resolution, direction);
 
         EntryCreator entryCreator = new EntryCreator(mappingInfoProvider);
         List<TypeEntry> typeEntries = entryCreator.createTypeEntries();
@@ -77,6 +108,32 @@ public class ApiMappingScriptGenerator {
         return new ApiMappingScript(typeEntries, operationEntries);
     }
 
+    private ApiMappingScript generateMappingScriptConcurrently(DefinitionResolution resolution, MappingDirection direction) {
+        // This method must be invoked from within the pool, as the type infos and entries are created by forked tasks
+        ForkJoinTask<Map<Type, TypeInfo<?>>> consumerTypeInfoTask = ForkJoinTask.adapt(() -> createTypeInfosConcurrently(resolution.consumerTypes()))
+                .fork();
+        Map<Type, TypeInfo<?>> providerTypeInfo = createTypeInfosConcurrently(resolution.providerTypes());
+        Map<Type, TypeInfo<?>> consumerTypeInfo = consumerTypeInfoTask.join();
+
+        MappingInfoProvider mappingInfoProvider = createMappingInfoProvider(consumerTypeInfo, providerTypeInfo, resolution, direction);
+
+        EntryCreator entryCreator = new ConcurrentEntryCreator(mappingInfoProvider);
+        List<TypeEntry> typeEntries = entryCreator.createTypeEntries();
+        List<OperationEntry> operationEntries = entryCreator.createOperationEntries();
+
+        return new ApiMappingScript(typeEntries, operationEntries);
+    }
+
+    private static MappingInfoProvider createMappingInfoProvider(Map<Type, TypeInfo<?>> consumerTypeInfo, Map<Type, TypeInfo<?>> providerTypeInfo,
+            DefinitionResolution resolution, MappingDirection direction) {
+
+        if (direction == MappingDirection.CONSUMER_TO_PROVIDER) {
+            return new ConsumerToProviderMappingInfoProvider(consumerTypeInfo, providerTypeInfo, resolution);
+        } else {
+            return new ProviderToConsumerMappingInfoProvider(consumerTypeInfo, providerTypeInfo, resolution);
+        }
+    }
+
     private abstract static class MappingInfoProvider {
 
         final Map<Type, TypeInfo<?>> consumerTypeInfo;
@@ -215,7 +272,7 @@ public class ApiMappingScriptGenerator {
 
     private static class EntryCreator implements TypeVisitor<TypeEntry> {
 
-        private final MappingInfoProvider mappingInfoProvider;
+        final MappingInfoProvider mappingInfoProvider;
 
         private final Map<Type, Integer> typeToEntryIndex;
 
@@ -246,7 +303,7 @@ public class ApiMappingScriptGenerator {
             return typeToEntryIndex;
         }
 
-        private static List<UserDefinedType<?>> getTargetUDTs(MappingInfoProvider mappingInfoProvider) {
+        static List<UserDefinedType<?>> getTargetUDTs(MappingInfoProvider mappingInfoProvider) {
             // Filter out all user-defined types. Javac seems to have problems figuring out the correct types,
             // so we do not use the purely stream-based approach here
             List<UserDefinedType<?>> udts = new ArrayList<>();
@@ -267,7 +324,7 @@ public class ApiMappingScriptGenerator {
             return typeEntries;
         }
 
-        private TypeEntry createTypeEntryFor(UserDefinedType<?> type) {
+        TypeEntry createTypeEntryFor(UserDefinedType<?> type) {
             // This method may be called recursively, so we cannot use computeIfAbsent here
             TypeEntry candidate = this.typeToEntry.get(type);
             if (candidate != null) {
@@ -280,13 +337,18 @@ public class ApiMappingScriptGenerator {
             return candidate;
         }
 
-        public List<OperationEntry> createOperationEntries() {
-            int entryIndex = 0;
-
+        List<? extends Operation<?, ?, ?>> getSortedTargetOperations() {
             List<? extends Operation<?, ?, ?>> operations = new ArrayList<>(this.mappingInfoProvider.getTargetOperations());            
             // Sort operations by public name for more deterministic scripts
             Collections.sort(operations, (op1, op2) -> op1.getPublicName().compareTo(op2.getPublicName()));
             
+            return operations;
+        }
+
+        public List<OperationEntry> createOperationEntries() {
+            int entryIndex = 0;
+
+            List<? extends Operation<?, ?, ?>> operations = this.getSortedTargetOperations();
             List<OperationEntry> entries = new ArrayList<>(operations.size());
 
             for (Operation<?, ?, ?> operation : operations) {
@@ -299,7 +361,7 @@ public class ApiMappingScriptGenerator {
             return entries;
         }
 
-        private OperationEntry createOperationEntry(int entryIndex, Operation<?, ?, ?> targetOperation, MappingInfoProvider mappingInfoProvider) {
+        OperationEntry createOperationEntry(int entryIndex, Operation<?, ?, ?> targetOperation, MappingInfoProvider mappingInfoProvider) {
             ApiMappingOperation resultMappingOperation = this.operationCreator.createResultMappingOperation(targetOperation);           
             ApiMappingOperation parameterMappingOperation = this.operationCreator.createParameterMappingOperation(targetOperation);
 
@@ -370,6 +432,65 @@ public class ApiMappingScriptGenerator {
 
     }
 
+    /**
+     * Entry creator that creates the type entries of each dependency level and the operation entries concurrently. As all dependencies of a type are
+     * on lower levels, their type entries are always available when the entry of the type itself is created. The entries are returned in the same
+     * order as by the sequential entry creator.
+     */
+    private static class ConcurrentEntryCreator extends EntryCreator {
+
+        private final Map<Type, TypeEntry> typeToEntry;
+
+        public ConcurrentEntryCreator(MappingInfoProvider mappingInfoProvider) {
+            super(mappingInfoProvider);
+
+            this.typeToEntry = new ConcurrentHashMap<>();
+        }
+
+        @Override
+        public List<TypeEntry> createTypeEntries() {
+            for (List<Type> level : DependencyLevels.of(getTargetUDTs(this.mappingInfoProvider))) {
+                // Only user-defined types have type entries, all other types are only required for the dependencies
+                List<ForkJoinTask<?>> tasks = level.stream().filter(UserDefinedType.class::isInstance)
+                        .map(type -> ForkJoinTask.adapt(() -> this.typeToEntry.put(type, type.accept(this)))).collect(Collectors.toList());
+                ForkJoinTask.invokeAll(tasks);
+            }
+
+            List<TypeEntry> typeEntries = new ArrayList<>(this.typeToEntry.values());
+            Collections.sort(typeEntries, (entry1, entry2) -> Integer.compare(entry1.getEntryIndex(), entry2.getEntryIndex()));
+
+            return typeEntries;
+        }
+
+        @Override
+        TypeEntry createTypeEntryFor(UserDefinedType<?> type) {
+            TypeEntry typeEntry = this.typeToEntry.get(type);
+            if (typeEntry == null) {
+                throw new IllegalStateException("No type entry for dependency '" + type + "'.");
+            }
+
+            return typeEntry;
+        }
+
+        @Override
+        public List<OperationEntry> createOperationEntries() {
+            List<? extends Operation<?, ?, ?>> operations = this.getSortedTargetOperations();
+            List<ForkJoinTask<OperationEntry>> tasks = new ArrayList<>(operations.size());
+
+            for (int entryIndex = 0; entryIndex < operations.size(); entryIndex++) {
+                int currentIndex = entryIndex;
+                Operation<?, ?, ?> operation = operations.get(entryIndex);
+
+                tasks.add(ForkJoinTask.adapt(() -> this.createOperationEntry(currentIndex, operation, this.mappingInfoProvider)));
+            }
+
+            // Operation entries only depend on type entries, so they can all be created at once
+            ForkJoinTask.invokeAll(tasks);
+            return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+        }
+
+    }
+
     private static class MappingOperationCreator implements TypeVisitor<ApiMappingOperation> {
 
         private final Map<Type, ApiMappingOperation> typeToOperation;
@@ -381,7 +502,9 @@ public class ApiMappingScriptGenerator {
         protected MappingOperationCreator(MappingInfoProvider mappingInfoProvider, Function<UserDefinedType<?>, TypeEntry> typeEntryResolver) {
             this.mappingInfoProvider = mappingInfoProvider;
             this.typeEntryResolver = typeEntryResolver;
-            this.typeToOperation = new HashMap<>();
+            // The map is concurrent, as operations may be derived concurrently in parallel mode. Concurrently derived operations for the same
+            // type are equal, so it does not matter which one ends up in the map
+            this.typeToOperation = new ConcurrentHashMap<>();
         }
 
         private ApiMappingOperation deriveOperation(Type type) {
@@ -575,6 +698,13 @@ public class ApiMappingScriptGenerator {
         return typeInfos;
     }
 
+    private static Map<Type, TypeInfo<?>> createTypeInfosConcurrently(Collection<Type> types) {
+        ConcurrentTypeInfoCreator infoCreator = new ConcurrentTypeInfoCreator();
+        infoCreator.createTypeInfos(DependencyLevels.of(types));
+
+        return infoCreator.getTypeInfos();
+    }
+
     private static class TypeInfo<T extends Type> {
 
         private final int size;
@@ -797,6 +927,114 @@ public class ApiMappingScriptGenerator {
 
     }
 
+    /**
+     * Type info creator that determines the infos of the types of each dependency level concurrently. As all dependencies of a type are on lower
+     * levels, their infos are always available when the info of the type itself is determined.
+     */
+    private static class ConcurrentTypeInfoCreator extends TypeInfoCreator {
+
+        private final Map<Type, TypeInfo<?>> typeInfos;
+
+        public ConcurrentTypeInfoCreator() {
+            this(new ConcurrentHashMap<>());
+        }
+
+        private ConcurrentTypeInfoCreator(Map<Type, TypeInfo<?>> typeInfos) {
+            super(typeInfos);
+
+            this.typeInfos = typeInfos;
+        }
+
+        @Override
+        public TypeInfo<?> determineInfoForType(Type type) {
+            TypeInfo<?> typeInfo = this.typeInfos.get(type);
+            if (typeInfo == null) {
+                throw new IllegalStateException("No type info for dependency '" + type + "'.");
+            }
+
+            return typeInfo;
+        }
+
+        void createTypeInfos(List<List<Type>> dependencyLevels) {
+            for (List<Type> level : dependencyLevels) {
+                List<ForkJoinTask<?>> tasks = level.stream().map(type -> ForkJoinTask.adapt(() -> this.createTypeInfo(type)))
+                        .collect(Collectors.toList());
+                ForkJoinTask.invokeAll(tasks);
+            }
+        }
+
+        private void createTypeInfo(Type type) {
+            this.typeInfos.put(type, type.accept(this));
+        }
+
+        public Map<Type, TypeInfo<?>> getTypeInfos() {
+            return this.typeInfos;
+        }
+
+    }
+
+    /**
+     * Groups types into levels such that all dependencies of a type, i.e., the types whose type infos or type entries are required to create the
+     * type info or type entry of the type itself, are on lower levels. The types on each level are therefore independent of each other.
+     */
+    private static class DependencyLevels {
+
+        private final Map<Type, Integer> typeToLevel = new HashMap<>();
+
+        private final List<List<Type>> levels = new ArrayList<>();
+
+        public static List<List<Type>> of(Collection<? extends Type> types) {
+            DependencyLevels dependencyLevels = new DependencyLevels();
+            types.forEach(dependencyLevels::determineLevel);
+
+            return dependencyLevels.levels;
+        }
+
+        private int determineLevel(Type type) {
+            // This method is called recursively, so we cannot use computeIfAbsent here
+            Integer existingLevel = this.typeToLevel.get(type);
+            if (existingLevel != null) {
+                return existingLevel;
+            }
+
+            int level = 0;
+            for (Type dependency : dependenciesOf(type)) {
+                level = Math.max(level, this.determineLevel(dependency) + 1);
+            }
+
+            this.typeToLevel.put(type, level);
+            while (this.levels.size() <= level) {
+                this.levels.add(new ArrayList<>());
+            }
+            this.levels.get(level).add(type);
+
+            return level;
+        }
+
+        private static List<Type> dependenciesOf(Type type) {
+            List<Type> dependencies = new ArrayList<>();
+
+            if (type instanceof BoundedListType) {
+                dependencies.add(((BoundedListType) type).getElementType());
+            } else if (type instanceof RecordType) {
+                RecordType<?, ?, ?> recordType = (RecordType<?, ?, ?>) type;
+
+                // Unbounded field types are skipped, as they are reported when the record type is processed
+                for (Field<?, ?> field : recordType) {
+                    if (!field.getType().isUnbounded()) {
+                        dependencies.add(field.getType());
+                    }
+                }
+
+                // Polymorphic records depend on their subtypes (for their size as well as their mapping operations)
+                dependencies.addAll(recordType.getSubTypes());
+            }
+
+            return dependencies;
+        }
+
+    }
+
     /**
      * Enumeration of possible mapping directions.
      *
@@ -0,0 +1,232 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.fixedformat.apimapping.PolymorphicRecordMappingOperation.PolymorphicRecordMapping;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.FLAGS_SIZE;
+
+/**
+ * This class provides a peephole optimization pass for API mapping scripts. The optimizer performs the following rewrites:
+ * <ul>
+ * <li>Copy operations of adjacent fields are merged into a single copy operation</li>
+ * <li>Subsequent skip operations are folded into a single skip operation</li>
+ * <li>Enum mappings with an identity index map are replaced by a copy operation</li>
+ * <li>List mappings whose elements are copied unchanged are replaced by a copy operation</li>
+ * <li>Monomorphic record mappings that consist of a single copy of the entire record are replaced by a copy operation</li>
+ * </ul>
+ *
+ * <p/>
+ * The optimized script retains the type and operation entry indices of the original script, and only uses operations supported by the
+ * {@link ApiMappingScriptCodec}. Therefore, it can be encoded and executed by any script interpreter.
+ *
+ * <p/>
+ * Note that the optimized script assumes well-formed source data, i.e., that the data of absent values is zero-filled and that
+ * enum ordinals and list sizes are within their respective bounds. While the original script validates this data, the optimized
+ * script passes it through unchanged.
+ */
+public class ApiMappingScriptOptimizer {
+
+    private static final int ELEMENT_COUNT_SIZE = 4;
+
+    /**
+     * Optimizes the given mapping script.
+     *
+     * @param script The script to optimize
+     * @return An optimized script that performs the same mapping on well-formed data
+     */
+    public ApiMappingScript optimizeScript(ApiMappingScript script) {
+        OperationOptimizer operationOptimizer = new OperationOptimizer();
+
+        List<TypeEntry> typeEntries = script.getTypeEntries();
+        List<TypeEntry> optimizedTypeEntries = new ArrayList<>(typeEntries.size());
+        for (TypeEntry typeEntry : typeEntries) {
+            optimizedTypeEntries.add(typeEntry.accept(operationOptimizer));
+        }
+
+        List<OperationEntry> operationEntries = script.getOperationEntries();
+        List<OperationEntry> optimizedOperationEntries = new ArrayList<>(operationEntries.size());
+        for (OperationEntry operationEntry : operationEntries) {
+            ApiMappingOperation parameterMappingOperation = operationOptimizer.optimizeOperation(operationEntry.getParameterMappingOperation());
+            ApiMappingOperation resultMappingOperation = operationOptimizer.optimizeOperation(operationEntry.getResultMappingOperation());
+
+            optimizedOperationEntries.add(new OperationEntry(operationEntry.getEntryIndex(), operationEntry.getName(), parameterMappingOperation,
+                    resultMappingOperation));
+        }
+
+        return new ApiMappingScript(optimizedTypeEntries, optimizedOperationEntries);
+    }
+
+    private static class OperationOptimizer implements ApiMappingOperationVisitor<ApiMappingOperation>, TypeEntryVisitor<TypeEntry> {
+
+        private final Map<RecordTypeEntry, RecordTypeEntry> optimizedRecordEntries = new IdentityHashMap<>();
+
+        private final Map<ApiMappingOperation, ApiMappingOperation> optimizedOperations = new IdentityHashMap<>();
+
+        public ApiMappingOperation optimizeOperation(ApiMappingOperation operation) {
+            // Operations are shared between fields of the same type, so we only optimize each operation once
+            ApiMappingOperation optimizedOperation = this.optimizedOperations.get(operation);
+            if (optimizedOperation == null) {
+                optimizedOperation = operation.accept(this);
+                this.optimizedOperations.put(operation, optimizedOperation);
+            }
+
+            return optimizedOperation;
+        }
+
+        private RecordTypeEntry optimizeRecordEntry(RecordTypeEntry typeEntry) {
+            // Records cannot contain themselves, so computeIfAbsent is safe here
+            return this.optimizedRecordEntries.computeIfAbsent(typeEntry, this::createOptimizedRecordEntry);
+        }
+
+        private RecordTypeEntry createOptimizedRecordEntry(RecordTypeEntry typeEntry) {
+            List<FieldMapping> fieldMappings = typeEntry.getFieldMappings();
+            List<FieldMapping> optimizedFieldMappings = new ArrayList<>(fieldMappings.size());
+
+            for (FieldMapping fieldMapping : fieldMappings) {
+                int fieldOffset = fieldMapping.getOffset();
+                ApiMappingOperation fieldOperation = this.optimizeOperation(fieldMapping.getMappingOperation());
+
+                int lastIndex = (optimizedFieldMappings.size() - 1);
+                FieldMapping previousMapping = (lastIndex >= 0) ? optimizedFieldMappings.get(lastIndex) : null;
+                ApiMappingOperation previousOperation = (previousMapping != null) ? previousMapping.getMappingOperation() : null;
+
+                if (previousOperation instanceof CopyOperation && fieldOperation instanceof CopyOperation) {
+                    // Merge copy operations on adjacent source data into a single copy operation
+                    int previousOffset = previousMapping.getOffset();
+                    int previousLength = ((CopyOperation) previousOperation).getLength();
+
+                    if (previousOffset + previousLength == fieldOffset) {
+                        int mergedLength = previousLength + ((CopyOperation) fieldOperation).getLength();
+                        optimizedFieldMappings.set(lastIndex, new FieldMapping(previousOffset, new CopyOperation(mergedLength)));
+                        continue;
+                    }
+                } else if (previousOperation instanceof SkipOperation && fieldOperation instanceof SkipOperation) {
+                    // Fold subsequent skip operations, as they only depend on the target position
+                    int mergedAmount = ((SkipOperation) previousOperation).getAmount() + ((SkipOperation) fieldOperation).getAmount();
+                    optimizedFieldMappings.set(lastIndex, new FieldMapping(previousMapping.getOffset(), new SkipOperation(mergedAmount)));
+                    continue;
+                }
+
+                optimizedFieldMappings.add(new FieldMapping(fieldOffset, fieldOperation));
+            }
+
+            return new RecordTypeEntry(typeEntry.getEntryIndex(), typeEntry.getTypeId(), typeEntry.getDataSize(), optimizedFieldMappings);
+        }
+
+        private static boolean isIdentityRecord(RecordTypeEntry typeEntry) {
+            List<FieldMapping> fieldMappings = typeEntry.getFieldMappings();
+            if (fieldMappings.isEmpty()) {
+                return (typeEntry.getDataSize() == 0);
+            } else if (fieldMappings.size() > 1) {
+                return false;
+            }
+
+            // A record is an identity mapping if its entire data is copied from the start of the source data
+            FieldMapping fieldMapping = fieldMappings.get(0);
+            ApiMappingOperation mappingOperation = fieldMapping.getMappingOperation();
+
+            return (fieldMapping.getOffset() == 0) &&
+                    (mappingOperation instanceof CopyOperation) &&
+                    (((CopyOperation) mappingOperation).getLength() == typeEntry.getDataSize());
+        }
+
+        private static boolean isIdentityMap(int[] indexMap) {
+            for (int index = 0; index < indexMap.length; index++) {
+                if (indexMap[index] != index) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public TypeEntry handleEnumTypeEntry(EnumTypeEntry enumTypeEntry) {
+            return enumTypeEntry;
+        }
+
+        @Override
+        public TypeEntry handleRecordTypeEntry(RecordTypeEntry recordTypeEntry) {
+            return this.optimizeRecordEntry(recordTypeEntry);
+        }
+
+        @Override
+        public ApiMappingOperation handleCopyOperation(CopyOperation copyOperation) {
+            return copyOperation;
+        }
+
+        @Override
+        public ApiMappingOperation handleSkipOperation(SkipOperation skipOperation) {
+            return skipOperation;
+        }
+
+        @Override
+        public ApiMappingOperation handleEnumMappingOperation(EnumMappingOperation enumMappingOperation) {
+            EnumTypeEntry typeEntry = enumMappingOperation.getTypeEntry();
+            if (isIdentityMap(typeEntry.getIndexMap())) {
+                return new CopyOperation(FLAGS_SIZE + typeEntry.getDataSize());
+            }
+
+            return enumMappingOperation;
+        }
+
+        @Override
+        public ApiMappingOperation handleListMappingOperation(ListMappingOperation listMappingOperation) {
+            ApiMappingOperation elementMappingOperation = this.optimizeOperation(listMappingOperation.elementMappingOperation);
+            int sourceElementSize = listMappingOperation.sourceElementSize;
+            int targetElementSize = listMappingOperation.targetElementSize;
+
+            if (sourceElementSize == targetElementSize && elementMappingOperation instanceof CopyOperation &&
+                    ((CopyOperation) elementMappingOperation).getLength() == targetElementSize) {
+                // If the elements are copied unchanged, the entire list (including the element count) can be copied
+                return new CopyOperation(FLAGS_SIZE + listMappingOperation.getTargetDataLength());
+            }
+
+            if (elementMappingOperation == listMappingOperation.elementMappingOperation) {
+                return listMappingOperation;
+            }
+
+            return new ListMappingOperation(listMappingOperation.maxElements, sourceElementSize, targetElementSize, elementMappingOperation);
+        }
+
+        @Override
+        public ApiMappingOperation handleMonomorphicRecordMappingOperation(MonomorphicRecordMappingOperation recordMappingOperation) {
+            RecordTypeEntry typeEntry = this.optimizeRecordEntry(recordMappingOperation.getTypeEntry());
+            if (isIdentityRecord(typeEntry)) {
+                return new CopyOperation(FLAGS_SIZE + typeEntry.getDataSize());
+            }
+
+            return new MonomorphicRecordMappingOperation(typeEntry);
+        }
+
+        @Override
+        public ApiMappingOperation handleMonoToPolyRecordMappingOperation(MonoToPolyRecordMappingOperation recordMappingOperation) {
+            RecordTypeEntry typeEntry = this.optimizeRecordEntry(recordMappingOperation.getTypeEntry());
+            return new MonoToPolyRecordMappingOperation(typeEntry);
+        }
+
+        @Override
+        public ApiMappingOperation handlePolyToMonoRecordMappingOperation(PolyToMonoRecordMappingOperation recordMappingOperation) {
+            RecordTypeEntry typeEntry = this.optimizeRecordEntry(recordMappingOperation.getTypeEntry());
+            return new PolyToMonoRecordMappingOperation(recordMappingOperation.getMappableTypeIds(), typeEntry);
+        }
+
+        @Override
+        public ApiMappingOperation handlePolymorphicRecordMappingOperation(PolymorphicRecordMappingOperation polymorphicRecordMappingOperation) {
+            List<PolymorphicRecordMapping> recordMappings = new ArrayList<>();
+
+            for (PolymorphicRecordMapping recordMapping : polymorphicRecordMappingOperation.getRecordMappings()) {
+                RecordTypeEntry typeEntry = this.optimizeRecordEntry(recordMapping.getTypeEntry());
+                recordMappings.add(new PolymorphicRecordMapping(recordMapping.getSourceTypeId(), recordMapping.getTargetTypeId(), typeEntry));
+            }
+
+            return new PolymorphicRecordMappingOperation(recordMappings);
+        }
+
+    }
+
+}
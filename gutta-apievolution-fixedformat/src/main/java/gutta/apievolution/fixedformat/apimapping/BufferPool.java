@@ -0,0 +1,60 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link BufferPool} provides the buffers that are used by the operation proxies for the fixed-format data. Since the required buffers can be quite
+ * large, reusing them can considerably reduce the allocation rate.
+ *
+ * <p/>
+ * Acquired buffers are always completely zeroed up to the requested size, since mapping operations may skip over target data that is expected to be
+ * zero.
+ */
+public interface BufferPool {
+
+    /**
+     * Returns a pool that does not reuse buffers, i.e., allocates a new buffer on each request.
+     *
+     * @return see above
+     */
+    static BufferPool unpooled() {
+        return UnpooledBufferPool.INSTANCE;
+    }
+
+    /**
+     * Returns a new pool that keeps a small number of buffers per thread. This pool requires no synchronization, but retains buffers for each thread
+     * that uses it.
+     *
+     * @return see above
+     */
+    static BufferPool threadLocal() {
+        return new ThreadLocalBufferPool();
+    }
+
+    /**
+     * Returns a new pool that shares the given number of buffers between all threads. The buffers are distributed across stripes to reduce contention.
+     *
+     * @param numberOfBuffers The maximum number of buffers to keep in the pool
+     * @return see above
+     */
+    static BufferPool striped(int numberOfBuffers) {
+        return new StripedBufferPool(numberOfBuffers);
+    }
+
+    /**
+     * Acquires a buffer of the given size from this pool. The buffer's position is zero, its limit is the given size, and all bytes up to the limit are
+     * zero.
+     *
+     * @param size The required size of the buffer
+     * @return A buffer of the given size
+     */
+    ByteBuffer acquireBuffer(int size);
+
+    /**
+     * Returns the given buffer to this pool. The buffer must not be used by the caller after this call.
+     *
+     * @param buffer The buffer to release
+     */
+    void releaseBuffer(ByteBuffer buffer);
+
+}
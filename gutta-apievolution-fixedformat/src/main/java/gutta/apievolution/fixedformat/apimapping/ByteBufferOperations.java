@@ -0,0 +1,101 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Auxiliary operations on byte buffers that are used by the mapping operations. All operations read the source data at absolute offsets and write the
+ * target data at the target's current position, without allocating any intermediate objects.
+ */
+final class ByteBufferOperations {
+
+    private static final byte ZERO_BYTE = 0x00;
+
+    private static final int LONG_SIZE = 8;
+
+    /**
+     * Copies the given number of bytes from the given absolute offset in the source buffer to the current position of the target buffer. The position of
+     * the source buffer is not changed.
+     *
+     * @param source       The buffer to copy the data from
+     * @param sourceOffset The absolute offset of the data in the source buffer
+     * @param target       The buffer to copy the data to
+     * @param length       The number of bytes to copy
+     */
+    static void copy(ByteBuffer source, int sourceOffset, ByteBuffer target, int length) {
+        if (sourceOffset + length > source.limit()) {
+            throw new BufferUnderflowException();
+        }
+
+        int targetPosition = target.position();
+        if (length > (target.limit() - targetPosition)) {
+            throw new BufferOverflowException();
+        }
+
+        if (source.hasArray() && target.hasArray()) {
+            // Fast path for heap buffers
+            System.arraycopy(source.array(), source.arrayOffset() + sourceOffset, target.array(), target.arrayOffset() + targetPosition, length);
+            target.position(targetPosition + length);
+        } else if (source.hasArray()) {
+            // Bulk transfer from a heap buffer to a direct buffer
+            target.put(source.array(), source.arrayOffset() + sourceOffset, length);
+        } else {
+            copyFromBuffer(source, sourceOffset, target, length);
+        }
+    }
+
+    private static void copyFromBuffer(ByteBuffer source, int sourceOffset, ByteBuffer target, int length) {
+        // Use a bulk transfer from the source buffer itself, as there is no absolute bulk get in Java 8. As creating a
+        // view of the source would require an allocation, the source's position and limit are temporarily changed instead
+        int sourcePosition = source.position();
+        int sourceLimit = source.limit();
+
+        try {
+            source.limit(sourceOffset + length);
+            source.position(sourceOffset);
+
+            target.put(source);
+        } finally {
+            source.limit(sourceLimit);
+            source.position(sourcePosition);
+        }
+    }
+
+    /**
+     * Writes the given number of zero bytes at the current position of the target buffer.
+     *
+     * @param target The buffer to write to
+     * @param length The number of zero bytes to write
+     */
+    static void fillWithZeros(ByteBuffer target, int length) {
+        int targetPosition = target.position();
+        if (length > (target.limit() - targetPosition)) {
+            throw new BufferOverflowException();
+        }
+
+        if (target.hasArray()) {
+            int startIndex = (target.arrayOffset() + targetPosition);
+            Arrays.fill(target.array(), startIndex, startIndex + length, ZERO_BYTE);
+            target.position(targetPosition + length);
+        } else {
+            int remainingBytes = length;
+
+            while (remainingBytes >= LONG_SIZE) {
+                target.putLong(0L);
+                remainingBytes -= LONG_SIZE;
+            }
+
+            while (remainingBytes > 0) {
+                target.put(ZERO_BYTE);
+                remainingBytes--;
+            }
+        }
+    }
+
+    private ByteBufferOperations() {
+        // Private constructor
+    }
+
+}
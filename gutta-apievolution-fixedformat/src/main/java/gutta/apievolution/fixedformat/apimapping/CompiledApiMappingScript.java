@@ -0,0 +1,33 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCompiler.CompiledOperationEntry;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An API mapping script that executes compiled operations instead of interpreting its operation entries. Instances of this class are created by the
+ * {@link ApiMappingScriptCompiler}.
+ */
+class CompiledApiMappingScript extends ApiMappingScript {
+
+    private final Map<String, CompiledOperationEntry> nameToCompiledOperation;
+
+    CompiledApiMappingScript(List<TypeEntry> typeEntries, List<OperationEntry> operationEntries,
+            Map<String, CompiledOperationEntry> nameToCompiledOperation) {
+        super(typeEntries, operationEntries);
+
+        this.nameToCompiledOperation = nameToCompiledOperation;
+    }
+
+    @Override
+    public OperationHandle resolveOperation(String operationName) {
+        CompiledOperationEntry operationEntry = this.nameToCompiledOperation.get(operationName);
+        if (operationEntry == null) {
+            throw new IllegalArgumentException("No entry for operation '" + operationName + "'.");
+        }
+
+        return operationEntry;
+    }
+
+}
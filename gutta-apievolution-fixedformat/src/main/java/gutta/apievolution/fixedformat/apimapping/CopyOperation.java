@@ -14,14 +14,8 @@ class CopyOperation implements ApiMappingOperation {
     
     @Override
     public void apply(int offset, ByteBuffer source, ByteBuffer target) {
-        byte[] copyBuffer = new byte[this.length];
-        
-        // Copy data from the given source offset. Starting with Java 13, there is
-        // also a built-in function for this        
-        source.position(offset);
-        source.get(copyBuffer);
-        
-        target.put(copyBuffer);
+        // Copy the data directly from the given source offset without an intermediate array
+        ByteBufferOperations.copy(source, offset, target, this.length);
     }
     
     public int getLength() {
@@ -0,0 +1,47 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+/**
+ * An {@link EncodedScriptReader} provides random access to the entries of an encoded API mapping script. Implementations exist for each of the
+ * supported format versions and are not thread-safe.
+ */
+interface EncodedScriptReader {
+
+    /**
+     * Returns the number of type entries contained in the script.
+     *
+     * @return see above
+     */
+    int getNumberOfTypeEntries();
+
+    /**
+     * Returns the number of operation entries contained in the script.
+     *
+     * @return see above
+     */
+    int getNumberOfOperationEntries();
+
+    /**
+     * Returns the type entry with the given index, decoding it if necessary.
+     *
+     * @param entryIndex The index of the desired type entry
+     * @return The type entry
+     */
+    TypeEntry getOrReadTypeEntry(int entryIndex);
+
+    /**
+     * Reads the name of the operation entry with the given index.
+     *
+     * @param operationIndex The index of the desired operation entry
+     * @return The name of the operation
+     */
+    String readOperationName(int operationIndex);
+
+    /**
+     * Reads the operation entry with the given index.
+     *
+     * @param operationIndex The index of the desired operation entry
+     * @return The operation entry
+     */
+    OperationEntry readOperationEntry(int operationIndex);
+
+}
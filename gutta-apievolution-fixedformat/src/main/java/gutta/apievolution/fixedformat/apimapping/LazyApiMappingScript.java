@@ -0,0 +1,107 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An API mapping script that operates directly on the encoded representation of a script. Operation entries are decoded on their first use and
+ * cached afterwards, and type entries are only decoded when they are required by a decoded operation. Instances of this class are created by the
+ * {@link ApiMappingScriptCodec}.
+ *
+ * <p/>
+ * Decoding is synchronized, as the underlying {@link EncodedScriptReader} is not thread-safe. Once an operation is decoded, it is resolved without
+ * synchronization.
+ */
+class LazyApiMappingScript extends ApiMappingScript {
+
+    private final EncodedScriptReader reader;
+
+    private final Map<String, Integer> nameToOperationIndex;
+
+    private final OperationEntry[] operationEntries;
+
+    private final Map<String, OperationEntry> nameToDecodedOperation;
+
+    LazyApiMappingScript(EncodedScriptReader reader, Map<String, Integer> nameToOperationIndex) {
+        super(Collections.emptyList(), Collections.emptyList());
+
+        int numberOfOperations = reader.getNumberOfOperationEntries();
+
+        this.reader = reader;
+        this.nameToOperationIndex = nameToOperationIndex;
+        this.operationEntries = new OperationEntry[numberOfOperations];
+        this.nameToDecodedOperation = new ConcurrentHashMap<>(numberOfOperations);
+    }
+
+    @Override
+    public OperationHandle resolveOperation(String operationName) {
+        OperationEntry operationEntry = this.nameToDecodedOperation.get(operationName);
+        if (operationEntry != null) {
+            return operationEntry;
+        }
+
+        Integer operationIndex = this.nameToOperationIndex.get(operationName);
+        if (operationIndex == null) {
+            throw new IllegalArgumentException("No entry for operation '" + operationName + "'.");
+        }
+
+        return this.getOrDecodeOperationEntry(operationIndex);
+    }
+
+    private synchronized OperationEntry getOrDecodeOperationEntry(int operationIndex) {
+        OperationEntry operationEntry = this.operationEntries[operationIndex];
+        if (operationEntry != null) {
+            return operationEntry;
+        }
+
+        operationEntry = this.reader.readOperationEntry(operationIndex);
+        this.operationEntries[operationIndex] = operationEntry;
+        this.nameToDecodedOperation.put(operationEntry.getName(), operationEntry);
+
+        return operationEntry;
+    }
+
+    /**
+     * Returns the type entries of this mapping script. Note that this decodes all type entries that have not been decoded yet.
+     *
+     * @return see above
+     */
+    @Override
+    public synchronized List<TypeEntry> getTypeEntries() {
+        int numberOfTypeEntries = this.reader.getNumberOfTypeEntries();
+        List<TypeEntry> typeEntries = new ArrayList<>(numberOfTypeEntries);
+        for (int entryIndex = 0; entryIndex < numberOfTypeEntries; entryIndex++) {
+            typeEntries.add(this.reader.getOrReadTypeEntry(entryIndex));
+        }
+
+        return Collections.unmodifiableList(typeEntries);
+    }
+
+    /**
+     * Returns the operation entries of this mapping script. Note that this decodes all operation entries that have not been decoded yet.
+     *
+     * @return see above
+     */
+    @Override
+    public synchronized List<OperationEntry> getOperationEntries() {
+        for (int operationIndex = 0; operationIndex < this.operationEntries.length; operationIndex++) {
+            this.getOrDecodeOperationEntry(operationIndex);
+        }
+
+        return Collections.unmodifiableList(Arrays.asList(this.operationEntries.clone()));
+    }
+
+    /**
+     * Returns the number of operation entries that have been decoded so far.
+     *
+     * @return see above
+     */
+    int getNumberOfDecodedOperations() {
+        return this.nameToDecodedOperation.size();
+    }
+
+}
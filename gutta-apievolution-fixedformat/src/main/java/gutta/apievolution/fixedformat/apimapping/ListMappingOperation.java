@@ -19,6 +19,8 @@ class ListMappingOperation extends NullableTypeMappingOperation {
     
     final ApiMappingOperation elementMappingOperation;
     
+    private final boolean isFlatCopy;
+    
     public ListMappingOperation(int maxElements, int sourceElementSize, int targetElementSize,
             ApiMappingOperation elementMappingOperation) {
         this.maxElements = maxElements;
@@ -26,6 +28,14 @@ class ListMappingOperation extends NullableTypeMappingOperation {
         this.targetElementSize = targetElementSize;
         this.targetDataLength = (maxElements * targetElementSize) + ELEMENT_COUNT_SIZE;
         this.elementMappingOperation = elementMappingOperation;
+        this.isFlatCopy = isFlatCopy(sourceElementSize, targetElementSize, elementMappingOperation);
+    }
+    
+    private static boolean isFlatCopy(int sourceElementSize, int targetElementSize, ApiMappingOperation elementMappingOperation) {
+        // If the elements are simply copied and have the same size in source and target,
+        // all elements can be copied at once
+        return (elementMappingOperation instanceof CopyOperation) && (sourceElementSize == targetElementSize) &&
+                (((CopyOperation) elementMappingOperation).getLength() == sourceElementSize);
     }
     
     @Override
@@ -45,15 +55,20 @@ class ListMappingOperation extends NullableTypeMappingOperation {
         
         // Map the elements
         int currentOffset = source.position();
-        for (int elementIndex = 0; elementIndex < actualElements; elementIndex++) {
-            this.elementMappingOperation.apply(currentOffset, source, target);
-            currentOffset += this.sourceElementSize;
+        if (this.isFlatCopy) {
+            // Copy the entire element block in a single bulk transfer
+            ByteBufferOperations.copy(source, currentOffset, target, actualElements * this.sourceElementSize);
+        } else {
+            for (int elementIndex = 0; elementIndex < actualElements; elementIndex++) {
+                this.elementMappingOperation.apply(currentOffset, source, target);
+                currentOffset += this.sourceElementSize;
+            }
         }
         
-        // Skip unused bytes in the target buffer
+        // Skip unused bytes in the target buffer in one step (target buffers are expected to be zeroed)
         int unusedElements = (this.maxElements - actualElements);
         int targetOffset = target.position();
-        target.position(targetOffset + (unusedElements * targetElementSize));
+        target.position(targetOffset + (unusedElements * this.targetElementSize));
     }
     
     @Override
@@ -33,6 +33,10 @@ class MonoToPolyRecordMappingOperation extends AbstractPolymorphicRecordMappingO
         return this.delegate.getEntryIndex();
     }
     
+    RecordTypeEntry getTypeEntry() {
+        return this.delegate.getTypeEntry();
+    }
+    
     @Override
     protected void mapNonNullValue(ByteBuffer source, ByteBuffer target) {
         target.putInt(this.targetTypeId);
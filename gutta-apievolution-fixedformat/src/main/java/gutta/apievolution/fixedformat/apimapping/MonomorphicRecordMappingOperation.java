@@ -3,6 +3,7 @@ package gutta.apievolution.fixedformat.apimapping;
 import gutta.apievolution.core.util.EqualityUtil;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 
 class MonomorphicRecordMappingOperation extends UserDefinedTypeMappingOperation<RecordTypeEntry> {
     
@@ -14,8 +15,10 @@ class MonomorphicRecordMappingOperation extends UserDefinedTypeMappingOperation<
     protected void mapNonNullValue(ByteBuffer source, ByteBuffer target) {
         int offset = source.position();
         
-        for (FieldMapping fieldMapping : this.getTypeEntry().getFieldMappings()) {
-            fieldMapping.apply(offset, source, target);
+        // Use an indexed loop to avoid allocating an iterator for each record
+        List<FieldMapping> fieldMappings = this.getTypeEntry().getFieldMappings();
+        for (int fieldIndex = 0; fieldIndex < fieldMappings.size(); fieldIndex++) {
+            fieldMappings.get(fieldIndex).apply(offset, source, target);
         }
     }
 
@@ -48,8 +48,7 @@ abstract class NullableTypeMappingOperation implements ApiMappingOperation {
     }
     
     protected void writeNulls(ByteBuffer target) {
-        byte[] paddingData = new byte[this.getTargetDataLength()];
-        target.put(paddingData);
+        ByteBufferOperations.fillWithZeros(target, this.getTargetDataLength());
     }
     
     protected abstract int getTargetDataLength();
@@ -2,9 +2,10 @@ package gutta.apievolution.fixedformat.apimapping;
 
 import gutta.apievolution.core.util.EqualityUtil;
 
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
-class OperationEntry {
+class OperationEntry implements OperationHandle {
 
     private final int entryIndex;
 
@@ -38,6 +39,21 @@ class OperationEntry {
         return this.resultMappingOperation;
     }
     
+    @Override
+    public String getOperationName() {
+        return this.name;
+    }
+    
+    @Override
+    public void mapParameter(int sourceOffset, ByteBuffer source, ByteBuffer target) {
+        this.parameterMappingOperation.apply(sourceOffset, source, target);
+    }
+    
+    @Override
+    public void mapResult(int sourceOffset, ByteBuffer source, ByteBuffer target) {
+        this.resultMappingOperation.apply(sourceOffset, source, target);
+    }
+    
     @Override
     public int hashCode() {
         return this.entryIndex;
@@ -0,0 +1,57 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An {@link OperationHandle} is a resolved reference to the mapping operations of a single API operation in a mapping script. A handle is obtained once
+ * using {@link ApiMappingScript#resolveOperation(String)} and can then be used for any number of invocations without looking up the operation by name.
+ */
+public interface OperationHandle {
+
+    /**
+     * Returns the name of the operation represented by this handle.
+     * 
+     * @return see above
+     */
+    String getOperationName();
+
+    /**
+     * Maps the parameter data for the represented operation, which starts at the beginning of the source buffer.
+     * 
+     * @param source The source data to map
+     * @param target A buffer to receive the mapped data
+     */
+    default void mapParameter(ByteBuffer source, ByteBuffer target) {
+        this.mapParameter(0, source, target);
+    }
+
+    /**
+     * Maps the parameter data for the represented operation, which starts at the given offset in the source buffer. This allows to map data directly
+     * from a larger buffer, such as a memory-mapped file containing several records.
+     * 
+     * @param sourceOffset The absolute offset of the data in the source buffer
+     * @param source       The source data to map
+     * @param target       A buffer to receive the mapped data
+     */
+    void mapParameter(int sourceOffset, ByteBuffer source, ByteBuffer target);
+
+    /**
+     * Maps the result data for the represented operation, which starts at the beginning of the source buffer.
+     * 
+     * @param source The source data to map
+     * @param target A buffer to receive the mapped data
+     */
+    default void mapResult(ByteBuffer source, ByteBuffer target) {
+        this.mapResult(0, source, target);
+    }
+
+    /**
+     * Maps the result data for the represented operation, which starts at the given offset in the source buffer.
+     * 
+     * @param sourceOffset The absolute offset of the data in the source buffer
+     * @param source       The source data to map
+     * @param target       A buffer to receive the mapped data
+     */
+    void mapResult(int sourceOffset, ByteBuffer source, ByteBuffer target);
+
+}
@@ -4,6 +4,8 @@ import gutta.apievolution.core.util.EqualityUtil;
 import gutta.apievolution.fixedformat.objectmapping.Flags;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 class PolyToMonoRecordMappingOperation extends AbstractPolymorphicRecordMappingOperation {
@@ -12,9 +14,16 @@ class PolyToMonoRecordMappingOperation extends AbstractPolymorphicRecordMappingO
     
     private final MonomorphicRecordMappingOperation delegate;
     
+    private final TypeIdTable<MonomorphicRecordMappingOperation> delegateTable;
+    
     public PolyToMonoRecordMappingOperation(Set<Integer> mappableTypeIds, RecordTypeEntry targetTypeEntry) {
         this.mappableTypeIds = mappableTypeIds;
         this.delegate = new MonomorphicRecordMappingOperation(targetTypeEntry);
+        
+        // All mappable types are mapped by the same delegate
+        Map<Integer, MonomorphicRecordMappingOperation> typeIdToDelegate = new HashMap<>();
+        mappableTypeIds.forEach(typeId -> typeIdToDelegate.put(typeId, this.delegate));
+        this.delegateTable = TypeIdTable.of(typeIdToDelegate);
     }
     
     @Override
@@ -29,6 +38,10 @@ class PolyToMonoRecordMappingOperation extends AbstractPolymorphicRecordMappingO
     public int getEntryIndex() {
         return this.delegate.getEntryIndex();
     }
+    
+    RecordTypeEntry getTypeEntry() {
+        return this.delegate.getTypeEntry();
+    }
 
     @Override
     protected boolean mayBeUnrepresentable() {
@@ -38,7 +51,8 @@ class PolyToMonoRecordMappingOperation extends AbstractPolymorphicRecordMappingO
     @Override
     protected void mapNonNullValue(ByteBuffer source, ByteBuffer target) {
         int sourceTypeId = source.getInt();
-        if (!this.mappableTypeIds.contains(sourceTypeId)) {
+        MonomorphicRecordMappingOperation mappingOperation = this.delegateTable.lookup(sourceTypeId);
+        if (mappingOperation == null) {
             // If the actual type id does not match the expected one, the value is unrepresentable
             target.put(Flags.IS_UNREPRESENTABLE);
             this.writeNulls(target);
@@ -46,7 +60,7 @@ class PolyToMonoRecordMappingOperation extends AbstractPolymorphicRecordMappingO
         }
         
         target.put(Flags.IS_PRESENT);
-        this.delegate.mapNonNullValue(source, target);
+        mappingOperation.mapNonNullValue(source, target);
     }
     
     @Override
@@ -14,12 +14,15 @@ class PolymorphicRecordMappingOperation extends AbstractPolymorphicRecordMapping
     
     private final Map<Integer, PolymorphicRecordMapping> idToRecordMapping;
     
+    private final TypeIdTable<PolymorphicRecordMapping> recordMappingTable;
+    
     private final int dataLength;
     
     public PolymorphicRecordMappingOperation(Collection<PolymorphicRecordMapping> recordMappings) {
         this.dataLength = determineMaxDataLength(recordMappings);
         this.idToRecordMapping = recordMappings.stream()
                 .collect(Collectors.toMap(PolymorphicRecordMapping::getSourceTypeId, Function.identity()));
+        this.recordMappingTable = TypeIdTable.of(this.idToRecordMapping);
     }
     
     private static int determineMaxDataLength(Collection<PolymorphicRecordMapping> mappings) {
@@ -48,7 +51,7 @@ class PolymorphicRecordMappingOperation extends AbstractPolymorphicRecordMapping
     @Override
     protected void mapNonNullValue(ByteBuffer source, ByteBuffer target) {
         int sourceTypeId = source.getInt();
-        PolymorphicRecordMapping recordMapping = this.idToRecordMapping.get(sourceTypeId);
+        PolymorphicRecordMapping recordMapping = this.recordMappingTable.lookup(sourceTypeId);
         
         if (recordMapping == null) {
             // If the type id does not exist, the value is unrepresentable.
@@ -59,9 +62,7 @@ class PolymorphicRecordMappingOperation extends AbstractPolymorphicRecordMapping
         
         target.put(Flags.IS_PRESENT);
         target.putInt(recordMapping.getTargetTypeId());
-        
-        MonomorphicRecordMappingOperation actualMappingOperation = new MonomorphicRecordMappingOperation(recordMapping.getTypeEntry());
-        actualMappingOperation.mapNonNullValue(source, target);
+        recordMapping.getMappingOperation().mapNonNullValue(source, target);
     }
 
     @Override
@@ -99,10 +100,13 @@ class PolymorphicRecordMappingOperation extends AbstractPolymorphicRecordMapping
         
         private final RecordTypeEntry typeEntry;
         
+        private final MonomorphicRecordMappingOperation mappingOperation;
+        
         public PolymorphicRecordMapping(int sourceTypeId, int targetTypeId, RecordTypeEntry typeEntry) {
             this.sourceTypeId = sourceTypeId;
             this.targetTypeId = targetTypeId;
             this.typeEntry = typeEntry;
+            this.mappingOperation = new MonomorphicRecordMappingOperation(typeEntry);
         }
         
         public int getSourceTypeId() {
@@ -117,6 +121,10 @@ class PolymorphicRecordMappingOperation extends AbstractPolymorphicRecordMapping
             return this.typeEntry;        
         }
         
+        MonomorphicRecordMappingOperation getMappingOperation() {
+            return this.mappingOperation;
+        }
+        
         @Override
         public int hashCode() {
             return (this.sourceTypeId + this.targetTypeId);
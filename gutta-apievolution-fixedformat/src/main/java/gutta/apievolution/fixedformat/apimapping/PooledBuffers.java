@@ -0,0 +1,56 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Auxiliary operations for reusing buffers, e.g., from a {@link BufferPool} or supplied by the caller.
+ */
+public final class PooledBuffers {
+
+    /**
+     * Prepares a pooled buffer for reuse with the given size, or allocates a new buffer if the pooled buffer is missing or too small.
+     *
+     * @param pooledBuffer The pooled buffer, may be {@code null}
+     * @param size         The required size
+     * @return A zeroed buffer with position zero and the given limit
+     */
+    static ByteBuffer prepareForReuse(ByteBuffer pooledBuffer, int size) {
+        if (pooledBuffer == null || pooledBuffer.capacity() < size) {
+            return ByteBuffer.allocate(size);
+        }
+
+        return reset(pooledBuffer, size);
+    }
+
+    /**
+     * Prepares a buffer supplied by the caller for use with the given size.
+     *
+     * @param suppliedBuffer The buffer supplied by the caller
+     * @param size           The required size
+     * @return The given buffer, zeroed, with position zero and the given limit
+     * @throws IllegalArgumentException If the buffer is too small
+     */
+    public static ByteBuffer prepareSuppliedBuffer(ByteBuffer suppliedBuffer, int size) {
+        if (suppliedBuffer.capacity() < size) {
+            throw new IllegalArgumentException("Buffer capacity " + suppliedBuffer.capacity() + " is less than the required size " + size + ".");
+        }
+
+        return reset(suppliedBuffer, size);
+    }
+
+    private static ByteBuffer reset(ByteBuffer buffer, int size) {
+        buffer.clear();
+        buffer.limit(size);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        ByteBufferOperations.fillWithZeros(buffer, size);
+
+        buffer.position(0);
+        return buffer;
+    }
+
+    private PooledBuffers() {
+        // Private constructor
+    }
+
+}
@@ -0,0 +1,342 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A {@link RecordBatchConverter} applies the mapping of a single operation to a sequence of fixed-size records, such as the records of an extract
+ * file. The records are processed in chunks using large buffers that are reused for the entire conversion. Optionally, the records of each chunk can
+ * be converted in parallel using a fork-join pool.
+ * <p>
+ * Instances of this class are immutable and can be used for any number of (concurrent) conversions.
+ */
+public class RecordBatchConverter {
+
+    private static final int DEFAULT_RECORDS_PER_CHUNK = 4096;
+
+    /**
+     * Minimal number of records converted by a single task in parallel mode.
+     */
+    private static final int MIN_RECORDS_PER_TASK = 128;
+
+    private final RecordMapping recordMapping;
+
+    private final int sourceRecordSize;
+
+    private final int targetRecordSize;
+
+    private final int recordsPerChunk;
+
+    private final ForkJoinPool pool;
+
+    private RecordBatchConverter(RecordMapping recordMapping, int sourceRecordSize, int targetRecordSize, int recordsPerChunk, ForkJoinPool pool) {
+        if (sourceRecordSize <= 0 || targetRecordSize <= 0) {
+            throw new IllegalArgumentException("Record sizes must be positive.");
+        }
+        if (recordsPerChunk <= 0) {
+            throw new IllegalArgumentException("The number of records per chunk must be positive.");
+        }
+        if (((long) recordsPerChunk * Math.max(sourceRecordSize, targetRecordSize)) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The chunk size exceeds the maximum buffer size.");
+        }
+
+        this.recordMapping = recordMapping;
+        this.sourceRecordSize = sourceRecordSize;
+        this.targetRecordSize = targetRecordSize;
+        this.recordsPerChunk = recordsPerChunk;
+        this.pool = pool;
+    }
+
+    /**
+     * Creates a converter that converts records using the parameter mapping of the given operation.
+     *
+     * @param operation        The operation whose parameter mapping is applied to the records
+     * @param sourceRecordSize The size of a source record in bytes
+     * @param targetRecordSize The size of a target record in bytes
+     * @return The converter
+     */
+    public static RecordBatchConverter forParameters(OperationHandle operation, int sourceRecordSize, int targetRecordSize) {
+        return new RecordBatchConverter(operation::mapParameter, sourceRecordSize, targetRecordSize, DEFAULT_RECORDS_PER_CHUNK, null);
+    }
+
+    /**
+     * Creates a converter that converts records using the result mapping of the given operation.
+     *
+     * @param operation        The operation whose result mapping is applied to the records
+     * @param sourceRecordSize The size of a source record in bytes
+     * @param targetRecordSize The size of a target record in bytes
+     * @return The converter
+     */
+    public static RecordBatchConverter forResults(OperationHandle operation, int sourceRecordSize, int targetRecordSize) {
+        return new RecordBatchConverter(operation::mapResult, sourceRecordSize, targetRecordSize, DEFAULT_RECORDS_PER_CHUNK, null);
+    }
+
+    /**
+     * Returns a converter that processes the given number of records per chunk, but is otherwise identical to this one. The chunk size determines the
+     * size of the buffers used for the conversion.
+     *
+     * @param recordsPerChunk The number of records per chunk
+     * @return The converter
+     */
+    public RecordBatchConverter withRecordsPerChunk(int recordsPerChunk) {
+        return new RecordBatchConverter(this.recordMapping, this.sourceRecordSize, this.targetRecordSize, recordsPerChunk, this.pool);
+    }
+
+    /**
+     * Returns a converter that converts the records of each chunk in parallel using the given pool, but is otherwise identical to this one.
+     *
+     * @param pool The pool to use for the conversion
+     * @return The converter
+     */
+    public RecordBatchConverter withParallelism(ForkJoinPool pool) {
+        return new RecordBatchConverter(this.recordMapping, this.sourceRecordSize, this.targetRecordSize, this.recordsPerChunk, pool);
+    }
+
+    /**
+     * Converts all records from the given source channel and writes the converted records to the given target channel. Neither channel is closed by
+     * this method.
+     *
+     * @param source The channel to read the source records from
+     * @param target The channel to write the converted records to
+     * @return The number of converted records
+     * @throws IOException If an I/O error occurs or if the source data ends with an incomplete record
+     */
+    public long convert(ReadableByteChannel source, WritableByteChannel target) throws IOException {
+        ByteBuffer sourceBuffer = ByteBuffer.allocate(this.recordsPerChunk * this.sourceRecordSize);
+        ByteBuffer targetBuffer = ByteBuffer.allocate(this.recordsPerChunk * this.targetRecordSize);
+
+        long numberOfRecords = 0;
+        boolean endOfInput = false;
+
+        while (!endOfInput) {
+            endOfInput = fillBuffer(source, sourceBuffer);
+
+            int bytesRead = sourceBuffer.position();
+            int recordsInChunk = (bytesRead / this.sourceRecordSize);
+
+            if (recordsInChunk > 0) {
+                this.convertChunk(sourceBuffer, 0, targetBuffer, 0, recordsInChunk, true);
+
+                targetBuffer.limit(recordsInChunk * this.targetRecordSize);
+                targetBuffer.position(0);
+                writeFully(target, targetBuffer);
+                targetBuffer.clear();
+
+                numberOfRecords += recordsInChunk;
+            }
+
+            // Retain an incomplete record at the end of the chunk for the next one
+            sourceBuffer.limit(bytesRead);
+            sourceBuffer.position(recordsInChunk * this.sourceRecordSize);
+            sourceBuffer.compact();
+        }
+
+        if (sourceBuffer.position() > 0) {
+            throw new IOException("The source data ends with an incomplete record of " + sourceBuffer.position() + " bytes.");
+        }
+
+        return numberOfRecords;
+    }
+
+    /**
+     * Converts all records in the given source file and writes them to the given target file, which is created or truncated. Both files are
+     * memory-mapped chunk by chunk, so that the records are mapped directly between the files.
+     *
+     * @param sourceFile The file containing the source records
+     * @param targetFile The file to write the converted records to
+     * @return The number of converted records
+     * @throws IOException If an I/O error occurs or if the size of the source file is not a multiple of the source record size
+     */
+    public long convert(Path sourceFile, Path targetFile) throws IOException {
+        try (FileChannel sourceChannel = FileChannel.open(sourceFile, READ);
+                FileChannel targetChannel = FileChannel.open(targetFile, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+
+            long sourceSize = sourceChannel.size();
+            if ((sourceSize % this.sourceRecordSize) != 0) {
+                throw new IOException("The size of file '" + sourceFile + "' is not a multiple of the record size " + this.sourceRecordSize + ".");
+            }
+
+            long numberOfRecords = (sourceSize / this.sourceRecordSize);
+            long recordIndex = 0;
+
+            while (recordIndex < numberOfRecords) {
+                int recordsInChunk = (int) Math.min(this.recordsPerChunk, (numberOfRecords - recordIndex));
+
+                MappedByteBuffer sourceChunk = sourceChannel.map(MapMode.READ_ONLY, recordIndex * this.sourceRecordSize,
+                        (long) recordsInChunk * this.sourceRecordSize);
+                MappedByteBuffer targetChunk = targetChannel.map(MapMode.READ_WRITE, recordIndex * this.targetRecordSize,
+                        (long) recordsInChunk * this.targetRecordSize);
+
+                // Regions of a file that are newly mapped are zero-filled, so the target chunk need not be cleared
+                this.convertChunk(sourceChunk, 0, targetChunk, 0, recordsInChunk, false);
+                recordIndex += recordsInChunk;
+            }
+
+            return numberOfRecords;
+        }
+    }
+
+    /**
+     * Converts all records between the position and the limit of the given source buffer and writes them at the position of the target buffer. This
+     * allows to convert records between arbitrary buffers, such as memory-mapped files. The positions of both buffers are advanced past the processed
+     * records.
+     *
+     * @param source The buffer containing the source records
+     * @param target The buffer to write the converted records to
+     * @return The number of converted records
+     * @throws IllegalArgumentException If the source data contains an incomplete record or the target buffer is too small
+     * @throws BufferOverflowException  If a mapped record exceeds the target record size
+     */
+    public long convert(ByteBuffer source, ByteBuffer target) {
+        int sourceStart = source.position();
+        int sourceLength = source.remaining();
+        if ((sourceLength % this.sourceRecordSize) != 0) {
+            throw new IllegalArgumentException("The source data ends with an incomplete record.");
+        }
+
+        int numberOfRecords = (sourceLength / this.sourceRecordSize);
+        int targetStart = target.position();
+        int targetLength = (numberOfRecords * this.targetRecordSize);
+        if (targetLength > target.remaining()) {
+            throw new IllegalArgumentException("The target buffer is too small for " + numberOfRecords + " records.");
+        }
+
+        this.convertChunk(source, sourceStart, target, targetStart, numberOfRecords, true);
+
+        source.position(sourceStart + sourceLength);
+        target.position(targetStart + targetLength);
+
+        return numberOfRecords;
+    }
+
+    private static boolean fillBuffer(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void convertChunk(ByteBuffer source, int sourceStart, ByteBuffer target, int targetStart, int numberOfRecords, boolean clearTarget) {
+        if (this.pool != null && numberOfRecords > MIN_RECORDS_PER_TASK) {
+            this.pool.invoke(new ConversionTask(source, sourceStart, target, targetStart, 0, numberOfRecords, clearTarget));
+        } else {
+            this.convertRecords(source, sourceStart, target, targetStart, 0, numberOfRecords, clearTarget);
+        }
+    }
+
+    private void convertRecords(ByteBuffer source, int sourceStart, ByteBuffer target, int targetStart, int firstRecord, int endRecord,
+            boolean clearTarget) {
+
+        int sourceRecordSize = this.sourceRecordSize;
+        int targetRecordSize = this.targetRecordSize;
+        RecordMapping mapping = this.recordMapping;
+
+        if (clearTarget) {
+            // Mapping operations rely on a zero-initialized target
+            target.position(targetStart + (firstRecord * targetRecordSize));
+            ByteBufferOperations.fillWithZeros(target, (endRecord - firstRecord) * targetRecordSize);
+        }
+
+        // Restrict each mapping to its target record, so that a target record size that is too small results in a buffer overflow instead of
+        // silently overwriting the subsequent record
+        int originalLimit = target.limit();
+        try {
+            for (int recordIndex = firstRecord; recordIndex < endRecord; recordIndex++) {
+                int targetOffset = targetStart + (recordIndex * targetRecordSize);
+
+                target.limit(targetOffset + targetRecordSize);
+                target.position(targetOffset);
+                mapping.map(sourceStart + (recordIndex * sourceRecordSize), source, target);
+            }
+        } catch (IllegalArgumentException e) {
+            // Operations that skip data move the position beyond the limit, which is reported as an illegal argument
+            BufferOverflowException overflowException = new BufferOverflowException();
+            overflowException.initCause(e);
+            throw overflowException;
+        } finally {
+            target.limit(originalLimit);
+        }
+    }
+
+    /**
+     * Functional interface for the mapping of a single record.
+     */
+    private interface RecordMapping {
+
+        void map(int sourceOffset, ByteBuffer source, ByteBuffer target);
+
+    }
+
+    /**
+     * Fork-join task to convert a range of records of a chunk. Each task works on its own views of the buffers, as the mapping operations modify the
+     * positions of the buffers.
+     */
+    private class ConversionTask extends RecursiveAction {
+
+        private static final long serialVersionUID = -6263417305187040531L;
+
+        private final transient ByteBuffer source;
+
+        private final int sourceStart;
+
+        private final transient ByteBuffer target;
+
+        private final int targetStart;
+
+        private final int firstRecord;
+
+        private final int endRecord;
+
+        private final boolean clearTarget;
+
+        ConversionTask(ByteBuffer source, int sourceStart, ByteBuffer target, int targetStart, int firstRecord, int endRecord, boolean clearTarget) {
+            this.source = source;
+            this.sourceStart = sourceStart;
+            this.target = target;
+            this.targetStart = targetStart;
+            this.firstRecord = firstRecord;
+            this.endRecord = endRecord;
+            this.clearTarget = clearTarget;
+        }
+
+        @Override
+        protected void compute() {
+            int numberOfRecords = (this.endRecord - this.firstRecord);
+
+            if (numberOfRecords <= MIN_RECORDS_PER_TASK) {
+                convertRecords(this.source.duplicate(), this.sourceStart, this.target.duplicate(), this.targetStart, this.firstRecord, this.endRecord,
+                        this.clearTarget);
+            } else {
+                int middleRecord = this.firstRecord + (numberOfRecords / 2);
+
+                invokeAll(new ConversionTask(this.source, this.sourceStart, this.target, this.targetStart, this.firstRecord, middleRecord, this.clearTarget),
+                        new ConversionTask(this.source, this.sourceStart, this.target, this.targetStart, middleRecord, this.endRecord, this.clearTarget));
+            }
+        }
+
+    }
+
+}
@@ -3,17 +3,18 @@ package gutta.apievolution.fixedformat.apimapping;
 import gutta.apievolution.fixedformat.apimapping.provider.ProviderOperationProxy;
 
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
- * A {@link RequestRouter} routes requests from consumer proxies to the appropriate provider proxies.
+ * A {@link RequestRouter} routes requests from consumer proxies to the appropriate provider proxies. Operations can either be addressed by name or by an
+ * index that is resolved once using {@link #resolveOperationIndex(String)}, which avoids the lookup by name on each request.
  */
 public class RequestRouter {
 
-    private final Map<String, ProviderOperationProxy<?, ?>> proxyLookup;
+    private final ProviderOperationProxy<?, ?>[] proxies;
+
+    private final Map<String, Integer> operationIndexLookup;
 
     /**
      * Creates a new router that routes to the given proxies.
@@ -21,7 +22,33 @@ public class RequestRouter {
      * @param proxies The proxies to register with this router
      */
     public RequestRouter(ProviderOperationProxy<?, ?>... proxies) {
-        this.proxyLookup = Stream.of(proxies).collect(Collectors.toMap(ProviderOperationProxy::getOperationName, Function.identity()));
+        this.proxies = proxies.clone();
+        this.operationIndexLookup = new HashMap<>(proxies.length);
+
+        for (int proxyIndex = 0; proxyIndex < proxies.length; proxyIndex++) {
+            String operationName = proxies[proxyIndex].getOperationName();
+            Integer existingIndex = this.operationIndexLookup.putIfAbsent(operationName, proxyIndex);
+
+            if (existingIndex != null) {
+                throw new IllegalStateException("Duplicate proxy for operation name '" + operationName + "'.");
+            }
+        }
+    }
+
+    /**
+     * Resolves the index of the operation with the given name for use with {@link #routeRequest(int, ByteBuffer, ByteBuffer)}.
+     * 
+     * @param operationName The name of the desired operation
+     * @return The index of the operation
+     * @throws IllegalArgumentException If there is no proxy for the given operation
+     */
+    public int resolveOperationIndex(String operationName) {
+        Integer operationIndex = this.operationIndexLookup.get(operationName);
+        if (operationIndex == null) {
+            throw new IllegalArgumentException("No proxy for operation name '" + operationName + "'.");
+        }
+
+        return operationIndex;
     }
 
     /**
@@ -33,11 +60,25 @@ public class RequestRouter {
      * @return The result buffer
      */
     public ByteBuffer routeRequest(String operationName, ByteBuffer parameterData, ByteBuffer resultData) {
-        ProviderOperationProxy<?, ?> proxy = this.proxyLookup.get(operationName);
-        if (proxy == null) {
-            throw new IllegalArgumentException("No proxy for operation name '" + operationName + "'.");
+        return this.routeRequest(this.resolveOperationIndex(operationName), parameterData, resultData);
+    }
+
+    /**
+     * Routes the request with the given data to the provider proxy with the given index.
+     * 
+     * @param operationIndex The index of the invoked operation, as returned by {@link #resolveOperationIndex(String)}
+     * @param parameterData  The parameter data to pass to the proxy
+     * @param resultData     The buffer to store the result data in
+     * @return The result buffer
+     * @throws IllegalArgumentException If the given index does not denote an operation of this router
+     */
+    public ByteBuffer routeRequest(int operationIndex, ByteBuffer parameterData, ByteBuffer resultData) {
+        if (operationIndex < 0 || operationIndex >= this.proxies.length) {
+            throw new IllegalArgumentException("Invalid operation index " + operationIndex + ".");
         }
 
+        ProviderOperationProxy<?, ?> proxy = this.proxies[operationIndex];
+
         proxy.invoke(parameterData, resultData);
         return resultData;
     }
@@ -0,0 +1,256 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.fixedformat.apimapping.PolymorphicRecordMappingOperation.PolymorphicRecordMapping;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.CHARSET;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.ENTRY_TYPE_ENUM;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.ENTRY_TYPE_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_COPY;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_ENUM;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_LIST;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_MONO_TO_POLY_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_POLYMORPHIC_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_POLY_TO_MONO_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_SKIP;
+import static gutta.apievolution.fixedformat.apimapping.ScriptFormatV2.writeVarInt;
+
+/**
+ * Encoder for API mapping scripts in the compact format (version 2), see {@link ScriptFormatV2}. Operations are collected into a pool in which
+ * each distinct operation is stored only once, and nested operations are added to the pool before the operations referencing them. Instances of
+ * this class are not thread-safe.
+ */
+class ScriptEncoderV2 {
+
+    private final Map<ByteBuffer, Integer> operationToPoolIndex = new HashMap<>();
+
+    private final List<byte[]> operationPool = new ArrayList<>();
+
+    private final OperationEncoder operationEncoder = new OperationEncoder();
+
+    /**
+     * Encodes the given script in the compact format.
+     *
+     * @param script The script to encode
+     * @return The encoded script
+     */
+    public byte[] encodeScript(ApiMappingScript script) {
+        // Encode the type entries and operation entries first, as this fills the operation pool
+        byte[][] encodedTypeEntries = this.encodeTypeEntries(script.getTypeEntries());
+        byte[][] encodedOperationEntries = this.encodeOperationEntries(script.getOperationEntries());
+
+        ByteArrayOutputStream bodyStream = new ByteArrayOutputStream();
+        writeSection(encodedTypeEntries, bodyStream);
+        writeSection(this.operationPool.toArray(new byte[0][]), bodyStream);
+        writeSection(encodedOperationEntries, bodyStream);
+
+        // Write the header, leaving the checksum empty for the time being
+        ByteArrayOutputStream scriptStream = new ByteArrayOutputStream(ScriptFormatV2.HEADER_SIZE + bodyStream.size());
+        scriptStream.write(ScriptFormatV2.MAGIC, 0, ScriptFormatV2.MAGIC.length);
+        scriptStream.write(ScriptFormatV2.FORMAT_VERSION);
+        for (int index = 0; index < 4; index++) {
+            scriptStream.write(0);
+        }
+
+        byte[] body = bodyStream.toByteArray();
+        scriptStream.write(body, 0, body.length);
+
+        // Fill in the checksum of the body
+        byte[] encodedScript = scriptStream.toByteArray();
+        ByteBuffer scriptBuffer = ByteBuffer.wrap(encodedScript);
+        scriptBuffer.putInt(ScriptFormatV2.CHECKSUM_OFFSET, ScriptFormatV2.computeChecksum(scriptBuffer));
+
+        return encodedScript;
+    }
+
+    private static void writeSection(byte[][] elements, ByteArrayOutputStream outputStream) {
+        writeVarInt(elements.length, outputStream);
+        for (byte[] element : elements) {
+            outputStream.write(element, 0, element.length);
+        }
+    }
+
+    private byte[][] encodeTypeEntries(List<TypeEntry> typeEntries) {
+        byte[][] encodedEntries = new byte[typeEntries.size()][];
+        TypeEntryEncoder encoder = new TypeEntryEncoder();
+
+        for (TypeEntry typeEntry : typeEntries) {
+            encodedEntries[typeEntry.getEntryIndex()] = typeEntry.accept(encoder);
+        }
+
+        return encodedEntries;
+    }
+
+    private byte[][] encodeOperationEntries(List<OperationEntry> operationEntries) {
+        byte[][] encodedEntries = new byte[operationEntries.size()][];
+
+        for (OperationEntry operationEntry : operationEntries) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] nameBytes = operationEntry.getName().getBytes(CHARSET);
+
+            writeVarInt(nameBytes.length, outputStream);
+            outputStream.write(nameBytes, 0, nameBytes.length);
+            writeVarInt(this.addToPool(operationEntry.getParameterMappingOperation()), outputStream);
+            writeVarInt(this.addToPool(operationEntry.getResultMappingOperation()), outputStream);
+
+            encodedEntries[operationEntry.getEntryIndex()] = outputStream.toByteArray();
+        }
+
+        return encodedEntries;
+    }
+
+    /**
+     * Adds the given operation to the operation pool, unless an identical operation is already contained.
+     *
+     * @param operation The operation to add
+     * @return The index of the operation in the pool
+     */
+    private int addToPool(ApiMappingOperation operation) {
+        byte[] encodedOperation = operation.accept(this.operationEncoder);
+
+        Integer existingIndex = this.operationToPoolIndex.get(ByteBuffer.wrap(encodedOperation));
+        if (existingIndex != null) {
+            return existingIndex;
+        }
+
+        int poolIndex = this.operationPool.size();
+        this.operationPool.add(encodedOperation);
+        this.operationToPoolIndex.put(ByteBuffer.wrap(encodedOperation), poolIndex);
+
+        return poolIndex;
+    }
+
+    private class TypeEntryEncoder implements TypeEntryVisitor<byte[]> {
+
+        @Override
+        public byte[] handleEnumTypeEntry(EnumTypeEntry enumTypeEntry) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            int[] indexMap = enumTypeEntry.getIndexMap();
+
+            outputStream.write(ENTRY_TYPE_ENUM);
+            writeVarInt(enumTypeEntry.getTypeId(), outputStream);
+
+            // Unmapped members have a negative target index, so the index is shifted by one
+            writeVarInt(indexMap.length, outputStream);
+            for (int targetIndex : indexMap) {
+                writeVarInt((targetIndex < 0) ? 0 : (targetIndex + 1), outputStream);
+            }
+
+            return outputStream.toByteArray();
+        }
+
+        @Override
+        public byte[] handleRecordTypeEntry(RecordTypeEntry recordTypeEntry) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            List<FieldMapping> fieldMappings = recordTypeEntry.getFieldMappings();
+
+            outputStream.write(ENTRY_TYPE_RECORD);
+            writeVarInt(recordTypeEntry.getTypeId(), outputStream);
+            writeVarInt(recordTypeEntry.getDataSize(), outputStream);
+
+            writeVarInt(fieldMappings.size(), outputStream);
+            for (FieldMapping fieldMapping : fieldMappings) {
+                writeVarInt(fieldMapping.getOffset(), outputStream);
+                writeVarInt(ScriptEncoderV2.this.addToPool(fieldMapping.getMappingOperation()), outputStream);
+            }
+
+            return outputStream.toByteArray();
+        }
+
+    }
+
+    private class OperationEncoder implements ApiMappingOperationVisitor<byte[]> {
+
+        private byte[] encodeOperation(byte opcode, int operand) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            outputStream.write(opcode);
+            writeVarInt(operand, outputStream);
+
+            return outputStream.toByteArray();
+        }
+
+        @Override
+        public byte[] handleCopyOperation(CopyOperation copyOperation) {
+            return this.encodeOperation(OPCODE_COPY, copyOperation.getLength());
+        }
+
+        @Override
+        public byte[] handleSkipOperation(SkipOperation skipOperation) {
+            return this.encodeOperation(OPCODE_SKIP, skipOperation.getAmount());
+        }
+
+        @Override
+        public byte[] handleEnumMappingOperation(EnumMappingOperation enumMappingOperation) {
+            return this.encodeOperation(OPCODE_MAP_ENUM, enumMappingOperation.getEntryIndex());
+        }
+
+        @Override
+        public byte[] handleMonomorphicRecordMappingOperation(MonomorphicRecordMappingOperation recordMappingOperation) {
+            return this.encodeOperation(OPCODE_MAP_RECORD, recordMappingOperation.getEntryIndex());
+        }
+
+        @Override
+        public byte[] handleMonoToPolyRecordMappingOperation(MonoToPolyRecordMappingOperation recordMappingOperation) {
+            return this.encodeOperation(OPCODE_MAP_MONO_TO_POLY_RECORD, recordMappingOperation.getEntryIndex());
+        }
+
+        @Override
+        public byte[] handleListMappingOperation(ListMappingOperation listMappingOperation) {
+            // The element mapping operation must be added to the pool first, as its index is required
+            int elementOperationIndex = ScriptEncoderV2.this.addToPool(listMappingOperation.elementMappingOperation);
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            outputStream.write(OPCODE_MAP_LIST);
+            writeVarInt(listMappingOperation.maxElements, outputStream);
+            writeVarInt(listMappingOperation.sourceElementSize, outputStream);
+            writeVarInt(listMappingOperation.targetElementSize, outputStream);
+            writeVarInt(elementOperationIndex, outputStream);
+
+            return outputStream.toByteArray();
+        }
+
+        @Override
+        public byte[] handlePolymorphicRecordMappingOperation(PolymorphicRecordMappingOperation polymorphicRecordMappingOperation) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            Collection<PolymorphicRecordMapping> mappings = polymorphicRecordMappingOperation.getRecordMappings();
+
+            outputStream.write(OPCODE_MAP_POLYMORPHIC_RECORD);
+            writeVarInt(mappings.size(), outputStream);
+            for (PolymorphicRecordMapping mapping : mappings) {
+                writeVarInt(mapping.getSourceTypeId(), outputStream);
+                writeVarInt(mapping.getTargetTypeId(), outputStream);
+                writeVarInt(mapping.getTypeEntry().getEntryIndex(), outputStream);
+            }
+
+            return outputStream.toByteArray();
+        }
+
+        @Override
+        public byte[] handlePolyToMonoRecordMappingOperation(PolyToMonoRecordMappingOperation recordMappingOperation) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            List<Integer> mappableIds = new ArrayList<>(recordMappingOperation.getMappableTypeIds());
+            Collections.sort(mappableIds);
+
+            outputStream.write(OPCODE_MAP_POLY_TO_MONO_RECORD);
+            writeVarInt(recordMappingOperation.getEntryIndex(), outputStream);
+            writeVarInt(mappableIds.size(), outputStream);
+            for (Integer mappableId : mappableIds) {
+                writeVarInt(mappableId, outputStream);
+            }
+
+            return outputStream.toByteArray();
+        }
+
+    }
+
+}
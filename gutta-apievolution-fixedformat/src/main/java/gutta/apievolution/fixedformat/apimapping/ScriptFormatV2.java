@@ -0,0 +1,129 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+/**
+ * Constants and auxiliary operations for the compact binary script format (version 2). A script in this format consists of a fixed-size header and
+ * a body:
+ *
+ * <pre>
+ * header:     magic ("GAMS", 4 bytes), format version (1 byte), CRC-32 checksum of the body (4 bytes, big endian)
+ * body:       type entries, operation pool, operation entries
+ * type entry: enum:   0x01, type id, number of members, (target index + 1) for each member (0 if unmapped)
+ *             record: 0x02, type id, data size, number of fields, (source offset, operation index) for each field
+ * operation:  opcode followed by the operands, nested operations and type entries are referenced by their index
+ * op. entry:  name length, name (UTF-8), parameter operation index, result operation index
+ * </pre>
+ *
+ * Each section is preceded by the number of its elements. All integers in the body are encoded as unsigned variable-length integers (LEB128), and
+ * identical operations are only stored once in the operation pool.
+ */
+final class ScriptFormatV2 {
+
+    static final byte[] MAGIC = {'G', 'A', 'M', 'S'};
+
+    static final byte FORMAT_VERSION = 2;
+
+    static final int CHECKSUM_OFFSET = MAGIC.length + 1;
+
+    static final int HEADER_SIZE = CHECKSUM_OFFSET + 4;
+
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+
+    private static final int MAX_VARINT_SHIFT = 28;
+
+    /**
+     * Determines whether the given buffer contains a script in this format, starting at the buffer's current position. The position of the buffer
+     * is not changed.
+     *
+     * @param buffer The buffer to check
+     * @return {@code True} if the buffer contains a script in this format, {@code false} otherwise
+     */
+    static boolean isScriptV2(ByteBuffer buffer) {
+        if (buffer.remaining() < MAGIC.length) {
+            return false;
+        }
+
+        int startPosition = buffer.position();
+        for (int index = 0; index < MAGIC.length; index++) {
+            if (buffer.get(startPosition + index) != MAGIC[index]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Writes the given value as an unsigned variable-length integer.
+     *
+     * @param value        The value to write, must not be negative
+     * @param outputStream The stream to write to
+     */
+    static void writeVarInt(int value, ByteArrayOutputStream outputStream) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value " + value + " cannot be encoded.");
+        }
+
+        int remainingValue = value;
+        while (remainingValue > VARINT_PAYLOAD_MASK) {
+            outputStream.write((remainingValue & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT);
+            remainingValue >>>= VARINT_PAYLOAD_BITS;
+        }
+
+        outputStream.write(remainingValue);
+    }
+
+    /**
+     * Reads an unsigned variable-length integer from the current position of the given buffer.
+     *
+     * @param buffer The buffer to read from
+     * @return The value that was read
+     */
+    static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+
+        while (true) {
+            int currentByte = (buffer.get() & 0xFF);
+            value |= ((currentByte & VARINT_PAYLOAD_MASK) << shift);
+
+            if ((currentByte & VARINT_CONTINUATION_BIT) == 0) {
+                return value;
+            }
+
+            shift += VARINT_PAYLOAD_BITS;
+            if (shift > MAX_VARINT_SHIFT) {
+                throw new IllegalStateException("Invalid variable-length integer at offset " + buffer.position() + ".");
+            }
+        }
+    }
+
+    /**
+     * Computes the checksum of the body of the script contained in the given buffer, i.e., the bytes from the end of the header to the limit of
+     * the buffer.
+     *
+     * @param buffer The buffer containing the script, starting at index zero
+     * @return The checksum of the script body
+     */
+    static int computeChecksum(ByteBuffer buffer) {
+        ByteBuffer body = buffer.duplicate();
+        body.position(HEADER_SIZE);
+
+        CRC32 checksum = new CRC32();
+        checksum.update(body);
+
+        return (int) checksum.getValue();
+    }
+
+    private ScriptFormatV2() {
+        // Private constructor
+    }
+
+}
@@ -0,0 +1,356 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.fixedformat.apimapping.PolymorphicRecordMappingOperation.PolymorphicRecordMapping;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.CHARSET;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.ENTRY_TYPE_ENUM;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.ENTRY_TYPE_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_COPY;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_ENUM;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_LIST;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_MONO_TO_POLY_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_POLYMORPHIC_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_POLY_TO_MONO_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_MAP_RECORD;
+import static gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.OPCODE_SKIP;
+import static gutta.apievolution.fixedformat.apimapping.ScriptFormatV2.readVarInt;
+
+/**
+ * Reader for API mapping scripts in the compact format (version 2), see {@link ScriptFormatV2}. The header and checksum are validated on creation,
+ * and the sections are scanned once to determine the offsets of the individual entries. The entries themselves are decoded on demand, and decoded
+ * type entries and pooled operations are shared.
+ */
+class ScriptReaderV2 implements EncodedScriptReader {
+
+    private final ByteBuffer scriptBuffer;
+
+    private final int[] typeEntryOffsets;
+
+    private final int[] operationOffsets;
+
+    private final int[] operationEntryOffsets;
+
+    private final TypeEntry[] typeEntries;
+
+    private final ApiMappingOperation[] operations;
+
+    /**
+     * Creates a new reader for the script contained in the given buffer.
+     *
+     * @param scriptBuffer The buffer containing the encoded script, starting at index zero
+     */
+    public ScriptReaderV2(ByteBuffer scriptBuffer) {
+        this.scriptBuffer = scriptBuffer;
+        validateHeader(scriptBuffer);
+
+        scriptBuffer.position(ScriptFormatV2.HEADER_SIZE);
+        this.typeEntryOffsets = this.scanSection(this::skipTypeEntry);
+        this.operationOffsets = this.scanSection(this::skipOperation);
+        this.operationEntryOffsets = this.scanSection(this::skipOperationEntry);
+
+        this.typeEntries = new TypeEntry[this.typeEntryOffsets.length];
+        this.operations = new ApiMappingOperation[this.operationOffsets.length];
+    }
+
+    private static void validateHeader(ByteBuffer buffer) {
+        if (!ScriptFormatV2.isScriptV2(buffer) || buffer.limit() < ScriptFormatV2.HEADER_SIZE) {
+            throw new IllegalStateException("The given data does not contain a script in format version 2.");
+        }
+
+        byte formatVersion = buffer.get(ScriptFormatV2.MAGIC.length);
+        if (formatVersion != ScriptFormatV2.FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported format version " + formatVersion + ".");
+        }
+
+        int expectedChecksum = buffer.getInt(ScriptFormatV2.CHECKSUM_OFFSET);
+        int actualChecksum = ScriptFormatV2.computeChecksum(buffer);
+        if (expectedChecksum != actualChecksum) {
+            throw new IllegalStateException("Checksum mismatch: Expected " + Integer.toHexString(expectedChecksum) + ", but was " +
+                    Integer.toHexString(actualChecksum) + ".");
+        }
+    }
+
+    private int[] scanSection(Runnable elementSkipper) {
+        ByteBuffer buffer = this.scriptBuffer;
+        int numberOfElements = readVarInt(buffer);
+
+        int[] offsets = new int[numberOfElements];
+        for (int index = 0; index < numberOfElements; index++) {
+            offsets[index] = buffer.position();
+            elementSkipper.run();
+        }
+
+        return offsets;
+    }
+
+    private void skipVarInts(int count) {
+        for (int index = 0; index < count; index++) {
+            readVarInt(this.scriptBuffer);
+        }
+    }
+
+    private void skipTypeEntry() {
+        ByteBuffer buffer = this.scriptBuffer;
+        byte entryType = buffer.get();
+
+        switch (entryType) {
+        case ENTRY_TYPE_ENUM:
+            // Type id, followed by the index map
+            readVarInt(buffer);
+            this.skipVarInts(readVarInt(buffer));
+            break;
+
+        case ENTRY_TYPE_RECORD:
+            // Type id and data size, followed by pairs of offsets and operation indexes
+            this.skipVarInts(2);
+            this.skipVarInts(2 * readVarInt(buffer));
+            break;
+
+        default:
+            throw new IllegalStateException("Unknown entry type " + entryType + " at offset " + (buffer.position() - 1) + ".");
+        }
+    }
+
+    private void skipOperation() {
+        ByteBuffer buffer = this.scriptBuffer;
+        byte opcode = buffer.get();
+
+        switch (opcode) {
+        case OPCODE_COPY:
+        case OPCODE_SKIP:
+        case OPCODE_MAP_ENUM:
+        case OPCODE_MAP_RECORD:
+        case OPCODE_MAP_MONO_TO_POLY_RECORD:
+            this.skipVarInts(1);
+            break;
+
+        case OPCODE_MAP_LIST:
+            this.skipVarInts(4);
+            break;
+
+        case OPCODE_MAP_POLYMORPHIC_RECORD:
+            this.skipVarInts(3 * readVarInt(buffer));
+            break;
+
+        case OPCODE_MAP_POLY_TO_MONO_RECORD:
+            this.skipVarInts(1);
+            this.skipVarInts(readVarInt(buffer));
+            break;
+
+        default:
+            throw new IllegalStateException("Unknown opcode " + opcode + " at offset " + (buffer.position() - 1) + ".");
+        }
+    }
+
+    private void skipOperationEntry() {
+        ByteBuffer buffer = this.scriptBuffer;
+        int nameLength = readVarInt(buffer);
+
+        buffer.position(buffer.position() + nameLength);
+        this.skipVarInts(2);
+    }
+
+    @Override
+    public int getNumberOfTypeEntries() {
+        return this.typeEntryOffsets.length;
+    }
+
+    @Override
+    public int getNumberOfOperationEntries() {
+        return this.operationEntryOffsets.length;
+    }
+
+    @Override
+    public TypeEntry getOrReadTypeEntry(int entryIndex) {
+        TypeEntry entry = this.typeEntries[entryIndex];
+        if (entry != null) {
+            return entry;
+        }
+
+        // Type entries may be read while reading an operation, so the position has to be restored
+        int savedPosition = this.scriptBuffer.position();
+        entry = this.readTypeEntry(entryIndex);
+        this.scriptBuffer.position(savedPosition);
+
+        this.typeEntries[entryIndex] = entry;
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends TypeEntry> T getOrReadTypeEntryOfType(int entryIndex, Class<T> expectedType) {
+        TypeEntry entry = this.getOrReadTypeEntry(entryIndex);
+        if (!expectedType.isInstance(entry)) {
+            throw new IllegalStateException("Type entry " + entryIndex + " is not of the expected type " + expectedType.getSimpleName() + ".");
+        }
+
+        return (T) entry;
+    }
+
+    private TypeEntry readTypeEntry(int entryIndex) {
+        ByteBuffer buffer = this.scriptBuffer;
+        buffer.position(this.typeEntryOffsets[entryIndex]);
+
+        byte entryType = buffer.get();
+        int typeId = readVarInt(buffer);
+
+        switch (entryType) {
+        case ENTRY_TYPE_ENUM:
+            return this.readEnumTypeEntry(entryIndex, typeId);
+
+        case ENTRY_TYPE_RECORD:
+            return this.readRecordTypeEntry(entryIndex, typeId);
+
+        default:
+            throw new IllegalStateException("Unknown entry type " + entryType + " at offset " + this.typeEntryOffsets[entryIndex] + ".");
+        }
+    }
+
+    private EnumTypeEntry readEnumTypeEntry(int entryIndex, int typeId) {
+        ByteBuffer buffer = this.scriptBuffer;
+        int numberOfEntries = readVarInt(buffer);
+
+        int[] indexMap = new int[numberOfEntries];
+        for (int index = 0; index < numberOfEntries; index++) {
+            // Indexes are shifted by one, with zero denoting an unmapped member
+            indexMap[index] = readVarInt(buffer) - 1;
+        }
+
+        return new EnumTypeEntry(entryIndex, typeId, indexMap);
+    }
+
+    private RecordTypeEntry readRecordTypeEntry(int entryIndex, int typeId) {
+        ByteBuffer buffer = this.scriptBuffer;
+        int dataLength = readVarInt(buffer);
+        int numberOfFields = readVarInt(buffer);
+
+        List<FieldMapping> fieldMappings = new ArrayList<>(numberOfFields);
+        for (int fieldIndex = 0; fieldIndex < numberOfFields; fieldIndex++) {
+            int offset = readVarInt(buffer);
+            ApiMappingOperation operation = this.getOrReadOperation(readVarInt(buffer));
+
+            fieldMappings.add(new FieldMapping(offset, operation));
+        }
+
+        return new RecordTypeEntry(entryIndex, typeId, dataLength, fieldMappings);
+    }
+
+    private ApiMappingOperation getOrReadOperation(int poolIndex) {
+        ApiMappingOperation operation = this.operations[poolIndex];
+        if (operation != null) {
+            return operation;
+        }
+
+        // Operations are read from within other entries, so the position has to be restored
+        int savedPosition = this.scriptBuffer.position();
+        operation = this.readOperation(poolIndex);
+        this.scriptBuffer.position(savedPosition);
+
+        this.operations[poolIndex] = operation;
+        return operation;
+    }
+
+    private ApiMappingOperation readOperation(int poolIndex) {
+        ByteBuffer buffer = this.scriptBuffer;
+        buffer.position(this.operationOffsets[poolIndex]);
+
+        byte opcode = buffer.get();
+
+        switch (opcode) {
+        case OPCODE_COPY:
+            return new CopyOperation(readVarInt(buffer));
+
+        case OPCODE_SKIP:
+            return new SkipOperation(readVarInt(buffer));
+
+        case OPCODE_MAP_ENUM:
+            return new EnumMappingOperation(this.getOrReadTypeEntryOfType(readVarInt(buffer), EnumTypeEntry.class));
+
+        case OPCODE_MAP_RECORD:
+            return new MonomorphicRecordMappingOperation(this.getOrReadTypeEntryOfType(readVarInt(buffer), RecordTypeEntry.class));
+
+        case OPCODE_MAP_MONO_TO_POLY_RECORD:
+            return new MonoToPolyRecordMappingOperation(this.getOrReadTypeEntryOfType(readVarInt(buffer), RecordTypeEntry.class));
+
+        case OPCODE_MAP_LIST:
+            return this.readMapListOperation();
+
+        case OPCODE_MAP_POLYMORPHIC_RECORD:
+            return this.readMapPolymorphicRecordOperation();
+
+        case OPCODE_MAP_POLY_TO_MONO_RECORD:
+            return this.readMapPolyToMonoRecordOperation();
+
+        default:
+            throw new IllegalStateException("Unknown opcode " + opcode + " at offset " + this.operationOffsets[poolIndex] + ".");
+        }
+    }
+
+    private ApiMappingOperation readMapListOperation() {
+        ByteBuffer buffer = this.scriptBuffer;
+        int maxElements = readVarInt(buffer);
+        int sourceElementSize = readVarInt(buffer);
+        int targetElementSize = readVarInt(buffer);
+        ApiMappingOperation elementMappingOperation = this.getOrReadOperation(readVarInt(buffer));
+
+        return new ListMappingOperation(maxElements, sourceElementSize, targetElementSize, elementMappingOperation);
+    }
+
+    private ApiMappingOperation readMapPolymorphicRecordOperation() {
+        ByteBuffer buffer = this.scriptBuffer;
+        int numberOfMappings = readVarInt(buffer);
+
+        List<PolymorphicRecordMapping> mappings = new ArrayList<>(numberOfMappings);
+        for (int mappingIndex = 0; mappingIndex < numberOfMappings; mappingIndex++) {
+            int sourceTypeId = readVarInt(buffer);
+            int targetTypeId = readVarInt(buffer);
+            RecordTypeEntry typeEntry = this.getOrReadTypeEntryOfType(readVarInt(buffer), RecordTypeEntry.class);
+
+            mappings.add(new PolymorphicRecordMapping(sourceTypeId, targetTypeId, typeEntry));
+        }
+
+        return new PolymorphicRecordMappingOperation(mappings);
+    }
+
+    private ApiMappingOperation readMapPolyToMonoRecordOperation() {
+        ByteBuffer buffer = this.scriptBuffer;
+        RecordTypeEntry typeEntry = this.getOrReadTypeEntryOfType(readVarInt(buffer), RecordTypeEntry.class);
+        int numberOfIds = readVarInt(buffer);
+
+        Set<Integer> mappableTypeIds = new HashSet<>(numberOfIds);
+        for (int idIndex = 0; idIndex < numberOfIds; idIndex++) {
+            mappableTypeIds.add(readVarInt(buffer));
+        }
+
+        return new PolyToMonoRecordMappingOperation(mappableTypeIds, typeEntry);
+    }
+
+    @Override
+    public String readOperationName(int operationIndex) {
+        ByteBuffer buffer = this.scriptBuffer;
+        buffer.position(this.operationEntryOffsets[operationIndex]);
+
+        byte[] nameBytes = new byte[readVarInt(buffer)];
+        buffer.get(nameBytes);
+
+        return new String(nameBytes, CHARSET);
+    }
+
+    @Override
+    public OperationEntry readOperationEntry(int operationIndex) {
+        // Reading the name positions the buffer at the operation indexes
+        String operationName = this.readOperationName(operationIndex);
+
+        ByteBuffer buffer = this.scriptBuffer;
+        ApiMappingOperation parameterMappingOperation = this.getOrReadOperation(readVarInt(buffer));
+        ApiMappingOperation resultMappingOperation = this.getOrReadOperation(readVarInt(buffer));
+
+        return new OperationEntry(operationIndex, operationName, parameterMappingOperation, resultMappingOperation);
+    }
+
+}
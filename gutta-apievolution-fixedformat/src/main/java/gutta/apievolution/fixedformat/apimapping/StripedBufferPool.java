@@ -0,0 +1,62 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Buffer pool that shares a fixed number of buffers between all threads. Each thread starts looking for a buffer at a slot determined by its id, so that
+ * concurrent threads usually access different slots.
+ */
+final class StripedBufferPool implements BufferPool {
+
+    private final AtomicReferenceArray<ByteBuffer> slots;
+
+    StripedBufferPool(int numberOfBuffers) {
+        if (numberOfBuffers <= 0) {
+            throw new IllegalArgumentException("The number of buffers must be positive.");
+        }
+
+        this.slots = new AtomicReferenceArray<>(numberOfBuffers);
+    }
+
+    private int startSlot() {
+        return (int) (Thread.currentThread().getId() % this.slots.length());
+    }
+
+    @Override
+    public ByteBuffer acquireBuffer(int size) {
+        AtomicReferenceArray<ByteBuffer> currentSlots = this.slots;
+        int numberOfSlots = currentSlots.length();
+        int slotIndex = this.startSlot();
+
+        for (int probe = 0; probe < numberOfSlots; probe++) {
+            ByteBuffer buffer = currentSlots.get(slotIndex);
+
+            if (buffer != null && buffer.capacity() >= size && currentSlots.compareAndSet(slotIndex, buffer, null)) {
+                return PooledBuffers.prepareForReuse(buffer, size);
+            }
+
+            slotIndex = (slotIndex + 1 == numberOfSlots) ? 0 : slotIndex + 1;
+        }
+
+        return ByteBuffer.allocate(size);
+    }
+
+    @Override
+    public void releaseBuffer(ByteBuffer buffer) {
+        AtomicReferenceArray<ByteBuffer> currentSlots = this.slots;
+        int numberOfSlots = currentSlots.length();
+        int slotIndex = this.startSlot();
+
+        for (int probe = 0; probe < numberOfSlots; probe++) {
+            if (currentSlots.compareAndSet(slotIndex, null, buffer)) {
+                return;
+            }
+
+            slotIndex = (slotIndex + 1 == numberOfSlots) ? 0 : slotIndex + 1;
+        }
+
+        // If all slots are occupied, the buffer is discarded
+    }
+
+}
@@ -0,0 +1,60 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Buffer pool that keeps a small number of buffers per thread.
+ */
+final class ThreadLocalBufferPool implements BufferPool {
+
+    /**
+     * Maximum number of buffers per thread. A single call through a pair of proxies uses four buffers at the same time.
+     */
+    private static final int MAX_BUFFERS_PER_THREAD = 8;
+
+    private final ThreadLocal<BufferStack> buffers = ThreadLocal.withInitial(BufferStack::new);
+
+    @Override
+    public ByteBuffer acquireBuffer(int size) {
+        ByteBuffer pooledBuffer = this.buffers.get().pop(size);
+        return PooledBuffers.prepareForReuse(pooledBuffer, size);
+    }
+
+    @Override
+    public void releaseBuffer(ByteBuffer buffer) {
+        this.buffers.get().push(buffer);
+    }
+
+    private static class BufferStack {
+
+        private final ByteBuffer[] entries = new ByteBuffer[MAX_BUFFERS_PER_THREAD];
+
+        private int size;
+
+        ByteBuffer pop(int requiredSize) {
+            // Prefer the most recently released buffer that is large enough
+            for (int index = (this.size - 1); index >= 0; index--) {
+                ByteBuffer buffer = this.entries[index];
+
+                if (buffer.capacity() >= requiredSize) {
+                    this.size--;
+                    this.entries[index] = this.entries[this.size];
+                    this.entries[this.size] = null;
+
+                    return buffer;
+                }
+            }
+
+            return null;
+        }
+
+        void push(ByteBuffer buffer) {
+            if (this.size < this.entries.length) {
+                this.entries[this.size] = buffer;
+                this.size++;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Lookup table from (primitive) type ids to arbitrary values. Type ids are usually assigned consecutively, so the table uses a dense array indexed by
+ * the type id if the ids are sufficiently compact. Otherwise, the type ids are stored in a sorted array and looked up by binary search. In either case,
+ * the lookup does not require boxing the type id.
+ *
+ * @param <T> The type of the values in the table
+ */
+final class TypeIdTable<T> {
+
+    /**
+     * Maximum ratio between the range of type ids and the number of entries for which a dense table is used.
+     */
+    private static final int MAX_SPARSENESS = 4;
+
+    private final int minTypeId;
+
+    private final int[] typeIds;
+
+    private final Object[] values;
+
+    private final boolean dense;
+
+    private TypeIdTable(int minTypeId, int[] typeIds, Object[] values, boolean dense) {
+        this.minTypeId = minTypeId;
+        this.typeIds = typeIds;
+        this.values = values;
+        this.dense = dense;
+    }
+
+    /**
+     * Creates a lookup table from the given map.
+     *
+     * @param <T>   The type of the values in the table
+     * @param input The map to create the table from
+     * @return The lookup table
+     */
+    static <T> TypeIdTable<T> of(Map<Integer, T> input) {
+        int numberOfEntries = input.size();
+        int[] typeIds = input.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+
+        if (numberOfEntries == 0) {
+            return new TypeIdTable<>(0, typeIds, new Object[0], true);
+        }
+
+        int minTypeId = typeIds[0];
+        long range = ((long) typeIds[numberOfEntries - 1] - minTypeId + 1);
+
+        if (range <= (long) MAX_SPARSENESS * numberOfEntries) {
+            Object[] values = new Object[(int) range];
+            input.forEach((typeId, value) -> values[typeId - minTypeId] = value);
+
+            return new TypeIdTable<>(minTypeId, null, values, true);
+        } else {
+            Object[] values = new Object[numberOfEntries];
+            for (int entryIndex = 0; entryIndex < numberOfEntries; entryIndex++) {
+                values[entryIndex] = input.get(typeIds[entryIndex]);
+            }
+
+            return new TypeIdTable<>(minTypeId, typeIds, values, false);
+        }
+    }
+
+    /**
+     * Looks up the value for the given type id.
+     *
+     * @param typeId The type id to look up
+     * @return The value for the given type id or {@code null} if there is none
+     */
+    @SuppressWarnings("unchecked")
+    T lookup(int typeId) {
+        if (this.dense) {
+            int index = (typeId - this.minTypeId);
+            return (index >= 0 && index < this.values.length) ? (T) this.values[index] : null;
+        } else {
+            int index = Arrays.binarySearch(this.typeIds, typeId);
+            return (index >= 0) ? (T) this.values[index] : null;
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Buffer pool that allocates a new buffer on each request.
+ */
+final class UnpooledBufferPool implements BufferPool {
+
+    static final UnpooledBufferPool INSTANCE = new UnpooledBufferPool();
+
+    private UnpooledBufferPool() {
+        // Singleton
+    }
+
+    @Override
+    public ByteBuffer acquireBuffer(int size) {
+        return ByteBuffer.allocate(size);
+    }
+
+    @Override
+    public void releaseBuffer(ByteBuffer buffer) {
+        // Do nothing, the buffer is simply discarded
+    }
+
+}
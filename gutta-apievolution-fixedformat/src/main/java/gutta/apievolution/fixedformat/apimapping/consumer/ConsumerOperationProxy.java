@@ -1,5 +1,7 @@
 package gutta.apievolution.fixedformat.apimapping.consumer;
 
+import gutta.apievolution.fixedformat.apimapping.BufferPool;
+import gutta.apievolution.fixedformat.apimapping.PooledBuffers;
 import gutta.apievolution.fixedformat.apimapping.RequestRouter;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatData;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
@@ -23,7 +25,7 @@ public abstract class ConsumerOperationProxy<P, R> {
 
     private final FixedFormatMapper mapper;
 
-    private final String operationName;
+    private final int operationIndex;
 
     private final Class<P> parameterType;
 
@@ -31,6 +33,8 @@ public abstract class ConsumerOperationProxy<P, R> {
 
     private final Charset charset;
 
+    private final BufferPool bufferPool;
+
     /**
      * Creates a new proxy with the given data.
      * 
@@ -50,22 +54,42 @@ public abstract class ConsumerOperationProxy<P, R> {
     /**
      * Creates a new proxy with the given data.
      * 
-     * @param operationName The name of the represented operation
-     * @param parameterType The parameter type of the operation
-     * @param resultType    The result type of the operation
-     * @param router        The request router to use for finding the appropriate provider proxy
-     * @param mapper        The fixed-format mapper to use
-     * @param charset       The charset to use
+     * @param operationName  The name of the represented operation
+     * @param parameterType  The parameter type of the operation
+     * @param resultType     The result type of the operation
+     * @param exceptionTypes The possible exception types of the operation
+     * @param router         The request router to use for finding the appropriate provider proxy
+     * @param mapper         The fixed-format mapper to use
+     * @param charset        The charset to use
      */
     protected ConsumerOperationProxy(String operationName, Class<P> parameterType, Class<R> resultType, Set<Class<?>> exceptionTypes, RequestRouter router,
             FixedFormatMapper mapper, Charset charset) {
 
-        this.operationName = operationName;
+        this(operationName, parameterType, resultType, exceptionTypes, router, mapper, charset, BufferPool.unpooled());
+    }
+
+    /**
+     * Creates a new proxy with the given data.
+     * 
+     * @param operationName  The name of the represented operation
+     * @param parameterType  The parameter type of the operation
+     * @param resultType     The result type of the operation
+     * @param exceptionTypes The possible exception types of the operation
+     * @param router         The request router to use for finding the appropriate provider proxy
+     * @param mapper         The fixed-format mapper to use
+     * @param charset        The charset to use
+     * @param bufferPool     The pool to obtain the parameter and result buffers from
+     */
+    protected ConsumerOperationProxy(String operationName, Class<P> parameterType, Class<R> resultType, Set<Class<?>> exceptionTypes, RequestRouter router,
+            FixedFormatMapper mapper, Charset charset, BufferPool bufferPool) {
+
+        this.operationIndex = router.resolveOperationIndex(operationName);
         this.router = router;
         this.mapper = mapper;
         this.parameterType = parameterType;
         this.resultType = OperationResultType.of(resultType, exceptionTypes);
         this.charset = charset;
+        this.bufferPool = bufferPool;
     }
 
     /**
@@ -76,16 +100,44 @@ public abstract class ConsumerOperationProxy<P, R> {
      */
     public R invoke(P parameter) {
         FixedFormatMapper formatMapper = this.mapper;
+        BufferPool pool = this.bufferPool;
 
-        ByteBuffer parameterBuffer = ByteBuffer.allocate(formatMapper.determineMaxSizeOf(this.parameterType));
+        ByteBuffer parameterBuffer = pool.acquireBuffer(formatMapper.determineMaxSizeOf(this.parameterType));
+        ByteBuffer resultBuffer = pool.acquireBuffer(formatMapper.determineMaxSizeOf(this.resultType));
+
+        try {
+            return this.invokeWithBuffers(parameter, parameterBuffer, resultBuffer);
+        } finally {
+            pool.releaseBuffer(resultBuffer);
+            pool.releaseBuffer(parameterBuffer);
+        }
+    }
+
+    /**
+     * Invokes the wrapped operation with the given parameter, using the given buffers for the parameter and result data. The buffers must be large
+     * enough to hold the respective data, and their previous contents are overwritten.
+     * 
+     * @param parameter       The parameter to pass to the operation
+     * @param parameterBuffer The buffer to use for the parameter data
+     * @param resultBuffer    The buffer to use for the result data
+     * @return The operation's result
+     */
+    public R invoke(P parameter, ByteBuffer parameterBuffer, ByteBuffer resultBuffer) {
+        FixedFormatMapper formatMapper = this.mapper;
+
+        PooledBuffers.prepareSuppliedBuffer(parameterBuffer, formatMapper.determineMaxSizeOf(this.parameterType));
+        PooledBuffers.prepareSuppliedBuffer(resultBuffer, formatMapper.determineMaxSizeOf(this.resultType));
+
+        return this.invokeWithBuffers(parameter, parameterBuffer, resultBuffer);
+    }
+
+    private R invokeWithBuffers(P parameter, ByteBuffer parameterBuffer, ByteBuffer resultBuffer) {
         FixedFormatData parameterData = FixedFormatData.of(parameterBuffer, this.charset);
 
         this.mapper.writeValue(parameter, this.parameterType, parameterData);
         parameterBuffer.flip();
 
-        ByteBuffer resultBuffer = ByteBuffer.allocate(formatMapper.determineMaxSizeOf(this.resultType));
-
-        this.router.routeRequest(this.operationName, parameterBuffer, resultBuffer);
+        this.router.routeRequest(this.operationIndex, parameterBuffer, resultBuffer);
 
         FixedFormatData resultData = FixedFormatData.of(resultBuffer, this.charset);
         ValueOrException<R> resultOrException = this.mapper.readValueOrException(resultData, this.resultType);
@@ -1,6 +1,8 @@
 package gutta.apievolution.fixedformat.apimapping.provider;
 
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.BufferPool;
+import gutta.apievolution.fixedformat.apimapping.OperationHandle;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatData;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
 import gutta.apievolution.fixedformat.objectmapping.OperationResultType;
@@ -20,9 +22,9 @@ public abstract class ProviderOperationProxy<P, R> {
 
     private final String operationName;
 
-    private final ApiMappingScript consumerToProviderScript;
+    private final OperationHandle parameterMappingHandle;
 
-    private final ApiMappingScript providerToConsumerScript;
+    private final OperationHandle resultMappingHandle;
 
     private final Class<P> parameterType;
 
@@ -32,6 +34,8 @@ public abstract class ProviderOperationProxy<P, R> {
 
     private final Charset charset;
 
+    private final BufferPool bufferPool;
+
     /**
      * Creates a new proxy using the given data for an operation without exceptions.
      * 
@@ -64,13 +68,35 @@ public abstract class ProviderOperationProxy<P, R> {
     protected ProviderOperationProxy(String operationName, Class<P> parameterType, Class<R> resultType, Set<Class<?>> exceptionTypes,
             ApiMappingScript consumerToProviderScript, ApiMappingScript providerToConsumerScript, FixedFormatMapper mapper, Charset charset) {
 
+        this(operationName, parameterType, resultType, exceptionTypes, consumerToProviderScript, providerToConsumerScript, mapper, charset,
+                BufferPool.unpooled());
+    }
+
+    /**
+     * Creates a new proxy using the given data.
+     * 
+     * @param operationName            The name of the operation
+     * @param parameterType            The parameter type of the operation
+     * @param resultType               The result type of the operation
+     * @param exceptionTypes           The possible exception types of the operations
+     * @param consumerToProviderScript The consumer-to-provider script to use for the parameter conversion
+     * @param providerToConsumerScript The provider-to-consumer script to use for the result conversion
+     * @param mapper                   The fixed-format data mapper to use
+     * @param charset                  The charset to use
+     * @param bufferPool               The pool to obtain the intermediate parameter and result buffers from
+     */
+    protected ProviderOperationProxy(String operationName, Class<P> parameterType, Class<R> resultType, Set<Class<?>> exceptionTypes,
+            ApiMappingScript consumerToProviderScript, ApiMappingScript providerToConsumerScript, FixedFormatMapper mapper, Charset charset,
+            BufferPool bufferPool) {
+
         this.operationName = operationName;
-        this.consumerToProviderScript = consumerToProviderScript;
-        this.providerToConsumerScript = providerToConsumerScript;
+        this.parameterMappingHandle = consumerToProviderScript.resolveOperation(operationName);
+        this.resultMappingHandle = providerToConsumerScript.resolveOperation(operationName);
         this.parameterType = parameterType;
         this.resultType = OperationResultType.of(resultType, exceptionTypes);
         this.mapper = mapper;
         this.charset = charset;
+        this.bufferPool = bufferPool;
     }
 
     /**
@@ -82,18 +108,47 @@ public abstract class ProviderOperationProxy<P, R> {
      * @return The result buffer
      */
     public ByteBuffer invoke(ByteBuffer consumerParameterBuffer, ByteBuffer consumerResultBuffer) {
+        return this.invoke(0, consumerParameterBuffer, consumerResultBuffer);
+    }
+
+    /**
+     * Invokes the representing operation using the parameter data at the given offset of the given buffer. As the parameter data is mapped directly
+     * from the given buffer, this allows to process data from larger buffers, such as memory-mapped files, without copying it first.
+     * 
+     * @param parameterOffset         The absolute offset of the parameter data in the parameter buffer
+     * @param consumerParameterBuffer The buffer containing the parameter data
+     * @param consumerResultBuffer    The buffer to store the result data in. This buffer will be {@link ByteBuffer#flip() flipped} before returning.
+     * @return The result buffer
+     */
+    public ByteBuffer invoke(int parameterOffset, ByteBuffer consumerParameterBuffer, ByteBuffer consumerResultBuffer) {
         FixedFormatMapper formatMapper = this.mapper;
+        BufferPool pool = this.bufferPool;
 
         // Map the parameter data provided by the consumer
-        ByteBuffer parameterBuffer = ByteBuffer.allocate(formatMapper.determineMaxSizeOf(this.parameterType));
+        ByteBuffer parameterBuffer = pool.acquireBuffer(formatMapper.determineMaxSizeOf(this.parameterType));
+        P parameter;
+
+        try {
+            this.parameterMappingHandle.mapParameter(parameterOffset, consumerParameterBuffer, parameterBuffer);
+            parameterBuffer.flip();
+
+            FixedFormatData parameterData = FixedFormatData.of(parameterBuffer, this.charset);
+            parameter = this.mapper.readValue(parameterData, this.parameterType);
+        } finally {
+            pool.releaseBuffer(parameterBuffer);
+        }
 
-        this.consumerToProviderScript.mapParameterFor(this.getOperationName(), consumerParameterBuffer, parameterBuffer);
-        parameterBuffer.flip();
+        ByteBuffer resultBuffer = pool.acquireBuffer(formatMapper.determineMaxSizeOf(this.resultType));
+        try {
+            this.invokeAndMapResult(parameter, resultBuffer, consumerResultBuffer);
+        } finally {
+            pool.releaseBuffer(resultBuffer);
+        }
 
-        FixedFormatData parameterData = FixedFormatData.of(parameterBuffer, this.charset);
-        P parameter = this.mapper.readValue(parameterData, this.parameterType);
+        return consumerResultBuffer;
+    }
 
-        ByteBuffer resultBuffer = ByteBuffer.allocate(formatMapper.determineMaxSizeOf(this.resultType));
+    private void invokeAndMapResult(P parameter, ByteBuffer resultBuffer, ByteBuffer consumerResultBuffer) {
         FixedFormatData resultData = FixedFormatData.of(resultBuffer, this.charset);
 
         try {
@@ -107,10 +162,9 @@ public abstract class ProviderOperationProxy<P, R> {
         }
 
         resultBuffer.flip();
-        this.providerToConsumerScript.mapResultFor(this.getOperationName(), resultBuffer, consumerResultBuffer);
+        this.resultMappingHandle.mapResult(resultBuffer, consumerResultBuffer);
 
         consumerResultBuffer.flip();
-        return consumerResultBuffer;
     }
 
     /**
@@ -1,5 +1,7 @@
 package gutta.apievolution.fixedformat.objectmapping;
 
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
@@ -80,6 +82,12 @@ public class ByteBufferData implements FixedFormatData {
     
     @Override
     public String readBoundedString(int maxLength) {
+        ByteBuffer currentBuffer = this.buffer;
+        if (currentBuffer.hasArray()) {
+            return this.readBoundedStringFromArray(currentBuffer, maxLength);
+        }
+        
+        // Buffers without an accessible array (such as direct buffers) are read via the work array
         byte[] encodedString = this.getWorkArray(maxLength);
         this.buffer.get(encodedString, 0, maxLength);
         
@@ -91,6 +99,27 @@ public class ByteBufferData implements FixedFormatData {
         }
     }
     
+    private String readBoundedStringFromArray(ByteBuffer currentBuffer, int maxLength) {
+        int position = currentBuffer.position();
+        if (maxLength > (currentBuffer.limit() - position)) {
+            throw new BufferUnderflowException();
+        }
+        
+        // Decode the string directly from the backing array to avoid copying it first
+        byte[] array = currentBuffer.array();
+        int startIndex = (currentBuffer.arrayOffset() + position);
+        int currentIndex = (startIndex + maxLength - 1);
+        
+        while (currentIndex >= startIndex && array[currentIndex] == PADDING_BYTE) {
+            currentIndex--;
+        }
+        
+        currentBuffer.position(position + maxLength);
+        
+        int stringLength = (currentIndex - startIndex + 1);
+        return (stringLength > 0) ? new String(array, startIndex, stringLength, this.charset) : "";
+    }
+    
     @Override
     public void writeBoundedString(String value, int maxLength) {
         int actualLength = value.length();
@@ -117,10 +146,23 @@ public class ByteBufferData implements FixedFormatData {
     
     @Override
     public void writePadding(int length) {
-        byte[] workArray = this.getWorkArray(length);
-        Arrays.fill(workArray, 0, length, PADDING_BYTE);
-
-        this.buffer.put(workArray, 0, length);
+        ByteBuffer currentBuffer = this.buffer;
+        
+        if (currentBuffer.hasArray()) {
+            // Fill the backing array directly
+            int position = currentBuffer.position();
+            if (length > (currentBuffer.limit() - position)) {
+                throw new BufferOverflowException();
+            }
+            
+            int startIndex = (currentBuffer.arrayOffset() + position);
+            Arrays.fill(currentBuffer.array(), startIndex, startIndex + length, PADDING_BYTE);
+            currentBuffer.position(position + length);
+        } else {
+            for (int index = 0; index < length; index++) {
+                currentBuffer.put(PADDING_BYTE);
+            }
+        }
     }
 
 }
@@ -1,56 +1,31 @@
 package gutta.apievolution.fixedformat.objectmapping;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodHandles.Lookup;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
-class FieldMapper {
-    
-    private final Field field;
-    
-    private final MethodHandle readAccessor;
-
-    private final MethodHandle writeAccessor;
-
-    private final TypeMapper<?> typeMapper;
-
-    public FieldMapper(Field field, Method readAccessor, Method writeAccessor, TypeMapper<?> typeMapper) {
-        this.field = field;
-        
-        Lookup lookup = MethodHandles.publicLookup();
-
-        try {
-            this.readAccessor = lookup.unreflect(readAccessor);
-            this.writeAccessor = lookup.unreflect(writeAccessor);
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        }
-
-        this.typeMapper = typeMapper;
-    }
-
-    public int getMaxLength() {
-        return this.typeMapper.getMaxLength();
-    }
-
-    public void readValue(FixedFormatData data, Object target) {
-        try {
-            Object value = this.typeMapper.readValue(data);                        
-            this.writeAccessor.invoke(target, value);
-        } catch (Throwable e) {
-            throw new RuntimeException("Error reading value for field '" + this.field + "'.", e);
-        }
-    }
-    
-    public void writeValue(Object object, FixedFormatData data) {
-        try {
-            Object fieldValue = this.readAccessor.invoke(object);
-            this.typeMapper.writeValue(fieldValue, data);
-        } catch (Throwable e) {
-            throw new RuntimeException("Error writing value for field '" + this.field + "'.", e);
-        }
-    }
+/**
+ * A field mapper reads and writes the value of a single field of a record.
+ */
+abstract class FieldMapper {
+
+    /**
+     * Returns the maximal length of the field's representation, including the flags byte.
+     *
+     * @return see above
+     */
+    public abstract int getMaxLength();
+
+    /**
+     * Reads the field's value from the given data and assigns it to the given object.
+     *
+     * @param data   The data to read from
+     * @param target The object to assign the value to
+     */
+    public abstract void readValue(FixedFormatData data, Object target);
+
+    /**
+     * Writes the field's value of the given object to the given data.
+     *
+     * @param object The object to take the value from
+     * @param data   The data to write to
+     */
+    public abstract void writeValue(Object object, FixedFormatData data);
 
 }
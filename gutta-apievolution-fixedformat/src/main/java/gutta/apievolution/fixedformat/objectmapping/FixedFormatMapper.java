@@ -1,5 +1,7 @@
 package gutta.apievolution.fixedformat.objectmapping;
 
+import gutta.apievolution.core.util.LambdaAccessors;
+
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -21,12 +23,51 @@ import static java.lang.reflect.Modifier.isAbstract;
  * Simple fixed-format object-to-data mapper.
  */
 public class FixedFormatMapper {
+    
+    private final RecordAccessMode recordAccessMode;
             
     private final ConcurrentMap<Class<?>, TypeMapper<?>> typeMappers = new ConcurrentHashMap<>();
     
     private final ConcurrentMap<OperationResultType<?>, TypeMapper<?>> resultTypeMappers = new ConcurrentHashMap<>();
+    
+    /**
+     * Creates a new mapper that accesses records reflectively.
+     */
+    public FixedFormatMapper() {
+        this(RecordAccessMode.REFLECTIVE);
+    }
+    
+    /**
+     * Creates a new mapper that accesses records using the given mode.
+     * 
+     * @param recordAccessMode The mode to use for accessing records
+     */
+    public FixedFormatMapper(RecordAccessMode recordAccessMode) {
+        this.recordAccessMode = recordAccessMode;
+    }
             
-    private synchronized TypeMapper<?> determineTypeMapperFor(Class<?> type) {
+    private TypeMapper<?> determineTypeMapperFor(Class<?> type) {
+        // Lock-free fast path for already known types
+        TypeMapper<?> mapper = this.typeMappers.get(type);
+        if (mapper != null) {
+            return mapper;
+        }
+        
+        return this.createAndCacheTypeMapperFor(type);
+    }
+    
+    private TypeMapper<?> determineTypeMapperFor(OperationResultType<?> resultType) {
+        // Lock-free fast path for already known result types
+        TypeMapper<?> mapper = this.resultTypeMappers.get(resultType);
+        if (mapper != null) {
+            return mapper;
+        }
+        
+        return this.createAndCacheTypeMapperFor(resultType);
+    }
+    
+    private synchronized TypeMapper<?> createAndCacheTypeMapperFor(Class<?> type) {
+        // Check again, as another thread may have created the mapper in the meantime
         TypeMapper<?> mapper = this.typeMappers.get(type);
         if (mapper != null) {
             return mapper;
@@ -35,7 +76,8 @@ public class FixedFormatMapper {
         return this.createTypeMapperFor(type, null, type);
     }
     
-    private synchronized TypeMapper<?> determineTypeMapperFor(OperationResultType<?> resultType) {
+    private synchronized TypeMapper<?> createAndCacheTypeMapperFor(OperationResultType<?> resultType) {
+        // Check again, as another thread may have created the mapper in the meantime
         TypeMapper<?> mapper = this.resultTypeMappers.get(resultType);
         if (mapper != null) {
             return mapper;
@@ -204,12 +246,22 @@ public class FixedFormatMapper {
                 throw new RuntimeException("Missing accessors for " + field.getName() + " on type " + type + ".", e);
             }
                 
-            FieldMapper fieldMapper = new FieldMapper(field, getter, setter, fieldTypeMapper);
+            FieldMapper fieldMapper;
+            if (this.recordAccessMode == RecordAccessMode.GENERATED) {
+                fieldMapper = GeneratedFieldMappers.createFieldMapper(field, getter, setter, fieldTypeMapper);
+            } else {
+                fieldMapper = new ReflectiveFieldMapper(field, getter, setter, fieldTypeMapper);
+            }
+            
             dataLength += fieldMapper.getMaxLength();
             fieldMappers.add(fieldMapper);
         }
         
-        return new RecordTypeMapper(dataLength, type, fieldMappers);
+        if (this.recordAccessMode == RecordAccessMode.GENERATED) {
+            return new RecordTypeMapper(dataLength, type, LambdaAccessors.constructorOf(type), fieldMappers);
+        } else {
+            return new RecordTypeMapper(dataLength, type, fieldMappers);
+        }
     }
     
     private TypeMapper<?> createTypeMapperForList(ParameterizedType type, AnnotatedElement element) {        
@@ -303,4 +355,19 @@ public class FixedFormatMapper {
         typeMapper.writeValue(valueOrException, data);
     }
     
+    /**
+     * Enumeration of the modes for accessing the fields of records.
+     */
+    public enum RecordAccessMode {
+        /**
+         * Fields are accessed reflectively, using method handles for their accessors.
+         */
+        REFLECTIVE,
+        /**
+         * Fields are accessed using accessors generated at runtime, and the values of basic types are converted by specialized mappers without
+         * boxing primitive values.
+         */
+        GENERATED
+    }
+    
 }
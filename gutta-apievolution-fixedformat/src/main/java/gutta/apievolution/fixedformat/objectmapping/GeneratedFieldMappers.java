@@ -0,0 +1,257 @@
+package gutta.apievolution.fixedformat.objectmapping;
+
+import gutta.apievolution.core.util.LambdaAccessors;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_ABSENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_PRESENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_UNREPRESENTABLE;
+
+/**
+ * Factory for field mappers that access fields through generated accessors (see {@link LambdaAccessors}) instead of method handles. For the basic
+ * types, the (de)serialization is performed inline by specialized field mappers, so that {@code int} fields are neither boxed for accessing them nor
+ * for converting them.
+ */
+final class GeneratedFieldMappers {
+
+    private GeneratedFieldMappers() {
+        // Private constructor
+    }
+
+    /**
+     * Creates an appropriate field mapper for the given field.
+     *
+     * @param field      The field to create the mapper for
+     * @param getter     The getter of the field
+     * @param setter     The setter of the field
+     * @param typeMapper The type mapper for the field's type
+     * @return The field mapper
+     */
+    static FieldMapper createFieldMapper(Field field, Method getter, Method setter, TypeMapper<?> typeMapper) {
+        if (typeMapper instanceof Int32Mapper) {
+            if (field.getType() == int.class) {
+                return new PrimitiveInt32FieldMapper(field, LambdaAccessors.intGetterFor(getter), LambdaAccessors.intSetterFor(setter));
+            } else {
+                return new Int32FieldMapper(LambdaAccessors.getterFor(getter), LambdaAccessors.setterFor(setter));
+            }
+        } else if (typeMapper instanceof StringMapper) {
+            return new StringFieldMapper(typeMapper.getDataLength(), LambdaAccessors.getterFor(getter), LambdaAccessors.setterFor(setter));
+        } else {
+            return new DelegatingFieldMapper(typeMapper, LambdaAccessors.getterFor(getter), LambdaAccessors.setterFor(setter));
+        }
+    }
+
+    private static InvalidDataException unsupportedFlags(byte flags) {
+        return new InvalidDataException("Unsupported value flags: '" + flags + "'.");
+    }
+
+    /**
+     * Field mapper for fields of the primitive type {@code int}.
+     */
+    private static class PrimitiveInt32FieldMapper extends FieldMapper {
+
+        private static final int DATA_LENGTH = 4;
+
+        private final Field field;
+
+        private final ToIntFunction<Object> getter;
+
+        private final ObjIntConsumer<Object> setter;
+
+        PrimitiveInt32FieldMapper(Field field, ToIntFunction<Object> getter, ObjIntConsumer<Object> setter) {
+            this.field = field;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public int getMaxLength() {
+            return (DATA_LENGTH + Flags.FLAGS_SIZE);
+        }
+
+        @Override
+        public void readValue(FixedFormatData data, Object target) {
+            byte flags = data.readFlagsByte();
+
+            switch (flags) {
+            case IS_PRESENT:
+                this.setter.accept(target, data.readInt32());
+                break;
+
+            case IS_ABSENT:
+                throw new InvalidDataException("Absent value for primitive field '" + this.field + "'.");
+
+            case IS_UNREPRESENTABLE:
+                throw new IllegalStateException("The basic type int32 does not support unrepresentable values.");
+
+            default:
+                throw unsupportedFlags(flags);
+            }
+        }
+
+        @Override
+        public void writeValue(Object object, FixedFormatData data) {
+            data.writeFlagsByte(IS_PRESENT);
+            data.writeInt32(this.getter.applyAsInt(object));
+        }
+
+    }
+
+    /**
+     * Field mapper for fields of type {@link Integer}.
+     */
+    private static class Int32FieldMapper extends FieldMapper {
+
+        private static final int DATA_LENGTH = 4;
+
+        private final Function<Object, Object> getter;
+
+        private final BiConsumer<Object, Object> setter;
+
+        Int32FieldMapper(Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public int getMaxLength() {
+            return (DATA_LENGTH + Flags.FLAGS_SIZE);
+        }
+
+        @Override
+        public void readValue(FixedFormatData data, Object target) {
+            byte flags = data.readFlagsByte();
+
+            switch (flags) {
+            case IS_PRESENT:
+                this.setter.accept(target, data.readInt32());
+                break;
+
+            case IS_ABSENT:
+                data.skipBytes(DATA_LENGTH);
+                this.setter.accept(target, null);
+                break;
+
+            case IS_UNREPRESENTABLE:
+                throw new IllegalStateException("The basic type int32 does not support unrepresentable values.");
+
+            default:
+                throw unsupportedFlags(flags);
+            }
+        }
+
+        @Override
+        public void writeValue(Object object, FixedFormatData data) {
+            Integer value = (Integer) this.getter.apply(object);
+
+            if (value == null) {
+                data.writeFlagsByte(IS_ABSENT);
+                data.writePadding(DATA_LENGTH);
+            } else {
+                data.writeFlagsByte(IS_PRESENT);
+                data.writeInt32(value);
+            }
+        }
+
+    }
+
+    /**
+     * Field mapper for fields of type {@link String}.
+     */
+    private static class StringFieldMapper extends FieldMapper {
+
+        private final int maxLength;
+
+        private final Function<Object, Object> getter;
+
+        private final BiConsumer<Object, Object> setter;
+
+        StringFieldMapper(int maxLength, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.maxLength = maxLength;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public int getMaxLength() {
+            return (this.maxLength + Flags.FLAGS_SIZE);
+        }
+
+        @Override
+        public void readValue(FixedFormatData data, Object target) {
+            byte flags = data.readFlagsByte();
+
+            switch (flags) {
+            case IS_PRESENT:
+                this.setter.accept(target, data.readBoundedString(this.maxLength));
+                break;
+
+            case IS_ABSENT:
+                data.skipBytes(this.maxLength);
+                this.setter.accept(target, null);
+                break;
+
+            case IS_UNREPRESENTABLE:
+                throw new IllegalStateException("String types cannot have unrepresentable values.");
+
+            default:
+                throw unsupportedFlags(flags);
+            }
+        }
+
+        @Override
+        public void writeValue(Object object, FixedFormatData data) {
+            String value = (String) this.getter.apply(object);
+
+            if (value == null) {
+                data.writeFlagsByte(IS_ABSENT);
+                data.writePadding(this.maxLength);
+            } else {
+                data.writeFlagsByte(IS_PRESENT);
+                data.writeBoundedString(value, this.maxLength);
+            }
+        }
+
+    }
+
+    /**
+     * Field mapper for all other types, which delegates the (de)serialization to the type mapper of the field's type.
+     */
+    private static class DelegatingFieldMapper extends FieldMapper {
+
+        private final TypeMapper<?> typeMapper;
+
+        private final Function<Object, Object> getter;
+
+        private final BiConsumer<Object, Object> setter;
+
+        DelegatingFieldMapper(TypeMapper<?> typeMapper, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.typeMapper = typeMapper;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public int getMaxLength() {
+            return this.typeMapper.getMaxLength();
+        }
+
+        @Override
+        public void readValue(FixedFormatData data, Object target) {
+            this.setter.accept(target, this.typeMapper.readValue(data));
+        }
+
+        @Override
+        public void writeValue(Object object, FixedFormatData data) {
+            this.typeMapper.writeValue(this.getter.apply(object), data);
+        }
+
+    }
+
+}
@@ -13,15 +13,19 @@ class RecordTypeMapper extends AbstractRecordTypeMapper {
     
     private final Supplier<Object> instanceSupplier;
     
-    public final List<FieldMapper> fieldMappers;
+    private final FieldMapper[] fieldMappers;
   
     public RecordTypeMapper(int dataLength, Class<?> recordType, List<FieldMapper> fieldMappers) {
+        this(dataLength, recordType, createInstanceSupplier(recordType), fieldMappers);
+    }
+    
+    public RecordTypeMapper(int dataLength, Class<?> recordType, Supplier<Object> instanceSupplier, List<FieldMapper> fieldMappers) {
         super(recordType);
         
         this.dataLength = dataLength;
         this.recordType = recordType;
-        this.instanceSupplier = createInstanceSupplier(recordType);
-        this.fieldMappers = fieldMappers;
+        this.instanceSupplier = instanceSupplier;
+        this.fieldMappers = fieldMappers.toArray(new FieldMapper[fieldMappers.size()]);
     }
     
     private static Supplier<Object> createInstanceSupplier(Class<?> type) {
@@ -51,7 +55,9 @@ class RecordTypeMapper extends AbstractRecordTypeMapper {
                     
     @Override
     protected void writeRegularValue(Object value, FixedFormatData data) {        
-        this.fieldMappers.forEach(mapper -> mapper.writeValue(value, data));
+        for (FieldMapper fieldMapper : this.fieldMappers) {
+            fieldMapper.writeValue(value, data);
+        }
     }
     
     private static class ConstructorBasedInstanceSupplier implements Supplier<Object> {
@@ -3,16 +3,23 @@ package gutta.apievolution.fixedformat;
 import gutta.apievolution.core.util.EqualityUtil;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatData;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper.RecordAccessMode;
 import gutta.apievolution.fixedformat.objectmapping.MaxLength;
 import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -54,12 +61,27 @@ class FixedFormatMapperTest {
         this.stringSerializationDeserializationTest(testValue, expectedBytes, "TestTestTe");
     }
     
+    /**
+     * Test case: String serialization and deserialization works with direct buffers as well.
+     */
+    @Test
+    void serializeStringsWithDirectBuffer() {
+        byte[] expectedPaddedBytes = new byte[] {0x01, 0x01, 0x54, 0x65, 0x73, 0x74, 0x54, 0x65, 0x73, 0x74, 0x00, 0x00};
+        this.stringSerializationDeserializationTest("TestTest", expectedPaddedBytes, "TestTest", ByteBuffer.allocateDirect(32));
+        
+        byte[] expectedTruncatedBytes = new byte[] {0x01, 0x01, 0x54, 0x65, 0x73, 0x74, 0x54, 0x65, 0x73, 0x74, 0x54, 0x65};
+        this.stringSerializationDeserializationTest("TestTestTest", expectedTruncatedBytes, "TestTestTe", ByteBuffer.allocateDirect(32));
+    }
+    
     private void stringSerializationDeserializationTest(String value, byte[] expectedBytes) {
         this.stringSerializationDeserializationTest(value, expectedBytes, value);
     }
     
     private void stringSerializationDeserializationTest(String value, byte[] expectedBytes, String expectedValue) {
-        ByteBuffer buffer = ByteBuffer.allocate(32);
+        this.stringSerializationDeserializationTest(value, expectedBytes, expectedValue, ByteBuffer.allocate(32));
+    }
+    
+    private void stringSerializationDeserializationTest(String value, byte[] expectedBytes, String expectedValue, ByteBuffer buffer) {
         FixedFormatData data = FixedFormatData.of(buffer, CHARSET);
         
         FixedFormatMapper mapper = new FixedFormatMapper();
@@ -189,6 +211,76 @@ class FixedFormatMapperTest {
         assertEquals(structure, readStructure);
     }
     
+    /**
+     * Test case: Concurrent use of a single mapper, including the concurrent creation of type mappers.
+     */
+    @Test
+    void concurrentUseOfMapper() throws Exception {
+        int numberOfThreads = 8;
+        FixedFormatMapper mapper = new FixedFormatMapper();
+        ListOnlyStructure structure = new ListOnlyStructure().values(Arrays.asList(new StringOnlyStructure().value("Test")));
+        
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+        CyclicBarrier startBarrier = new CyclicBarrier(numberOfThreads);
+        try {
+            List<Future<ListOnlyStructure>> futures = new ArrayList<>();
+            for (int threadIndex = 0; threadIndex < numberOfThreads; threadIndex++) {
+                futures.add(executorService.submit(() -> {
+                    startBarrier.await();
+                    
+                    ByteBuffer buffer = ByteBuffer.allocate(mapper.determineMaxSizeOf(ListOnlyStructure.class));
+                    FixedFormatData data = FixedFormatData.of(buffer, CHARSET);
+                    
+                    mapper.writeValue(structure, ListOnlyStructure.class, data);
+                    buffer.flip();
+                    
+                    return mapper.readValue(data, ListOnlyStructure.class);
+                }));
+            }
+            
+            for (Future<ListOnlyStructure> future : futures) {
+                assertEquals(structure, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+    
+    /**
+     * Test case: Mappers with generated accessors produce the same representation as mappers with reflective accessors.
+     */
+    @Test
+    void generatedAccessorsMatchReflectiveAccessors() {
+        MixedStructure fullStructure = new MixedStructure();
+        fullStructure.setPrimitiveValue(-1234);
+        fullStructure.setBoxedValue(5678);
+        fullStructure.setStringValue("Test");
+        fullStructure.setValues(Arrays.asList(new StringOnlyStructure().value("A"), new StringOnlyStructure().value(null)));
+        
+        MixedStructure emptyStructure = new MixedStructure();
+        
+        for (MixedStructure structure : Arrays.asList(fullStructure, emptyStructure)) {
+            byte[] reflectiveBytes = this.mixedStructureSerializationDeserializationTest(structure, RecordAccessMode.REFLECTIVE);
+            byte[] generatedBytes = this.mixedStructureSerializationDeserializationTest(structure, RecordAccessMode.GENERATED);
+            
+            assertArrayEquals(reflectiveBytes, generatedBytes);
+        }
+    }
+    
+    private byte[] mixedStructureSerializationDeserializationTest(MixedStructure structure, RecordAccessMode recordAccessMode) {
+        FixedFormatMapper mapper = new FixedFormatMapper(recordAccessMode);
+        ByteBuffer buffer = ByteBuffer.allocate(mapper.determineMaxSizeOf(MixedStructure.class));
+        FixedFormatData data = FixedFormatData.of(buffer, CHARSET);
+        
+        mapper.writeValue(structure, MixedStructure.class, data);
+        buffer.flip();
+        
+        MixedStructure readStructure = mapper.readValue(data, MixedStructure.class);
+        assertEquals(structure, readStructure);
+        
+        return buffer.array();
+    }
+    
     public static class StringOnlyStructure {
         
         @MaxLength(10)
@@ -257,4 +349,67 @@ class FixedFormatMapperTest {
         
     }
     
+    public static class MixedStructure {
+        
+        private int primitiveValue;
+        
+        private Integer boxedValue;
+        
+        @MaxLength(5)
+        private String stringValue;
+        
+        @MaxLength(3)
+        private List<StringOnlyStructure> values;
+        
+        public int getPrimitiveValue() {
+            return this.primitiveValue;
+        }
+        
+        public void setPrimitiveValue(int primitiveValue) {
+            this.primitiveValue = primitiveValue;
+        }
+        
+        public Integer getBoxedValue() {
+            return this.boxedValue;
+        }
+        
+        public void setBoxedValue(Integer boxedValue) {
+            this.boxedValue = boxedValue;
+        }
+        
+        public String getStringValue() {
+            return this.stringValue;
+        }
+        
+        public void setStringValue(String stringValue) {
+            this.stringValue = stringValue;
+        }
+        
+        public List<StringOnlyStructure> getValues() {
+            return this.values;
+        }
+        
+        public void setValues(List<StringOnlyStructure> values) {
+            this.values = values;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.primitiveValue, this.boxedValue, this.stringValue, this.values);
+        }
+        
+        @Override
+        public boolean equals(Object that) {
+            return EqualityUtil.equals(this, that, this::equalsInternal);
+        }
+        
+        private boolean equalsInternal(MixedStructure that) {
+            return (this.primitiveValue == that.primitiveValue) &&
+                    Objects.equals(this.boxedValue, that.boxedValue) &&
+                    Objects.equals(this.stringValue, that.stringValue) &&
+                    Objects.equals(this.values, that.values);
+        }
+        
+    }
+    
 }
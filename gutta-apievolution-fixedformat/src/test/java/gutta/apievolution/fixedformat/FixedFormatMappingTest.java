@@ -7,8 +7,11 @@ import gutta.apievolution.core.resolution.DefinitionResolver;
 import gutta.apievolution.dsl.ConsumerApiLoader;
 import gutta.apievolution.dsl.ProviderApiLoader;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCompiler;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptOptimizer;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import gutta.apievolution.fixedformat.apimapping.BufferPool;
 import gutta.apievolution.fixedformat.apimapping.RequestRouter;
 import gutta.apievolution.fixedformat.apimapping.consumer.ConsumerOperationProxy;
 import gutta.apievolution.fixedformat.apimapping.provider.ProviderOperationProxy;
@@ -24,6 +27,7 @@ import gutta.apievolution.fixedformat.consumer.ConsumerSuperType;
 import gutta.apievolution.fixedformat.consumer.ConsumerTestException;
 import gutta.apievolution.fixedformat.consumer.MappedConsumerTestException;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper.RecordAccessMode;
 import gutta.apievolution.fixedformat.objectmapping.UnrepresentableValueException;
 import gutta.apievolution.fixedformat.provider.MappableProviderTestException;
 import gutta.apievolution.fixedformat.provider.ProviderMonoToPolySubTypeA;
@@ -36,6 +40,7 @@ import gutta.apievolution.fixedformat.provider.ProviderSuperType;
 import gutta.apievolution.fixedformat.provider.ProviderTestException;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -82,6 +87,194 @@ class FixedFormatMappingTest {
         assertEquals(Arrays.asList(ConsumerEnum.VALUE_A, ConsumerEnum.VALUE_B), consumerResult.getResultList());
     }
     
+    /**
+     * Test case: Requests for unknown operation names or invalid operation indexes are rejected by the request router.
+     */
+    @Test
+    void routingOfInvalidOperations() {
+        ApiMappingScriptGenerator scriptGenerator = new ApiMappingScriptGenerator();
+        ApiMappingScript consumerToProviderScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.CONSUMER_TO_PROVIDER);
+        ApiMappingScript providerToConsumerScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.PROVIDER_TO_CONSUMER);
+
+        TestOperationProviderProxy providerProxy = new TestOperationProviderProxy(consumerToProviderScript, providerToConsumerScript,
+                new FixedFormatMapper());
+        RequestRouter requestRouter = new RequestRouter(providerProxy);
+
+        ByteBuffer parameterData = ByteBuffer.allocate(0);
+        ByteBuffer resultData = ByteBuffer.allocate(0);
+
+        assertThrows(IllegalArgumentException.class, () -> requestRouter.resolveOperationIndex("unknownOperation"));
+        assertThrows(IllegalArgumentException.class, () -> requestRouter.routeRequest(-1, parameterData, resultData));
+        assertThrows(IllegalArgumentException.class, () -> requestRouter.routeRequest(1, parameterData, resultData));
+    }
+
+    /**
+     * Test case: The invocation of methods with compiled mapping scripts works as expected.
+     */
+    @Test
+    void conversationWithCompiledScripts() {
+        ApiMappingScriptGenerator scriptGenerator = new ApiMappingScriptGenerator();
+        ApiMappingScriptCompiler scriptCompiler = new ApiMappingScriptCompiler();
+        ApiMappingScript consumerToProviderScript = scriptCompiler.compileScript(
+                scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.CONSUMER_TO_PROVIDER));
+        ApiMappingScript providerToConsumerScript = scriptCompiler.compileScript(
+                scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.PROVIDER_TO_CONSUMER));
+
+        FixedFormatMapper mapper = new FixedFormatMapper();
+        
+        TestOperationProviderProxy testProviderProxy = new TestOperationProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper);
+        PolyOperation2ProviderProxy polyProviderProxy = new PolyOperation2ProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper);
+        RequestRouter requestRouter = new RequestRouter(testProviderProxy, polyProviderProxy);
+        
+        TestOperationConsumerProxy testConsumerProxy = new TestOperationConsumerProxy(requestRouter, mapper);
+        PolyOperation2ConsumerProxy polyConsumerProxy = new PolyOperation2ConsumerProxy(requestRouter, mapper);
+        
+        ConsumerParameter parameter = new ConsumerParameter().testField("TestString").testEnum(ConsumerEnum.VALUE_B)
+                .testList(Arrays.asList(ConsumerEnum.VALUE_B, ConsumerEnum.VALUE_A));
+
+        ConsumerResult consumerResult = testConsumerProxy.invoke(parameter);        
+
+        assertEquals("ret: TestString", consumerResult.getResultField());
+        assertEquals(ConsumerEnum.VALUE_B, consumerResult.getResultEnum());
+        assertEquals(Arrays.asList(ConsumerEnum.VALUE_B, ConsumerEnum.VALUE_A), consumerResult.getResultList());
+        
+        ConsumerSubTypeA subType = new ConsumerSubTypeA();
+        subType.setFieldA("Test");
+        
+        ConsumerStructureWithPolyField polyParameter = new ConsumerStructureWithPolyField();
+        polyParameter.setField(subType);
+        
+        ConsumerStructureWithPolyField polyResult = polyConsumerProxy.invoke(polyParameter);
+        
+        assertNotSame(polyResult, polyParameter);
+        assertEquals(polyResult, polyParameter);
+    }
+    
+    /**
+     * Test case: The invocation of methods with optimized mapping scripts works as expected.
+     */
+    @Test
+    void conversationWithOptimizedScripts() {
+        ApiMappingScriptGenerator scriptGenerator = new ApiMappingScriptGenerator();
+        ApiMappingScriptOptimizer scriptOptimizer = new ApiMappingScriptOptimizer();
+        ApiMappingScript consumerToProviderScript = scriptOptimizer.optimizeScript(
+                scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.CONSUMER_TO_PROVIDER));
+        ApiMappingScript providerToConsumerScript = scriptOptimizer.optimizeScript(
+                scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.PROVIDER_TO_CONSUMER));
+
+        FixedFormatMapper mapper = new FixedFormatMapper();
+        
+        TestOperationProviderProxy testProviderProxy = new TestOperationProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper);
+        PolyOperation2ProviderProxy polyProviderProxy = new PolyOperation2ProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper);
+        RequestRouter requestRouter = new RequestRouter(testProviderProxy, polyProviderProxy);
+        
+        TestOperationConsumerProxy testConsumerProxy = new TestOperationConsumerProxy(requestRouter, mapper);
+        PolyOperation2ConsumerProxy polyConsumerProxy = new PolyOperation2ConsumerProxy(requestRouter, mapper);
+        
+        ConsumerParameter parameter = new ConsumerParameter().testField("TestString").testEnum(ConsumerEnum.VALUE_B)
+                .testList(Arrays.asList(ConsumerEnum.VALUE_B, ConsumerEnum.VALUE_A));
+
+        ConsumerResult consumerResult = testConsumerProxy.invoke(parameter);        
+
+        assertEquals("ret: TestString", consumerResult.getResultField());
+        assertEquals(ConsumerEnum.VALUE_B, consumerResult.getResultEnum());
+        assertEquals(Arrays.asList(ConsumerEnum.VALUE_B, ConsumerEnum.VALUE_A), consumerResult.getResultList());
+        
+        ConsumerSubTypeA subType = new ConsumerSubTypeA();
+        subType.setFieldA("Test");
+        
+        ConsumerStructureWithPolyField polyParameter = new ConsumerStructureWithPolyField();
+        polyParameter.setField(subType);
+        
+        ConsumerStructureWithPolyField polyResult = polyConsumerProxy.invoke(polyParameter);
+        
+        assertNotSame(polyResult, polyParameter);
+        assertEquals(polyResult, polyParameter);
+    }
+    
+    /**
+     * Test case: The invocation of methods with a mapper using generated record accessors works as expected.
+     */
+    @Test
+    void conversationWithGeneratedAccessors() {
+        ApiMappingScriptGenerator scriptGenerator = new ApiMappingScriptGenerator();
+        ApiMappingScript consumerToProviderScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.CONSUMER_TO_PROVIDER);
+        ApiMappingScript providerToConsumerScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.PROVIDER_TO_CONSUMER);
+
+        FixedFormatMapper mapper = new FixedFormatMapper(RecordAccessMode.GENERATED);
+        
+        TestOperationProviderProxy testProviderProxy = new TestOperationProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper);
+        PolyOperationProviderProxy polyProviderProxy = new PolyOperationProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper);
+        OpWithExceptionProviderProxy exceptionProviderProxy = new OpWithExceptionProviderProxy(consumerToProviderScript, providerToConsumerScript,
+                mapper);
+        RequestRouter requestRouter = new RequestRouter(testProviderProxy, polyProviderProxy, exceptionProviderProxy);
+        
+        TestOperationConsumerProxy testConsumerProxy = new TestOperationConsumerProxy(requestRouter, mapper);
+        PolyOperationConsumerProxy polyConsumerProxy = new PolyOperationConsumerProxy(requestRouter, mapper);
+        OpWithExceptionConsumerProxy exceptionConsumerProxy = new OpWithExceptionConsumerProxy(requestRouter, mapper);
+        
+        ConsumerParameter parameter = new ConsumerParameter().testField("TestString").testEnum(ConsumerEnum.VALUE_A)
+                .testList(Arrays.asList(ConsumerEnum.VALUE_A, ConsumerEnum.VALUE_B));
+
+        ConsumerResult consumerResult = testConsumerProxy.invoke(parameter);        
+
+        assertEquals("ret: TestString", consumerResult.getResultField());
+        assertEquals(ConsumerEnum.VALUE_A, consumerResult.getResultEnum());
+        assertEquals(Arrays.asList(ConsumerEnum.VALUE_A, ConsumerEnum.VALUE_B), consumerResult.getResultList());
+        
+        ConsumerSubTypeB polyParameter = new ConsumerSubTypeB();
+        polyParameter.setFieldB(1234);
+        
+        ConsumerSuperType polyResult = polyConsumerProxy.invoke(polyParameter);
+        
+        assertNotSame(polyResult, polyParameter);
+        assertEquals(polyResult, polyParameter);
+        
+        MappedConsumerTestException thrownException = assertThrows(MappedConsumerTestException.class,
+                () -> exceptionConsumerProxy.invoke(new ConsumerParameter()));
+        assertEquals(1234, thrownException.getExceptionField());
+    }
+    
+    /**
+     * Test case: The invocation of a method with pooled and caller-supplied buffers works as expected, also when buffers are reused.
+     */
+    @Test
+    void conversationWithReusedBuffers() {
+        ApiMappingScriptGenerator scriptGenerator = new ApiMappingScriptGenerator();
+        ApiMappingScript consumerToProviderScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.CONSUMER_TO_PROVIDER);
+        ApiMappingScript providerToConsumerScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.PROVIDER_TO_CONSUMER);
+
+        FixedFormatMapper mapper = new FixedFormatMapper();
+        BufferPool bufferPool = BufferPool.threadLocal();
+        
+        TestOperationProviderProxy providerProxy = new TestOperationProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper, bufferPool);
+        RequestRouter requestRouter = new RequestRouter(providerProxy);
+        
+        TestOperationConsumerProxy consumerProxy = new TestOperationConsumerProxy(requestRouter, mapper, bufferPool);
+        
+        ConsumerParameter longParameter = new ConsumerParameter().testField("LongTestString").testEnum(ConsumerEnum.VALUE_A)
+                .testList(Arrays.asList(ConsumerEnum.VALUE_A, ConsumerEnum.VALUE_B));
+        ConsumerParameter shortParameter = new ConsumerParameter().testField("Short").testEnum(ConsumerEnum.VALUE_B)
+                .testList(Collections.singletonList(ConsumerEnum.VALUE_B));
+
+        // Invoke twice with pooled buffers to make sure that no data from the first invocation remains
+        assertEquals("ret: LongTestString", consumerProxy.invoke(longParameter).getResultField());
+        
+        ConsumerResult pooledResult = consumerProxy.invoke(shortParameter);
+        assertEquals("ret: Short", pooledResult.getResultField());
+        assertEquals(ConsumerEnum.VALUE_B, pooledResult.getResultEnum());
+        assertEquals(Collections.singletonList(ConsumerEnum.VALUE_B), pooledResult.getResultList());
+        
+        // Invoke with caller-supplied buffers
+        ByteBuffer parameterBuffer = ByteBuffer.allocate(mapper.determineMaxSizeOf(ConsumerParameter.class));
+        ByteBuffer resultBuffer = ByteBuffer.allocate(1024);
+        
+        assertEquals("ret: LongTestString", consumerProxy.invoke(longParameter, parameterBuffer, resultBuffer).getResultField());
+        assertEquals("ret: Short", consumerProxy.invoke(shortParameter, parameterBuffer, resultBuffer).getResultField());
+        
+        assertThrows(IllegalArgumentException.class, () -> consumerProxy.invoke(shortParameter, ByteBuffer.allocate(1), resultBuffer));
+    }
+    
     /**
      * Test case: The invocation of a method with polymorphic parameter and result works as expected.
      */
@@ -231,11 +424,36 @@ class FixedFormatMappingTest {
         assertThrows(UnrepresentableValueException.class, () -> consumerProxy.invoke(new ConsumerParameter()));
     }
         
+    /**
+     * Test case: Operations are resolved when the proxies are created, so that unknown operations are reported immediately.
+     */
+    @Test
+    void unknownOperationsAreReportedOnProxyCreation() {
+        ApiMappingScriptGenerator scriptGenerator = new ApiMappingScriptGenerator();
+        ApiMappingScript consumerToProviderScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.CONSUMER_TO_PROVIDER);
+        ApiMappingScript providerToConsumerScript = scriptGenerator.generateMappingScript(DEFINITION_RESOLUTION, MappingDirection.PROVIDER_TO_CONSUMER);
+
+        FixedFormatMapper mapper = new FixedFormatMapper();
+        
+        assertThrows(IllegalArgumentException.class, () -> consumerToProviderScript.resolveOperation("unknownOperation"));
+        
+        TestOperationProviderProxy providerProxy = new TestOperationProviderProxy(consumerToProviderScript, providerToConsumerScript, mapper);
+        RequestRouter requestRouter = new RequestRouter(providerProxy);
+        
+        assertEquals(0, requestRouter.resolveOperationIndex("testOperation"));
+        assertThrows(IllegalArgumentException.class, () -> new PolyOperationConsumerProxy(requestRouter, mapper));
+        assertThrows(IllegalStateException.class, () -> new RequestRouter(providerProxy, providerProxy));
+    }
+        
     private static class TestOperationConsumerProxy extends ConsumerOperationProxy<ConsumerParameter, ConsumerResult> {
 
         public TestOperationConsumerProxy(RequestRouter router, FixedFormatMapper mapper) {
             super("testOperation", ConsumerParameter.class, ConsumerResult.class, router, mapper, CHARSET);
         }
+        
+        public TestOperationConsumerProxy(RequestRouter router, FixedFormatMapper mapper, BufferPool bufferPool) {
+            super("testOperation", ConsumerParameter.class, ConsumerResult.class, Collections.emptySet(), router, mapper, CHARSET, bufferPool);
+        }
 
     }
     
@@ -244,6 +462,12 @@ class FixedFormatMappingTest {
         public TestOperationProviderProxy(ApiMappingScript consumerToProviderScript, ApiMappingScript providerToConsumerScript, FixedFormatMapper mapper) {
             super("testOperation", ProviderParameter.class, ProviderResult.class, consumerToProviderScript, providerToConsumerScript, mapper, CHARSET);
         }
+        
+        public TestOperationProviderProxy(ApiMappingScript consumerToProviderScript, ApiMappingScript providerToConsumerScript, FixedFormatMapper mapper,
+                BufferPool bufferPool) {
+            super("testOperation", ProviderParameter.class, ProviderResult.class, Collections.emptySet(), consumerToProviderScript, providerToConsumerScript,
+                    mapper, CHARSET, bufferPool);
+        }
 
         @Override
         protected ProviderResult invokeOperation(ProviderParameter parameter) {
@@ -150,6 +150,36 @@ class ApiMappingOperationTest {
         assertArrayEquals(new byte[] {0, 1, 2, 3, 0, 0, 0, 0, 0, 0}, targetData);
     }
     
+    /**
+     * Test case: The list mapping operation maps each element separately if the elements cannot be copied at once.
+     */
+    @Test
+    void listMappingOperationWithDifferentElementSizes() {
+        ListMappingOperation operation = new ListMappingOperation(5, 2, 1, new CopyOperation(1));
+        
+        ByteBuffer sourceDataBuffer = ByteBuffer.allocateDirect(15);
+        ByteBuffer targetDataBuffer = ByteBuffer.allocateDirect(10);
+        
+        sourceDataBuffer.put(IS_PRESENT);
+        sourceDataBuffer.putInt(3);
+        sourceDataBuffer.put(new byte[] {1, 2, 3, 4, 5, 6, 0, 0, 0, 0});
+        sourceDataBuffer.flip();
+        
+        operation.apply(0, sourceDataBuffer, targetDataBuffer);
+        
+        assertEquals(10, targetDataBuffer.position());
+        
+        targetDataBuffer.flip();
+        byte flags = targetDataBuffer.get();
+        int elementCount = targetDataBuffer.getInt();
+        byte[] targetData = new byte[5];
+        targetDataBuffer.get(targetData);
+        
+        assertEquals(IS_PRESENT, flags);
+        assertEquals(3, elementCount);
+        assertArrayEquals(new byte[] {1, 3, 5, 0, 0}, targetData);
+    }
+    
     /**
      * Test case: List mapping of a list with too many elements.
      */
@@ -0,0 +1,155 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.core.apimodel.provider.RevisionHistory;
+import gutta.apievolution.core.resolution.DefinitionResolution;
+import gutta.apievolution.core.resolution.DefinitionResolver;
+import gutta.apievolution.dsl.ConsumerApiLoader;
+import gutta.apievolution.dsl.ProviderApiLoader;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests for the mapping script cache.
+ */
+class ApiMappingScriptCacheTest {
+
+    private static final String CONSUMER_API_NAME = "apis/consumer-api.api";
+
+    private static final String[] PROVIDER_REVISION_NAMES = {"apis/provider-revision-1.api", "apis/provider-revision-2.api"};
+
+    private static final ApiMappingScriptFingerprint FINGERPRINT = ApiMappingScriptFingerprint.of(readResource(CONSUMER_API_NAME), 0,
+            readResources(PROVIDER_REVISION_NAMES), new HashSet<>(asList(0, 1)));
+
+    private static String readResource(String name) {
+        try (InputStream inputStream = ApiMappingScriptCacheTest.class.getClassLoader().getResourceAsStream(name)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
+
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> readResources(String... names) {
+        return Stream.of(names).map(ApiMappingScriptCacheTest::readResource).collect(Collectors.toList());
+    }
+
+    private static DefinitionResolution createResolution() {
+        ConsumerApiDefinition consumerApi = ConsumerApiLoader.loadFromClasspath(CONSUMER_API_NAME, "test.provider", 0);
+        RevisionHistory revisionHistory = ProviderApiLoader.loadHistoryFromClasspath(PROVIDER_REVISION_NAMES);
+
+        return new DefinitionResolver().resolveConsumerDefinition(revisionHistory, new HashSet<>(Arrays.asList(0, 1)), consumerApi);
+    }
+
+    /**
+     * Test case: Fingerprints are equal for equal inputs, independent of the order of the supported revisions, and differ for different inputs.
+     */
+    @Test
+    void fingerprints() {
+        List<String> providerRevisions = readResources(PROVIDER_REVISION_NAMES);
+        String consumerApi = readResource(CONSUMER_API_NAME);
+
+        ApiMappingScriptFingerprint sameFingerprint = ApiMappingScriptFingerprint.of(consumerApi, 0, providerRevisions, new HashSet<>(asList(1, 0)));
+        assertEquals(FINGERPRINT, sameFingerprint);
+        assertEquals(FINGERPRINT.toString(), sameFingerprint.toString());
+        assertEquals(64, FINGERPRINT.toString().length());
+
+        assertNotEquals(FINGERPRINT, ApiMappingScriptFingerprint.of(consumerApi + " ", 0, providerRevisions, new HashSet<>(asList(0, 1))));
+        assertNotEquals(FINGERPRINT, ApiMappingScriptFingerprint.of(consumerApi, 1, providerRevisions, new HashSet<>(asList(0, 1))));
+        assertNotEquals(FINGERPRINT, ApiMappingScriptFingerprint.of(consumerApi, 0, providerRevisions.subList(0, 1), new HashSet<>(asList(0, 1))));
+        assertNotEquals(FINGERPRINT, ApiMappingScriptFingerprint.of(consumerApi, 0, providerRevisions, new HashSet<>(asList(0))));
+    }
+
+    /**
+     * Test case: Scripts are generated only once per fingerprint and direction.
+     */
+    @Test
+    void scriptsAreCachedInMemory() {
+        ApiMappingScriptCache cache = new ApiMappingScriptCache(10);
+        AtomicInteger invocations = new AtomicInteger();
+        Supplier<DefinitionResolution> resolutionSupplier = () -> {
+            invocations.incrementAndGet();
+            return createResolution();
+        };
+
+        ApiMappingScript consumerScript = cache.getScript(FINGERPRINT, MappingDirection.CONSUMER_TO_PROVIDER, resolutionSupplier);
+        assertSame(consumerScript, cache.getScript(FINGERPRINT, MappingDirection.CONSUMER_TO_PROVIDER, resolutionSupplier));
+        assertEquals(1, invocations.get());
+
+        ApiMappingScript providerScript = cache.getScript(FINGERPRINT, MappingDirection.PROVIDER_TO_CONSUMER, resolutionSupplier);
+        assertEquals(2, invocations.get());
+        assertEquals(2, cache.size());
+
+        ApiMappingScriptGenerator generator = new ApiMappingScriptGenerator();
+        assertEquals(generator.generateMappingScript(createResolution(), MappingDirection.CONSUMER_TO_PROVIDER), consumerScript);
+        assertEquals(generator.generateMappingScript(createResolution(), MappingDirection.PROVIDER_TO_CONSUMER), providerScript);
+    }
+
+    /**
+     * Test case: The least recently used scripts are evicted from memory.
+     */
+    @Test
+    void leastRecentlyUsedScriptsAreEvicted() {
+        ApiMappingScriptCache cache = new ApiMappingScriptCache(1);
+        AtomicInteger invocations = new AtomicInteger();
+        Supplier<DefinitionResolution> resolutionSupplier = () -> {
+            invocations.incrementAndGet();
+            return createResolution();
+        };
+
+        cache.getScript(FINGERPRINT, MappingDirection.CONSUMER_TO_PROVIDER, resolutionSupplier);
+        cache.getScript(FINGERPRINT, MappingDirection.PROVIDER_TO_CONSUMER, resolutionSupplier);
+        cache.getScript(FINGERPRINT, MappingDirection.CONSUMER_TO_PROVIDER, resolutionSupplier);
+
+        assertEquals(3, invocations.get());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Test case: Stored scripts are reused by other cache instances without generating them again.
+     */
+    @Test
+    void storedScriptsAreReused(@TempDir Path storeDirectory) throws IOException {
+        ApiMappingScriptCache firstCache = new ApiMappingScriptCache(10, storeDirectory);
+        ApiMappingScript generatedScript = firstCache.getScript(FINGERPRINT, MappingDirection.PROVIDER_TO_CONSUMER,
+                ApiMappingScriptCacheTest::createResolution);
+
+        Path expectedFile = storeDirectory.resolve(FINGERPRINT + "-provider_to_consumer.script");
+        try (Stream<Path> files = Files.list(storeDirectory)) {
+            assertEquals(asList(expectedFile), files.collect(Collectors.toList()));
+        }
+
+        ApiMappingScriptCache secondCache = new ApiMappingScriptCache(10, storeDirectory);
+        ApiMappingScript storedScript = secondCache.getScript(FINGERPRINT, MappingDirection.PROVIDER_TO_CONSUMER, () -> fail("Script was generated."));
+
+        assertEquals(generatedScript, storedScript);
+    }
+
+}
@@ -1,18 +1,25 @@
 package gutta.apievolution.fixedformat.apimapping;
 
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.FormatVersion;
 import gutta.apievolution.fixedformat.apimapping.PolymorphicRecordMappingOperation.PolymorphicRecordMapping;
+import gutta.apievolution.fixedformat.objectmapping.Flags;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.zip.CRC32;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Tests for the API mapping script codec.
@@ -354,5 +361,226 @@ class ApiMappingScriptCodecTest {
         ApiMappingScript decodedScript = codec.decodeScript(scriptBytes);
         assertEquals(script, decodedScript);
     }
-
+    
+    /**
+     * Test case: Lazily decoded scripts only decode the operations that are actually used.
+     */
+    @Test
+    void lazyDecodingOfOperations() {
+        RecordTypeEntry typeEntry = new RecordTypeEntry(0, 0, 0, emptyList());
+        
+        OperationEntry operationEntry1 = new OperationEntry(0, "op1", new MonomorphicRecordMappingOperation(typeEntry), new MonomorphicRecordMappingOperation(typeEntry));
+        OperationEntry operationEntry2 = new OperationEntry(1, "op2", new MonomorphicRecordMappingOperation(typeEntry), new MonomorphicRecordMappingOperation(typeEntry));        
+        
+        ApiMappingScript script = new ApiMappingScript(singletonList(typeEntry), asList(operationEntry1, operationEntry2));
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        
+        LazyApiMappingScript lazyScript = (LazyApiMappingScript) codec.decodeScriptLazily(codec.encodeScript(script));
+        assertEquals(0, lazyScript.getNumberOfDecodedOperations());
+        
+        OperationHandle operation = lazyScript.resolveOperation("op2");
+        assertEquals(operationEntry2, operation);
+        assertEquals(1, lazyScript.getNumberOfDecodedOperations());
+        
+        // Resolving the operation again returns the cached entry
+        assertSame(operation, lazyScript.resolveOperation("op2"));
+        assertThrows(IllegalArgumentException.class, () -> lazyScript.resolveOperation("op3"));
+        
+        // Retrieving the entries decodes the entire script
+        assertEquals(script.getTypeEntries(), lazyScript.getTypeEntries());
+        assertEquals(script.getOperationEntries(), lazyScript.getOperationEntries());
+        assertEquals(2, lazyScript.getNumberOfDecodedOperations());
+        assertArrayEquals(codec.encodeScript(script), codec.encodeScript(lazyScript));
+    }
+    
+    /**
+     * Test case: Lazily decoded scripts located in the middle of a direct buffer map data like the original script.
+     */
+    @Test
+    void lazyDecodingFromDirectBuffer() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(1, 1, new int[] {2, 1, 0});
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 10, asList(
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(0, new CopyOperation(5))
+        ));
+        
+        ApiMappingOperation operation = new MonomorphicRecordMappingOperation(recordTypeEntry);
+        OperationEntry operationEntry = new OperationEntry(0, "op", operation, operation);
+        ApiMappingScript script = new ApiMappingScript(asList(recordTypeEntry, enumTypeEntry), singletonList(operationEntry));
+        
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        byte[] scriptBytes = codec.encodeScript(script);
+        
+        ByteBuffer scriptBuffer = ByteBuffer.allocateDirect(scriptBytes.length + 3);
+        scriptBuffer.position(3);
+        scriptBuffer.put(scriptBytes);
+        scriptBuffer.position(3);
+        
+        ApiMappingScript lazyScript = codec.decodeScriptLazily(scriptBuffer.asReadOnlyBuffer());
+        
+        ByteBuffer sourceData = ByteBuffer.allocate(11)
+                .put(Flags.IS_PRESENT)
+                .put(new byte[] {1, 2, 3, 4, 5})
+                .put(Flags.IS_PRESENT).putInt(0);
+        
+        sourceData.flip();
+        ByteBuffer expectedTarget = ByteBuffer.allocate(11);
+        script.mapParameterFor("op", sourceData, expectedTarget);
+        
+        sourceData.rewind();
+        ByteBuffer actualTarget = ByteBuffer.allocate(11);
+        lazyScript.mapParameterFor("op", sourceData, actualTarget);
+        
+        assertArrayEquals(expectedTarget.array(), actualTarget.array());
+    }
+    
+    /**
+     * Test case: Serialization of a script in format version 2, where identical operations are only stored once.
+     */
+    @Test
+    void scriptInFormatV2() {
+        RecordTypeEntry typeEntry = new RecordTypeEntry(0, 0, 0, emptyList());
+        
+        OperationEntry operationEntry1 = new OperationEntry(0, "op1", new MonomorphicRecordMappingOperation(typeEntry), new MonomorphicRecordMappingOperation(typeEntry));
+        OperationEntry operationEntry2 = new OperationEntry(1, "op2", new MonomorphicRecordMappingOperation(typeEntry), new MonomorphicRecordMappingOperation(typeEntry));
+        
+        ApiMappingScript script = new ApiMappingScript(singletonList(typeEntry), asList(operationEntry1, operationEntry2));
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        
+        byte[] expectedBody = new byte[] {
+                // --- Type entries
+                0x01, // Number of type entries
+                0x02, // Entry type for the first type (record type)
+                0x00, // Type id of the first type
+                0x00, // Data length of the first type
+                0x00, // Number of field mappings
+                // --- Operation pool
+                0x01, // Number of pooled operations
+                0x04, // Operation type of the first operation (record mapping)
+                0x00, // Type index of the record
+                // --- Operation entries
+                0x02, // Number of operation entries
+                0x03, // Length of the operation name (in bytes)
+                0x6F, 0x70, 0x31, // Name of the operation
+                0x00, // Pool index of the parameter mapping operation
+                0x00, // Pool index of the result mapping operation
+                0x03, // Length of the operation name (in bytes)
+                0x6F, 0x70, 0x32, // Name of the operation
+                0x00, // Pool index of the parameter mapping operation
+                0x00 // Pool index of the result mapping operation
+        };
+        
+        byte[] scriptBytes = codec.encodeScript(script, FormatVersion.V2);
+        byte[] actualBody = Arrays.copyOfRange(scriptBytes, ScriptFormatV2.HEADER_SIZE, scriptBytes.length);
+        assertArrayEquals(expectedBody, actualBody);
+        
+        CRC32 checksum = new CRC32();
+        checksum.update(expectedBody);
+        
+        ByteBuffer header = ByteBuffer.wrap(scriptBytes, 0, ScriptFormatV2.HEADER_SIZE);
+        assertEquals(0x47414D53, header.getInt()); // "GAMS"
+        assertEquals(2, header.get());
+        assertEquals((int) checksum.getValue(), header.getInt());
+        
+        ApiMappingScript decodedScript = codec.decodeScript(scriptBytes);
+        assertEquals(script, decodedScript);
+    }
+    
+    /**
+     * Test case: Scripts using all kinds of operations are smaller in format version 2 and decode to the original script.
+     */
+    @Test
+    void roundTripInFormatV2() {
+        ApiMappingScript script = createScriptWithAllOperations();
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        
+        byte[] scriptBytesV1 = codec.encodeScript(script, FormatVersion.V1);
+        byte[] scriptBytesV2 = codec.encodeScript(script, FormatVersion.V2);
+        
+        assertTrue(scriptBytesV2.length < scriptBytesV1.length);
+        assertEquals(script, codec.decodeScript(scriptBytesV2));
+        assertEquals(script, codec.decodeScript(scriptBytesV1));
+        
+        // Re-encoding the decoded script yields the same representation
+        assertArrayEquals(scriptBytesV2, codec.encodeScript(codec.decodeScript(scriptBytesV2), FormatVersion.V2));
+    }
+    
+    /**
+     * Test case: Scripts in format version 2 with a corrupted body are rejected.
+     */
+    @Test
+    void corruptedScriptInFormatV2() {
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        byte[] scriptBytes = codec.encodeScript(createScriptWithAllOperations(), FormatVersion.V2);
+        
+        scriptBytes[scriptBytes.length - 1] ^= 0x01;
+        
+        assertThrows(IllegalStateException.class, () -> codec.decodeScript(scriptBytes));
+        assertThrows(IllegalStateException.class, () -> codec.decodeScriptLazily(scriptBytes));
+    }
+    
+    /**
+     * Test case: Lazily decoded scripts in format version 2 map data like the original script.
+     */
+    @Test
+    void lazyDecodingInFormatV2() {
+        ApiMappingScript script = createScriptWithAllOperations();
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        
+        byte[] scriptBytes = codec.encodeScript(script, FormatVersion.V2);
+        ByteBuffer scriptBuffer = ByteBuffer.allocateDirect(scriptBytes.length + 3);
+        scriptBuffer.position(3);
+        scriptBuffer.put(scriptBytes);
+        scriptBuffer.position(3);
+        
+        LazyApiMappingScript lazyScript = (LazyApiMappingScript) codec.decodeScriptLazily(scriptBuffer.asReadOnlyBuffer());
+        assertEquals(0, lazyScript.getNumberOfDecodedOperations());
+        
+        ByteBuffer sourceData = ByteBuffer.allocate(11)
+                .put(Flags.IS_PRESENT)
+                .put(new byte[] {1, 2, 3, 4, 5})
+                .put(Flags.IS_PRESENT).putInt(0);
+        
+        sourceData.flip();
+        ByteBuffer expectedTarget = ByteBuffer.allocate(11);
+        script.mapParameterFor("op1", sourceData, expectedTarget);
+        
+        sourceData.rewind();
+        ByteBuffer actualTarget = ByteBuffer.allocate(11);
+        lazyScript.mapParameterFor("op1", sourceData, actualTarget);
+        
+        assertArrayEquals(expectedTarget.array(), actualTarget.array());
+        assertEquals(1, lazyScript.getNumberOfDecodedOperations());
+        
+        assertEquals(script.getTypeEntries(), lazyScript.getTypeEntries());
+        assertEquals(script.getOperationEntries(), lazyScript.getOperationEntries());
+    }
+    
+    private static ApiMappingScript createScriptWithAllOperations() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(1, 1, new int[] {2, -1, 0});
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 10, asList(
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(0, new CopyOperation(5))
+        ));
+        RecordTypeEntry subTypeEntry = new RecordTypeEntry(2, 3, 300, asList(
+                new FieldMapping(0, new CopyOperation(5)),
+                new FieldMapping(5, new ListMappingOperation(50, 6, 6, new CopyOperation(5))),
+                new FieldMapping(305, new SkipOperation(4))
+        ));
+        
+        PolymorphicRecordMapping typeAMapping = new PolymorphicRecordMapping(0, 0, recordTypeEntry);
+        PolymorphicRecordMapping typeBMapping = new PolymorphicRecordMapping(3, 3, subTypeEntry);
+        ApiMappingOperation polyMappingOperation = new PolymorphicRecordMappingOperation(asList(typeAMapping, typeBMapping));
+        
+        Set<Integer> typeIds = new HashSet<>(asList(0, 3, 500));
+        
+        List<OperationEntry> operationEntries = asList(
+                new OperationEntry(0, "op1", new MonomorphicRecordMappingOperation(recordTypeEntry), new MonomorphicRecordMappingOperation(recordTypeEntry)),
+                new OperationEntry(1, "op2", polyMappingOperation, new PolyToMonoRecordMappingOperation(typeIds, recordTypeEntry)),
+                new OperationEntry(2, "op3", new MonoToPolyRecordMappingOperation(subTypeEntry), new ListMappingOperation(1000, 6, 6, new CopyOperation(5)))
+        );
+        
+        return new ApiMappingScript(asList(recordTypeEntry, enumTypeEntry, subTypeEntry), operationEntries);
+    }
+    
 }
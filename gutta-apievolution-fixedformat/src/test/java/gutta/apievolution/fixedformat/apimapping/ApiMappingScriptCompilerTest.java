@@ -0,0 +1,195 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.fixedformat.apimapping.PolymorphicRecordMappingOperation.PolymorphicRecordMapping;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_ABSENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_PRESENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_UNREPRESENTABLE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the API mapping script compiler. The results of the compiled scripts are compared to the results of the interpreted scripts.
+ */
+class ApiMappingScriptCompilerTest {
+
+    private static final String OPERATION_NAME = "op";
+
+    /**
+     * Test case: A record with elementary mapping operations, including adjacent copy and skip operations, is mapped like in the interpreted script.
+     */
+    @Test
+    void recordWithElementaryOperations() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(1, 1, new int[] {2, 1, 0});
+
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 32, asList(
+                new FieldMapping(0, new CopyOperation(2)),
+                new FieldMapping(2, new CopyOperation(3)),
+                new FieldMapping(5, new SkipOperation(2)),
+                new FieldMapping(5, new SkipOperation(3)),
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(10, new ListMappingOperation(4, 2, 2, new CopyOperation(2))),
+                new FieldMapping(23, new CopyOperation(1))
+        ));
+
+        ApiMappingScript script = createScript(new MonomorphicRecordMappingOperation(recordTypeEntry), recordTypeEntry, enumTypeEntry);
+
+        ByteBuffer sourceData = ByteBuffer.allocate(25)
+                .put(IS_PRESENT)
+                .put(new byte[] {1, 2, 3, 4, 5})
+                .put(IS_PRESENT).putInt(0)
+                .put(IS_PRESENT).putInt(2).put(new byte[] {6, 7, 8, 9, 0, 0, 0, 0})
+                .put((byte) 10);
+
+        assertSameResults(script, sourceData, 32);
+    }
+
+    /**
+     * Test case: Absent values are mapped like in the interpreted script.
+     */
+    @Test
+    void absentRecord() {
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 10, singletonList(new FieldMapping(0, new CopyOperation(10))));
+        ApiMappingScript script = createScript(new MonomorphicRecordMappingOperation(recordTypeEntry), recordTypeEntry);
+
+        ByteBuffer sourceData = ByteBuffer.allocate(11).put(IS_ABSENT);
+
+        assertSameResults(script, sourceData, 11);
+    }
+
+    /**
+     * Test case: Lists of records are mapped like in the interpreted script.
+     */
+    @Test
+    void listOfRecords() {
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 3, asList(
+                new FieldMapping(2, new CopyOperation(1)),
+                new FieldMapping(0, new CopyOperation(2))
+        ));
+        ListMappingOperation listOperation = new ListMappingOperation(3, 4, 4, new MonomorphicRecordMappingOperation(recordTypeEntry));
+        ApiMappingScript script = createScript(listOperation, recordTypeEntry);
+
+        ByteBuffer sourceData = ByteBuffer.allocate(17)
+                .put(IS_PRESENT)
+                .putInt(2)
+                .put(new byte[] {IS_PRESENT, 1, 2, 3, IS_ABSENT, 0, 0, 0});
+
+        assertSameResults(script, sourceData, 17);
+    }
+
+    /**
+     * Test case: Polymorphic records are mapped like in the interpreted script, including unknown type ids.
+     */
+    @Test
+    void polymorphicRecord() {
+        RecordTypeEntry typeEntry1 = new RecordTypeEntry(0, 1, 4, singletonList(new FieldMapping(0, new CopyOperation(4))));
+        RecordTypeEntry typeEntry2 = new RecordTypeEntry(1, 2, 4, asList(
+                new FieldMapping(2, new CopyOperation(2)),
+                new FieldMapping(0, new CopyOperation(2))
+        ));
+
+        PolymorphicRecordMappingOperation operation = new PolymorphicRecordMappingOperation(asList(
+                new PolymorphicRecordMapping(5, 2, typeEntry2),
+                new PolymorphicRecordMapping(3, 1, typeEntry1)
+        ));
+        ApiMappingScript script = createScript(operation, typeEntry1, typeEntry2);
+
+        for (int typeId : new int[] {3, 5, 4}) {
+            ByteBuffer sourceData = ByteBuffer.allocate(9)
+                    .put(IS_PRESENT)
+                    .putInt(typeId)
+                    .put(new byte[] {1, 2, 3, 4});
+
+            assertSameResults(script, sourceData, 9);
+        }
+    }
+
+    /**
+     * Test case: Mono-to-poly and poly-to-mono record mappings are mapped like in the interpreted script.
+     */
+    @Test
+    void monoToPolyAndPolyToMonoRecord() {
+        RecordTypeEntry typeEntry = new RecordTypeEntry(0, 7, 4, singletonList(new FieldMapping(0, new CopyOperation(4))));
+
+        ApiMappingScript monoToPolyScript = createScript(new MonoToPolyRecordMappingOperation(typeEntry), typeEntry);
+        ByteBuffer monoSourceData = ByteBuffer.allocate(5).put(IS_PRESENT).put(new byte[] {1, 2, 3, 4});
+        assertSameResults(monoToPolyScript, monoSourceData, 9);
+
+        ApiMappingScript polyToMonoScript = createScript(new PolyToMonoRecordMappingOperation(new HashSet<>(Arrays.asList(7, 8)), typeEntry),
+                typeEntry);
+        for (int typeId : new int[] {7, 8, 9}) {
+            ByteBuffer polySourceData = ByteBuffer.allocate(9).put(IS_PRESENT).putInt(typeId).put(new byte[] {1, 2, 3, 4});
+            assertSameResults(polyToMonoScript, polySourceData, 5);
+        }
+    }
+
+    /**
+     * Test case: Invalid source data results in the same exceptions as in the interpreted script.
+     */
+    @Test
+    void invalidSourceData() {
+        ListMappingOperation listOperation = new ListMappingOperation(2, 1, 1, new CopyOperation(1));
+        ApiMappingScript compiledScript = new ApiMappingScriptCompiler().compileScript(createScript(listOperation));
+
+        ByteBuffer overfullList = ByteBuffer.allocate(10).put(IS_PRESENT).putInt(5);
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> compiledScript.mapParameterFor(OPERATION_NAME, overfullList, ByteBuffer.allocate(10)));
+        assertEquals("Too many elements (5) at offset 5.", exception.getMessage());
+
+        ByteBuffer unrepresentableValue = ByteBuffer.allocate(10).put(IS_UNREPRESENTABLE);
+        assertThrows(UnsupportedOperationException.class,
+                () -> compiledScript.mapParameterFor(OPERATION_NAME, unrepresentableValue, ByteBuffer.allocate(10)));
+
+        IllegalArgumentException unknownOperation = assertThrows(IllegalArgumentException.class,
+                () -> compiledScript.mapParameterFor("unknown", ByteBuffer.allocate(1), ByteBuffer.allocate(1)));
+        assertTrue(unknownOperation.getMessage().contains("unknown"));
+    }
+
+    /**
+     * Test case: The compiled script retains the entries of the original script and can therefore be encoded.
+     */
+    @Test
+    void compiledScriptRetainsEntries() {
+        RecordTypeEntry typeEntry = new RecordTypeEntry(0, 0, 4, singletonList(new FieldMapping(0, new CopyOperation(4))));
+        ApiMappingScript script = createScript(new MonomorphicRecordMappingOperation(typeEntry), typeEntry);
+        ApiMappingScript compiledScript = new ApiMappingScriptCompiler().compileScript(script);
+
+        assertEquals(script.getTypeEntries(), compiledScript.getTypeEntries());
+        assertEquals(script.getOperationEntries(), compiledScript.getOperationEntries());
+
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        assertArrayEquals(codec.encodeScript(script), codec.encodeScript(compiledScript));
+    }
+
+    private static ApiMappingScript createScript(ApiMappingOperation operation, TypeEntry... typeEntries) {
+        OperationEntry operationEntry = new OperationEntry(0, OPERATION_NAME, operation, operation);
+        return new ApiMappingScript(asList(typeEntries), singletonList(operationEntry));
+    }
+
+    private static void assertSameResults(ApiMappingScript script, ByteBuffer sourceData, int targetSize) {
+        ApiMappingScript compiledScript = new ApiMappingScriptCompiler().compileScript(script);
+        sourceData.flip();
+
+        ByteBuffer interpretedTarget = ByteBuffer.allocate(targetSize);
+        script.mapParameterFor(OPERATION_NAME, sourceData, interpretedTarget);
+
+        sourceData.rewind();
+        ByteBuffer compiledTarget = ByteBuffer.allocate(targetSize);
+        compiledScript.mapParameterFor(OPERATION_NAME, sourceData, compiledTarget);
+
+        // The compiled script must not change the position of the source buffer
+        assertEquals(0, sourceData.position());
+        assertEquals(interpretedTarget.position(), compiledTarget.position());
+        assertArrayEquals(interpretedTarget.array(), compiledTarget.array());
+    }
+
+}
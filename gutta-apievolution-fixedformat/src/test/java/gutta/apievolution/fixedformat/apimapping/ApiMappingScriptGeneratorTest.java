@@ -12,7 +12,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -239,13 +241,96 @@ class ApiMappingScriptGeneratorTest {
         assertEquals(expectedScript, actualScript);
     }
     
-    private ApiMappingScript createMappingScript(String providerApi, String consumerApi, MappingDirection mappingDirection) {
+    /**
+     * Test case: Parallel script generation results in the same encoded scripts as sequential generation.
+     */
+    @Test
+    void parallelGenerationMatchesSequentialGeneration() {
+        String providerApi = createLargeApi(false);
+        String consumerApi = createLargeApi(true);
+        DefinitionResolution resolution = this.createResolution(providerApi, consumerApi);
+
+        ApiMappingScriptGenerator sequentialGenerator = new ApiMappingScriptGenerator();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ApiMappingScriptGenerator parallelGenerator = sequentialGenerator.withParallelism(pool);
+            ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+
+            for (MappingDirection direction : MappingDirection.values()) {
+                byte[] expectedBytes = codec.encodeScript(sequentialGenerator.generateMappingScript(resolution, direction));
+                byte[] actualBytes = codec.encodeScript(parallelGenerator.generateMappingScript(resolution, direction));
+
+                assertArrayEquals(expectedBytes, actualBytes);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test case: Errors during parallel script generation are propagated to the caller.
+     */
+    @Test
+    void failOnUnboundedStringInParallel() {
+        String providerApi = "api test { record A { int32 field } record B { A a string unboundedString } }";
+        DefinitionResolution resolution = this.createResolution(providerApi, providerApi);
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ApiMappingScriptGenerator generator = new ApiMappingScriptGenerator().withParallelism(pool);
+
+            ScriptGenerationException exception = assertThrows(ScriptGenerationException.class,
+                    () -> generator.generateMappingScript(resolution, MappingDirection.CONSUMER_TO_PROVIDER));
+            assertTrue(exception.getMessage().contains("is unbounded"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static String createLargeApi(boolean reverseEnumMembers) {
+        // Create an API with many interdependent types, including enums, lists, polymorphic records and operations
+        int numberOfTypes = 200;
+        StringBuilder builder = new StringBuilder("api test { ");
+
+        for (int index = 0; index < numberOfTypes; index++) {
+            // Enum members need to be unique within the API
+            String memberA = "A" + index;
+            String memberB = "B" + index;
+            String memberC = "C" + index;
+            if (reverseEnumMembers) {
+                builder.append("enum E").append(index).append(" { ").append(memberC).append(" ").append(memberB).append(" ").append(memberA).append(" } ");
+            } else {
+                builder.append("enum E").append(index).append(" { ").append(memberA).append(" ").append(memberB).append(" ").append(memberC).append(" } ");
+            }
+
+            builder.append("record R").append(index).append(" { int32 value E").append(index).append("[5] list ");
+            if (index > 0) {
+                builder.append("R").append(index / 2).append(" child ");
+            }
+            builder.append("} ");
+
+            if (index % 5 == 0) {
+                builder.append("record S").append(index).append(" extends R").append(index).append(" { string(5) extra } ");
+            }
+        }
+
+        for (int index = 0; index < numberOfTypes; index += 7) {
+            builder.append("operation op").append(index).append("(R").append(index).append("): R").append(numberOfTypes - 1 - index).append(" ");
+        }
+
+        return builder.append("}").toString();
+    }
+
+    private DefinitionResolution createResolution(String providerApi, String consumerApi) {
         ProviderApiDefinition providerDefinition = ProviderApiLoader.loadFromString(0, providerApi, false, Optional.empty());
         ConsumerApiDefinition consumerDefinition = ConsumerApiLoader.loadFromString(consumerApi, providerDefinition.getName().toString(), 0);
         
         RevisionHistory revisionHistory = new RevisionHistory(providerDefinition);
-        DefinitionResolution resolution = new DefinitionResolver().resolveConsumerDefinition(revisionHistory, Collections.singleton(0), consumerDefinition);
-        
+        return new DefinitionResolver().resolveConsumerDefinition(revisionHistory, Collections.singleton(0), consumerDefinition);
+    }
+
+    private ApiMappingScript createMappingScript(String providerApi, String consumerApi, MappingDirection mappingDirection) {
+        DefinitionResolution resolution = this.createResolution(providerApi, consumerApi);
         return new ApiMappingScriptGenerator().generateMappingScript(resolution, mappingDirection);
     }
     
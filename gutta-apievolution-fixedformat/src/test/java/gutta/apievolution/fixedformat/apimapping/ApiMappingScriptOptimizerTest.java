@@ -0,0 +1,210 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import gutta.apievolution.fixedformat.apimapping.PolymorphicRecordMappingOperation.PolymorphicRecordMapping;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_ABSENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_PRESENT;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the API mapping script optimizer. The results of the optimized scripts are compared to the results of the original scripts.
+ */
+class ApiMappingScriptOptimizerTest {
+
+    private static final String OPERATION_NAME = "op";
+
+    /**
+     * Test case: Adjacent copy operations are merged and subsequent skip operations are folded.
+     */
+    @Test
+    void mergeCopyAndSkipOperations() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(1, 1, new int[] {2, 1, 0});
+
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 18, asList(
+                new FieldMapping(0, new CopyOperation(2)),
+                new FieldMapping(2, new CopyOperation(3)),
+                new FieldMapping(5, new SkipOperation(2)),
+                new FieldMapping(5, new SkipOperation(3)),
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(10, new CopyOperation(1)),
+                new FieldMapping(11, new CopyOperation(2))
+        ));
+
+        ApiMappingScript script = createScript(new MonomorphicRecordMappingOperation(recordTypeEntry), recordTypeEntry, enumTypeEntry);
+        ApiMappingScript optimizedScript = new ApiMappingScriptOptimizer().optimizeScript(script);
+
+        RecordTypeEntry optimizedEntry = (RecordTypeEntry) optimizedScript.getTypeEntries().get(0);
+        List<FieldMapping> expectedMappings = asList(
+                new FieldMapping(0, new CopyOperation(5)),
+                new FieldMapping(5, new SkipOperation(5)),
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(10, new CopyOperation(3))
+        );
+        assertEquals(expectedMappings, optimizedEntry.getFieldMappings());
+        assertEquals(recordTypeEntry.getDataSize(), optimizedEntry.getDataSize());
+
+        ByteBuffer sourceData = ByteBuffer.allocate(14)
+                .put(IS_PRESENT)
+                .put(new byte[] {1, 2, 3, 4, 5})
+                .put(IS_PRESENT).putInt(0)
+                .put(new byte[] {6, 7, 8});
+
+        assertSameResults(script, sourceData, 19);
+    }
+
+    /**
+     * Test case: Enum mappings with an identity index map are turned into copies, and the record then collapses into a single copy.
+     */
+    @Test
+    void identityEnumAndRecordBecomeCopies() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(1, 1, new int[] {0, 1, 2});
+
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 9, asList(
+                new FieldMapping(0, new CopyOperation(4)),
+                new FieldMapping(4, new EnumMappingOperation(enumTypeEntry))
+        ));
+
+        ApiMappingScript script = createScript(new MonomorphicRecordMappingOperation(recordTypeEntry), recordTypeEntry, enumTypeEntry);
+        ApiMappingScript optimizedScript = new ApiMappingScriptOptimizer().optimizeScript(script);
+
+        OperationEntry operationEntry = optimizedScript.getOperationEntries().get(0);
+        assertEquals(new CopyOperation(10), operationEntry.getParameterMappingOperation());
+        assertEquals(new CopyOperation(10), operationEntry.getResultMappingOperation());
+
+        ByteBuffer presentData = ByteBuffer.allocate(10).put(IS_PRESENT).put(new byte[] {1, 2, 3, 4}).put(IS_PRESENT).putInt(2);
+        assertSameResults(script, presentData, 10);
+
+        ByteBuffer absentData = ByteBuffer.allocate(10).put(IS_ABSENT).put(new byte[9]);
+        assertSameResults(script, absentData, 10);
+    }
+
+    /**
+     * Test case: Lists whose elements are copied unchanged are turned into copies, whereas other lists retain their optimized element mapping.
+     */
+    @Test
+    void listsOfIdentityRecords() {
+        RecordTypeEntry identityEntry = new RecordTypeEntry(0, 0, 3, asList(
+                new FieldMapping(0, new CopyOperation(2)),
+                new FieldMapping(2, new CopyOperation(1))
+        ));
+        RecordTypeEntry swappingEntry = new RecordTypeEntry(1, 1, 3, asList(
+                new FieldMapping(2, new CopyOperation(1)),
+                new FieldMapping(0, new CopyOperation(2))
+        ));
+
+        ListMappingOperation identityList = new ListMappingOperation(3, 4, 4, new MonomorphicRecordMappingOperation(identityEntry));
+        ListMappingOperation swappingList = new ListMappingOperation(3, 4, 4, new MonomorphicRecordMappingOperation(swappingEntry));
+
+        assertOptimizedTo(new CopyOperation(17), createScript(identityList, identityEntry, swappingEntry));
+        assertOptimizedTo(swappingList, createScript(swappingList, identityEntry, swappingEntry));
+
+        for (ListMappingOperation listOperation : asList(identityList, swappingList)) {
+            ByteBuffer sourceData = ByteBuffer.allocate(17)
+                    .put(IS_PRESENT)
+                    .putInt(2)
+                    .put(new byte[] {IS_PRESENT, 1, 2, 3, IS_ABSENT, 0, 0, 0})
+                    .put(new byte[4]);
+
+            assertSameResults(createScript(listOperation, identityEntry, swappingEntry), sourceData, 17);
+        }
+    }
+
+    /**
+     * Test case: Polymorphic record mappings retain their structure, but use the optimized record entries.
+     */
+    @Test
+    void polymorphicRecord() {
+        RecordTypeEntry typeEntry1 = new RecordTypeEntry(0, 1, 4, asList(
+                new FieldMapping(0, new CopyOperation(2)),
+                new FieldMapping(2, new CopyOperation(2))
+        ));
+        RecordTypeEntry typeEntry2 = new RecordTypeEntry(1, 2, 4, asList(
+                new FieldMapping(2, new CopyOperation(2)),
+                new FieldMapping(0, new CopyOperation(2))
+        ));
+
+        PolymorphicRecordMappingOperation operation = new PolymorphicRecordMappingOperation(asList(
+                new PolymorphicRecordMapping(5, 2, typeEntry2),
+                new PolymorphicRecordMapping(3, 1, typeEntry1)
+        ));
+        ApiMappingScript script = createScript(operation, typeEntry1, typeEntry2);
+
+        ApiMappingScript optimizedScript = new ApiMappingScriptOptimizer().optimizeScript(script);
+        RecordTypeEntry optimizedEntry1 = (RecordTypeEntry) optimizedScript.getTypeEntries().get(0);
+        assertEquals(singletonList(new FieldMapping(0, new CopyOperation(4))), optimizedEntry1.getFieldMappings());
+
+        for (int typeId : new int[] {3, 5, 4}) {
+            ByteBuffer sourceData = ByteBuffer.allocate(9)
+                    .put(IS_PRESENT)
+                    .putInt(typeId)
+                    .put(new byte[] {1, 2, 3, 4});
+
+            assertSameResults(script, sourceData, 9);
+        }
+    }
+
+    /**
+     * Test case: The optimized script can be encoded, and decoding results in an equal script.
+     */
+    @Test
+    void optimizedScriptIsEncodable() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(2, 1, new int[] {0, 1});
+        RecordTypeEntry innerEntry = new RecordTypeEntry(1, 1, 4, asList(
+                new FieldMapping(0, new CopyOperation(2)),
+                new FieldMapping(2, new CopyOperation(2))
+        ));
+        RecordTypeEntry outerEntry = new RecordTypeEntry(0, 0, 18, asList(
+                new FieldMapping(0, new MonomorphicRecordMappingOperation(innerEntry)),
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(10, new SkipOperation(4)),
+                new FieldMapping(10, new SkipOperation(4))
+        ));
+
+        ApiMappingScript script = createScript(new MonomorphicRecordMappingOperation(outerEntry), outerEntry, innerEntry, enumTypeEntry);
+        ApiMappingScript optimizedScript = new ApiMappingScriptOptimizer().optimizeScript(script);
+
+        RecordTypeEntry optimizedOuterEntry = (RecordTypeEntry) optimizedScript.getTypeEntries().get(0);
+        assertEquals(asList(new FieldMapping(0, new CopyOperation(10)), new FieldMapping(10, new SkipOperation(8))), optimizedOuterEntry.getFieldMappings());
+
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        ApiMappingScript decodedScript = codec.decodeScript(codec.encodeScript(optimizedScript));
+
+        assertEquals(optimizedScript.getTypeEntries(), decodedScript.getTypeEntries());
+        assertEquals(optimizedScript.getOperationEntries(), decodedScript.getOperationEntries());
+    }
+
+    private static ApiMappingScript createScript(ApiMappingOperation operation, TypeEntry... typeEntries) {
+        OperationEntry operationEntry = new OperationEntry(0, OPERATION_NAME, operation, operation);
+        return new ApiMappingScript(asList(typeEntries), singletonList(operationEntry));
+    }
+
+    private static void assertSameResults(ApiMappingScript script, ByteBuffer sourceData, int targetSize) {
+        ApiMappingScript optimizedScript = new ApiMappingScriptOptimizer().optimizeScript(script);
+        sourceData.flip();
+
+        ByteBuffer originalTarget = ByteBuffer.allocate(targetSize);
+        script.mapParameterFor(OPERATION_NAME, sourceData, originalTarget);
+
+        sourceData.rewind();
+        ByteBuffer optimizedTarget = ByteBuffer.allocate(targetSize);
+        optimizedScript.mapParameterFor(OPERATION_NAME, sourceData, optimizedTarget);
+
+        assertEquals(originalTarget.position(), optimizedTarget.position());
+        assertArrayEquals(originalTarget.array(), optimizedTarget.array());
+    }
+
+    private static void assertOptimizedTo(ApiMappingOperation expectedOperation, ApiMappingScript script) {
+        ApiMappingScript optimizedScript = new ApiMappingScriptOptimizer().optimizeScript(script);
+        ApiMappingOperation optimizedOperation = optimizedScript.getOperationEntries().get(0).getParameterMappingOperation();
+
+        assertEquals(expectedOperation, optimizedOperation);
+    }
+
+}
@@ -0,0 +1,99 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the buffer pools.
+ */
+class BufferPoolTest {
+
+    /**
+     * Test case: The unpooled buffer pool always returns new buffers.
+     */
+    @Test
+    void unpooledBufferPool() {
+        BufferPool pool = BufferPool.unpooled();
+
+        ByteBuffer buffer = pool.acquireBuffer(10);
+        pool.releaseBuffer(buffer);
+
+        assertNotSame(buffer, pool.acquireBuffer(10));
+    }
+
+    /**
+     * Test case: The thread-local buffer pool reuses released buffers, which are zeroed on reuse.
+     */
+    @Test
+    void threadLocalBufferPool() {
+        assertBufferReuse(BufferPool.threadLocal());
+    }
+
+    /**
+     * Test case: The striped buffer pool reuses released buffers, which are zeroed on reuse.
+     */
+    @Test
+    void stripedBufferPool() {
+        assertBufferReuse(BufferPool.striped(4));
+    }
+
+    /**
+     * Test case: A striped buffer pool requires a positive number of buffers.
+     */
+    @Test
+    void stripedBufferPoolWithInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> BufferPool.striped(0));
+    }
+
+    /**
+     * Test case: Buffers supplied by the caller are prepared like pooled buffers and rejected if they are too small.
+     */
+    @Test
+    void suppliedBuffers() {
+        ByteBuffer buffer = ByteBuffer.allocate(10);
+        buffer.put(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+        ByteBuffer preparedBuffer = PooledBuffers.prepareSuppliedBuffer(buffer, 8);
+
+        assertSame(buffer, preparedBuffer);
+        assertEquals(0, preparedBuffer.position());
+        assertEquals(8, preparedBuffer.limit());
+        for (int index = 0; index < 8; index++) {
+            assertEquals(0, preparedBuffer.get(index));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> PooledBuffers.prepareSuppliedBuffer(buffer, 11));
+    }
+
+    private static void assertBufferReuse(BufferPool pool) {
+        ByteBuffer buffer = pool.acquireBuffer(16);
+        assertEquals(0, buffer.position());
+        assertEquals(16, buffer.limit());
+
+        buffer.putLong(-1L).putLong(-1L);
+        pool.releaseBuffer(buffer);
+
+        // A smaller buffer can be served by the released buffer
+        ByteBuffer reusedBuffer = pool.acquireBuffer(12);
+        assertSame(buffer, reusedBuffer);
+        assertEquals(0, reusedBuffer.position());
+        assertEquals(12, reusedBuffer.limit());
+        for (int index = 0; index < 12; index++) {
+            assertEquals(0, reusedBuffer.get(index));
+        }
+
+        pool.releaseBuffer(reusedBuffer);
+
+        // A larger buffer must be newly allocated
+        ByteBuffer largerBuffer = pool.acquireBuffer(32);
+        assertNotSame(buffer, largerBuffer);
+        assertEquals(32, largerBuffer.limit());
+    }
+
+}
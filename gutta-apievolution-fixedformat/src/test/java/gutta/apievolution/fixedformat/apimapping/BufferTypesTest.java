@@ -0,0 +1,146 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntFunction;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_ABSENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_PRESENT;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for mapping scripts with different kinds of buffers, such as direct, read-only and memory-mapped buffers.
+ */
+class BufferTypesTest {
+
+    private static final String OPERATION_NAME = "op";
+
+    private static final int SOURCE_RECORD_SIZE = 25;
+
+    private static final int TARGET_RECORD_SIZE = 30;
+
+    private static final ApiMappingScript SCRIPT = createScript();
+
+    private static final ApiMappingScript COMPILED_SCRIPT = new ApiMappingScriptCompiler().compileScript(SCRIPT);
+
+    private static ApiMappingScript createScript() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(1, 1, new int[] {2, 1, 0});
+
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 31, asList(
+                new FieldMapping(0, new CopyOperation(5)),
+                new FieldMapping(5, new SkipOperation(5)),
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(10, new ListMappingOperation(4, 2, 2, new CopyOperation(2))),
+                new FieldMapping(23, new CopyOperation(1))
+        ));
+
+        ApiMappingOperation operation = new MonomorphicRecordMappingOperation(recordTypeEntry);
+        OperationEntry operationEntry = new OperationEntry(0, OPERATION_NAME, operation, operation);
+
+        return new ApiMappingScript(asList(recordTypeEntry, enumTypeEntry), singletonList(operationEntry));
+    }
+
+    private static void writeSourceRecord(ByteBuffer buffer, int recordIndex) {
+        byte value = (byte) recordIndex;
+
+        buffer.put(IS_PRESENT)
+                .put(new byte[] {value, 2, 3, 4, 5})
+                .put(IS_PRESENT).putInt(recordIndex % 3)
+                .put((recordIndex % 2 == 0) ? IS_PRESENT : IS_ABSENT).putInt(2).put(new byte[] {6, 7, 8, value, 0, 0, 0, 0})
+                .put((byte) 10);
+    }
+
+    private static byte[] expectedResult(ByteBuffer heapSource, int sourceOffset) {
+        ByteBuffer target = ByteBuffer.allocate(TARGET_RECORD_SIZE);
+        SCRIPT.resolveOperation(OPERATION_NAME).mapParameter(sourceOffset, heapSource, target);
+
+        return target.array();
+    }
+
+    private static byte[] contentsOf(ByteBuffer buffer) {
+        byte[] contents = new byte[buffer.capacity()];
+        for (int index = 0; index < contents.length; index++) {
+            contents[index] = buffer.get(index);
+        }
+
+        return contents;
+    }
+
+    /**
+     * Test case: Mapping between all combinations of heap, direct and read-only buffers yields the same results for interpreted and compiled scripts.
+     */
+    @Test
+    void mappingWithDifferentBufferTypes() {
+        ByteBuffer heapSource = ByteBuffer.allocate(SOURCE_RECORD_SIZE);
+        writeSourceRecord(heapSource, 1);
+        byte[] expectedResult = expectedResult(heapSource, 0);
+
+        ByteBuffer directSource = ByteBuffer.allocateDirect(SOURCE_RECORD_SIZE);
+        writeSourceRecord(directSource, 1);
+
+        ByteBuffer[] sources = new ByteBuffer[] {heapSource, directSource, heapSource.asReadOnlyBuffer(), directSource.asReadOnlyBuffer()};
+        IntFunction<?>[] targetFactories = new IntFunction<?>[] {ByteBuffer::allocate, ByteBuffer::allocateDirect};
+
+        for (ApiMappingScript script : asList(SCRIPT, COMPILED_SCRIPT)) {
+            OperationHandle operation = script.resolveOperation(OPERATION_NAME);
+
+            for (ByteBuffer source : sources) {
+                for (IntFunction<?> targetFactory : targetFactories) {
+                    ByteBuffer target = (ByteBuffer) targetFactory.apply(TARGET_RECORD_SIZE);
+                    source.position(3);
+
+                    operation.mapParameter(source, target);
+
+                    assertEquals(TARGET_RECORD_SIZE, target.position());
+                    assertArrayEquals(expectedResult, contentsOf(target));
+                }
+            }
+        }
+    }
+
+    /**
+     * Test case: Records can be mapped directly from a memory-mapped file without copying them to the heap first.
+     */
+    @Test
+    void mappingFromMemoryMappedFile(@TempDir Path tempDir) throws IOException {
+        int numberOfRecords = 10;
+        ByteBuffer heapSource = ByteBuffer.allocate(numberOfRecords * SOURCE_RECORD_SIZE);
+        for (int recordIndex = 0; recordIndex < numberOfRecords; recordIndex++) {
+            writeSourceRecord(heapSource, recordIndex);
+        }
+
+        Path file = tempDir.resolve("records.bin");
+        Files.write(file, heapSource.array());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mappedSource = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            ByteBuffer target = ByteBuffer.allocateDirect(TARGET_RECORD_SIZE);
+
+            for (ApiMappingScript script : asList(SCRIPT, COMPILED_SCRIPT)) {
+                OperationHandle operation = script.resolveOperation(OPERATION_NAME);
+
+                for (int recordIndex = 0; recordIndex < numberOfRecords; recordIndex++) {
+                    int recordOffset = (recordIndex * SOURCE_RECORD_SIZE);
+                    target.clear();
+
+                    operation.mapParameter(recordOffset, mappedSource, target);
+
+                    assertArrayEquals(expectedResult(heapSource, recordOffset), contentsOf(target));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,258 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_ABSENT;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_PRESENT;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the batch conversion of fixed-size records.
+ */
+class RecordBatchConverterTest {
+
+    private static final String OPERATION_NAME = "op";
+
+    private static final int SOURCE_RECORD_SIZE = 24;
+
+    private static final int TARGET_RECORD_SIZE = 29;
+
+    private static final OperationHandle OPERATION = createScript().resolveOperation(OPERATION_NAME);
+
+    private static ForkJoinPool pool;
+
+    @BeforeAll
+    static void createPool() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    private static ApiMappingScript createScript() {
+        EnumTypeEntry enumTypeEntry = new EnumTypeEntry(1, 1, new int[] {2, 1, 0});
+
+        RecordTypeEntry recordTypeEntry = new RecordTypeEntry(0, 0, 28, asList(
+                new FieldMapping(0, new CopyOperation(5)),
+                new FieldMapping(5, new SkipOperation(5)),
+                new FieldMapping(5, new EnumMappingOperation(enumTypeEntry)),
+                new FieldMapping(10, new ListMappingOperation(2, 4, 4, new CopyOperation(4)))
+        ));
+
+        ApiMappingOperation operation = new MonomorphicRecordMappingOperation(recordTypeEntry);
+        OperationEntry operationEntry = new OperationEntry(0, OPERATION_NAME, operation, operation);
+
+        return new ApiMappingScript(asList(recordTypeEntry, enumTypeEntry), singletonList(operationEntry));
+    }
+
+    private static byte[] createSourceRecords(int numberOfRecords) {
+        ByteBuffer buffer = ByteBuffer.allocate(numberOfRecords * SOURCE_RECORD_SIZE);
+
+        for (int recordIndex = 0; recordIndex < numberOfRecords; recordIndex++) {
+            byte value = (byte) recordIndex;
+
+            buffer.put(IS_PRESENT)
+                    .put(new byte[] {value, 2, 3, 4, 5})
+                    .put(IS_PRESENT).putInt(recordIndex % 3)
+                    .put((recordIndex % 2 == 0) ? IS_PRESENT : IS_ABSENT).putInt(1).putInt(recordIndex).putInt(0);
+        }
+
+        return buffer.array();
+    }
+
+    private static byte[] expectedTargetRecords(byte[] sourceRecords) {
+        int numberOfRecords = (sourceRecords.length / SOURCE_RECORD_SIZE);
+        ByteBuffer source = ByteBuffer.wrap(sourceRecords);
+        ByteBuffer target = ByteBuffer.allocate(numberOfRecords * TARGET_RECORD_SIZE);
+
+        for (int recordIndex = 0; recordIndex < numberOfRecords; recordIndex++) {
+            target.position(recordIndex * TARGET_RECORD_SIZE);
+            OPERATION.mapParameter(recordIndex * SOURCE_RECORD_SIZE, source, target);
+        }
+
+        return target.array();
+    }
+
+    private static byte[] convertChannels(RecordBatchConverter converter, byte[] sourceRecords, int expectedRecords) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ReadableByteChannel sourceChannel = new FragmentingChannel(Channels.newChannel(new ByteArrayInputStream(sourceRecords)));
+
+        long convertedRecords = converter.convert(sourceChannel, Channels.newChannel(outputStream));
+        assertEquals(expectedRecords, convertedRecords);
+
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Test case: Sequential conversion between channels, where records span multiple chunks and reads.
+     */
+    @Test
+    void sequentialChannelConversion() throws IOException {
+        byte[] sourceRecords = createSourceRecords(10);
+        RecordBatchConverter converter = RecordBatchConverter.forParameters(OPERATION, SOURCE_RECORD_SIZE, TARGET_RECORD_SIZE).withRecordsPerChunk(3);
+
+        assertArrayEquals(expectedTargetRecords(sourceRecords), convertChannels(converter, sourceRecords, 10));
+    }
+
+    /**
+     * Test case: Parallel conversion between channels.
+     */
+    @Test
+    void parallelChannelConversion() throws IOException {
+        byte[] sourceRecords = createSourceRecords(5000);
+        RecordBatchConverter converter = RecordBatchConverter.forParameters(OPERATION, SOURCE_RECORD_SIZE, TARGET_RECORD_SIZE).withRecordsPerChunk(2000)
+                .withParallelism(pool);
+
+        assertArrayEquals(expectedTargetRecords(sourceRecords), convertChannels(converter, sourceRecords, 5000));
+    }
+
+    /**
+     * Test case: Conversion of empty source data.
+     */
+    @Test
+    void emptyChannelConversion() throws IOException {
+        RecordBatchConverter converter = RecordBatchConverter.forParameters(OPERATION, SOURCE_RECORD_SIZE, TARGET_RECORD_SIZE);
+
+        assertArrayEquals(new byte[0], convertChannels(converter, new byte[0], 0));
+    }
+
+    /**
+     * Test case: Source data ending with an incomplete record is reported.
+     */
+    @Test
+    void incompleteRecordIsReported() {
+        byte[] sourceRecords = createSourceRecords(3);
+        byte[] truncatedRecords = new byte[sourceRecords.length - 1];
+        System.arraycopy(sourceRecords, 0, truncatedRecords, 0, truncatedRecords.length);
+
+        RecordBatchConverter converter = RecordBatchConverter.forParameters(OPERATION, SOURCE_RECORD_SIZE, TARGET_RECORD_SIZE);
+
+        assertThrows(IOException.class, () -> convertChannels(converter, truncatedRecords, 2));
+    }
+
+    /**
+     * Test case: Sequential and parallel conversion between memory-mapped files.
+     */
+    @Test
+    void mappedFileConversion(@TempDir Path tempDir) throws IOException {
+        byte[] sourceRecords = createSourceRecords(3000);
+        byte[] expectedRecords = expectedTargetRecords(sourceRecords);
+
+        Path sourceFile = tempDir.resolve("source.bin");
+        Path targetFile = tempDir.resolve("target.bin");
+        Files.write(sourceFile, sourceRecords);
+
+        RecordBatchConverter converter = RecordBatchConverter.forParameters(OPERATION, SOURCE_RECORD_SIZE, TARGET_RECORD_SIZE).withRecordsPerChunk(1000);
+
+        for (RecordBatchConverter currentConverter : asList(converter, converter.withParallelism(pool))) {
+            assertEquals(3000, currentConverter.convert(sourceFile, targetFile));
+            assertArrayEquals(expectedRecords, Files.readAllBytes(targetFile));
+        }
+    }
+
+    /**
+     * Test case: Conversion between buffers advances the positions of both buffers and clears stale data in the target buffer.
+     */
+    @Test
+    void bufferConversion() {
+        byte[] sourceRecords = createSourceRecords(4);
+        byte[] expectedRecords = expectedTargetRecords(sourceRecords);
+
+        ByteBuffer source = ByteBuffer.allocateDirect(sourceRecords.length);
+        source.put(sourceRecords).flip();
+
+        ByteBuffer target = ByteBuffer.allocate(expectedRecords.length + 2);
+        for (int index = 0; index < target.capacity(); index++) {
+            target.put(index, (byte) 0xFF);
+        }
+        target.position(1);
+
+        RecordBatchConverter converter = RecordBatchConverter.forParameters(OPERATION, SOURCE_RECORD_SIZE, TARGET_RECORD_SIZE);
+        assertEquals(4, converter.convert(source, target));
+
+        assertEquals(sourceRecords.length, source.position());
+        assertEquals(expectedRecords.length + 1, target.position());
+
+        byte[] actualRecords = new byte[expectedRecords.length];
+        target.position(1);
+        target.get(actualRecords);
+        assertArrayEquals(expectedRecords, actualRecords);
+    }
+
+    /**
+     * Test case: A target record size that is smaller than the mapped records is reported instead of overwriting the subsequent records.
+     */
+    @Test
+    void tooSmallTargetRecordSize() {
+        byte[] sourceRecords = createSourceRecords(300);
+        int tooSmallRecordSize = (TARGET_RECORD_SIZE - 1);
+
+        ByteBuffer source = ByteBuffer.wrap(sourceRecords);
+        ByteBuffer target = ByteBuffer.allocate(300 * TARGET_RECORD_SIZE);
+
+        RecordBatchConverter converter = RecordBatchConverter.forParameters(OPERATION, SOURCE_RECORD_SIZE, tooSmallRecordSize);
+        assertThrows(BufferOverflowException.class, () -> converter.convert(source, target));
+        assertEquals(target.capacity(), target.limit());
+
+        RecordBatchConverter parallelConverter = converter.withParallelism(pool);
+        assertThrows(BufferOverflowException.class, () -> convertChannels(parallelConverter, sourceRecords, 300));
+    }
+
+    /**
+     * Channel wrapper that returns the data of the wrapped channel in small fragments.
+     */
+    private static class FragmentingChannel implements ReadableByteChannel {
+
+        private static final int MAX_FRAGMENT_SIZE = 7;
+
+        private final ReadableByteChannel delegate;
+
+        FragmentingChannel(ReadableByteChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read(ByteBuffer buffer) throws IOException {
+            int originalLimit = buffer.limit();
+            buffer.limit(Math.min(originalLimit, buffer.position() + MAX_FRAGMENT_SIZE));
+
+            try {
+                return this.delegate.read(buffer);
+            } finally {
+                buffer.limit(originalLimit);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return this.delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.delegate.close();
+        }
+
+    }
+
+}
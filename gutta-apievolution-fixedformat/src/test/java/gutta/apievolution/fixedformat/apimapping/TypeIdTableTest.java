@@ -0,0 +1,67 @@
+package gutta.apievolution.fixedformat.apimapping;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the type id lookup table.
+ */
+class TypeIdTableTest {
+
+    /**
+     * Test case: Lookup in a table with compact type ids.
+     */
+    @Test
+    void denseTable() {
+        Map<Integer, String> input = new HashMap<>();
+        input.put(3, "A");
+        input.put(4, "B");
+        input.put(6, "C");
+
+        TypeIdTable<String> table = TypeIdTable.of(input);
+
+        assertEquals("A", table.lookup(3));
+        assertEquals("B", table.lookup(4));
+        assertEquals("C", table.lookup(6));
+        assertNull(table.lookup(5));
+        assertNull(table.lookup(2));
+        assertNull(table.lookup(7));
+        assertNull(table.lookup(Integer.MIN_VALUE));
+    }
+
+    /**
+     * Test case: Lookup in a table with widely spread type ids.
+     */
+    @Test
+    void sparseTable() {
+        Map<Integer, String> input = new HashMap<>();
+        input.put(-1000, "A");
+        input.put(1, "B");
+        input.put(100000, "C");
+
+        TypeIdTable<String> table = TypeIdTable.of(input);
+
+        assertEquals("A", table.lookup(-1000));
+        assertEquals("B", table.lookup(1));
+        assertEquals("C", table.lookup(100000));
+        assertNull(table.lookup(0));
+        assertNull(table.lookup(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Test case: Lookup in an empty table.
+     */
+    @Test
+    void emptyTable() {
+        TypeIdTable<String> table = TypeIdTable.of(Collections.emptyMap());
+
+        assertNull(table.lookup(0));
+    }
+
+}
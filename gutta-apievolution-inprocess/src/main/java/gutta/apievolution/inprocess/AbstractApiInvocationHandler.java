@@ -2,6 +2,9 @@ package gutta.apievolution.inprocess;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Abstract supertype for API invocation handlers that provides common functionality. Such invocation handlers are used for adapting API implementations to
@@ -15,6 +18,8 @@ public abstract class AbstractApiInvocationHandler implements InvocationHandler
 
     protected final TypeMappingStrategy typeMappingStrategy;
 
+    private final ConcurrentMap<Method, ApiMethodInvoker> methodInvokers = new ConcurrentHashMap<>();
+
     /**
      * Creates a new invocation handler using the given data.
      * 
@@ -36,7 +41,10 @@ public abstract class AbstractApiInvocationHandler implements InvocationHandler
         }
 
         Object parameterObject = arguments[0];
-        ApiMethodInvoker methodInvoker = this.methodMappingStrategy.createMethodInvoker(this.providerApi.getClass(), method, this.typeMappingStrategy);
+        ApiMethodInvoker methodInvoker = this.methodInvokers.get(method);
+        if (methodInvoker == null) {
+            methodInvoker = this.methodInvokers.computeIfAbsent(method, this::createMethodInvoker);
+        }
 
         try {
             return methodInvoker.invokeApiMethod(this.providerApi, parameterObject);
@@ -45,6 +53,30 @@ public abstract class AbstractApiInvocationHandler implements InvocationHandler
         }
     }
 
+    private ApiMethodInvoker createMethodInvoker(Method method) {
+        return this.methodMappingStrategy.createMethodInvoker(this.providerApi.getClass(), method, this.typeMappingStrategy);
+    }
+
+    /**
+     * Creates the method invokers for all API methods of the given consumer API type in advance, so that invocations do not need to create them.
+     * Methods for which no invoker can be created are skipped, so that the respective error occurs when the method is actually invoked.
+     * 
+     * @param consumerApiType The consumer API type whose methods are handled by this invocation handler
+     */
+    public void prepareMethodInvokers(Class<?> consumerApiType) {
+        for (Method method : consumerApiType.getMethods()) {
+            if (!Modifier.isAbstract(method.getModifiers())) {
+                continue;
+            }
+
+            try {
+                this.methodInvokers.computeIfAbsent(method, this::createMethodInvoker);
+            } catch (RuntimeException e) {
+                // Ignore the error for now, it is reported on invocation
+            }
+        }
+    }
+
     /**
      * Returns the provider API object that is adapted to the consumer perspective.
      * 
@@ -19,6 +19,10 @@ public abstract class AbstractProxyApiMappingStrategy implements ApiMappingStrat
 
         TypeClassMap typeClassMap = new TypeClassMap(typeToClassMap, consumerApiDefinition, definitionResolution);
         InvocationHandler invocationHandler = this.createApiInvocationHandler(providerApiObject, consumerApiDefinition, definitionResolution, typeClassMap);
+        if (invocationHandler instanceof AbstractApiInvocationHandler) {
+            // Resolve the API methods once, so that invocations only need to look up the respective invoker
+            ((AbstractApiInvocationHandler) invocationHandler).prepareMethodInvokers(consumerApiType);
+        }
 
         Class<?>[] implementedInterfaces = new Class<?>[] { consumerApiType };
         return (T) newProxyInstance(this.getClass().getClassLoader(), implementedInterfaces, invocationHandler);
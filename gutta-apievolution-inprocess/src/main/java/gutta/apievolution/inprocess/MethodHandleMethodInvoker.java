@@ -0,0 +1,49 @@
+package gutta.apievolution.inprocess;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+/**
+ * Specific implementation of a method invoker that invokes API methods using a method handle that is created once when the invoker is created.
+ */
+public class MethodHandleMethodInvoker extends AbstractApiMethodInvoker {
+
+    private static final MethodType INVOCATION_TYPE = MethodType.methodType(Object.class, Object.class, Object.class);
+
+    private final MethodHandle apiMethodHandle;
+
+    /**
+     * Creates a new invoker using the given data.
+     *
+     * @param typeMappingStrategy The type mapping strategy to use
+     * @param apiMethod           The API method to invoke
+     */
+    public MethodHandleMethodInvoker(TypeMappingStrategy typeMappingStrategy, Method apiMethod) {
+        super(typeMappingStrategy);
+
+        this.apiMethodHandle = createMethodHandle(apiMethod);
+    }
+
+    private static MethodHandle createMethodHandle(Method apiMethod) {
+        try {
+            // Adapt the handle to a generic type, so that it can be invoked exactly without knowing the concrete types
+            return MethodHandles.publicLookup().unreflect(apiMethod).asType(INVOCATION_TYPE);
+        } catch (IllegalAccessException e) {
+            throw new InvalidApiException("API method '" + apiMethod + "' is not accessible.", e);
+        }
+    }
+
+    @Override
+    protected Object invokeMethod(Object apiObject, Object parameterObject) throws Exception {
+        try {
+            return (Object) this.apiMethodHandle.invokeExact(apiObject, parameterObject);
+        } catch (Exception e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvalidInvocationException("Error invoking API method.", e);
+        }
+    }
+
+}
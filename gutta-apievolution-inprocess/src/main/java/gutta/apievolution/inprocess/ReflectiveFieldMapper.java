@@ -1,26 +1,24 @@
 package gutta.apievolution.inprocess;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
+import gutta.apievolution.core.util.LambdaAccessors;
+
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 class ReflectiveFieldMapper implements FieldMapper {
     
-    private final MethodHandle fieldAccessorHandle;
+    private final Function<Object, Object> fieldAccessor;
 
     private final ValueMapper valueMapper;
 
     protected ReflectiveFieldMapper(Method fieldAccessor, ValueMapper valueMapper) {
-        this.fieldAccessorHandle = findHandleFor(fieldAccessor);
-        this.valueMapper = valueMapper;
-    }
-
-    private static MethodHandle findHandleFor(Method accessor) {
         try {
-            return MethodHandles.publicLookup().unreflect(accessor);
-        } catch (IllegalAccessException e) {
-            throw new InvalidApiException("Could not look up method handle for accessor '" + accessor + "',", e);
+            this.fieldAccessor = LambdaAccessors.getterFor(fieldAccessor);
+        } catch (IllegalStateException e) {
+            throw new InvalidApiException("Could not look up method handle for accessor '" + fieldAccessor + "'.", e);
         }
+
+        this.valueMapper = valueMapper;
     }
     
     @Override
@@ -32,7 +30,7 @@ class ReflectiveFieldMapper implements FieldMapper {
 
     private Object determineFieldValue(Object targetObject) {
         try {
-            return this.fieldAccessorHandle.invoke(targetObject);
+            return this.fieldAccessor.apply(targetObject);
         } catch (Throwable e) {
             throw new InvalidInvocationException("Error invoking field accessor.", e);
         }
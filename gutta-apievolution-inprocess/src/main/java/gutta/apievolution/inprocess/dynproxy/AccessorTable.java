@@ -0,0 +1,85 @@
+package gutta.apievolution.inprocess.dynproxy;
+
+import gutta.apievolution.inprocess.FieldMapper;
+
+import java.lang.reflect.Method;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Dispatch table for the accessors of a record interface. Each accessor is assigned an index into an array of field mappers. A proxy class always
+ * passes the same {@link Method} instances to its invocation handler, so the index of an accessor is looked up by identity, which avoids the
+ * comparatively expensive hashing and comparison of {@link Method} objects. The identity map is populated on the first invocation of each method
+ * instance and replaced as a whole, so that lookups do not require synchronization.
+ */
+class AccessorTable {
+
+    private final Method[] accessors;
+
+    private final FieldMapper[] fieldMappers;
+
+    private volatile Map<Method, Integer> indexes = new IdentityHashMap<>();
+
+    /**
+     * Creates a new dispatch table for the given field mappers.
+     *
+     * @param fieldMappers The field mappers for the accessors of the record interface
+     */
+    AccessorTable(Map<Method, FieldMapper> fieldMappers) {
+        this.accessors = new Method[fieldMappers.size()];
+        this.fieldMappers = new FieldMapper[fieldMappers.size()];
+
+        int index = 0;
+        for (Map.Entry<Method, FieldMapper> entry : fieldMappers.entrySet()) {
+            this.accessors[index] = entry.getKey();
+            this.fieldMappers[index] = entry.getValue();
+            index++;
+        }
+    }
+
+    /**
+     * Returns the index of the given accessor in this table.
+     *
+     * @param accessor The accessor to look up
+     * @return The index of the accessor or {@code -1} if the method is not an accessor of this table
+     */
+    int indexOf(Method accessor) {
+        Integer index = this.indexes.get(accessor);
+        return (index != null) ? index : this.registerAccessor(accessor);
+    }
+
+    private int registerAccessor(Method accessor) {
+        for (int index = 0; index < this.accessors.length; index++) {
+            if (this.accessors[index].equals(accessor)) {
+                // Concurrent registrations may overwrite each other, in which case the lost entries are registered again on the next invocation
+                Map<Method, Integer> newIndexes = new IdentityHashMap<>(this.indexes);
+                newIndexes.put(accessor, index);
+                this.indexes = newIndexes;
+
+                return index;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the field mapper at the given index.
+     *
+     * @param index The index of the field mapper, as determined by {@link #indexOf(Method)}
+     * @return The field mapper at the given index
+     */
+    FieldMapper fieldMapperAt(int index) {
+        return this.fieldMappers[index];
+    }
+
+    /**
+     * Returns the number of accessors in this table.
+     *
+     * @return see above
+     */
+    int size() {
+        return this.fieldMappers.length;
+    }
+
+}
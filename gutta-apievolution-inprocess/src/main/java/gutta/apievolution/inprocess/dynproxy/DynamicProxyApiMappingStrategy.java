@@ -21,12 +21,31 @@ import java.lang.reflect.InvocationHandler;
  */
 public class DynamicProxyApiMappingStrategy extends AbstractProxyApiMappingStrategy {
 
+    private final RecordViewMode recordViewMode;
+
+    /**
+     * Creates a new mapping strategy that presents record values as read-through views.
+     */
+    public DynamicProxyApiMappingStrategy() {
+        this(RecordViewMode.READ_THROUGH);
+    }
+
+    /**
+     * Creates a new mapping strategy that presents record values in the given view mode.
+     * 
+     * @param recordViewMode The view mode for record values, see {@link RecordViewMode}
+     */
+    public DynamicProxyApiMappingStrategy(RecordViewMode recordViewMode) {
+        this.recordViewMode = recordViewMode;
+    }
+
     @Override
     protected InvocationHandler createApiInvocationHandler(Object providerApiObject, ConsumerApiDefinition consumerApiDefinition,
             DefinitionResolution definitionResolution, TypeClassMap typeClassMap) {
 
         MethodMappingStrategy methodMappingStrategy = new DynamicProxyMethodMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap);
-        TypeMappingStrategy typeMappingStrategy = new DynamicProxyTypeMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap);
+        TypeMappingStrategy typeMappingStrategy = new DynamicProxyTypeMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap,
+                this.recordViewMode);
 
         return new DynamicProxyInvocationHandler(providerApiObject, methodMappingStrategy, typeMappingStrategy);
     }
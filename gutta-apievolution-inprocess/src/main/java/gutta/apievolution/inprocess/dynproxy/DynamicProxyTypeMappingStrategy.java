@@ -19,20 +19,29 @@ import java.util.Optional;
 
 class DynamicProxyTypeMappingStrategy extends AbstractTypeMappingStrategy {
 
-    public DynamicProxyTypeMappingStrategy(ConsumerApiDefinition consumerApiDefinition, DefinitionResolution definitionResolution, TypeClassMap typeClassMap) {
+    private final RecordViewMode recordViewMode;
+
+    public DynamicProxyTypeMappingStrategy(ConsumerApiDefinition consumerApiDefinition, DefinitionResolution definitionResolution, TypeClassMap typeClassMap,
+            RecordViewMode recordViewMode) {
 
         super(consumerApiDefinition, definitionResolution, typeClassMap);
+
+        this.recordViewMode = recordViewMode;
     }
 
     @Override
     protected ValueMapper createMapperFor(Class<?> type) {
-        return new ValueMapperCreator(this).createMapperForClass(type);
+        return new ValueMapperCreator(this, this.recordViewMode).createMapperForClass(type);
     }
 
     private static class ValueMapperCreator extends AbstractValueMapperCreator<DynamicProxyTypeMappingStrategy> {
 
-        public ValueMapperCreator(DynamicProxyTypeMappingStrategy typeMappingStrategy) {
+        private final RecordViewMode recordViewMode;
+
+        public ValueMapperCreator(DynamicProxyTypeMappingStrategy typeMappingStrategy, RecordViewMode recordViewMode) {
             super(typeMappingStrategy);
+
+            this.recordViewMode = recordViewMode;
         }
 
         @Override
@@ -64,7 +73,7 @@ class DynamicProxyTypeMappingStrategy extends AbstractTypeMappingStrategy {
         protected ValueMapper createNonPolymorphicRecordValueMapper(RecordType<?, ?, ?> type, Class<?> representingClass,
                 Map<Method, FieldMapper> fieldMappers) {
             
-            return new RecordTypeValueMapper(representingClass, fieldMappers);
+            return new RecordTypeValueMapper(representingClass, fieldMappers, this.recordViewMode);
         }
 
     }
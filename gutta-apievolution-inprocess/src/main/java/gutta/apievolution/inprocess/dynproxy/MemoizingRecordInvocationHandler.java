@@ -0,0 +1,56 @@
+package gutta.apievolution.inprocess.dynproxy;
+
+import gutta.apievolution.inprocess.InvalidApiException;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Invocation handler for record views that maps each field on first access and retains the mapped value in a slot that is indexed like the accessors
+ * of the accessor table. If a field is read concurrently for the first time, the value that is stored first is returned to all readers.
+ */
+class MemoizingRecordInvocationHandler implements InvocationHandler {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final Object wrappedObject;
+
+    private final AccessorTable accessorTable;
+
+    private final AtomicReferenceArray<Object> mappedValues;
+
+    MemoizingRecordInvocationHandler(Object wrappedObject, AccessorTable accessorTable) {
+        this.wrappedObject = wrappedObject;
+        this.accessorTable = accessorTable;
+        this.mappedValues = new AtomicReferenceArray<>(accessorTable.size());
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] arguments) {
+        int accessorIndex = this.accessorTable.indexOf(method);
+        if (accessorIndex < 0) {
+            throw new InvalidApiException("No field mapper for accessor '" + method + "'.");
+        }
+
+        Object mappedValue = this.mappedValues.get(accessorIndex);
+        if (mappedValue == null) {
+            mappedValue = this.mapAndStore(accessorIndex);
+        }
+
+        return (mappedValue == NULL_VALUE) ? null : mappedValue;
+    }
+
+    private Object mapAndStore(int accessorIndex) {
+        Object mappedValue = this.accessorTable.fieldMapperAt(accessorIndex).mapField(this.wrappedObject);
+        Object storedValue = (mappedValue == null) ? NULL_VALUE : mappedValue;
+
+        if (this.mappedValues.compareAndSet(accessorIndex, null, storedValue)) {
+            return storedValue;
+        }
+
+        // Another thread has stored a value in the meantime, which takes precedence
+        return this.mappedValues.get(accessorIndex);
+    }
+
+}
@@ -2,7 +2,13 @@ package gutta.apievolution.inprocess.dynproxy;
 
 import gutta.apievolution.inprocess.AbstractRecordTypeValueMapper;
 import gutta.apievolution.inprocess.FieldMapper;
+import gutta.apievolution.inprocess.InvalidApiException;
+import gutta.apievolution.inprocess.InvalidInvocationException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
@@ -10,21 +16,67 @@ import java.util.Map;
 
 class RecordTypeValueMapper extends AbstractRecordTypeValueMapper {
 
-    private final Class<?> targetInterface;
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, InvocationHandler.class);
 
-    private final Map<Method, FieldMapper> fieldMappers;
+    private final AccessorTable accessorTable;
+
+    private final MethodHandle proxyConstructor;
+
+    private final RecordViewMode viewMode;
 
     public RecordTypeValueMapper(Class<?> targetInterface, Map<Method, FieldMapper> fieldMappers) {
+        this(targetInterface, fieldMappers, RecordViewMode.READ_THROUGH);
+    }
+
+    public RecordTypeValueMapper(Class<?> targetInterface, Map<Method, FieldMapper> fieldMappers, RecordViewMode viewMode) {
         super(targetInterface);
-        
-        this.targetInterface = targetInterface;
-        this.fieldMappers = fieldMappers;
+
+        this.accessorTable = new AccessorTable(fieldMappers);
+        this.proxyConstructor = findProxyConstructor(targetInterface);
+        this.viewMode = viewMode;
+    }
+
+    private static MethodHandle findProxyConstructor(Class<?> targetInterface) {
+        // Resolve the proxy class once, so that creating a proxy does not need to look up the class for each value
+        InvocationHandler unusedHandler = (proxy, method, arguments) -> null;
+        Class<?> proxyClass = Proxy.newProxyInstance(RecordTypeValueMapper.class.getClassLoader(), new Class<?>[] { targetInterface }, unusedHandler)
+                .getClass();
+
+        try {
+            Constructor<?> constructor = proxyClass.getConstructor(InvocationHandler.class);
+            // Proxy classes for non-public interfaces are not public themselves
+            constructor.setAccessible(true);
+
+            return MethodHandles.lookup().unreflectConstructor(constructor).asType(CONSTRUCTOR_TYPE);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new InvalidApiException("Unable to create proxy constructor for interface '" + targetInterface + "'.", e);
+        }
+    }
+
+    private InvocationHandler createInvocationHandler(Object value) {
+        switch (this.viewMode) {
+        case MEMOIZING:
+            return new MemoizingRecordInvocationHandler(value, this.accessorTable);
+
+        case READ_THROUGH:
+            return new RecordInvocationHandler(value, this.accessorTable);
+
+        default:
+            throw new IllegalArgumentException("Unsupported view mode '" + this.viewMode + "'.");
+        }
     }
 
     @Override
     public Object mapRepresentableValue(Object value) {
-        InvocationHandler invocationHandler = new RecordInvocationHandler(value, this.fieldMappers);
-        return Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { this.targetInterface }, invocationHandler);
+        InvocationHandler invocationHandler = this.createInvocationHandler(value);
+
+        try {
+            return (Object) this.proxyConstructor.invokeExact(invocationHandler);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new InvalidInvocationException("Error creating proxy for value '" + value + "'.", e);
+        }
     }
 
 }
@@ -0,0 +1,20 @@
+package gutta.apievolution.inprocess.dynproxy;
+
+/**
+ * Enumeration of the modes in which record values are presented to the consumer by the {@link DynamicProxyApiMappingStrategy}.
+ */
+public enum RecordViewMode {
+
+    /**
+     * Each access to a field of a view reads and maps the current value of the underlying object. Views therefore reflect later changes of the
+     * underlying object, but repeated accesses map the value (and allocate nested views or lists) again.
+     */
+    READ_THROUGH,
+
+    /**
+     * Each field of a view is mapped on first access, and the mapped value is retained for all subsequent accesses. Views therefore fix the value of a
+     * field when it is first read, so that later changes of the underlying object are not visible through fields that have already been read.
+     */
+    MEMOIZING
+
+}
@@ -0,0 +1,22 @@
+package gutta.apievolution.inprocess.objectmapping;
+
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.core.resolution.DefinitionResolution;
+import gutta.apievolution.inprocess.MethodHandleMethodInvoker;
+import gutta.apievolution.inprocess.MethodMappingStrategy;
+import gutta.apievolution.inprocess.TypeClassMap;
+
+/**
+ * Variant of the {@link ObjectMappingApiMappingStrategy} that binds the provider methods to method handles when the API is mapped, so that invocations
+ * do not use reflection. The method handle for each provider method is created once and reused for all invocations.
+ */
+public class MethodHandleApiMappingStrategy extends ObjectMappingApiMappingStrategy {
+
+    @Override
+    MethodMappingStrategy createMethodMappingStrategy(ConsumerApiDefinition consumerApiDefinition, DefinitionResolution definitionResolution,
+            TypeClassMap typeClassMap) {
+
+        return new ObjectMappingMethodMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap, MethodHandleMethodInvoker::new);
+    }
+
+}
@@ -18,10 +18,24 @@ public class ObjectMappingApiMappingStrategy extends AbstractProxyApiMappingStra
     protected InvocationHandler createApiInvocationHandler(Object providerApiObject, ConsumerApiDefinition consumerApiDefinition,
             DefinitionResolution definitionResolution, TypeClassMap typeClassMap) {
 
-        MethodMappingStrategy methodMappingStrategy = new ObjectMappingMethodMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap);
+        MethodMappingStrategy methodMappingStrategy = this.createMethodMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap);
         TypeMappingStrategy typeMappingStrategy = new ObjectMappingTypeMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap);
 
         return new ObjectMappingInvocationHandler(providerApiObject, methodMappingStrategy, typeMappingStrategy);
     }
 
+    /**
+     * Creates the method mapping strategy used by the invocation handlers of this strategy.
+     * 
+     * @param consumerApiDefinition The API definition used by the consumer
+     * @param definitionResolution  The resolution of the consumer API definition against the provider API
+     * @param typeClassMap          A mapping of the API types to their representing classes
+     * @return The created method mapping strategy
+     */
+    MethodMappingStrategy createMethodMappingStrategy(ConsumerApiDefinition consumerApiDefinition, DefinitionResolution definitionResolution,
+            TypeClassMap typeClassMap) {
+
+        return new ObjectMappingMethodMappingStrategy(consumerApiDefinition, definitionResolution, typeClassMap);
+    }
+
 }
@@ -14,20 +14,31 @@ import gutta.apievolution.inprocess.TypeMappingStrategy;
 
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.function.BiFunction;
 
 import static gutta.apievolution.inprocess.objectmapping.ImplementorSupport.determineImplementorOf;
 
 class ObjectMappingMethodMappingStrategy extends AbstractMethodMappingStrategy {
 
+    private final BiFunction<TypeMappingStrategy, Method, ApiMethodInvoker> invokerFactory;
+
     ObjectMappingMethodMappingStrategy(ConsumerApiDefinition consumerApiDefinition, DefinitionResolution definitionResolution, TypeClassMap typeToClassMap) {
+        this(consumerApiDefinition, definitionResolution, typeToClassMap, ReflectiveMethodInvoker::new);
+    }
+
+    ObjectMappingMethodMappingStrategy(ConsumerApiDefinition consumerApiDefinition, DefinitionResolution definitionResolution, TypeClassMap typeToClassMap,
+            BiFunction<TypeMappingStrategy, Method, ApiMethodInvoker> invokerFactory) {
+
         super(consumerApiDefinition, definitionResolution, typeToClassMap);
+
+        this.invokerFactory = invokerFactory;
     }
 
     @Override
     protected ApiMethodInvoker createMethodInvoker(Method consumerMethod, ConsumerOperation consumerOperation, Method providerMethod,
             ProviderOperation providerOperation, TypeMappingStrategy typeMappingStrategy) {
 
-        return new ReflectiveMethodInvoker(typeMappingStrategy, providerMethod);
+        return this.invokerFactory.apply(typeMappingStrategy, providerMethod);
     }
 
     @Override
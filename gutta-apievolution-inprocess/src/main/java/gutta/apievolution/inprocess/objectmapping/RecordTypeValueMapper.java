@@ -2,37 +2,33 @@ package gutta.apievolution.inprocess.objectmapping;
 
 import gutta.apievolution.core.apimodel.RecordType;
 import gutta.apievolution.core.apimodel.Type;
+import gutta.apievolution.core.util.LambdaAccessors;
 import gutta.apievolution.inprocess.AbstractRecordTypeValueMapper;
 import gutta.apievolution.inprocess.FieldMapper;
 import gutta.apievolution.inprocess.ImplementedBy;
 import gutta.apievolution.inprocess.InvalidApiException;
 import gutta.apievolution.inprocess.InvalidInvocationException;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 class RecordTypeValueMapper extends AbstractRecordTypeValueMapper {
 
     private ObjectCreator<?> recordCreator;
 
-    private final List<FieldValueTransferrer> transferrers;
+    private final FieldValueTransferrer[] transferrers;
 
     public RecordTypeValueMapper(RecordType<?, ?, ?> type, Class<?> representingClass, Map<Method, FieldMapper> fieldMappers) {
         super(representingClass);
 
         this.recordCreator = creatorFor(type, representingClass);
 
-        List<FieldValueTransferrer> transferrers = new ArrayList<>(fieldMappers.size());
-        fieldMappers.forEach((accessor, mapper) -> transferrers.add(new FieldValueTransferrer(accessor, mapper)));
-
-        this.transferrers = transferrers;
+        this.transferrers = fieldMappers.entrySet().stream()
+                .map(entry -> new FieldValueTransferrer(entry.getKey(), entry.getValue()))
+                .toArray(FieldValueTransferrer[]::new);
     }
 
     private static ObjectCreator<?> creatorFor(RecordType<?, ?, ?> type, Class<?> representingClass) {
@@ -59,7 +55,9 @@ class RecordTypeValueMapper extends AbstractRecordTypeValueMapper {
     @Override
     public Object mapRepresentableValue(Object value) {
         Object record = this.recordCreator.createObject();
-        this.transferrers.forEach(transferrer -> transferrer.transferValue(value, record));
+        for (FieldValueTransferrer transferrer : this.transferrers) {
+            transferrer.transferValue(value, record);
+        }
 
         return record;
     }
@@ -72,20 +70,22 @@ class RecordTypeValueMapper extends AbstractRecordTypeValueMapper {
 
     private static class ConcreteObjectCreator<T> implements ObjectCreator<T> {
 
-        private final Constructor<T> constructor;
+        private final Supplier<T> constructor;
 
         public ConcreteObjectCreator(Class<T> createdType) {
             try {
-                this.constructor = createdType.getConstructor();
+                this.constructor = LambdaAccessors.constructorFor(createdType.getConstructor());
             } catch (NoSuchMethodException | SecurityException e) {
                 throw new InvalidApiException("No usable constructor on type '" + createdType + "'.", e);
+            } catch (IllegalStateException e) {
+                throw new InvalidApiException("Could not look up method handle for the constructor of type '" + createdType + "'.", e);
             }
         }
 
         public T createObject() {
             try {
-                return this.constructor.newInstance();
-            } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+                return this.constructor.get();
+            } catch (Throwable e) {
                 throw new InvalidInvocationException("Error creating a record type instance.", e);
             }
         }
@@ -109,27 +109,24 @@ class RecordTypeValueMapper extends AbstractRecordTypeValueMapper {
 
     private static class FieldValueTransferrer {
 
-        private final MethodHandle targetHandle;
+        private final BiConsumer<Object, Object> targetAccessor;
 
         private final FieldMapper fieldMapper;
 
         public FieldValueTransferrer(Method targetAccessor, FieldMapper fieldMapper) {
-            this.targetHandle = findHandleFor(targetAccessor);
-            this.fieldMapper = fieldMapper;
-        }
-
-        private static MethodHandle findHandleFor(Method accessor) {
             try {
-                return MethodHandles.publicLookup().unreflect(accessor);
-            } catch (IllegalAccessException e) {
-                throw new InvalidApiException("Could not look up method handle for accessor '" + accessor + "',", e);
+                this.targetAccessor = LambdaAccessors.setterFor(targetAccessor);
+            } catch (IllegalStateException e) {
+                throw new InvalidApiException("Could not look up method handle for accessor '" + targetAccessor + "'.", e);
             }
+
+            this.fieldMapper = fieldMapper;
         }
 
         public void transferValue(Object sourceObject, Object targetObject) {
             Object mappedValue = this.fieldMapper.mapField(sourceObject);
             try {
-                this.targetHandle.invoke(targetObject, mappedValue);
+                this.targetAccessor.accept(targetObject, mappedValue);
             } catch (Throwable e) {
                 throw new InvalidInvocationException("Error transferring a value.", e);
             }
@@ -0,0 +1,95 @@
+package gutta.apievolution.inprocess;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the class {@link AbstractApiInvocationHandler}.
+ */
+class AbstractApiInvocationHandlerTest {
+
+    /**
+     * Test case: Method invokers are created once in advance and reused for all invocations.
+     */
+    @Test
+    void methodInvokersAreCreatedOnce() {
+        CountingMethodMappingStrategy methodMappingStrategy = new CountingMethodMappingStrategy();
+        TestInvocationHandler invocationHandler = new TestInvocationHandler(methodMappingStrategy);
+
+        invocationHandler.prepareMethodInvokers(TestApi.class);
+        assertEquals(1, methodMappingStrategy.createdInvokers.get());
+
+        TestApi api = (TestApi) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { TestApi.class }, invocationHandler);
+        assertEquals("value", api.operation("value"));
+        assertEquals("other value", api.operation("other value"));
+
+        assertEquals(1, methodMappingStrategy.createdInvokers.get());
+    }
+
+    /**
+     * Test case: An error during the creation of a method invoker is reported on invocation, and the creation is attempted again on the next
+     * invocation.
+     */
+    @Test
+    void failedInvokerCreationIsReportedOnInvocation() {
+        CountingMethodMappingStrategy methodMappingStrategy = new CountingMethodMappingStrategy();
+        methodMappingStrategy.failCreation = true;
+        TestInvocationHandler invocationHandler = new TestInvocationHandler(methodMappingStrategy);
+
+        invocationHandler.prepareMethodInvokers(TestApi.class);
+
+        TestApi api = (TestApi) Proxy.newProxyInstance(this.getClass().getClassLoader(), new Class<?>[] { TestApi.class }, invocationHandler);
+        assertThrows(InvalidApiException.class, () -> api.operation("value"));
+        assertThrows(InvalidApiException.class, () -> api.operation("value"));
+
+        assertEquals(3, methodMappingStrategy.createdInvokers.get());
+    }
+
+    /**
+     * Simple API used for the test cases.
+     */
+    public interface TestApi {
+
+        String operation(String parameter);
+
+    }
+
+    private static class CountingMethodMappingStrategy implements MethodMappingStrategy {
+
+        final AtomicInteger createdInvokers = new AtomicInteger();
+
+        boolean failCreation;
+
+        @Override
+        public ApiMethodInvoker createMethodInvoker(Class<?> apiType, Method method, TypeMappingStrategy typeMappingStrategy) {
+            this.createdInvokers.incrementAndGet();
+
+            if (this.failCreation) {
+                throw new InvalidApiException("No matching API operation for method '" + method + "'.");
+            }
+
+            return (apiObject, parameterObject) -> parameterObject;
+        }
+
+    }
+
+    private static class TestInvocationHandler extends AbstractApiInvocationHandler {
+
+        TestInvocationHandler(MethodMappingStrategy methodMappingStrategy) {
+            super(new Object(), methodMappingStrategy, type -> null);
+        }
+
+        @Override
+        protected Object handleExceptionOnApiInvocation(Exception exception) throws Exception {
+            throw exception;
+        }
+
+    }
+
+}
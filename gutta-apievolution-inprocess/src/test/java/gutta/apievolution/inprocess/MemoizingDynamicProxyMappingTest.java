@@ -0,0 +1,17 @@
+package gutta.apievolution.inprocess;
+
+import gutta.apievolution.inprocess.dynproxy.DynamicProxyApiMappingStrategy;
+import gutta.apievolution.inprocess.dynproxy.RecordViewMode;
+
+/**
+ * Test cases for the type mapping strategy using dynamic proxies with memoizing record views. The test cases are inherited from the dynamic proxy
+ * tests, as the view mode must not affect the results of invocations.
+ */
+class MemoizingDynamicProxyMappingTest extends DynamicProxyMappingTest {
+
+    @Override
+    protected DynamicProxyApiMappingStrategy apiMappingStrategy() {
+        return new DynamicProxyApiMappingStrategy(RecordViewMode.MEMOIZING);
+    }
+
+}
@@ -0,0 +1,17 @@
+package gutta.apievolution.inprocess;
+
+import gutta.apievolution.inprocess.objectmapping.MethodHandleApiMappingStrategy;
+import gutta.apievolution.inprocess.objectmapping.ObjectMappingApiMappingStrategy;
+
+/**
+ * Test cases for the object mapping strategy that invokes provider methods using method handles. The test cases are inherited from the object mapping
+ * tests, as both strategies must behave identically.
+ */
+class MethodHandleMappingTest extends ObjectMappingTest {
+
+    @Override
+    protected ObjectMappingApiMappingStrategy apiMappingStrategy() {
+        return new MethodHandleApiMappingStrategy();
+    }
+
+}
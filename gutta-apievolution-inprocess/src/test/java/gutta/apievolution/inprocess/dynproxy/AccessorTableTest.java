@@ -0,0 +1,58 @@
+package gutta.apievolution.inprocess.dynproxy;
+
+import gutta.apievolution.inprocess.FieldMapper;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests for the class {@link AccessorTable}.
+ */
+class AccessorTableTest {
+
+    /**
+     * Test case: Accessors are found regardless of the method instance used for the lookup, and overloaded or unmapped methods are distinguished.
+     *
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void lookupOfAccessors() throws NoSuchMethodException {
+        FieldMapper fieldMapper1 = value -> 1;
+        FieldMapper fieldMapper2 = value -> 2;
+
+        Map<Method, FieldMapper> fieldMappers = new LinkedHashMap<>();
+        fieldMappers.put(TargetType.class.getMethod("getField1"), fieldMapper1);
+        fieldMappers.put(TargetType.class.getMethod("getField2"), fieldMapper2);
+
+        AccessorTable table = new AccessorTable(fieldMappers);
+        assertEquals(2, table.size());
+
+        // Use different instances of the methods, as the proxy passes its own instances
+        for (int iteration = 0; iteration < 2; iteration++) {
+            assertSame(fieldMapper1, table.fieldMapperAt(table.indexOf(TargetType.class.getMethod("getField1"))));
+            assertSame(fieldMapper2, table.fieldMapperAt(table.indexOf(TargetType.class.getMethod("getField2"))));
+        }
+
+        assertEquals(-1, table.indexOf(TargetType.class.getMethod("getField1", int.class)));
+        assertEquals(-1, table.indexOf(Object.class.getMethod("toString")));
+    }
+
+    /**
+     * Target type with an overloaded accessor.
+     */
+    public interface TargetType {
+
+        Integer getField1();
+
+        Integer getField1(int defaultValue);
+
+        Integer getField2();
+
+    }
+
+}
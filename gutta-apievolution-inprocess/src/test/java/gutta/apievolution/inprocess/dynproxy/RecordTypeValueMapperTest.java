@@ -2,12 +2,18 @@ package gutta.apievolution.inprocess.dynproxy;
 
 import com.google.common.collect.ImmutableMap;
 import gutta.apievolution.inprocess.FieldMapper;
+import gutta.apievolution.inprocess.InvalidApiException;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Tests for mapping of record types using the dynamic proxies strategy (see {@link RecordTypeValueMapper}).
@@ -58,6 +64,126 @@ class RecordTypeValueMapperTest {
         assertEquals(5678, targetValue.getTargetInheritedField());
     }
 
+    /**
+     * Test case: Mapped values of the same type are distinct proxies of the same class, each of which accesses its own source value.
+     * 
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void mappedValuesShareProxyClass() throws NoSuchMethodException {
+        Method targetAccessor = SimpleTargetType.class.getMethod("getTargetValue");
+        FieldMapper fieldMapper = (value) -> ((SourceType) value).getIntValue();
+        RecordTypeValueMapper mapper = new RecordTypeValueMapper(SimpleTargetType.class, ImmutableMap.of(targetAccessor, fieldMapper));
+
+        SourceType sourceValue1 = new SourceType();
+        sourceValue1.setIntValue(1234);
+        SourceType sourceValue2 = new SourceType();
+        sourceValue2.setIntValue(5678);
+
+        SimpleTargetType targetValue1 = (SimpleTargetType) mapper.mapValue(sourceValue1);
+        SimpleTargetType targetValue2 = (SimpleTargetType) mapper.mapValue(sourceValue2);
+
+        assertNotSame(targetValue1, targetValue2);
+        assertSame(targetValue1.getClass(), targetValue2.getClass());
+        assertEquals(1234, targetValue1.getTargetValue());
+        assertEquals(5678, targetValue2.getTargetValue());
+    }
+
+    /**
+     * Test case: Overloaded accessors are dispatched by their signature, and methods without a field mapper result in an exception.
+     * 
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void overloadedAndUnmappedMethods() throws NoSuchMethodException {
+        Method targetAccessor = OverloadedTargetType.class.getMethod("getTargetValue");
+        FieldMapper fieldMapper = (value) -> ((SourceType) value).getIntValue();
+        RecordTypeValueMapper mapper = new RecordTypeValueMapper(OverloadedTargetType.class, ImmutableMap.of(targetAccessor, fieldMapper));
+
+        SourceType sourceValue = new SourceType();
+        sourceValue.setIntValue(1234);
+
+        OverloadedTargetType targetValue = (OverloadedTargetType) mapper.mapValue(sourceValue);
+        assertEquals(1234, targetValue.getTargetValue());
+        assertThrows(InvalidApiException.class, () -> targetValue.getTargetValue(0));
+        assertThrows(InvalidApiException.class, targetValue::toString);
+    }
+
+    /**
+     * Test case: In memoizing mode, a field is mapped only on first access, and the view retains the value that was read first.
+     * 
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void memoizingView() throws NoSuchMethodException {
+        AtomicInteger mappingCount = new AtomicInteger();
+        Method targetAccessor = SimpleTargetType.class.getMethod("getTargetValue");
+        FieldMapper fieldMapper = (value) -> {
+            mappingCount.incrementAndGet();
+            return ((SourceType) value).getIntValue();
+        };
+        RecordTypeValueMapper mapper = new RecordTypeValueMapper(SimpleTargetType.class, ImmutableMap.of(targetAccessor, fieldMapper),
+                RecordViewMode.MEMOIZING);
+
+        SourceType sourceValue = new SourceType();
+        sourceValue.setIntValue(1234);
+
+        SimpleTargetType targetValue = (SimpleTargetType) mapper.mapValue(sourceValue);
+        assertEquals(0, mappingCount.get());
+        assertEquals(1234, targetValue.getTargetValue());
+
+        sourceValue.setIntValue(5678);
+        assertEquals(1234, targetValue.getTargetValue());
+        assertEquals(1, mappingCount.get());
+    }
+
+    /**
+     * Test case: In memoizing mode, {@code null} values are retained as well.
+     * 
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void memoizingViewWithNullValue() throws NoSuchMethodException {
+        AtomicInteger mappingCount = new AtomicInteger();
+        Method targetAccessor = SimpleTargetType.class.getMethod("getTargetValue");
+        FieldMapper fieldMapper = (value) -> {
+            mappingCount.incrementAndGet();
+            return ((SourceType) value).getIntValue();
+        };
+        RecordTypeValueMapper mapper = new RecordTypeValueMapper(SimpleTargetType.class, ImmutableMap.of(targetAccessor, fieldMapper),
+                RecordViewMode.MEMOIZING);
+
+        SourceType sourceValue = new SourceType();
+        SimpleTargetType targetValue = (SimpleTargetType) mapper.mapValue(sourceValue);
+
+        assertNull(targetValue.getTargetValue());
+        sourceValue.setIntValue(1234);
+        assertNull(targetValue.getTargetValue());
+        assertEquals(1, mappingCount.get());
+    }
+
+    /**
+     * Test case: In read-through mode, a view reflects changes of the underlying object.
+     * 
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void readThroughView() throws NoSuchMethodException {
+        Method targetAccessor = SimpleTargetType.class.getMethod("getTargetValue");
+        FieldMapper fieldMapper = (value) -> ((SourceType) value).getIntValue();
+        RecordTypeValueMapper mapper = new RecordTypeValueMapper(SimpleTargetType.class, ImmutableMap.of(targetAccessor, fieldMapper),
+                RecordViewMode.READ_THROUGH);
+
+        SourceType sourceValue = new SourceType();
+        sourceValue.setIntValue(1234);
+
+        SimpleTargetType targetValue = (SimpleTargetType) mapper.mapValue(sourceValue);
+        assertEquals(1234, targetValue.getTargetValue());
+
+        sourceValue.setIntValue(5678);
+        assertEquals(5678, targetValue.getTargetValue());
+    }
+
     /**
      * Simple source type.
      */
@@ -84,6 +210,17 @@ class RecordTypeValueMapperTest {
 
     }
 
+    /**
+     * Target type with an overloaded accessor.
+     */
+    public interface OverloadedTargetType {
+
+        public Integer getTargetValue();
+
+        public Integer getTargetValue(int defaultValue);
+
+    }
+
     /**
      * Supertype of a source hierarchy.
      */
@@ -12,6 +12,7 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import static org.mockito.Mockito.*;
 
@@ -105,6 +106,33 @@ class RecordTypeValueMapperTest {
         assertEquals(5678, targetValue.getTargetInheritedField());
     }
 
+    /**
+     * Test case: A target type that is not public results in an error when the mapper is created, both for the constructor and for the accessors.
+     * 
+     * @throws NoSuchMethodException For formal reasons, not expected
+     */
+    @Test
+    void nonPublicTargetType() throws NoSuchMethodException {
+        Method targetAccessor = NonPublicTargetType.class.getMethod("setTargetValue", Integer.class);
+        FieldMapper fieldMapper = (value) -> ((SourceType) value).getIntValue();
+        Map<Method, FieldMapper> fieldMappers = ImmutableMap.of(targetAccessor, fieldMapper);
+
+        RecordType<?, ?, ?> concreteType = mock(RecordType.class);
+        when(concreteType.isConcrete()).thenReturn(true);
+
+        InvalidApiException constructorException = assertThrows(InvalidApiException.class,
+                () -> new RecordTypeValueMapper(concreteType, NonPublicTargetType.class, ImmutableMap.of()));
+        assertTrue(constructorException.getMessage().contains(NonPublicTargetType.class.getName()));
+
+        // Abstract types do not require a constructor, so that the error is caused by the accessor
+        RecordType<?, ?, ?> abstractType = mock(RecordType.class);
+        when(abstractType.isConcrete()).thenReturn(false);
+
+        InvalidApiException accessorException = assertThrows(InvalidApiException.class,
+                () -> new RecordTypeValueMapper(abstractType, NonPublicTargetType.class, fieldMappers));
+        assertTrue(accessorException.getMessage().contains("setTargetValue"));
+    }
+
     /**
      * Simple source type.
      */
@@ -149,6 +177,27 @@ class RecordTypeValueMapperTest {
 
     }
 
+    /**
+     * Target type that is not accessible from outside its package.
+     */
+    static class NonPublicTargetType {
+
+        private Integer targetValue;
+
+        public NonPublicTargetType() {
+            // Public constructor, so that only the visibility of the type itself prevents access
+        }
+
+        public Integer getTargetValue() {
+            return this.targetValue;
+        }
+
+        public void setTargetValue(Integer targetValue) {
+            this.targetValue = targetValue;
+        }
+
+    }
+
     /**
      * Target interface without an annotated implementor.
      */
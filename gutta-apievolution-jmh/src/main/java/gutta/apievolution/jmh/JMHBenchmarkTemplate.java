@@ -6,19 +6,63 @@ import gutta.apievolution.core.resolution.DefinitionResolution;
 import gutta.apievolution.core.resolution.DefinitionResolver;
 import gutta.apievolution.dsl.ConsumerApiLoader;
 import gutta.apievolution.dsl.ProviderApiLoader;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCache;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptFingerprint;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Set;
 
 public abstract class JMHBenchmarkTemplate {
 
-    protected static final ConsumerApiDefinition CONSUMER_API_DEFINITION = ConsumerApiLoader.loadFromClasspath("apis/consumer-api.api", "test.provider", 0);
+    private static final String CONSUMER_API_NAME = "apis/consumer-api.api";
 
-    protected static final RevisionHistory PROVIDER_REVISION_HISTORY = ProviderApiLoader.loadHistoryFromClasspath("apis/provider-api.api");
+    private static final String PROVIDER_API_NAME = "apis/provider-api.api";
+
+    protected static final ConsumerApiDefinition CONSUMER_API_DEFINITION = ConsumerApiLoader.loadFromClasspath(CONSUMER_API_NAME, "test.provider", 0);
+
+    protected static final RevisionHistory PROVIDER_REVISION_HISTORY = ProviderApiLoader.loadHistoryFromClasspath(PROVIDER_API_NAME);
 
     protected static final Set<Integer> SUPPORTED_REVISIONS = Collections.singleton(0);
 
     protected static final DefinitionResolution DEFINITION_RESOLUTION = new DefinitionResolver().resolveConsumerDefinition(PROVIDER_REVISION_HISTORY,
             SUPPORTED_REVISIONS, CONSUMER_API_DEFINITION);
 
+    private static final ApiMappingScriptCache SCRIPT_CACHE = new ApiMappingScriptCache(2);
+
+    private static final ApiMappingScriptFingerprint SCRIPT_FINGERPRINT = ApiMappingScriptFingerprint.of(readResource(CONSUMER_API_NAME), 0,
+            Collections.singletonList(readResource(PROVIDER_API_NAME)), SUPPORTED_REVISIONS);
+
+    private static String readResource(String name) {
+        try (InputStream inputStream = JMHBenchmarkTemplate.class.getClassLoader().getResourceAsStream(name)) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
+
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the fixed-format mapping script for the benchmark APIs in the given direction. The scripts are cached, so that all benchmarks share
+     * the same scripts.
+     *
+     * @param direction The direction of the desired mapping
+     * @return The mapping script
+     */
+    protected static ApiMappingScript mappingScriptFor(MappingDirection direction) {
+        return SCRIPT_CACHE.getScript(SCRIPT_FINGERPRINT, direction, () -> DEFINITION_RESOLUTION);
+    }
+
 }
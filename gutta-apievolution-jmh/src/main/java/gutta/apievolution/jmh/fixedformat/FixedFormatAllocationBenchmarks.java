@@ -0,0 +1,117 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatData;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
+import gutta.apievolution.jmh.JMHBenchmarkTemplate;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult10;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult100;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult25;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult250;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult50;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult500;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult75;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod100ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod10ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod250ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod25ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod500ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod50ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod75ProviderProxy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JMH benchmarks to determine the allocation rate of the fixed-format mapping interpreter. These benchmarks are intended to be run with the GC profiler
+ * ({@code -prof gc}), where {@code gc.alloc.rate.norm} is expected to be 0 B/op for all of them. The accompanying test asserts this property.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FixedFormatAllocationBenchmarks extends JMHBenchmarkTemplate {
+
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+    private static final FixedFormatMapper MAPPER = new FixedFormatMapper();
+
+    private static final ApiMappingScript PROVIDER_TO_CONSUMER_SCRIPT = mappingScriptFor(MappingDirection.PROVIDER_TO_CONSUMER);
+
+    private static <T> ByteBuffer createData(Class<T> type, Supplier<T> valueSupplier) {
+        ByteBuffer buffer = ByteBuffer.allocate(MAPPER.determineMaxSizeOf(type));
+        FixedFormatData data = FixedFormatData.of(buffer, CHARSET);
+        MAPPER.writeValue(valueSupplier.get(), type, data);
+
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static final ByteBuffer RESULT_10_DATA = createData(ProviderResult10.class, TestMethod10ProviderProxy::createResult);
+
+    private static final ByteBuffer RESULT_25_DATA = createData(ProviderResult25.class, TestMethod25ProviderProxy::createResult);
+
+    private static final ByteBuffer RESULT_50_DATA = createData(ProviderResult50.class, TestMethod50ProviderProxy::createResult);
+
+    private static final ByteBuffer RESULT_75_DATA = createData(ProviderResult75.class, TestMethod75ProviderProxy::createResult);
+
+    private static final ByteBuffer RESULT_100_DATA = createData(ProviderResult100.class, TestMethod100ProviderProxy::createResult);
+
+    private static final ByteBuffer RESULT_250_DATA = createData(ProviderResult250.class, TestMethod250ProviderProxy::createResult);
+
+    private static final ByteBuffer RESULT_500_DATA = createData(ProviderResult500.class, TestMethod500ProviderProxy::createResult);
+
+    private static final ByteBuffer TARGET_BUFFER = ByteBuffer.allocate(32768);
+
+    private static void mapResult(String operationName, ByteBuffer sourceBuffer) {
+        sourceBuffer.position(0);
+
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+
+        PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor(operationName, sourceBuffer, targetBuffer);
+    }
+
+    @Benchmark
+    public void resultConversionAllocation010() {
+        mapResult("testMethod10", RESULT_10_DATA);
+    }
+
+    @Benchmark
+    public void resultConversionAllocation025() {
+        mapResult("testMethod25", RESULT_25_DATA);
+    }
+
+    @Benchmark
+    public void resultConversionAllocation050() {
+        mapResult("testMethod50", RESULT_50_DATA);
+    }
+
+    @Benchmark
+    public void resultConversionAllocation075() {
+        mapResult("testMethod75", RESULT_75_DATA);
+    }
+
+    @Benchmark
+    public void resultConversionAllocation100() {
+        mapResult("testMethod100", RESULT_100_DATA);
+    }
+
+    @Benchmark
+    public void resultConversionAllocation250() {
+        mapResult("testMethod250", RESULT_250_DATA);
+    }
+
+    @Benchmark
+    public void resultConversionAllocation500() {
+        mapResult("testMethod500", RESULT_500_DATA);
+    }
+
+}
@@ -0,0 +1,200 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import gutta.apievolution.fixedformat.apimapping.RecordBatchConverter;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatData;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
+import gutta.apievolution.fixedformat.objectmapping.OperationResultType;
+import gutta.apievolution.jmh.JMHBenchmarkTemplate;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerResult100;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult100;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod100ProviderProxy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the batch conversion of fixed-format record files. Besides the time per conversion, the benchmarks report the throughput in
+ * records per second ({@code records}) and bytes per second ({@code bytes}) of source data as secondary results.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class FixedFormatBatchConversionBenchmarks extends JMHBenchmarkTemplate {
+
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+    private static final FixedFormatMapper MAPPER = new FixedFormatMapper();
+
+    private static final ApiMappingScript PROVIDER_TO_CONSUMER_SCRIPT = mappingScriptFor(MappingDirection.PROVIDER_TO_CONSUMER);
+
+    private static final OperationResultType<ProviderResult100> SOURCE_TYPE = OperationResultType.of(ProviderResult100.class, Collections.emptySet());
+
+    private static final OperationResultType<ConsumerResult100> TARGET_TYPE = OperationResultType.of(ConsumerResult100.class, Collections.emptySet());
+
+    private static final int SOURCE_RECORD_SIZE = MAPPER.determineMaxSizeOf(SOURCE_TYPE);
+
+    private static final int TARGET_RECORD_SIZE = MAPPER.determineMaxSizeOf(TARGET_TYPE);
+
+    @Param({ "20000" })
+    public int numberOfRecords;
+
+    private byte[] sourceData;
+
+    private Path tempDirectory;
+
+    private Path sourceFile;
+
+    private Path targetFile;
+
+    private RecordBatchConverter sequentialConverter;
+
+    private RecordBatchConverter parallelConverter;
+
+    /**
+     * Creates the source data and files for the benchmarks.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @Setup
+    public void setUp() throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(SOURCE_RECORD_SIZE);
+        MAPPER.writeValueOrException(TestMethod100ProviderProxy.createResult(), SOURCE_TYPE, FixedFormatData.of(record, CHARSET));
+
+        ByteBuffer data = ByteBuffer.allocate(this.numberOfRecords * SOURCE_RECORD_SIZE);
+        for (int recordIndex = 0; recordIndex < this.numberOfRecords; recordIndex++) {
+            data.put(record.array());
+        }
+        this.sourceData = data.array();
+
+        this.tempDirectory = Files.createTempDirectory("batch-conversion");
+        this.sourceFile = this.tempDirectory.resolve("source.bin");
+        this.targetFile = this.tempDirectory.resolve("target.bin");
+        Files.write(this.sourceFile, this.sourceData);
+
+        this.sequentialConverter = RecordBatchConverter.forResults(PROVIDER_TO_CONSUMER_SCRIPT.resolveOperation("testMethod100"), SOURCE_RECORD_SIZE,
+                TARGET_RECORD_SIZE);
+        this.parallelConverter = this.sequentialConverter.withParallelism(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Removes the files created for the benchmarks.
+     *
+     * @throws IOException If an I/O error occurs
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.sourceFile);
+        Files.deleteIfExists(this.targetFile);
+        Files.deleteIfExists(this.tempDirectory);
+    }
+
+    private long convertChannels(RecordBatchConverter converter, ThroughputCounters counters) throws IOException {
+        long convertedRecords = converter.convert(Channels.newChannel(new ByteArrayInputStream(this.sourceData)), new DiscardingChannel());
+        counters.count(convertedRecords, SOURCE_RECORD_SIZE);
+
+        return convertedRecords;
+    }
+
+    private long convertFiles(RecordBatchConverter converter, ThroughputCounters counters) throws IOException {
+        long convertedRecords = converter.convert(this.sourceFile, this.targetFile);
+        counters.count(convertedRecords, SOURCE_RECORD_SIZE);
+
+        return convertedRecords;
+    }
+
+    @Benchmark
+    public long channelConversion_sequential(ThroughputCounters counters) throws IOException {
+        return this.convertChannels(this.sequentialConverter, counters);
+    }
+
+    @Benchmark
+    public long channelConversion_parallel(ThroughputCounters counters) throws IOException {
+        return this.convertChannels(this.parallelConverter, counters);
+    }
+
+    @Benchmark
+    public long mappedFileConversion_sequential(ThroughputCounters counters) throws IOException {
+        return this.convertFiles(this.sequentialConverter, counters);
+    }
+
+    @Benchmark
+    public long mappedFileConversion_parallel(ThroughputCounters counters) throws IOException {
+        return this.convertFiles(this.parallelConverter, counters);
+    }
+
+    /**
+     * Counters for the number of converted records and bytes, which JMH reports as rates.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThroughputCounters {
+
+        public long records;
+
+        public long bytes;
+
+        /**
+         * Resets the counters before each iteration.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.records = 0;
+            this.bytes = 0;
+        }
+
+        void count(long numberOfRecords, int recordSize) {
+            this.records += numberOfRecords;
+            this.bytes += (numberOfRecords * recordSize);
+        }
+
+    }
+
+    /**
+     * Channel that discards all data written to it.
+     */
+    private static class DiscardingChannel implements WritableByteChannel {
+
+        @Override
+        public int write(ByteBuffer buffer) {
+            int length = buffer.remaining();
+            buffer.position(buffer.limit());
+
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to do
+        }
+
+    }
+
+}
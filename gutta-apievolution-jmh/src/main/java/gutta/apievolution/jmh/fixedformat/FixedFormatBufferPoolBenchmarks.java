@@ -0,0 +1,131 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import gutta.apievolution.fixedformat.apimapping.BufferPool;
+import gutta.apievolution.fixedformat.apimapping.RequestRouter;
+import gutta.apievolution.fixedformat.apimapping.consumer.ConsumerOperationProxy;
+import gutta.apievolution.fixedformat.apimapping.provider.ProviderOperationProxy;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
+import gutta.apievolution.jmh.JMHBenchmarkTemplate;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerParameter;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerResult100;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerResult500;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderParameter;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult100;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult500;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod100ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod500ProviderProxy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks to compare the different buffer pools of the fixed-format operation proxies under multi-threaded load. The sample time mode reports
+ * latency percentiles (including p99). Run with the GC profiler ({@code -prof gc}) to obtain the allocation rate of the respective pools.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+@State(Scope.Benchmark)
+public class FixedFormatBufferPoolBenchmarks extends JMHBenchmarkTemplate {
+
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+    private static final ApiMappingScript CONSUMER_TO_PROVIDER_SCRIPT = mappingScriptFor(MappingDirection.CONSUMER_TO_PROVIDER);
+
+    private static final ApiMappingScript PROVIDER_TO_CONSUMER_SCRIPT = mappingScriptFor(MappingDirection.PROVIDER_TO_CONSUMER);
+
+    private static final ConsumerParameter CONSUMER_PARAMETER = new ConsumerParameter();
+
+    private static final ProviderResult100 RESULT_100 = TestMethod100ProviderProxy.createResult();
+
+    private static final ProviderResult500 RESULT_500 = TestMethod500ProviderProxy.createResult();
+
+    @Param({ "unpooled", "threadLocal", "striped" })
+    public String poolType;
+
+    private ConsumerOperationProxy<ConsumerParameter, ConsumerResult100> testMethod100Proxy;
+
+    private ConsumerOperationProxy<ConsumerParameter, ConsumerResult500> testMethod500Proxy;
+
+    private static BufferPool createBufferPool(String poolType) {
+        switch (poolType) {
+        case "unpooled":
+            return BufferPool.unpooled();
+
+        case "threadLocal":
+            return BufferPool.threadLocal();
+
+        case "striped":
+            return BufferPool.striped(64);
+
+        default:
+            throw new IllegalArgumentException("Unsupported pool type '" + poolType + "'.");
+        }
+    }
+
+    /**
+     * Creates the proxies for the configured pool type.
+     */
+    @Setup
+    public void setUp() {
+        BufferPool bufferPool = createBufferPool(this.poolType);
+        FixedFormatMapper mapper = new FixedFormatMapper();
+
+        RequestRouter router = new RequestRouter(
+                new PooledProviderProxy<>("testMethod100", ProviderResult100.class, RESULT_100, mapper, bufferPool),
+                new PooledProviderProxy<>("testMethod500", ProviderResult500.class, RESULT_500, mapper, bufferPool));
+
+        this.testMethod100Proxy = new PooledConsumerProxy<>("testMethod100", ConsumerResult100.class, router, mapper, bufferPool);
+        this.testMethod500Proxy = new PooledConsumerProxy<>("testMethod500", ConsumerResult500.class, router, mapper, bufferPool);
+    }
+
+    @Benchmark
+    public ConsumerResult100 invokeTestMethod100() {
+        return this.testMethod100Proxy.invoke(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    public ConsumerResult500 invokeTestMethod500() {
+        return this.testMethod500Proxy.invoke(CONSUMER_PARAMETER);
+    }
+
+    private static class PooledConsumerProxy<R> extends ConsumerOperationProxy<ConsumerParameter, R> {
+
+        public PooledConsumerProxy(String operationName, Class<R> resultType, RequestRouter router, FixedFormatMapper mapper, BufferPool bufferPool) {
+            super(operationName, ConsumerParameter.class, resultType, Collections.emptySet(), router, mapper, CHARSET, bufferPool);
+        }
+
+    }
+
+    private static class PooledProviderProxy<R> extends ProviderOperationProxy<ProviderParameter, R> {
+
+        private final R result;
+
+        public PooledProviderProxy(String operationName, Class<R> resultType, R result, FixedFormatMapper mapper, BufferPool bufferPool) {
+            super(operationName, ProviderParameter.class, resultType, Collections.emptySet(), CONSUMER_TO_PROVIDER_SCRIPT, PROVIDER_TO_CONSUMER_SCRIPT,
+                    mapper, CHARSET, bufferPool);
+
+            this.result = result;
+        }
+
+        @Override
+        protected R invokeOperation(ProviderParameter parameter) {
+            return this.result;
+        }
+
+    }
+
+}
@@ -0,0 +1,94 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import gutta.apievolution.fixedformat.apimapping.RequestRouter;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
+import gutta.apievolution.jmh.JMHBenchmarkTemplate;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerParameter;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerResult10;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerResult100;
+import gutta.apievolution.jmh.fixedformat.consumer.ConsumerResult500;
+import gutta.apievolution.jmh.fixedformat.consumer.TestMethod100ConsumerProxy;
+import gutta.apievolution.jmh.fixedformat.consumer.TestMethod10ConsumerProxy;
+import gutta.apievolution.jmh.fixedformat.consumer.TestMethod500ConsumerProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod100ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod10ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod500ProviderProxy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks to determine how the invocations of {@link FixedFormatConversionBenchmarks} scale with the number of threads. All threads share the
+ * same proxies and thus the same fixed-format mapper, so contention on shared state shows up as a lack of scaling between the single-threaded and
+ * multi-threaded variants of each benchmark.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FixedFormatConcurrencyBenchmarks extends JMHBenchmarkTemplate {
+
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+    private static final FixedFormatMapper MAPPER = new FixedFormatMapper();
+
+    private static final ApiMappingScript CONSUMER_TO_PROVIDER_SCRIPT = mappingScriptFor(MappingDirection.CONSUMER_TO_PROVIDER);
+
+    private static final ApiMappingScript PROVIDER_TO_CONSUMER_SCRIPT = mappingScriptFor(MappingDirection.PROVIDER_TO_CONSUMER);
+
+    private static final RequestRouter REQUEST_ROUTER = new RequestRouter(
+            new TestMethod10ProviderProxy(CONSUMER_TO_PROVIDER_SCRIPT, PROVIDER_TO_CONSUMER_SCRIPT, MAPPER, CHARSET),
+            new TestMethod100ProviderProxy(CONSUMER_TO_PROVIDER_SCRIPT, PROVIDER_TO_CONSUMER_SCRIPT, MAPPER, CHARSET),
+            new TestMethod500ProviderProxy(CONSUMER_TO_PROVIDER_SCRIPT, PROVIDER_TO_CONSUMER_SCRIPT, MAPPER, CHARSET));
+
+    private static final ConsumerParameter CONSUMER_PARAMETER = new ConsumerParameter();
+
+    private static final TestMethod10ConsumerProxy TEST_METHOD_10_PROXY = new TestMethod10ConsumerProxy(REQUEST_ROUTER, MAPPER, CHARSET);
+
+    private static final TestMethod100ConsumerProxy TEST_METHOD_100_PROXY = new TestMethod100ConsumerProxy(REQUEST_ROUTER, MAPPER, CHARSET);
+
+    private static final TestMethod500ConsumerProxy TEST_METHOD_500_PROXY = new TestMethod500ConsumerProxy(REQUEST_ROUTER, MAPPER, CHARSET);
+
+    @Benchmark
+    @Threads(1)
+    public ConsumerResult10 invokeTestMethod010_singleThread() {
+        return TEST_METHOD_10_PROXY.invoke(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ConsumerResult10 invokeTestMethod010_allThreads() {
+        return TEST_METHOD_10_PROXY.invoke(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ConsumerResult100 invokeTestMethod100_singleThread() {
+        return TEST_METHOD_100_PROXY.invoke(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ConsumerResult100 invokeTestMethod100_allThreads() {
+        return TEST_METHOD_100_PROXY.invoke(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ConsumerResult500 invokeTestMethod500_singleThread() {
+        return TEST_METHOD_500_PROXY.invoke(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ConsumerResult500 invokeTestMethod500_allThreads() {
+        return TEST_METHOD_500_PROXY.invoke(CONSUMER_PARAMETER);
+    }
+
+}
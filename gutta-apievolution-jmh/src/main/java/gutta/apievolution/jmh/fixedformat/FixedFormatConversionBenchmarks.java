@@ -1,8 +1,9 @@
 package gutta.apievolution.jmh.fixedformat;
 
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
-import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCompiler;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptOptimizer;
 import gutta.apievolution.fixedformat.apimapping.RequestRouter;
 import gutta.apievolution.fixedformat.apimapping.provider.ProviderOperationProxy;
 import gutta.apievolution.fixedformat.objectmapping.FixedFormatData;
@@ -54,11 +55,14 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
     
     private static final FixedFormatMapper MAPPER = new FixedFormatMapper();
 
-    private static final ApiMappingScript CONSUMER_TO_PROVIDER_SCRIPT = new ApiMappingScriptGenerator().generateMappingScript(DEFINITION_RESOLUTION,
-            MappingDirection.CONSUMER_TO_PROVIDER);
+    private static final ApiMappingScript CONSUMER_TO_PROVIDER_SCRIPT = mappingScriptFor(MappingDirection.CONSUMER_TO_PROVIDER);
     
-    private static final ApiMappingScript PROVIDER_TO_CONSUMER_SCRIPT = new ApiMappingScriptGenerator().generateMappingScript(DEFINITION_RESOLUTION,
-            MappingDirection.PROVIDER_TO_CONSUMER);
+    private static final ApiMappingScript PROVIDER_TO_CONSUMER_SCRIPT = mappingScriptFor(MappingDirection.PROVIDER_TO_CONSUMER);
+    
+    private static final ApiMappingScript COMPILED_PROVIDER_TO_CONSUMER_SCRIPT = new ApiMappingScriptCompiler().compileScript(PROVIDER_TO_CONSUMER_SCRIPT);
+
+    private static final ApiMappingScript OPTIMIZED_PROVIDER_TO_CONSUMER_SCRIPT = new ApiMappingScriptOptimizer().optimizeScript(
+            PROVIDER_TO_CONSUMER_SCRIPT);
 
     private static final RequestRouter REQUEST_ROUTER = createRequestRouter();
     
@@ -130,6 +134,17 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
         PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod10", sourceBuffer, targetBuffer);
     }
     
+    @Benchmark
+    public void compiledResultConversionOnly010_short() {
+        ByteBuffer sourceBuffer = RESULT_10_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        COMPILED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod10", sourceBuffer, targetBuffer);
+    }
+    
     @Benchmark
     public void invokeTestMethod010_short() {
         TEST_METHOD_10_PROXY.invoke(CONSUMER_PARAMETER);
@@ -146,6 +161,17 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
         PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod25", sourceBuffer, targetBuffer);
     }
     
+    @Benchmark
+    public void compiledResultConversionOnly025_short() {
+        ByteBuffer sourceBuffer = RESULT_25_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        COMPILED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod25", sourceBuffer, targetBuffer);
+    }
+    
     @Benchmark
     public void invokeTestMethod025_short() {
         TEST_METHOD_25_PROXY.invoke(CONSUMER_PARAMETER);
@@ -162,6 +188,17 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
         PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod50", sourceBuffer, targetBuffer);
     }
     
+    @Benchmark
+    public void compiledResultConversionOnly050_short() {
+        ByteBuffer sourceBuffer = RESULT_50_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        COMPILED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod50", sourceBuffer, targetBuffer);
+    }
+    
     @Benchmark
     public void invokeTestMethod050_short() {
         TEST_METHOD_50_PROXY.invoke(CONSUMER_PARAMETER);
@@ -178,6 +215,17 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
         PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod75", sourceBuffer, targetBuffer);
     }
     
+    @Benchmark
+    public void compiledResultConversionOnly075_short() {
+        ByteBuffer sourceBuffer = RESULT_75_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        COMPILED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod75", sourceBuffer, targetBuffer);
+    }
+    
     @Benchmark
     public void invokeTestMethod075_short() {
         TEST_METHOD_75_PROXY.invoke(CONSUMER_PARAMETER);
@@ -194,6 +242,28 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
         PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod100", sourceBuffer, targetBuffer);
     }
     
+    @Benchmark
+    public void compiledResultConversionOnly100_short() {
+        ByteBuffer sourceBuffer = RESULT_100_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        COMPILED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod100", sourceBuffer, targetBuffer);
+    }
+    
+    @Benchmark
+    public void optimizedResultConversionOnly100_short() {
+        ByteBuffer sourceBuffer = RESULT_100_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        OPTIMIZED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod100", sourceBuffer, targetBuffer);
+    }
+    
     @Benchmark
     public void invokeTestMethod100_short() {
         TEST_METHOD_100_PROXY.invoke(CONSUMER_PARAMETER);
@@ -210,6 +280,17 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
     	PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod250", sourceBuffer, targetBuffer);
     }
     
+    @Benchmark
+    public void compiledResultConversionOnly250_long() {
+    	ByteBuffer sourceBuffer = RESULT_250_DATA;
+    	sourceBuffer.position(0);
+    	
+    	ByteBuffer targetBuffer = TARGET_BUFFER;
+    	targetBuffer.clear();
+    	
+    	COMPILED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod250", sourceBuffer, targetBuffer);
+    }
+    
     @Benchmark
     public void invokeTestMethod250_long() {
         TEST_METHOD_250_PROXY.invoke(CONSUMER_PARAMETER);
@@ -226,6 +307,28 @@ public class FixedFormatConversionBenchmarks extends JMHBenchmarkTemplate {
         PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod500", sourceBuffer, targetBuffer);
     }
     
+    @Benchmark
+    public void compiledResultConversionOnly500_long() {
+        ByteBuffer sourceBuffer = RESULT_500_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        COMPILED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod500", sourceBuffer, targetBuffer);
+    }
+    
+    @Benchmark
+    public void optimizedResultConversionOnly500_long() {
+        ByteBuffer sourceBuffer = RESULT_500_DATA;
+        sourceBuffer.position(0);
+        
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+        
+        OPTIMIZED_PROVIDER_TO_CONSUMER_SCRIPT.mapResultFor("testMethod500", sourceBuffer, targetBuffer);
+    }
+    
     @Benchmark
     public void invokeTestMethod500_long() {
         TEST_METHOD_500_PROXY.invoke(CONSUMER_PARAMETER);
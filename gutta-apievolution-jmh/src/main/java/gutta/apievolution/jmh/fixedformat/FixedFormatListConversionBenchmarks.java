@@ -0,0 +1,151 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.core.apimodel.provider.RevisionHistory;
+import gutta.apievolution.core.resolution.DefinitionResolution;
+import gutta.apievolution.core.resolution.DefinitionResolver;
+import gutta.apievolution.dsl.ConsumerApiLoader;
+import gutta.apievolution.dsl.ProviderApiLoader;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCompiler;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static gutta.apievolution.fixedformat.objectmapping.Flags.FLAGS_SIZE;
+import static gutta.apievolution.fixedformat.objectmapping.Flags.IS_PRESENT;
+
+/**
+ * JMH benchmarks to determine the performance of the fixed-format conversion of large lists (1,000 elements) of primitive and string elements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FixedFormatListConversionBenchmarks {
+
+    private static final int MAX_ELEMENTS = 1000;
+
+    private static final int INT_ELEMENT_SIZE = 4 + FLAGS_SIZE;
+
+    private static final int STRING_LENGTH = 10;
+
+    private static final int STRING_ELEMENT_SIZE = STRING_LENGTH + FLAGS_SIZE;
+
+    private static final ConsumerApiDefinition CONSUMER_API_DEFINITION = ConsumerApiLoader.loadFromClasspath("apis/list-consumer-api.api",
+            "test.lists", 0);
+
+    private static final RevisionHistory PROVIDER_REVISION_HISTORY = ProviderApiLoader.loadHistoryFromClasspath("apis/list-provider-api.api");
+
+    private static final DefinitionResolution DEFINITION_RESOLUTION = new DefinitionResolver().resolveConsumerDefinition(PROVIDER_REVISION_HISTORY,
+            Collections.singleton(0), CONSUMER_API_DEFINITION);
+
+    private static final ApiMappingScript PROVIDER_TO_CONSUMER_SCRIPT = new ApiMappingScriptGenerator().generateMappingScript(DEFINITION_RESOLUTION,
+            MappingDirection.PROVIDER_TO_CONSUMER);
+
+    private static final ApiMappingScript COMPILED_PROVIDER_TO_CONSUMER_SCRIPT = new ApiMappingScriptCompiler().compileScript(
+            PROVIDER_TO_CONSUMER_SCRIPT);
+
+    private static final ByteBuffer INT_LIST_DATA_FULL = createIntListData(MAX_ELEMENTS);
+
+    private static final ByteBuffer INT_LIST_DATA_HALF = createIntListData(MAX_ELEMENTS / 2);
+
+    private static final ByteBuffer STRING_LIST_DATA_FULL = createStringListData(MAX_ELEMENTS);
+
+    private static final ByteBuffer STRING_LIST_DATA_HALF = createStringListData(MAX_ELEMENTS / 2);
+
+    private static final ByteBuffer TARGET_BUFFER = ByteBuffer.allocate(32768);
+
+    private static ByteBuffer createListData(int elementSize, int numberOfElements) {
+        // Record flags, list flags and element count, followed by the elements
+        ByteBuffer buffer = ByteBuffer.allocate((2 * FLAGS_SIZE) + 4 + (MAX_ELEMENTS * elementSize));
+
+        buffer.put(IS_PRESENT);
+        buffer.put(IS_PRESENT);
+        buffer.putInt(numberOfElements);
+
+        return buffer;
+    }
+
+    private static ByteBuffer createIntListData(int numberOfElements) {
+        ByteBuffer buffer = createListData(INT_ELEMENT_SIZE, numberOfElements);
+
+        for (int elementIndex = 0; elementIndex < numberOfElements; elementIndex++) {
+            buffer.put(IS_PRESENT);
+            buffer.putInt(elementIndex);
+        }
+
+        buffer.clear();
+        return buffer;
+    }
+
+    private static ByteBuffer createStringListData(int numberOfElements) {
+        ByteBuffer buffer = createListData(STRING_ELEMENT_SIZE, numberOfElements);
+
+        for (int elementIndex = 0; elementIndex < numberOfElements; elementIndex++) {
+            buffer.put(IS_PRESENT);
+
+            for (int characterIndex = 0; characterIndex < STRING_LENGTH; characterIndex++) {
+                buffer.put((byte) ('A' + ((elementIndex + characterIndex) % 26)));
+            }
+        }
+
+        buffer.clear();
+        return buffer;
+    }
+
+    private static void convert(ApiMappingScript script, String operationName, ByteBuffer sourceBuffer) {
+        sourceBuffer.position(0);
+
+        ByteBuffer targetBuffer = TARGET_BUFFER;
+        targetBuffer.clear();
+
+        script.mapResultFor(operationName, sourceBuffer, targetBuffer);
+    }
+
+    @Benchmark
+    public void intListConversion_full() {
+        convert(PROVIDER_TO_CONSUMER_SCRIPT, "intList", INT_LIST_DATA_FULL);
+    }
+
+    @Benchmark
+    public void compiledIntListConversion_full() {
+        convert(COMPILED_PROVIDER_TO_CONSUMER_SCRIPT, "intList", INT_LIST_DATA_FULL);
+    }
+
+    @Benchmark
+    public void intListConversion_half() {
+        convert(PROVIDER_TO_CONSUMER_SCRIPT, "intList", INT_LIST_DATA_HALF);
+    }
+
+    @Benchmark
+    public void compiledIntListConversion_half() {
+        convert(COMPILED_PROVIDER_TO_CONSUMER_SCRIPT, "intList", INT_LIST_DATA_HALF);
+    }
+
+    @Benchmark
+    public void stringListConversion_full() {
+        convert(PROVIDER_TO_CONSUMER_SCRIPT, "stringList", STRING_LIST_DATA_FULL);
+    }
+
+    @Benchmark
+    public void compiledStringListConversion_full() {
+        convert(COMPILED_PROVIDER_TO_CONSUMER_SCRIPT, "stringList", STRING_LIST_DATA_FULL);
+    }
+
+    @Benchmark
+    public void stringListConversion_half() {
+        convert(PROVIDER_TO_CONSUMER_SCRIPT, "stringList", STRING_LIST_DATA_HALF);
+    }
+
+    @Benchmark
+    public void compiledStringListConversion_half() {
+        convert(COMPILED_PROVIDER_TO_CONSUMER_SCRIPT, "stringList", STRING_LIST_DATA_HALF);
+    }
+
+}
@@ -0,0 +1,104 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatData;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper;
+import gutta.apievolution.fixedformat.objectmapping.FixedFormatMapper.RecordAccessMode;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult100;
+import gutta.apievolution.jmh.fixedformat.provider.ProviderResult500;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod100ProviderProxy;
+import gutta.apievolution.jmh.fixedformat.provider.TestMethod500ProviderProxy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks to compare the object-to-data conversion of the fixed-format mapper with reflective and generated record accessors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FixedFormatObjectMappingBenchmarks {
+
+    private static final Charset CHARSET = StandardCharsets.ISO_8859_1;
+
+    private static final FixedFormatMapper REFLECTIVE_MAPPER = new FixedFormatMapper(RecordAccessMode.REFLECTIVE);
+
+    private static final FixedFormatMapper GENERATED_MAPPER = new FixedFormatMapper(RecordAccessMode.GENERATED);
+
+    private static final ProviderResult100 RESULT_100 = TestMethod100ProviderProxy.createResult();
+
+    private static final ProviderResult500 RESULT_500 = TestMethod500ProviderProxy.createResult();
+
+    private static final ByteBuffer RESULT_100_DATA = createData(ProviderResult100.class, RESULT_100);
+
+    private static final ByteBuffer RESULT_500_DATA = createData(ProviderResult500.class, RESULT_500);
+
+    private static final ByteBuffer TARGET_BUFFER = ByteBuffer.allocate(32768);
+
+    private static <T> ByteBuffer createData(Class<T> type, T value) {
+        ByteBuffer buffer = ByteBuffer.allocate(REFLECTIVE_MAPPER.determineMaxSizeOf(type));
+        REFLECTIVE_MAPPER.writeValue(value, type, FixedFormatData.of(buffer, CHARSET));
+        buffer.flip();
+
+        return buffer;
+    }
+
+    private static <T> void writeValue(FixedFormatMapper mapper, Class<T> type, T value) {
+        ByteBuffer buffer = TARGET_BUFFER;
+        buffer.clear();
+
+        mapper.writeValue(value, type, FixedFormatData.of(buffer, CHARSET));
+    }
+
+    private static <T> T readValue(FixedFormatMapper mapper, Class<T> type, ByteBuffer data) {
+        data.position(0);
+
+        return mapper.readValue(FixedFormatData.of(data, CHARSET), type);
+    }
+
+    @Benchmark
+    public void writeResult100_reflective() {
+        writeValue(REFLECTIVE_MAPPER, ProviderResult100.class, RESULT_100);
+    }
+
+    @Benchmark
+    public void writeResult100_generated() {
+        writeValue(GENERATED_MAPPER, ProviderResult100.class, RESULT_100);
+    }
+
+    @Benchmark
+    public ProviderResult100 readResult100_reflective() {
+        return readValue(REFLECTIVE_MAPPER, ProviderResult100.class, RESULT_100_DATA);
+    }
+
+    @Benchmark
+    public ProviderResult100 readResult100_generated() {
+        return readValue(GENERATED_MAPPER, ProviderResult100.class, RESULT_100_DATA);
+    }
+
+    @Benchmark
+    public void writeResult500_reflective() {
+        writeValue(REFLECTIVE_MAPPER, ProviderResult500.class, RESULT_500);
+    }
+
+    @Benchmark
+    public void writeResult500_generated() {
+        writeValue(GENERATED_MAPPER, ProviderResult500.class, RESULT_500);
+    }
+
+    @Benchmark
+    public ProviderResult500 readResult500_reflective() {
+        return readValue(REFLECTIVE_MAPPER, ProviderResult500.class, RESULT_500_DATA);
+    }
+
+    @Benchmark
+    public ProviderResult500 readResult500_generated() {
+        return readValue(GENERATED_MAPPER, ProviderResult500.class, RESULT_500_DATA);
+    }
+
+}
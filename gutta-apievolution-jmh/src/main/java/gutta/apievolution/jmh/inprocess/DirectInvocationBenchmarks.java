@@ -0,0 +1,48 @@
+package gutta.apievolution.jmh.inprocess;
+
+import gutta.apievolution.customerexample.inprocess.provider.Customer;
+import gutta.apievolution.customerexample.inprocess.provider.CustomerImpl;
+import gutta.apievolution.customerexample.inprocess.provider.ProviderApi;
+import gutta.apievolution.customerexample.inprocess.provider.StreetAddress;
+import gutta.apievolution.customerexample.inprocess.provider.StreetAddressImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline for the in-process customer example benchmarks, which invokes the provider API directly, i.e., without any mapping, on the same data as
+ * the mapped invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DirectInvocationBenchmarks {
+
+    private static final ProviderApi PROVIDER_API = new ProviderApi();
+
+    private static final Customer PROVIDER_CUSTOMER = createProviderCustomer();
+
+    private static Customer createProviderCustomer() {
+        StreetAddress address = new StreetAddressImpl();
+        address.setStreet("Test Street");
+        address.setNumber(1234);
+        address.setCity("Test City");
+        address.setPostalCode(5678);
+
+        Customer customer = new CustomerImpl();
+        customer.setFirstName("Test");
+        customer.setLastName("Test");
+        customer.setGender(0);
+        customer.setPrimaryAddress(address);
+
+        return customer;
+    }
+
+    @Benchmark
+    public Object invokeProviderDirectly_short() {
+        return PROVIDER_API.upsert(PROVIDER_CUSTOMER);
+    }
+
+}
@@ -1,6 +1,7 @@
 package gutta.apievolution.jmh.inprocess.dynproxy;
 
 import gutta.apievolution.inprocess.dynproxy.DynamicProxyApiMappingStrategy;
+import gutta.apievolution.inprocess.dynproxy.RecordViewMode;
 import gutta.apievolution.jmh.inprocess.InProcessConversionBenchmarkTemplate;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -15,6 +16,11 @@ public class DynamicProxyConversionBenchmarks extends InProcessConversionBenchma
 
     private static final ConsumerApi CONSUMER_API = createConsumerApi(ConsumerApi.class, new DynamicProxyApiMappingStrategy(),
             "gutta.apievolution.jmh.inprocess.dynproxy");
+
+    private static final ConsumerApi MEMOIZING_CONSUMER_API = createConsumerApi(ConsumerApi.class,
+            new DynamicProxyApiMappingStrategy(RecordViewMode.MEMOIZING), "gutta.apievolution.jmh.inprocess.dynproxy");
+
+    private static final int REPEATED_INSPECTIONS = 5;
     
     private static final ConsumerParameter CONSUMER_PARAMETER = new ConsumerParameterImpl();
     
@@ -54,6 +60,47 @@ public class DynamicProxyConversionBenchmarks extends InProcessConversionBenchma
         result.getStringField10();
     }
     
+    @Benchmark
+    public void invokeAndInspectResult010Repeatedly_short() {
+        ConsumerResult10 result = CONSUMER_API.testMethod10(CONSUMER_PARAMETER);
+
+        for (int inspection = 0; inspection < REPEATED_INSPECTIONS; inspection++) {
+            inspectResult10(result);
+        }
+    }
+
+    @Benchmark
+    public void invokeAndInspectResult010RepeatedlyMemoizing_short() {
+        ConsumerResult10 result = MEMOIZING_CONSUMER_API.testMethod10(CONSUMER_PARAMETER);
+
+        for (int inspection = 0; inspection < REPEATED_INSPECTIONS; inspection++) {
+            inspectResult10(result);
+        }
+    }
+
+    private static void inspectResult10(ConsumerResult10 result) {
+        result.getIntField1();
+        result.getIntField2();
+        result.getIntField3();
+        result.getIntField4();
+        result.getIntField5();
+        result.getIntField6();
+        result.getIntField7();
+        result.getIntField8();
+        result.getIntField9();
+        result.getIntField10();
+        result.getStringField1();
+        result.getStringField2();
+        result.getStringField3();
+        result.getStringField4();
+        result.getStringField5();
+        result.getStringField6();
+        result.getStringField7();
+        result.getStringField8();
+        result.getStringField9();
+        result.getStringField10();
+    }
+
     @Benchmark
     public void invokeResult025_short() {
         CONSUMER_API.testMethod25(CONSUMER_PARAMETER);
@@ -1,6 +1,7 @@
 package gutta.apievolution.jmh.inprocess.objectmapping;
 
 import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.inprocess.objectmapping.MethodHandleApiMappingStrategy;
 import gutta.apievolution.inprocess.objectmapping.ObjectMappingApiMappingStrategy;
 import gutta.apievolution.jmh.inprocess.CustomerExampleInProcessBenchmarkTemplate;
 
@@ -9,5 +10,9 @@ abstract class CustomerExampleObjectMappingBenchmarkTemplate extends CustomerExa
     protected static <T> T createApi(Class<T> apiType, ConsumerApiDefinition consumerApiDefinition) {
         return createApi(apiType, consumerApiDefinition, new ObjectMappingApiMappingStrategy());    
     }
+
+    protected static <T> T createMethodHandleApi(Class<T> apiType, ConsumerApiDefinition consumerApiDefinition) {
+        return createApi(apiType, consumerApiDefinition, new MethodHandleApiMappingStrategy());
+    }
     
 }
@@ -33,10 +33,17 @@ public class ObjectMappingCustomerExampleBenchmarksV1 extends CustomerExampleObj
     }
     
     private static final ConsumerApi CONSUMER_API = createApi(ConsumerApi.class, CONSUMER_API_V1);
+
+    private static final ConsumerApi METHOD_HANDLE_CONSUMER_API = createMethodHandleApi(ConsumerApi.class, CONSUMER_API_V1);
     
     @Benchmark
     public void invokeFromV1Client_short() {
         CONSUMER_API.upsert(CUSTOMER);
     }
+
+    @Benchmark
+    public void invokeFromV1ClientMethodHandle_short() {
+        METHOD_HANDLE_CONSUMER_API.upsert(CUSTOMER);
+    }
     
 }
@@ -27,6 +27,8 @@ import gutta.apievolution.jmh.json.provider.TestMethod500ProviderProxy;
 import gutta.apievolution.jmh.json.provider.TestMethod50ProviderProxy;
 import gutta.apievolution.jmh.json.provider.TestMethod75ProviderProxy;
 import gutta.apievolution.jmh.json.provider.TestMethodEmptyProviderProxy;
+import gutta.apievolution.json.AbstractOperationProxy;
+import gutta.apievolution.json.RewriteMode;
 import gutta.apievolution.json.provider.ProviderOperationProxy;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -47,7 +49,13 @@ public class JSONConversionBenchmarks extends JMHBenchmarkTemplate {
 
     private static final ConsumerParameter CONSUMER_PARAMETER = new ConsumerParameter();
 
+    private static final JsonRequestRouter STREAMING_ROUTER = createRouter(RewriteMode.STREAMING);
+
     private static JsonRequestRouter createRouter() {
+        return createRouter(RewriteMode.TREE);
+    }
+
+    private static JsonRequestRouter createRouter(RewriteMode rewriteMode) {
         ProviderOperationProxy<?, ?>[] proxies = new ProviderOperationProxy<?, ?>[] {
                 new TestMethodEmptyProviderProxy(PROVIDER_REVISION_HISTORY, SUPPORTED_REVISIONS),
                 new TestMethod10ProviderProxy(PROVIDER_REVISION_HISTORY, SUPPORTED_REVISIONS),
@@ -58,6 +66,10 @@ public class JSONConversionBenchmarks extends JMHBenchmarkTemplate {
                 new TestMethod250ProviderProxy(PROVIDER_REVISION_HISTORY, SUPPORTED_REVISIONS),
                 new TestMethod500ProviderProxy(PROVIDER_REVISION_HISTORY, SUPPORTED_REVISIONS) };
 
+        for (ProviderOperationProxy<?, ?> proxy : proxies) {
+            proxy.setRewriteMode(rewriteMode);
+        }
+
         return new JsonRequestRouter(DEFINITION_RESOLUTION, proxies);
     }
 
@@ -77,6 +89,33 @@ public class JSONConversionBenchmarks extends JMHBenchmarkTemplate {
 
     private static final TestMethod500ConsumerProxy TEST_METHOD_500_PROXY = new TestMethod500ConsumerProxy(CONSUMER_API_DEFINITION, ROUTER);
 
+    // Proxies using streaming rewriting
+
+    private static final TestMethod100ConsumerProxy STREAMING_TEST_METHOD_100_PROXY = withRewriteMode(RewriteMode.STREAMING,
+            new TestMethod100ConsumerProxy(CONSUMER_API_DEFINITION, STREAMING_ROUTER));
+
+    private static final TestMethod250ConsumerProxy STREAMING_TEST_METHOD_250_PROXY = withRewriteMode(RewriteMode.STREAMING,
+            new TestMethod250ConsumerProxy(CONSUMER_API_DEFINITION, STREAMING_ROUTER));
+
+    private static final TestMethod500ConsumerProxy STREAMING_TEST_METHOD_500_PROXY = withRewriteMode(RewriteMode.STREAMING,
+            new TestMethod500ConsumerProxy(CONSUMER_API_DEFINITION, STREAMING_ROUTER));
+
+    // Proxies using direct mapping. As providers do not support direct mapping, the streaming router is used
+
+    private static final TestMethod100ConsumerProxy DIRECT_TEST_METHOD_100_PROXY = withRewriteMode(RewriteMode.DIRECT,
+            new TestMethod100ConsumerProxy(CONSUMER_API_DEFINITION, STREAMING_ROUTER));
+
+    private static final TestMethod250ConsumerProxy DIRECT_TEST_METHOD_250_PROXY = withRewriteMode(RewriteMode.DIRECT,
+            new TestMethod250ConsumerProxy(CONSUMER_API_DEFINITION, STREAMING_ROUTER));
+
+    private static final TestMethod500ConsumerProxy DIRECT_TEST_METHOD_500_PROXY = withRewriteMode(RewriteMode.DIRECT,
+            new TestMethod500ConsumerProxy(CONSUMER_API_DEFINITION, STREAMING_ROUTER));
+
+    private static <T extends AbstractOperationProxy<?, ?>> T withRewriteMode(RewriteMode rewriteMode, T proxy) {
+        proxy.setRewriteMode(rewriteMode);
+        return proxy;
+    }
+
     // Objects for JSON mapping
 
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
@@ -194,6 +233,16 @@ public class JSONConversionBenchmarks extends JMHBenchmarkTemplate {
     public void invokeTestMethod100_short() {
         TEST_METHOD_100_PROXY.invokeOperation(CONSUMER_PARAMETER);
     }
+
+    @Benchmark
+    public void invokeTestMethod100Streaming_short() {
+        STREAMING_TEST_METHOD_100_PROXY.invokeOperation(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    public void invokeTestMethod100Direct_short() {
+        DIRECT_TEST_METHOD_100_PROXY.invokeOperation(CONSUMER_PARAMETER);
+    }
     
     @Benchmark
     public void immediateJsonProcessing250_long() throws IOException {
@@ -213,6 +262,16 @@ public class JSONConversionBenchmarks extends JMHBenchmarkTemplate {
     public void invokeTestMethod250_long() {
         TEST_METHOD_250_PROXY.invokeOperation(CONSUMER_PARAMETER);
     }
+
+    @Benchmark
+    public void invokeTestMethod250Streaming_long() {
+        STREAMING_TEST_METHOD_250_PROXY.invokeOperation(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    public void invokeTestMethod250Direct_long() {
+        DIRECT_TEST_METHOD_250_PROXY.invokeOperation(CONSUMER_PARAMETER);
+    }
     
     @Benchmark
     public void immediateJsonProcessing500_long() throws IOException {
@@ -233,4 +292,14 @@ public class JSONConversionBenchmarks extends JMHBenchmarkTemplate {
         TEST_METHOD_500_PROXY.invokeOperation(CONSUMER_PARAMETER);
     }
 
+    @Benchmark
+    public void invokeTestMethod500Streaming_long() {
+        STREAMING_TEST_METHOD_500_PROXY.invokeOperation(CONSUMER_PARAMETER);
+    }
+
+    @Benchmark
+    public void invokeTestMethod500Direct_long() {
+        DIRECT_TEST_METHOD_500_PROXY.invokeOperation(CONSUMER_PARAMETER);
+    }
+
 }
@@ -0,0 +1,73 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class FixedFormatAllocationBenchmarksTest {
+
+    private static final int WARMUP_ITERATIONS = 20000;
+
+    private static final int MEASUREMENT_ITERATIONS = 10000;
+
+    /**
+     * Upper bound for the bytes allocated during all measurement iterations. This tolerates incidental allocations by the measurement or the JVM, but
+     * is exceeded by even the smallest object allocated per operation.
+     */
+    private static final long MAX_ALLOCATED_BYTES = 4096;
+
+    @Test
+    void invocationTests() {
+        FixedFormatAllocationBenchmarks benchmarks = new FixedFormatAllocationBenchmarks();
+
+        benchmarks.resultConversionAllocation010();
+        benchmarks.resultConversionAllocation025();
+        benchmarks.resultConversionAllocation050();
+        benchmarks.resultConversionAllocation075();
+        benchmarks.resultConversionAllocation100();
+        benchmarks.resultConversionAllocation250();
+        benchmarks.resultConversionAllocation500();
+    }
+
+    /**
+     * Test case: The mapping interpreter does not allocate any memory per operation (after warmup).
+     */
+    @Test
+    void noAllocationPerOperation() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+
+        FixedFormatAllocationBenchmarks benchmarks = new FixedFormatAllocationBenchmarks();
+
+        assertAllocationBelowBound(threadBean, benchmarks::resultConversionAllocation010);
+        assertAllocationBelowBound(threadBean, benchmarks::resultConversionAllocation025);
+        assertAllocationBelowBound(threadBean, benchmarks::resultConversionAllocation050);
+        assertAllocationBelowBound(threadBean, benchmarks::resultConversionAllocation075);
+        assertAllocationBelowBound(threadBean, benchmarks::resultConversionAllocation100);
+        assertAllocationBelowBound(threadBean, benchmarks::resultConversionAllocation250);
+        assertAllocationBelowBound(threadBean, benchmarks::resultConversionAllocation500);
+    }
+
+    private static void assertAllocationBelowBound(com.sun.management.ThreadMXBean threadBean, Runnable operation) {
+        for (int iteration = 0; iteration < WARMUP_ITERATIONS; iteration++) {
+            operation.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long allocatedBytesBefore = threadBean.getThreadAllocatedBytes(threadId);
+
+        for (int iteration = 0; iteration < MEASUREMENT_ITERATIONS; iteration++) {
+            operation.run();
+        }
+
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBytesBefore;
+
+        assertTrue(allocatedBytes <= MAX_ALLOCATED_BYTES,
+                () -> allocatedBytes + " bytes allocated in " + MEASUREMENT_ITERATIONS + " operations, expected at most " + MAX_ALLOCATED_BYTES + ".");
+    }
+
+}
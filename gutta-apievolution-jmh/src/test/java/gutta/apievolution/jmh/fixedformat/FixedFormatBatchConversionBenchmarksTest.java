@@ -0,0 +1,32 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import gutta.apievolution.jmh.fixedformat.FixedFormatBatchConversionBenchmarks.ThroughputCounters;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FixedFormatBatchConversionBenchmarksTest {
+
+    @Test
+    void invocationTests() throws IOException {
+        FixedFormatBatchConversionBenchmarks benchmarks = new FixedFormatBatchConversionBenchmarks();
+        benchmarks.numberOfRecords = 1000;
+        benchmarks.setUp();
+
+        ThroughputCounters counters = new ThroughputCounters();
+
+        try {
+            assertEquals(1000, benchmarks.channelConversion_sequential(counters));
+            assertEquals(1000, benchmarks.channelConversion_parallel(counters));
+            assertEquals(1000, benchmarks.mappedFileConversion_sequential(counters));
+            assertEquals(1000, benchmarks.mappedFileConversion_parallel(counters));
+        } finally {
+            benchmarks.tearDown();
+        }
+
+        assertEquals(4000, counters.records);
+    }
+
+}
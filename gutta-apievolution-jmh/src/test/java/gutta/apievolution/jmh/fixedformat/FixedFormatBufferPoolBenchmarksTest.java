@@ -0,0 +1,19 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import org.junit.jupiter.api.Test;
+
+class FixedFormatBufferPoolBenchmarksTest {
+
+    @Test
+    void invocationTests() {
+        for (String poolType : new String[] { "unpooled", "threadLocal", "striped" }) {
+            FixedFormatBufferPoolBenchmarks benchmarks = new FixedFormatBufferPoolBenchmarks();
+            benchmarks.poolType = poolType;
+            benchmarks.setUp();
+
+            benchmarks.invokeTestMethod100();
+            benchmarks.invokeTestMethod500();
+        }
+    }
+
+}
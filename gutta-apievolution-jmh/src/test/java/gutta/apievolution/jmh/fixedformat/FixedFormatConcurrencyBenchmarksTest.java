@@ -0,0 +1,19 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import org.junit.jupiter.api.Test;
+
+class FixedFormatConcurrencyBenchmarksTest {
+
+    @Test
+    void invocationTests() {
+        FixedFormatConcurrencyBenchmarks benchmarks = new FixedFormatConcurrencyBenchmarks();
+
+        benchmarks.invokeTestMethod010_singleThread();
+        benchmarks.invokeTestMethod010_allThreads();
+        benchmarks.invokeTestMethod100_singleThread();
+        benchmarks.invokeTestMethod100_allThreads();
+        benchmarks.invokeTestMethod500_singleThread();
+        benchmarks.invokeTestMethod500_allThreads();
+    }
+
+}
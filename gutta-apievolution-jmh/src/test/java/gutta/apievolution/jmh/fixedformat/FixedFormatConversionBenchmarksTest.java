@@ -10,18 +10,27 @@ class FixedFormatConversionBenchmarksTest {
         
         benchmarks.invokeEmptyResult_short();
         benchmarks.resultConversionOnly010_short();
+        benchmarks.compiledResultConversionOnly010_short();
         benchmarks.invokeTestMethod010_short();
         benchmarks.resultConversionOnly025_short();
+        benchmarks.compiledResultConversionOnly025_short();
         benchmarks.invokeTestMethod025_short();
         benchmarks.resultConversionOnly050_short();
+        benchmarks.compiledResultConversionOnly050_short();
         benchmarks.invokeTestMethod050_short();
         benchmarks.resultConversionOnly075_short();
+        benchmarks.compiledResultConversionOnly075_short();
         benchmarks.invokeTestMethod075_short();
         benchmarks.resultConversionOnly100_short();
+        benchmarks.compiledResultConversionOnly100_short();
+        benchmarks.optimizedResultConversionOnly100_short();
         benchmarks.invokeTestMethod100_short();
         benchmarks.resultConversionOnly250_long();
+        benchmarks.compiledResultConversionOnly250_long();
         benchmarks.invokeTestMethod250_long();
         benchmarks.resultConversionOnly500_long();
+        benchmarks.compiledResultConversionOnly500_long();
+        benchmarks.optimizedResultConversionOnly500_long();
         benchmarks.invokeTestMethod500_long();
     }
 
@@ -0,0 +1,21 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import org.junit.jupiter.api.Test;
+
+class FixedFormatListConversionBenchmarksTest {
+
+    @Test
+    void invocationTests() {
+        FixedFormatListConversionBenchmarks benchmarks = new FixedFormatListConversionBenchmarks();
+
+        benchmarks.intListConversion_full();
+        benchmarks.compiledIntListConversion_full();
+        benchmarks.intListConversion_half();
+        benchmarks.compiledIntListConversion_half();
+        benchmarks.stringListConversion_full();
+        benchmarks.compiledStringListConversion_full();
+        benchmarks.stringListConversion_half();
+        benchmarks.compiledStringListConversion_half();
+    }
+
+}
@@ -0,0 +1,21 @@
+package gutta.apievolution.jmh.fixedformat;
+
+import org.junit.jupiter.api.Test;
+
+class FixedFormatObjectMappingBenchmarksTest {
+
+    @Test
+    void invocationTests() {
+        FixedFormatObjectMappingBenchmarks benchmarks = new FixedFormatObjectMappingBenchmarks();
+
+        benchmarks.writeResult100_reflective();
+        benchmarks.writeResult100_generated();
+        benchmarks.readResult100_reflective();
+        benchmarks.readResult100_generated();
+        benchmarks.writeResult500_reflective();
+        benchmarks.writeResult500_generated();
+        benchmarks.readResult500_reflective();
+        benchmarks.readResult500_generated();
+    }
+
+}
@@ -0,0 +1,17 @@
+package gutta.apievolution.jmh.inprocess;
+
+import org.junit.jupiter.api.Test;
+
+class DirectInvocationBenchmarksTest {
+
+    /**
+     * Make sure that the benchmark methods are invokable without errors.
+     */
+    @Test
+    void invocationTests() {
+        DirectInvocationBenchmarks benchmarks = new DirectInvocationBenchmarks();
+
+        benchmarks.invokeProviderDirectly_short();
+    }
+
+}
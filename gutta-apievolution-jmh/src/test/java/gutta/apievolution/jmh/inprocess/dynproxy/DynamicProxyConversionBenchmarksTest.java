@@ -14,6 +14,8 @@ class DynamicProxyConversionBenchmarksTest {
         benchmarks.invokeEmptyResult_short();
         benchmarks.invokeResult010_short();
         benchmarks.invokeAndInspectResult010_short();
+        benchmarks.invokeAndInspectResult010Repeatedly_short();
+        benchmarks.invokeAndInspectResult010RepeatedlyMemoizing_short();
         benchmarks.invokeResult025_short();
         benchmarks.invokeAndInspectResult025_short();
         benchmarks.invokeResult050_short();
@@ -16,6 +16,7 @@ class ObjectMappingCustomerExampleBenchmarksV1Test {
         ObjectMappingCustomerExampleBenchmarksV1 benchmarks = new ObjectMappingCustomerExampleBenchmarksV1();
         
         benchmarks.invokeFromV1Client_short();        
+        benchmarks.invokeFromV1ClientMethodHandle_short();
     }
 
 }
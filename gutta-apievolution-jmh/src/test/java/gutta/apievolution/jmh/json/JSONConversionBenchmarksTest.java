@@ -39,6 +39,14 @@ class JSONConversionBenchmarksTest {
         benchmarks.invokeTestMethod100_short();
         benchmarks.invokeTestMethod250_long();
         benchmarks.invokeTestMethod500_long();
+
+        benchmarks.invokeTestMethod100Streaming_short();
+        benchmarks.invokeTestMethod250Streaming_long();
+        benchmarks.invokeTestMethod500Streaming_long();
+
+        benchmarks.invokeTestMethod100Direct_short();
+        benchmarks.invokeTestMethod250Direct_long();
+        benchmarks.invokeTestMethod500Direct_long();
     }
     
 }
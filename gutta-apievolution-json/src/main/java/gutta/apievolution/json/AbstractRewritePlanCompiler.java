@@ -0,0 +1,285 @@
+package gutta.apievolution.json;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import gutta.apievolution.core.apimodel.AtomicType;
+import gutta.apievolution.core.apimodel.BoundedListType;
+import gutta.apievolution.core.apimodel.BoundedStringType;
+import gutta.apievolution.core.apimodel.EnumMember;
+import gutta.apievolution.core.apimodel.EnumType;
+import gutta.apievolution.core.apimodel.Field;
+import gutta.apievolution.core.apimodel.ListType;
+import gutta.apievolution.core.apimodel.NumericType;
+import gutta.apievolution.core.apimodel.RecordType;
+import gutta.apievolution.core.apimodel.Type;
+import gutta.apievolution.core.apimodel.TypeVisitor;
+import gutta.apievolution.core.apimodel.UnboundedListType;
+import gutta.apievolution.core.apimodel.UnboundedStringType;
+import gutta.apievolution.json.RewritePlan.EnumPlan;
+import gutta.apievolution.json.RewritePlan.FieldPlan;
+import gutta.apievolution.json.RewritePlan.ListPlan;
+import gutta.apievolution.json.RewritePlan.RecordPlan;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Abstract supertype for compilers that create {@linkplain RewritePlan rewrite plans} from the API model. Each compiler is bound to a specific
+ * API definition or resolution and caches the plans it creates, so that each type is only compiled once. Compilers are thread-safe; compilation
+ * itself is serialized, but cached plans can be obtained without locking.
+ */
+public abstract class AbstractRewritePlanCompiler implements TypeVisitor<RewritePlan> {
+
+    private final ConcurrentMap<String, RecordPlan> recordPlans = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, RecordPlan> typeIdPlans = new ConcurrentHashMap<>();
+
+    private Map<Type, RewritePlan> pendingPlans;
+
+    /**
+     * Determines whether the representation of the given type requires a type identifier.
+     *
+     * @param type The type to inspect
+     * @return {@code True} if a type identifier is required, {@code false} otherwise
+     */
+    protected static boolean requiresTypeIdentifier(RecordType<?, ?, ?> type) {
+        return (type.hasSuperTypes() || type.hasSubTypes() || type.isException());
+    }
+
+    /**
+     * Returns the plan for the given record type, compiling it if necessary.
+     *
+     * @param recordType The record type to obtain the plan for
+     * @return The plan for the given type
+     */
+    public RecordPlan planFor(RecordType<?, ?, ?> recordType) {
+        RecordPlan plan = this.recordPlans.get(recordType.getInternalName());
+        return (plan != null) ? plan : this.compilePlan(recordType);
+    }
+
+    /**
+     * Returns the plan for the record type with the given type identifier, compiling it if necessary.
+     *
+     * @param typeId The type identifier as it occurs in the source representation
+     * @return The plan for the identified type or {@code null} if the identifier cannot be resolved
+     */
+    RecordPlan planForTypeId(String typeId) {
+        RecordPlan plan = this.typeIdPlans.get(typeId);
+        if (plan != null) {
+            return plan;
+        }
+
+        RecordType<?, ?, ?> recordType = this.resolveTypeId(typeId);
+        if (recordType == null) {
+            return null;
+        }
+
+        plan = this.planFor(recordType);
+        this.typeIdPlans.putIfAbsent(typeId, plan);
+        return plan;
+    }
+
+    private synchronized RecordPlan compilePlan(RecordType<?, ?, ?> recordType) {
+        // Another thread may have compiled the plan in the meantime
+        RecordPlan existingPlan = this.recordPlans.get(recordType.getInternalName());
+        if (existingPlan != null) {
+            return existingPlan;
+        }
+
+        this.pendingPlans = new IdentityHashMap<>();
+        try {
+            RecordPlan plan = (RecordPlan) recordType.accept(this);
+
+            // Publish all record plans created during this compilation, as they are complete now
+            for (Map.Entry<Type, RewritePlan> entry : this.pendingPlans.entrySet()) {
+                if (entry.getKey() instanceof RecordType) {
+                    RecordType<?, ?, ?> compiledType = (RecordType<?, ?, ?>) entry.getKey();
+                    this.recordPlans.putIfAbsent(compiledType.getInternalName(), (RecordPlan) entry.getValue());
+                }
+            }
+
+            return plan;
+        } finally {
+            this.pendingPlans = null;
+        }
+    }
+
+    /**
+     * Creates an (empty) plan for the given record type. The field plans are added by the compiler afterwards.
+     *
+     * @param recordType The record type to create the plan for
+     * @return The created plan
+     */
+    protected abstract RecordPlan createRecordPlan(RecordType<?, ?, ?> recordType);
+
+    /**
+     * Returns the fields of the given record type that are to be rewritten. By default, these are all fields including inherited ones.
+     *
+     * @param recordType The record type whose fields are to be returned
+     * @return see above
+     */
+    protected Iterable<? extends Field<?, ?>> fieldsToRewrite(RecordType<?, ?, ?> recordType) {
+        return recordType;
+    }
+
+    /**
+     * Returns the name of the given field in the source representation.
+     *
+     * @param field The field to determine the name for
+     * @return The name of the field or {@code null} if the field is not present in the source representation
+     */
+    protected abstract String sourceFieldName(Field<?, ?> field);
+
+    /**
+     * Returns the name of the given field in the target representation.
+     *
+     * @param field The field to determine the name for
+     * @return The name of the field or {@code null} if the field is not present in the target representation
+     */
+    protected abstract String targetFieldName(Field<?, ?> field);
+
+    /**
+     * Returns the name of the given enum member in the source representation.
+     *
+     * @param member The member to determine the name for
+     * @return see above
+     */
+    protected abstract String sourceMemberName(EnumMember<?, ?> member);
+
+    /**
+     * Returns the name of the given enum member in the target representation.
+     *
+     * @param member The member to determine the name for
+     * @return see above
+     */
+    protected abstract String targetMemberName(EnumMember<?, ?> member);
+
+    /**
+     * Resolves the given type identifier from the source representation to a record type.
+     *
+     * @param typeId The type identifier to resolve
+     * @return The resolved type or {@code null} if no matching record type exists
+     */
+    protected abstract RecordType<?, ?, ?> resolveTypeId(String typeId);
+
+    @Override
+    public RewritePlan handleRecordType(RecordType<?, ?, ?> recordType) {
+        RewritePlan existingPlan = this.recordPlans.get(recordType.getInternalName());
+        if (existingPlan == null) {
+            existingPlan = this.pendingPlans.get(recordType);
+        }
+        if (existingPlan != null) {
+            return existingPlan;
+        }
+
+        // Register the plan before compiling the fields to support recursive types
+        RecordPlan plan = this.createRecordPlan(recordType);
+        plan.setPolymorphic(recordType.hasSubTypes());
+        this.pendingPlans.put(recordType, plan);
+
+        List<FieldPlan> fieldPlans = new ArrayList<>();
+        for (Field<?, ?> field : this.fieldsToRewrite(recordType)) {
+            String sourceName = this.sourceFieldName(field);
+            String targetName = this.targetFieldName(field);
+
+            if (sourceName != null && targetName != null) {
+                fieldPlans.add(new FieldPlan(sourceName, targetName, field.getType().accept(this)));
+            }
+        }
+
+        plan.setFieldPlans(fieldPlans.toArray(new FieldPlan[0]));
+        return plan;
+    }
+
+    @Override
+    public RewritePlan handleEnumType(EnumType<?, ?, ?> enumType) {
+        RewritePlan existingPlan = this.pendingPlans.get(enumType);
+        if (existingPlan != null) {
+            return existingPlan;
+        }
+
+        Map<String, TextNode> memberMap = new HashMap<>();
+        for (EnumMember<?, ?> member : enumType) {
+            memberMap.put(this.sourceMemberName(member), new TextNode(this.targetMemberName(member)));
+        }
+
+        EnumPlan plan = new EnumPlan(memberMap);
+        this.pendingPlans.put(enumType, plan);
+        return plan;
+    }
+
+    private RewritePlan handleListType(ListType listType) {
+        ListPlan plan = new ListPlan();
+        plan.setElementPlan(listType.getElementType().accept(this));
+        return plan;
+    }
+
+    @Override
+    public RewritePlan handleBoundedListType(BoundedListType boundedListType) {
+        return this.handleListType(boundedListType);
+    }
+
+    @Override
+    public RewritePlan handleUnboundedListType(UnboundedListType unboundedListType) {
+        return this.handleListType(unboundedListType);
+    }
+
+    @Override
+    public RewritePlan handleAtomicType(AtomicType atomicType) {
+        return RewritePlan.IDENTITY;
+    }
+
+    @Override
+    public RewritePlan handleNumericType(NumericType numericType) {
+        return RewritePlan.IDENTITY;
+    }
+
+    @Override
+    public RewritePlan handleBoundedStringType(BoundedStringType boundedStringType) {
+        return RewritePlan.IDENTITY;
+    }
+
+    @Override
+    public RewritePlan handleUnboundedStringType(UnboundedStringType unboundedStringType) {
+        return RewritePlan.IDENTITY;
+    }
+
+    /**
+     * Abstract supertype for compilers of plans that rewrite an internal representation to a public representation.
+     */
+    public abstract static class AbstractInternalToPublicPlanCompiler extends AbstractRewritePlanCompiler {
+
+        @Override
+        protected String sourceMemberName(EnumMember<?, ?> member) {
+            return member.getInternalName();
+        }
+
+        @Override
+        protected String targetMemberName(EnumMember<?, ?> member) {
+            return member.getPublicName();
+        }
+
+    }
+
+    /**
+     * Abstract supertype for compilers of plans that rewrite a public representation to an internal representation.
+     */
+    public abstract static class AbstractPublicToInternalPlanCompiler extends AbstractRewritePlanCompiler {
+
+        @Override
+        protected String sourceMemberName(EnumMember<?, ?> member) {
+            return member.getPublicName();
+        }
+
+        @Override
+        protected String targetMemberName(EnumMember<?, ?> member) {
+            return member.getInternalName();
+        }
+
+    }
+
+}
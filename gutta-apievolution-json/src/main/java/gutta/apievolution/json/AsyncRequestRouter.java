@@ -0,0 +1,21 @@
+package gutta.apievolution.json;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Interface for request routers that, in addition to synchronous invocations, support invocations that do not block the calling thread.
+ */
+public interface AsyncRequestRouter extends RequestRouter {
+
+    /**
+     * Invokes an operation given by its name using the given data without blocking the calling thread.
+     * 
+     * @param consumerApiId      The consumer API used for the request
+     * @param referencedRevision The provider revision referenced by the consumer API
+     * @param operationName      The name of the operation to invoke
+     * @param requestJson        The request in JSON format (conforming to the consumer API definition)
+     * @return A completion stage that is completed with the result in JSON format (conforming to the consumer API definition)
+     */
+    CompletionStage<byte[]> invokeOperationAsync(String consumerApiId, int referencedRevision, String operationName, byte[] requestJson);
+
+}
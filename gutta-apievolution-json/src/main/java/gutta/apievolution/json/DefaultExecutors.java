@@ -0,0 +1,39 @@
+package gutta.apievolution.json;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Provides the default executor for asynchronous invocations. If the runtime supports virtual threads, each task is run on a virtual thread of
+ * its own, so that tasks waiting for a response do not occupy a platform thread. Otherwise, the common fork-join pool is used.
+ */
+public class DefaultExecutors {
+
+    private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
+    private DefaultExecutors() {
+        // Utility class
+    }
+
+    private static Executor createDefaultExecutor() {
+        try {
+            // Virtual threads are only available from Java 21 onwards, so the executor is created reflectively
+            Method factoryMethod = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) factoryMethod.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return ForkJoinPool.commonPool();
+        }
+    }
+
+    /**
+     * Returns the default executor for asynchronous invocations.
+     * 
+     * @return see above
+     */
+    public static Executor defaultExecutor() {
+        return DEFAULT_EXECUTOR;
+    }
+
+}
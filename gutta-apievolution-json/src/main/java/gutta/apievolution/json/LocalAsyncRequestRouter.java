@@ -0,0 +1,48 @@
+package gutta.apievolution.json;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * Asynchronous request router that serves as a local, in-JVM transport. Requests are passed to a synchronous router, e.g., a
+ * {@link SimpleJsonRequestRouter}, on a given executor, thus standing in for the network between consumer and provider.
+ */
+public class LocalAsyncRequestRouter implements AsyncRequestRouter {
+
+    private final RequestRouter delegate;
+
+    private final Executor executor;
+
+    /**
+     * Creates a new router that passes requests to the given router on the {@linkplain DefaultExecutors#defaultExecutor() default executor}.
+     * 
+     * @param delegate The router to pass the requests to
+     */
+    public LocalAsyncRequestRouter(RequestRouter delegate) {
+        this(delegate, DefaultExecutors.defaultExecutor());
+    }
+
+    /**
+     * Creates a new router that passes requests to the given router on the given executor.
+     * 
+     * @param delegate The router to pass the requests to
+     * @param executor The executor to handle the requests on
+     */
+    public LocalAsyncRequestRouter(RequestRouter delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public byte[] invokeOperation(String consumerApiId, int referencedRevision, String operationName, byte[] requestJson) {
+        return this.delegate.invokeOperation(consumerApiId, referencedRevision, operationName, requestJson);
+    }
+
+    @Override
+    public CompletionStage<byte[]> invokeOperationAsync(String consumerApiId, int referencedRevision, String operationName, byte[] requestJson) {
+        return CompletableFuture.supplyAsync(() -> this.delegate.invokeOperation(consumerApiId, referencedRevision, operationName, requestJson),
+                this.executor);
+    }
+
+}
@@ -0,0 +1,27 @@
+package gutta.apievolution.json;
+
+/**
+ * Enumeration of the modes in which operation proxies rewrite JSON representations.
+ */
+public enum RewriteMode {
+
+    /**
+     * The representation is materialized as a tree of JSON nodes, which is then rewritten. This is the default mode.
+     */
+    TREE,
+
+    /**
+     * The representation is rewritten token by token from a parser directly to a generator. Records are only materialized if a polymorphic type
+     * identifier cannot be determined from the first property of the record. In this mode, missing fields are omitted from the rewritten
+     * representation rather than being written as explicit {@code null} values.
+     */
+    STREAMING,
+
+    /**
+     * The internal representation is serialized directly to the public representation and vice versa, using serializers derived from the API
+     * definition, so that no rewriting takes place at all. Responses that cannot be deserialized directly, e.g. due to unrepresentable values, are
+     * rewritten as in {@link #TREE} mode. This mode is only supported by consumer proxies; provider proxies use {@link #TREE} mode instead.
+     */
+    DIRECT
+
+}
@@ -0,0 +1,414 @@
+package gutta.apievolution.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A rewrite plan describes how the JSON representation of a specific type is rewritten, e.g., from internal to public names. Rewrite plans are
+ * compiled once per type by an {@link AbstractRewritePlanCompiler}, so that executing a plan does not require any lookups in the API model. Plans
+ * are immutable after compilation and may therefore be shared between threads.
+ * <p>
+ * Each plan can either be executed on a tree of JSON nodes or in streaming mode, i.e., by reading tokens from a parser and writing the rewritten
+ * tokens directly to a generator (see {@link RewriteMode}).
+ */
+public abstract class RewritePlan {
+
+    static final String TYPE_PROPERTY_NAME = "@type";
+
+    /**
+     * Plan for types whose representation does not need to be rewritten, such as numeric or string types.
+     */
+    static final RewritePlan IDENTITY = new IdentityPlan();
+
+    /**
+     * Executes this plan on the given representation.
+     *
+     * @param representation The representation to rewrite, must not be {@code null}
+     * @param handler        The handler to invoke if an unrepresentable value is encountered
+     * @return The rewritten representation
+     */
+    public abstract JsonNode execute(JsonNode representation, UnrepresentableValueHandler handler);
+
+    /**
+     * Executes this plan in streaming mode. The parser must be positioned at the first token of the value to rewrite, and is positioned at the
+     * last token of the value afterwards.
+     *
+     * @param parser    The parser to read the source representation from
+     * @param generator The generator to write the rewritten representation to
+     * @param handler   The handler to invoke if an unrepresentable value is encountered
+     * @throws IOException If an error occurs while reading or writing JSON
+     */
+    public abstract void stream(JsonParser parser, JsonGenerator generator, UnrepresentableValueHandler handler) throws IOException;
+
+    /**
+     * Executes this plan on the given representation, which may be missing, i.e., {@code null}. A missing representation is treated like an
+     * explicit {@code null} value.
+     *
+     * @param representation The representation to rewrite, may be {@code null}
+     * @param handler        The handler to invoke if an unrepresentable value is encountered
+     * @return The rewritten representation
+     */
+    public JsonNode executeOnOptionalValue(JsonNode representation, UnrepresentableValueHandler handler) {
+        return this.execute((representation == null) ? NullNode.getInstance() : representation, handler);
+    }
+
+    /**
+     * Handler that is invoked when a plan encounters a value that cannot be represented in the target representation.
+     */
+    @FunctionalInterface
+    public interface UnrepresentableValueHandler {
+
+        /**
+         * Handles the given unrepresentable value, either by throwing an exception or by returning a replacement node.
+         *
+         * @param value The unrepresentable value
+         * @return The node to replace the unrepresentable value with
+         */
+        JsonNode onUnrepresentableValue(JsonNode value);
+
+    }
+
+    private static class IdentityPlan extends RewritePlan {
+
+        @Override
+        public JsonNode execute(JsonNode representation, UnrepresentableValueHandler handler) {
+            return representation;
+        }
+
+        @Override
+        public void stream(JsonParser parser, JsonGenerator generator, UnrepresentableValueHandler handler) throws IOException {
+            generator.copyCurrentStructure(parser);
+        }
+
+    }
+
+    /**
+     * Plan for enum types, which maps the member names using a precomputed table.
+     */
+    static class EnumPlan extends RewritePlan {
+
+        private final Map<String, TextNode> memberMap;
+
+        EnumPlan(Map<String, TextNode> memberMap) {
+            this.memberMap = memberMap;
+        }
+
+        @Override
+        public JsonNode execute(JsonNode representation, UnrepresentableValueHandler handler) {
+            if (representation.isNull()) {
+                return NullNode.getInstance();
+            }
+
+            TextNode mappedMember = this.memberMap.get(representation.asText());
+            return (mappedMember != null) ? mappedMember : handler.onUnrepresentableValue(representation);
+        }
+
+        @Override
+        public void stream(JsonParser parser, JsonGenerator generator, UnrepresentableValueHandler handler) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                generator.writeNull();
+                return;
+            }
+
+            String value = parser.getText();
+            TextNode mappedMember = this.memberMap.get(value);
+            if (mappedMember != null) {
+                generator.writeString(mappedMember.textValue());
+            } else {
+                generator.writeTree(handler.onUnrepresentableValue(new TextNode(value)));
+            }
+        }
+
+    }
+
+    /**
+     * Plan for list types, which applies the element plan to each element of the list.
+     */
+    static class ListPlan extends RewritePlan {
+
+        private RewritePlan elementPlan;
+
+        void setElementPlan(RewritePlan elementPlan) {
+            this.elementPlan = elementPlan;
+        }
+
+        @Override
+        public JsonNode execute(JsonNode representation, UnrepresentableValueHandler handler) {
+            if (representation.isNull()) {
+                return representation;
+            }
+
+            RewritePlan plan = this.elementPlan;
+            ArrayNode rewrittenArrayNode = JsonNodeFactory.instance.arrayNode(representation.size());
+            for (JsonNode element : representation) {
+                rewrittenArrayNode.add(plan.execute(element, handler));
+            }
+
+            return rewrittenArrayNode;
+        }
+
+        @Override
+        public void stream(JsonParser parser, JsonGenerator generator, UnrepresentableValueHandler handler) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                generator.writeNull();
+                return;
+            }
+
+            RewritePlan plan = this.elementPlan;
+            generator.writeStartArray();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                plan.stream(parser, generator, handler);
+            }
+            generator.writeEndArray();
+        }
+
+    }
+
+    /**
+     * Plan for a single field of a record, consisting of the source and target names of the field and the plan for its value.
+     */
+    public static final class FieldPlan {
+
+        /**
+         * The name of the field in the source representation.
+         */
+        public final String sourceName;
+
+        /**
+         * The name of the field in the target representation.
+         */
+        public final String targetName;
+
+        /**
+         * The plan for rewriting the field's value.
+         */
+        public final RewritePlan valuePlan;
+
+        FieldPlan(String sourceName, String targetName, RewritePlan valuePlan) {
+            this.sourceName = sourceName;
+            this.targetName = targetName;
+            this.valuePlan = valuePlan;
+        }
+
+    }
+
+    /**
+     * Abstract supertype for plans for record types. If a representation carries a type identifier, it is rewritten using the plan of the
+     * identified (sub)type, which is determined by the compiler and cached afterwards.
+     */
+    public abstract static class RecordPlan extends RewritePlan {
+
+        private final AbstractRewritePlanCompiler compiler;
+
+        private final TextNode typeIdentifier;
+
+        private FieldPlan[] fieldPlans;
+
+        private Map<String, FieldPlan> fieldPlansBySourceName;
+
+        private boolean polymorphic;
+
+        /**
+         * Creates a new record plan.
+         *
+         * @param compiler       The compiler that created this plan, which is used to resolve type identifiers
+         * @param typeIdentifier The type identifier to write to the target representation, {@code null} if no identifier is required
+         */
+        protected RecordPlan(AbstractRewritePlanCompiler compiler, String typeIdentifier) {
+            this.compiler = compiler;
+            this.typeIdentifier = (typeIdentifier == null) ? null : new TextNode(typeIdentifier);
+        }
+
+        void setFieldPlans(FieldPlan[] fieldPlans) {
+            Map<String, FieldPlan> plansBySourceName = new HashMap<>(fieldPlans.length * 2);
+            for (FieldPlan fieldPlan : fieldPlans) {
+                plansBySourceName.put(fieldPlan.sourceName, fieldPlan);
+            }
+
+            this.fieldPlans = fieldPlans;
+            this.fieldPlansBySourceName = plansBySourceName;
+        }
+
+        void setPolymorphic(boolean polymorphic) {
+            this.polymorphic = polymorphic;
+        }
+
+        /**
+         * Returns the plans for the fields of the record.
+         *
+         * @return see above
+         */
+        protected FieldPlan[] getFieldPlans() {
+            return this.fieldPlans;
+        }
+
+        @Override
+        public final JsonNode execute(JsonNode representation, UnrepresentableValueHandler handler) {
+            if (representation.isNull()) {
+                return NullNode.getInstance();
+            }
+
+            ObjectNode objectNode = (ObjectNode) representation;
+            JsonNode typeIdNode = objectNode.get(TYPE_PROPERTY_NAME);
+
+            if (typeIdNode == null || !typeIdNode.isTextual()) {
+                // If no type ID is present, perform a monomorphic or mono-to-poly mapping
+                return this.rewriteRecord(objectNode, handler);
+            }
+
+            // If a specific type ID is present, the actual type may be a subtype of the formal type
+            String typeId = typeIdNode.asText();
+            RecordPlan actualPlan = this.compiler.planForTypeId(typeId);
+            if (actualPlan == null) {
+                return this.onUnknownTypeId(typeId, objectNode, handler);
+            }
+
+            return actualPlan.rewriteRecord(objectNode, handler);
+        }
+
+        @Override
+        public final void stream(JsonParser parser, JsonGenerator generator, UnrepresentableValueHandler handler) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                generator.writeNull();
+                return;
+            }
+
+            if (parser.nextToken() != JsonToken.FIELD_NAME) {
+                // Empty object
+                this.streamRecord(parser, generator, handler);
+                return;
+            }
+
+            String firstFieldName = parser.currentName();
+            JsonNode bufferedTypeId = null;
+
+            if (TYPE_PROPERTY_NAME.equals(firstFieldName)) {
+                // If the type ID is the first property, the actual plan can be determined without lookahead
+                if (parser.nextToken() == JsonToken.VALUE_STRING) {
+                    RecordPlan actualPlan = this.compiler.planForTypeId(parser.getText());
+
+                    if (actualPlan != null) {
+                        parser.nextToken();
+                        actualPlan.streamRecord(parser, generator, handler);
+                        return;
+                    }
+                }
+
+                bufferedTypeId = parser.readValueAsTree();
+                parser.nextToken();
+            } else if (!this.polymorphic && this.fieldPlansBySourceName.containsKey(firstFieldName)) {
+                // If the formal type is not polymorphic, a type ID (if any) is irrelevant
+                this.streamRecord(parser, generator, handler);
+                return;
+            }
+
+            // Otherwise, the record is buffered and rewritten as a tree, as a type ID or other special property may occur anywhere in the object
+            ObjectNode bufferedNode = JsonNodeFactory.instance.objectNode();
+            if (bufferedTypeId != null) {
+                bufferedNode.set(TYPE_PROPERTY_NAME, bufferedTypeId);
+            }
+
+            while (parser.currentToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+                bufferedNode.set(fieldName, parser.readValueAsTree());
+                parser.nextToken();
+            }
+
+            generator.writeTree(this.execute(bufferedNode, handler));
+        }
+
+        /**
+         * Streams the fields of a record according to this plan. The parser must be positioned at the name of the first field to process or at the
+         * end of the object.
+         *
+         * @param parser    The parser to read the source representation from
+         * @param generator The generator to write the rewritten representation to
+         * @param handler   The handler to invoke if an unrepresentable value is encountered
+         * @throws IOException If an error occurs while reading or writing JSON
+         */
+        private void streamRecord(JsonParser parser, JsonGenerator generator, UnrepresentableValueHandler handler) throws IOException {
+            generator.writeStartObject();
+            if (this.typeIdentifier != null) {
+                generator.writeFieldName(TYPE_PROPERTY_NAME);
+                generator.writeString(this.typeIdentifier.textValue());
+            }
+
+            for (JsonToken token = parser.currentToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String fieldName = parser.currentName();
+                parser.nextToken();
+
+                FieldPlan fieldPlan = this.fieldPlansBySourceName.get(fieldName);
+                if (fieldPlan != null) {
+                    generator.writeFieldName(fieldPlan.targetName);
+                    fieldPlan.valuePlan.stream(parser, generator, handler);
+                } else if (TYPE_PROPERTY_NAME.equals(fieldName)) {
+                    // The type ID has already been written
+                    parser.skipChildren();
+                } else {
+                    this.streamUnmappedField(fieldName, parser, generator);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        /**
+         * Handles a property of the source representation for which no field plan exists. The parser is positioned at the first token of the
+         * property's value. By default, the property is dropped.
+         *
+         * @param fieldName The name of the property
+         * @param parser    The parser to read the source representation from
+         * @param generator The generator to write the rewritten representation to
+         * @throws IOException If an error occurs while reading or writing JSON
+         */
+        protected void streamUnmappedField(String fieldName, JsonParser parser, JsonGenerator generator) throws IOException {
+            parser.skipChildren();
+        }
+
+        /**
+         * Sets the type identifier of this plan on the given node, or removes it if this plan does not require a type identifier.
+         *
+         * @param node The node to process
+         */
+        protected void applyTypeIdentifier(ObjectNode node) {
+            if (this.typeIdentifier != null) {
+                node.set(TYPE_PROPERTY_NAME, this.typeIdentifier);
+            } else {
+                node.remove(TYPE_PROPERTY_NAME);
+            }
+        }
+
+        /**
+         * Rewrites the given record according to this plan.
+         *
+         * @param objectNode The node representing the record
+         * @param handler    The handler to invoke if an unrepresentable value is encountered
+         * @return The rewritten node
+         */
+        protected abstract JsonNode rewriteRecord(ObjectNode objectNode, UnrepresentableValueHandler handler);
+
+        /**
+         * Handles a record with a type identifier that cannot be resolved.
+         *
+         * @param typeId     The unknown type identifier
+         * @param objectNode The node representing the record
+         * @param handler    The handler to invoke if an unrepresentable value is encountered
+         * @return The rewritten node, if the record can be rewritten nonetheless
+         */
+        protected abstract JsonNode onUnknownTypeId(String typeId, ObjectNode objectNode, UnrepresentableValueHandler handler);
+
+    }
+
+}
@@ -2,25 +2,41 @@ package gutta.apievolution.json.consumer;
 
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import gutta.apievolution.core.apimodel.Field;
 import gutta.apievolution.core.apimodel.RecordType;
-import gutta.apievolution.core.apimodel.Type;
+import gutta.apievolution.core.apimodel.UserDefinedType;
 import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
-import gutta.apievolution.core.apimodel.consumer.ConsumerRecordType;
 import gutta.apievolution.json.AbstractOperationProxy;
+import gutta.apievolution.json.AbstractRewritePlanCompiler.AbstractInternalToPublicPlanCompiler;
+import gutta.apievolution.json.AbstractRewritePlanCompiler.AbstractPublicToInternalPlanCompiler;
+import gutta.apievolution.json.AsyncRequestRouter;
+import gutta.apievolution.json.DefaultExecutors;
 import gutta.apievolution.json.RequestRouter;
+import gutta.apievolution.json.RewriteMode;
+import gutta.apievolution.json.RewritePlan.FieldPlan;
+import gutta.apievolution.json.RewritePlan.RecordPlan;
+import gutta.apievolution.json.RewritePlan.UnrepresentableValueHandler;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 
 /**
  * A consumer operation proxy transparently handles revisioned communication on the consumer side, i.e. it transforms the request to the public representation
@@ -28,6 +44,10 @@ import java.util.function.Function;
  */
 public abstract class ConsumerOperationProxy<P, R> extends AbstractOperationProxy<P, R> {
 
+    private static final UnrepresentableValueHandler FAIL_ON_UNKNOWN_MEMBER = value -> {
+        throw new NoSuchElementException();
+    };
+
     private final ConsumerApiDefinition apiDefinition;
 
     private final String apiId;
@@ -38,6 +58,14 @@ public abstract class ConsumerOperationProxy<P, R> extends AbstractOperationProx
 
     private final RequestRouter router;
 
+    private final InternalToPublicPlanCompiler internalToPublicCompiler;
+
+    private final PublicToInternalPlanCompiler publicToInternalCompiler;
+
+    private final ObjectMapper directObjectMapper;
+
+    private volatile Executor executor = DefaultExecutors.defaultExecutor();
+
     /**
      * Creates a new proxy using the given data.
      * 
@@ -76,6 +104,18 @@ public abstract class ConsumerOperationProxy<P, R> extends AbstractOperationProx
         this.resultTypeRepresentation = resultTypeRepresentation;
         this.exceptionTypeMap = createExceptionMap(exceptionTypeRepresentations);
         this.router = router;
+        this.internalToPublicCompiler = new InternalToPublicPlanCompiler(apiDefinition);
+        this.publicToInternalCompiler = new PublicToInternalPlanCompiler(apiDefinition);
+        this.directObjectMapper = createDirectObjectMapper(apiDefinition);
+    }
+
+    private static ObjectMapper createDirectObjectMapper(ConsumerApiDefinition apiDefinition) {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        objectMapper.registerModule(new DirectMappingModule(apiDefinition));
+
+        return objectMapper;
     }
     
     private static Map<String, Class<?>> createExceptionMap(Set<Class<?>> exceptionTypeRepresentations) {
@@ -117,11 +157,6 @@ public abstract class ConsumerOperationProxy<P, R> extends AbstractOperationProx
         return collectedTypes;
     }
 
-    private JsonNode rewritePublicToConsumerInternal(Type type, Function<String, Type> typeResolver, JsonNode representation,
-            OnUnrepresentableValue<?> onUnrepresentableValue) {
-        return new PublicToInternalRewriter(typeResolver, onUnrepresentableValue).rewritePublicToInternal(type, representation);
-    }
-
     /**
      * Invokes the provider operation using the given data and throws an exception on unrepresentable values.
      * 
@@ -141,160 +176,375 @@ public abstract class ConsumerOperationProxy<P, R> extends AbstractOperationProx
      * @return The deserialized result
      */
     public R invokeOperation(P parameterObject, OnUnrepresentableValue<?> onUnrepresentableValue) {
-        ObjectMapper objectMapper = OBJECT_MAPPER;
-        int referencedRevision = this.apiDefinition.getReferencedRevision();
+        RewriteMode rewriteMode = this.getRewriteMode();
+
+        byte[] requestJson = this.writeRequest(rewriteMode, parameterObject);
+        byte[] responseJson = this.invokeRouter(requestJson);
+        return this.readResponse(rewriteMode, responseJson, onUnrepresentableValue);
+    }
+
+    /**
+     * Invokes the provider operation using the given data without blocking the calling thread, and completes the returned stage exceptionally on
+     * unrepresentable values.
+     * 
+     * @param parameterObject The parameter object for the method
+     * @return A completion stage that is completed with the deserialized result
+     */
+    public CompletionStage<R> invokeOperationAsync(P parameterObject) {
+        return this.invokeOperationAsync(parameterObject, OnUnrepresentableValue.throwException());
+    }
+
+    /**
+     * Invokes the provider operation using the given data without blocking the calling thread, and performs the given action if an unrepresentable
+     * value is encountered. The request and the response are processed on the {@linkplain #setExecutor(Executor) executor} of this proxy. If the
+     * router of this proxy is an {@link AsyncRequestRouter}, it is invoked asynchronously, otherwise the router is invoked on the executor as well.
+     * 
+     * @param parameterObject        The parameter object for the method
+     * @param onUnrepresentableValue The action to perform if an unrepresentable value is encountered
+     * @return A completion stage that is completed with the deserialized result
+     */
+    public CompletionStage<R> invokeOperationAsync(P parameterObject, OnUnrepresentableValue<?> onUnrepresentableValue) {
+        RewriteMode rewriteMode = this.getRewriteMode();
+        Executor executor = this.executor;
+
+        return CompletableFuture.supplyAsync(() -> this.writeRequest(rewriteMode, parameterObject), executor)
+                .thenCompose(requestJson -> this.invokeRouterAsync(requestJson, executor))
+                .thenApplyAsync(responseJson -> this.readResponse(rewriteMode, responseJson, onUnrepresentableValue), executor);
+    }
+
+    /**
+     * Returns the executor on which asynchronous invocations are processed.
+     * 
+     * @return see above
+     */
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Sets the executor on which asynchronous invocations are processed. The default is the {@linkplain DefaultExecutors#defaultExecutor() default
+     * executor}.
+     * 
+     * @param executor The executor to use
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
 
+    private byte[] writeRequest(RewriteMode rewriteMode, P parameterObject) {
         try {
-            JsonNode parameterNode = objectMapper.valueToTree(parameterObject);
-
-            Type parameterType = this.resolveTypeByInternalName(this.getParameterTypeName());
-            parameterNode = (ObjectNode) this.rewriteInternalToPublic(parameterType, this::resolveTypeByInternalName, parameterNode);
-
-            byte[] requestJson = objectMapper.writeValueAsBytes(parameterNode);
-            byte[] responseJson = this.router.invokeOperation(this.apiId, referencedRevision, this.getOperationName(), requestJson);
-
-            JsonNode responseNode = objectMapper.readTree(responseJson);
-
-            // Determine the actual result type depending on its public name in the JSON. If no type is given, resolve the default type by its
-            // internal name
-            RecordType<?, ?, ?> resultType = (RecordType<?, ?, ?>) determineSpecificTypeId(responseNode).map(this::resolveTypeByPublicName)
-                    .orElse(this.resolveTypeByInternalName(this.getResultTypeName()));
-            responseNode = this.rewritePublicToConsumerInternal(resultType, this::resolveTypeByPublicName, responseNode, onUnrepresentableValue);
-
-            if (resultType.isException()) {
-                // If the type is an exception, map the data and throw the associated exception
-                String exceptionTypeName = determineSpecificTypeId(responseNode).orElseThrow(NoSuchElementException::new);
-                Class<?> exceptionTypeRepresentation = this.exceptionTypeMap.get(exceptionTypeName);
-                
-                if (exceptionTypeRepresentation != null) {
-                    // If the exception type is mapped, create the appropriate exception
-                    MappedExceptionData exceptionData = (MappedExceptionData) objectMapper.treeToValue(responseNode, exceptionTypeRepresentation);
-                    throw exceptionData.createMappedException();
-                } else {
-                    // Otherwise, treat the exception as an unrepresentable value
-                    JsonNode resultNode = onUnrepresentableValue.throwExceptionOrReturnDefaultNode();
-                    return objectMapper.treeToValue(resultNode, this.resultTypeRepresentation);
-                }
+            if (rewriteMode == RewriteMode.STREAMING) {
+                return this.writeRequestStreaming(parameterObject);
+            } else if (rewriteMode == RewriteMode.DIRECT) {
+                return this.directObjectMapper.writeValueAsBytes(parameterObject);
+            } else {
+                return this.writeRequestFromTree(parameterObject);
+            }
+        } catch (IOException e) {
+            throw new InvocationFailedException("Error while processing JSON on the consumer side.", e);
+        }
+    }
+
+    private R readResponse(RewriteMode rewriteMode, byte[] responseJson, OnUnrepresentableValue<?> onUnrepresentableValue) {
+        try {
+            if (rewriteMode == RewriteMode.STREAMING) {
+                return this.readResponseStreaming(responseJson, onUnrepresentableValue);
+            } else if (rewriteMode == RewriteMode.DIRECT) {
+                return this.readResponseDirect(responseJson, onUnrepresentableValue);
             } else {
-                // Otherwise, return the value
-                return objectMapper.treeToValue(responseNode, this.resultTypeRepresentation);
+                return this.readResponseFromTree(responseJson, onUnrepresentableValue);
             }
         } catch (IOException e) {
             throw new InvocationFailedException("Error while processing JSON on the consumer side.", e);
         }
     }
 
-    private Type resolveTypeByInternalName(String internalName) {
-        return this.apiDefinition.findUDTByInternalName(internalName).orElse(null);
+    private byte[] writeRequestFromTree(P parameterObject) throws IOException {
+        ObjectMapper objectMapper = OBJECT_MAPPER;
+
+        JsonNode parameterNode = objectMapper.valueToTree(parameterObject);
+        parameterNode = (ObjectNode) this.internalToPublicCompiler.planFor(this.getFormalParameterType()).execute(parameterNode, FAIL_ON_UNKNOWN_MEMBER);
+
+        return objectMapper.writeValueAsBytes(parameterNode);
+    }
+
+    private R readResponseFromTree(byte[] responseJson, OnUnrepresentableValue<?> onUnrepresentableValue) throws IOException {
+        ObjectMapper objectMapper = OBJECT_MAPPER;
+
+        JsonNode responseNode = objectMapper.readTree(responseJson);
+
+        // Determine the actual result type depending on its public name in the JSON. If no type is given, resolve the default type by its
+        // internal name
+        RecordType<?, ?, ?> resultType = determineSpecificTypeId(responseNode).map(this::resolveRecordTypeByPublicName)
+                .orElse(this.getFormalResultType());
+        responseNode = this.publicToInternalCompiler.planFor(resultType).execute(responseNode,
+                value -> onUnrepresentableValue.throwExceptionOrReturnDefaultNode());
+
+        try (JsonParser resultParser = objectMapper.treeAsTokens(responseNode)) {
+            return this.readResult(objectMapper, resultType, determineSpecificTypeId(responseNode), resultParser, onUnrepresentableValue);
+        }
+    }
+
+    private byte[] writeRequestStreaming(P parameterObject) throws IOException {
+        ObjectMapper objectMapper = OBJECT_MAPPER;
+
+        TokenBuffer parameterBuffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(parameterBuffer, parameterObject);
+
+        ByteArrayOutputStream requestStream = new ByteArrayOutputStream();
+        try (JsonParser parser = parameterBuffer.asParser(objectMapper); JsonGenerator generator = objectMapper.createGenerator(requestStream)) {
+            parser.nextToken();
+            this.internalToPublicCompiler.planFor(this.getFormalParameterType()).stream(parser, generator, FAIL_ON_UNKNOWN_MEMBER);
+        }
+
+        return requestStream.toByteArray();
+    }
+
+    private R readResponseStreaming(byte[] responseJson, OnUnrepresentableValue<?> onUnrepresentableValue) throws IOException {
+        ObjectMapper objectMapper = OBJECT_MAPPER;
+
+        // The plan for the formal result type switches to the plan for the actual type, if a type ID is present
+        TokenBuffer resultBuffer = new TokenBuffer(objectMapper, false);
+        try (JsonParser parser = objectMapper.createParser(responseJson)) {
+            parser.nextToken();
+            this.publicToInternalCompiler.planFor(this.getFormalResultType()).stream(parser, resultBuffer,
+                    value -> onUnrepresentableValue.throwExceptionOrReturnDefaultNode());
+        }
+
+        // Determine the actual result type from the internal type ID in the rewritten representation
+        Optional<String> resultTypeId = determineSpecificTypeId(resultBuffer);
+        RecordType<?, ?, ?> resultType = resultTypeId.map(this::resolveRecordTypeByInternalName).orElse(this.getFormalResultType());
+
+        try (JsonParser resultParser = resultBuffer.asParser(objectMapper)) {
+            return this.readResult(objectMapper, resultType, resultTypeId, resultParser, onUnrepresentableValue);
+        }
+    }
+
+    private R readResponseDirect(byte[] responseJson, OnUnrepresentableValue<?> onUnrepresentableValue) throws IOException {
+        ObjectMapper objectMapper = this.directObjectMapper;
+
+        // Determine the actual result type from the public type ID, which is written as the first property by the provider
+        Optional<String> publicTypeId = determineSpecificTypeId(responseJson);
+        RecordType<?, ?, ?> resultType = (publicTypeId.isPresent()) ? this.resolveRecordTypeByPublicName(publicTypeId.get()) :
+                this.getFormalResultType();
+
+        if (resultType != null) {
+            Optional<String> resultTypeId = publicTypeId.map(typeId -> resultType.getInternalName());
+
+            try (JsonParser resultParser = objectMapper.createParser(responseJson)) {
+                return this.readResult(objectMapper, resultType, resultTypeId, resultParser, onUnrepresentableValue);
+            } catch (JsonMappingException e) {
+                // The response cannot be mapped directly, for instance, due to unrepresentable values, so we fall back to rewriting it
+            }
+        }
+
+        return this.readResponseFromTree(responseJson, onUnrepresentableValue);
     }
 
-    private Type resolveTypeByPublicName(String publicName) {
-        return this.apiDefinition.resolveUserDefinedType(publicName).orElse(null);
+    private byte[] invokeRouter(byte[] requestJson) {
+        return this.router.invokeOperation(this.apiId, this.apiDefinition.getReferencedRevision(), this.getOperationName(), requestJson);
     }
 
-    private JsonNode rewriteInternalToPublic(Type type, Function<String, Type> typeResolver, JsonNode representation) {
-        return new InternalToPublicRewriter(typeResolver).rewriteInternalToPublic(type, representation);
+    private CompletionStage<byte[]> invokeRouterAsync(byte[] requestJson, Executor executor) {
+        if (this.router instanceof AsyncRequestRouter) {
+            AsyncRequestRouter asyncRouter = (AsyncRequestRouter) this.router;
+            return asyncRouter.invokeOperationAsync(this.apiId, this.apiDefinition.getReferencedRevision(), this.getOperationName(), requestJson);
+        } else {
+            return CompletableFuture.supplyAsync(() -> this.invokeRouter(requestJson), executor);
+        }
     }
 
-    private static class PublicToInternalRewriter extends AbstractPublicToInternalRewriter {
+    private R readResult(ObjectMapper objectMapper, RecordType<?, ?, ?> resultType, Optional<String> resultTypeId, JsonParser resultParser,
+            OnUnrepresentableValue<?> onUnrepresentableValue) throws IOException {
 
-        private final Function<String, Type> typeResolver;
+        if (resultType.isException()) {
+            // If the type is an exception, map the data and throw the associated exception
+            String exceptionTypeName = resultTypeId.orElseThrow(NoSuchElementException::new);
+            Class<?> exceptionTypeRepresentation = this.exceptionTypeMap.get(exceptionTypeName);
 
-        private final OnUnrepresentableValue<?> onUnrepresentableValue;
+            if (exceptionTypeRepresentation != null) {
+                // If the exception type is mapped, create the appropriate exception
+                MappedExceptionData exceptionData = (MappedExceptionData) objectMapper.readValue(resultParser, exceptionTypeRepresentation);
+                throw exceptionData.createMappedException();
+            } else {
+                // Otherwise, treat the exception as an unrepresentable value
+                JsonNode resultNode = onUnrepresentableValue.throwExceptionOrReturnDefaultNode();
+                return objectMapper.treeToValue(resultNode, this.resultTypeRepresentation);
+            }
+        } else {
+            // Otherwise, return the value
+            return objectMapper.readValue(resultParser, this.resultTypeRepresentation);
+        }
+    }
+
+    private RecordType<?, ?, ?> getFormalParameterType() {
+        return this.resolveRecordTypeByInternalName(this.getParameterTypeName());
+    }
+
+    private RecordType<?, ?, ?> getFormalResultType() {
+        return this.resolveRecordTypeByInternalName(this.getResultTypeName());
+    }
+
+    private RecordType<?, ?, ?> resolveRecordTypeByInternalName(String internalName) {
+        return resolveRecordType(this.apiDefinition.findUDTByInternalName(internalName));
+    }
+
+    private RecordType<?, ?, ?> resolveRecordTypeByPublicName(String publicName) {
+        return resolveRecordType(this.apiDefinition.resolveUserDefinedType(publicName));
+    }
 
-        public PublicToInternalRewriter(Function<String, Type> typeResolver, OnUnrepresentableValue<?> onUnrepresentableValue) {
-            this.typeResolver = typeResolver;
-            this.onUnrepresentableValue = onUnrepresentableValue;
+    private static RecordType<?, ?, ?> resolveRecordType(Optional<UserDefinedType<ConsumerApiDefinition>> type) {
+        return type.filter(RecordType.class::isInstance).map(RecordType.class::cast).orElse(null);
+    }
+
+    /**
+     * Compiler for plans that rewrite the consumer-internal representation to the public representation.
+     */
+    private static class InternalToPublicPlanCompiler extends AbstractInternalToPublicPlanCompiler {
+
+        private final ConsumerApiDefinition apiDefinition;
+
+        public InternalToPublicPlanCompiler(ConsumerApiDefinition apiDefinition) {
+            this.apiDefinition = apiDefinition;
         }
 
         @Override
-        protected AbstractPublicToInternalRewriter fork() {
-            return new PublicToInternalRewriter(this.typeResolver, this.onUnrepresentableValue);
+        protected RecordPlan createRecordPlan(RecordType<?, ?, ?> recordType) {
+            String typeIdentifier = (requiresTypeIdentifier(recordType)) ? recordType.getPublicName() : null;
+            return new InternalToPublicRecordPlan(this, typeIdentifier);
         }
 
         @Override
-        protected JsonNode handlePolymorphicRecordType(String typeId, RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            ConsumerRecordType type = (ConsumerRecordType) this.typeResolver.apply(typeId);
-            if (type == null) {
-                throw new IllegalArgumentException("Unknown type id '" + typeId + "'.");
-            }
+        protected String sourceFieldName(Field<?, ?> field) {
+            return field.getInternalName();
+        }
 
-            // Set the appropriate type ID and rewrite the node according to the actual type
-            this.handleTypeIdentifier(objectNode, type, RecordType::getInternalName);
-            return this.rewriteRecord(type, objectNode);
+        @Override
+        protected String targetFieldName(Field<?, ?> field) {
+            return field.getPublicName();
         }
-        
+
         @Override
-        protected JsonNode handleMonomorphicRecordType(RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            this.handleTypeIdentifier(objectNode, recordType, RecordType::getInternalName);
-            return this.rewriteRecord(recordType, objectNode);
+        protected RecordType<?, ?, ?> resolveTypeId(String typeId) {
+            return resolveRecordType(this.apiDefinition.findUDTByInternalName(typeId));
         }
 
-        private JsonNode rewriteRecord(RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            if (isUnrepresentableValue(objectNode)) {
-                return this.onUnrepresentableValue.throwExceptionOrReturnDefaultNode();
-            }
+    }
 
-            this.handleTypeIdentifier(objectNode, recordType, RecordType::getInternalName);
+    /**
+     * Plan for rewriting a record from the consumer-internal to the public representation. The rewriting is performed in place.
+     */
+    private static class InternalToPublicRecordPlan extends RecordPlan {
 
-            for (Field<?, ?> field : recordType.getDeclaredFields()) {
-                JsonNode value = objectNode.remove(field.getPublicName());
+        public InternalToPublicRecordPlan(InternalToPublicPlanCompiler compiler, String typeIdentifier) {
+            super(compiler, typeIdentifier);
+        }
 
-                if (value != null) {
-                    objectNode.set(field.getInternalName(), this.fork().rewritePublicToInternal(field.getType(), value));
-                }
+        @Override
+        protected JsonNode rewriteRecord(ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            this.applyTypeIdentifier(objectNode);
+
+            for (FieldPlan fieldPlan : this.getFieldPlans()) {
+                JsonNode value = objectNode.remove(fieldPlan.sourceName);
+                objectNode.set(fieldPlan.targetName, fieldPlan.valuePlan.executeOnOptionalValue(value, handler));
             }
 
             return objectNode;
         }
 
         @Override
-        protected JsonNode onUnrepresentableEnumMember(String name) {
-            return this.onUnrepresentableValue.throwExceptionOrReturnDefaultNode();
+        protected JsonNode onUnknownTypeId(String typeId, ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            throw new IllegalArgumentException("Unknown type id '" + typeId + "'.");
+        }
+
+        @Override
+        protected void streamUnmappedField(String fieldName, JsonParser parser, JsonGenerator generator) throws IOException {
+            // As the rewriting is performed in place, unmapped properties are retained
+            generator.writeFieldName(fieldName);
+            generator.copyCurrentStructure(parser);
         }
 
     }
 
-    private static class InternalToPublicRewriter extends AbstractInternalToPublicRewriter {
+    /**
+     * Compiler for plans that rewrite the public representation to the consumer-internal representation.
+     */
+    private static class PublicToInternalPlanCompiler extends AbstractPublicToInternalPlanCompiler {
 
-        private final Function<String, Type> typeResolver;
+        private final ConsumerApiDefinition apiDefinition;
 
-        public InternalToPublicRewriter(Function<String, Type> typeResolver) {
-            this.typeResolver = typeResolver;
+        public PublicToInternalPlanCompiler(ConsumerApiDefinition apiDefinition) {
+            this.apiDefinition = apiDefinition;
         }
 
         @Override
-        protected AbstractInternalToPublicRewriter fork() {
-            return new InternalToPublicRewriter(this.typeResolver);
+        protected RecordPlan createRecordPlan(RecordType<?, ?, ?> recordType) {
+            String typeIdentifier = (requiresTypeIdentifier(recordType)) ? recordType.getInternalName() : null;
+            return new PublicToInternalRecordPlan(this, typeIdentifier);
         }
 
         @Override
-        protected ObjectNode handlePolymorphicRecordType(String typeId, RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            ConsumerRecordType type = (ConsumerRecordType) this.typeResolver.apply(typeId);
-            if (type == null) {
-                throw new IllegalArgumentException("Unknown type id '" + typeId + "'.");
-            }
+        protected Iterable<? extends Field<?, ?>> fieldsToRewrite(RecordType<?, ?, ?> recordType) {
+            return recordType.getDeclaredFields();
+        }
 
-            // Set the appropriate type ID and rewrite the node according to the actual type
-            this.handleTypeIdentifier(objectNode, type, RecordType::getPublicName);
-            return this.rewriteRecord(type, objectNode);
+        @Override
+        protected String sourceFieldName(Field<?, ?> field) {
+            return field.getPublicName();
         }
-        
+
         @Override
-        protected JsonNode handleMonomorphicRecordType(RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            this.handleTypeIdentifier(objectNode, recordType, RecordType::getPublicName);
-            return this.rewriteRecord(recordType, objectNode);
+        protected String targetFieldName(Field<?, ?> field) {
+            return field.getInternalName();
         }
 
-        private ObjectNode rewriteRecord(RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            for (Field<?, ?> field : recordType) {
-                JsonNode value = objectNode.remove(field.getInternalName());
-                objectNode.set(field.getPublicName(), this.fork().rewriteInternalToPublic(field.getType(), value));
+        @Override
+        protected RecordType<?, ?, ?> resolveTypeId(String typeId) {
+            return resolveRecordType(this.apiDefinition.resolveUserDefinedType(typeId));
+        }
+
+    }
+
+    /**
+     * Plan for rewriting a record from the public to the consumer-internal representation. The rewriting is performed in place.
+     */
+    private static class PublicToInternalRecordPlan extends RecordPlan {
+
+        public PublicToInternalRecordPlan(PublicToInternalPlanCompiler compiler, String typeIdentifier) {
+            super(compiler, typeIdentifier);
+        }
+
+        @Override
+        protected JsonNode rewriteRecord(ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            if (isUnrepresentableValue(objectNode)) {
+                return handler.onUnrepresentableValue(objectNode);
+            }
+
+            this.applyTypeIdentifier(objectNode);
+
+            for (FieldPlan fieldPlan : this.getFieldPlans()) {
+                JsonNode value = objectNode.remove(fieldPlan.sourceName);
+
+                if (value != null) {
+                    objectNode.set(fieldPlan.targetName, fieldPlan.valuePlan.execute(value, handler));
+                }
             }
 
             return objectNode;
         }
 
+        @Override
+        protected JsonNode onUnknownTypeId(String typeId, ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            throw new IllegalArgumentException("Unknown type id '" + typeId + "'.");
+        }
+
+        @Override
+        protected void streamUnmappedField(String fieldName, JsonParser parser, JsonGenerator generator) throws IOException {
+            // As the rewriting is performed in place, unmapped properties are retained
+            generator.writeFieldName(fieldName);
+            generator.copyCurrentStructure(parser);
+        }
+
     }
 
 }
@@ -0,0 +1,313 @@
+package gutta.apievolution.json.consumer;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBuilder;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.introspect.Annotated;
+import com.fasterxml.jackson.databind.introspect.AnnotatedClass;
+import com.fasterxml.jackson.databind.introspect.NopAnnotationIntrospector;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import gutta.apievolution.core.apimodel.EnumMember;
+import gutta.apievolution.core.apimodel.EnumType;
+import gutta.apievolution.core.apimodel.Field;
+import gutta.apievolution.core.apimodel.RecordType;
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Jackson module that maps the consumer-internal representation directly to the public representation and vice versa during (de)serialization,
+ * so that no intermediate tree needs to be rewritten. Properties are renamed to the public field names, enum constants are written as the public
+ * member names, and type identifiers are the public type names. Classes are associated with types of the API definition by their
+ * {@link JsonTypeName} or, if not present, by their simple name, which must match the internal name of the type. Enum constants are associated
+ * with members by their name.
+ */
+class DirectMappingModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ConsumerApiDefinition apiDefinition;
+
+    /**
+     * Creates a new module for the given API definition.
+     *
+     * @param apiDefinition The API definition that defines the mapping
+     */
+    public DirectMappingModule(ConsumerApiDefinition apiDefinition) {
+        super(DirectMappingModule.class.getSimpleName());
+
+        this.apiDefinition = apiDefinition;
+
+        this.setSerializerModifier(new InternalToPublicSerializerModifier());
+        this.setDeserializerModifier(new PublicToInternalDeserializerModifier());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+
+        // Type names of this module must take precedence over the names given in annotations
+        context.insertAnnotationIntrospector(new PublicTypeNameIntrospector());
+    }
+
+    private <T> Optional<T> findTypeFor(Class<?> representation, Class<T> typeClass) {
+        JsonTypeName nameAnnotation = representation.getAnnotation(JsonTypeName.class);
+        String internalName = (nameAnnotation != null) ? nameAnnotation.value() : representation.getSimpleName();
+
+        return this.apiDefinition.findUDTByInternalName(internalName).filter(typeClass::isInstance).map(typeClass::cast);
+    }
+
+    private String publicTypeNameOf(Class<?> representation) {
+        return this.findTypeFor(representation, RecordType.class).map(recordType -> recordType.getPublicName()).orElse(null);
+    }
+
+    private Optional<Map<String, String>> publicFieldNamesFor(Class<?> representation) {
+        return this.findTypeFor(representation, RecordType.class).map(recordType -> {
+            Map<String, String> nameMap = new HashMap<>();
+
+            // Include inherited fields, as the representations of subtypes contain them as well
+            for (Object fieldObject : recordType) {
+                Field<?, ?> field = (Field<?, ?>) fieldObject;
+                nameMap.put(field.getInternalName(), field.getPublicName());
+            }
+
+            return nameMap;
+        });
+    }
+
+    /**
+     * Introspector that replaces the type identifiers of mapped classes by their public type names.
+     */
+    private class PublicTypeNameIntrospector extends NopAnnotationIntrospector {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public String findTypeName(AnnotatedClass annotatedClass) {
+            return DirectMappingModule.this.publicTypeNameOf(annotatedClass.getRawType());
+        }
+
+        @Override
+        public List<NamedType> findSubtypes(Annotated annotated) {
+            JsonSubTypes subTypesAnnotation = annotated.getAnnotation(JsonSubTypes.class);
+            if (subTypesAnnotation == null) {
+                return null;
+            }
+
+            List<NamedType> subTypes = new ArrayList<>(subTypesAnnotation.value().length);
+            for (JsonSubTypes.Type subType : subTypesAnnotation.value()) {
+                subTypes.add(new NamedType(subType.value(), DirectMappingModule.this.publicTypeNameOf(subType.value())));
+            }
+
+            return subTypes;
+        }
+
+    }
+
+    /**
+     * Serializer modifier that renames properties to their public names and writes enum constants as their public member names.
+     */
+    private class InternalToPublicSerializerModifier extends BeanSerializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+            Optional<Map<String, String>> optionalNameMap = DirectMappingModule.this.publicFieldNamesFor(beanDesc.getBeanClass());
+            if (!optionalNameMap.isPresent()) {
+                return beanProperties;
+            }
+
+            Map<String, String> nameMap = optionalNameMap.get();
+            List<BeanPropertyWriter> renamedProperties = new ArrayList<>(beanProperties.size());
+            for (BeanPropertyWriter property : beanProperties) {
+                String publicName = nameMap.get(property.getName());
+                renamedProperties.add((publicName != null) ? property.rename(new FixedNameTransformer(publicName)) : property);
+            }
+
+            return renamedProperties;
+        }
+
+        @Override
+        public JsonSerializer<?> modifyEnumSerializer(SerializationConfig config, JavaType valueType, BeanDescription beanDesc,
+                JsonSerializer<?> serializer) {
+
+            return DirectMappingModule.this.findTypeFor(valueType.getRawClass(), EnumType.class)
+                    .<JsonSerializer<?>>map(enumType -> new PublicEnumMemberSerializer(valueType.getRawClass(), enumType)).orElse(serializer);
+        }
+
+    }
+
+    /**
+     * Deserializer modifier that accepts properties by their public names and reads enum constants from their public member names.
+     */
+    private class PublicToInternalDeserializerModifier extends BeanDeserializerModifier {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public BeanDeserializerBuilder updateBuilder(DeserializationConfig config, BeanDescription beanDesc, BeanDeserializerBuilder builder) {
+            Optional<Map<String, String>> optionalNameMap = DirectMappingModule.this.publicFieldNamesFor(beanDesc.getBeanClass());
+            if (!optionalNameMap.isPresent()) {
+                return builder;
+            }
+
+            // Collect the properties first, as the builder's properties cannot be modified during iteration
+            List<SettableBeanProperty> properties = new ArrayList<>();
+            builder.getProperties().forEachRemaining(properties::add);
+
+            Map<String, String> nameMap = optionalNameMap.get();
+            for (SettableBeanProperty property : properties) {
+                String publicName = nameMap.get(property.getName());
+
+                if (publicName != null && !publicName.equals(property.getName())) {
+                    builder.removeProperty(property.getFullName());
+                    builder.addOrReplaceProperty(property.withSimpleName(publicName), true);
+                }
+            }
+
+            return builder;
+        }
+
+        @Override
+        public JsonDeserializer<?> modifyEnumDeserializer(DeserializationConfig config, JavaType type, BeanDescription beanDesc,
+                JsonDeserializer<?> deserializer) {
+
+            return DirectMappingModule.this.findTypeFor(type.getRawClass(), EnumType.class)
+                    .<JsonDeserializer<?>>map(enumType -> new PublicEnumMemberDeserializer(type.getRawClass(), enumType)).orElse(deserializer);
+        }
+
+    }
+
+    /**
+     * Name transformer that replaces any name by a fixed name.
+     */
+    private static class FixedNameTransformer extends NameTransformer {
+
+        private final String name;
+
+        public FixedNameTransformer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String transform(String name) {
+            return this.name;
+        }
+
+        @Override
+        public String reverse(String transformed) {
+            return null;
+        }
+
+    }
+
+    /**
+     * Serializer that writes enum constants as the public names of the associated members.
+     */
+    private static class PublicEnumMemberSerializer extends StdSerializer<Enum<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SerializedString[] publicNames;
+
+        @SuppressWarnings("unchecked")
+        public PublicEnumMemberSerializer(Class<?> enumClass, EnumType<?, ?, ?> enumType) {
+            super((Class<Enum<?>>) enumClass);
+
+            Map<String, String> internalToPublic = new HashMap<>();
+            for (EnumMember<?, ?> member : enumType) {
+                internalToPublic.put(member.getInternalName(), member.getPublicName());
+            }
+
+            // Map the constants by ordinal to avoid a lookup during serialization
+            Enum<?>[] constants = (Enum<?>[]) enumClass.getEnumConstants();
+            this.publicNames = new SerializedString[constants.length];
+            for (Enum<?> constant : constants) {
+                String publicName = internalToPublic.get(constant.name());
+                this.publicNames[constant.ordinal()] = (publicName != null) ? new SerializedString(publicName) : null;
+            }
+        }
+
+        @Override
+        public void serialize(Enum<?> value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            SerializedString publicName = this.publicNames[value.ordinal()];
+            if (publicName == null) {
+                provider.reportMappingProblem("Enum constant '%s' has no associated member.", value.name());
+            }
+
+            generator.writeString(publicName);
+        }
+
+    }
+
+    /**
+     * Deserializer that reads enum constants from the public names of the associated members.
+     */
+    private static class PublicEnumMemberDeserializer extends StdDeserializer<Enum<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Enum<?>> publicNameToConstant;
+
+        public PublicEnumMemberDeserializer(Class<?> enumClass, EnumType<?, ?, ?> enumType) {
+            super(enumClass);
+
+            Map<String, Enum<?>> constantsByName = new HashMap<>();
+            for (Object constant : enumClass.getEnumConstants()) {
+                constantsByName.put(((Enum<?>) constant).name(), (Enum<?>) constant);
+            }
+
+            this.publicNameToConstant = new HashMap<>();
+            for (EnumMember<?, ?> member : enumType) {
+                Enum<?> constant = constantsByName.get(member.getInternalName());
+                if (constant != null) {
+                    this.publicNameToConstant.put(member.getPublicName(), constant);
+                }
+            }
+        }
+
+        @Override
+        public Enum<?> deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                return (Enum<?>) context.handleUnexpectedToken(this.handledType(), parser);
+            }
+
+            String publicName = parser.getText();
+            Enum<?> constant = this.publicNameToConstant.get(publicName);
+            if (constant == null) {
+                // Unknown members are reported as a format problem, so that the caller can handle them as unrepresentable values
+                return (Enum<?>) context.handleWeirdStringValue(this.handledType(), publicName, "Unknown enum member.");
+            }
+
+            return constant;
+        }
+
+    }
+
+}
@@ -1,25 +1,32 @@
 package gutta.apievolution.json.provider;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import gutta.apievolution.core.apimodel.Field;
 import gutta.apievolution.core.apimodel.RecordType;
 import gutta.apievolution.core.apimodel.Type;
-import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
 import gutta.apievolution.core.apimodel.consumer.ConsumerField;
 import gutta.apievolution.core.apimodel.provider.ProviderField;
-import gutta.apievolution.core.apimodel.provider.ProviderRecordType;
 import gutta.apievolution.core.apimodel.provider.RevisionHistory;
 import gutta.apievolution.core.resolution.DefinitionResolution;
-import gutta.apievolution.core.resolution.DefinitionResolver;
-import gutta.apievolution.dsl.ConsumerApiLoader;
 import gutta.apievolution.json.AbstractOperationProxy;
-
+import gutta.apievolution.json.AbstractRewritePlanCompiler.AbstractInternalToPublicPlanCompiler;
+import gutta.apievolution.json.AbstractRewritePlanCompiler.AbstractPublicToInternalPlanCompiler;
+import gutta.apievolution.json.RewriteMode;
+import gutta.apievolution.json.RewritePlan.FieldPlan;
+import gutta.apievolution.json.RewritePlan.RecordPlan;
+import gutta.apievolution.json.RewritePlan.UnrepresentableValueHandler;
+
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * A provider operation proxy transparently handles revisioned communication on the provider side, i.e. it transforms the request to the internal representation
@@ -27,16 +34,26 @@ import java.util.concurrent.ConcurrentMap;
  */
 public abstract class ProviderOperationProxy<P, R> extends AbstractOperationProxy<P, R> {
 
-    private final RevisionHistory revisionHistory;
+    private static final UnrepresentableValueHandler FAIL_ON_UNKNOWN_INTERNAL_MEMBER = value -> {
+        throw new NoSuchElementException();
+    };
+
+    private static final UnrepresentableValueHandler FAIL_ON_UNKNOWN_PUBLIC_MEMBER = value -> {
+        // Unrepresentable values are only possible on the consumer side
+        throw new IllegalStateException("Unknown member name '" + value.asText() + "' encountered.");
+    };
 
-    private final Set<Integer> supportedRevisions;
+    private final ResolutionRegistry resolutionRegistry;
 
     private final Class<P> parameterType;
 
-    private final ConcurrentMap<String, DefinitionResolution> resolutionCache = new ConcurrentHashMap<>();
+    private static final int MAX_DIRECT_RESOLUTIONS = 16;
+
+    private final Map<DefinitionResolution, ResolutionPlans> directResolutionPlans = new LruMap<>(MAX_DIRECT_RESOLUTIONS);
 
     /**
-     * Creates a new proxy using the given data.
+     * Creates a new proxy using the given data. The proxy uses a registry of its own for the resolutions of consumer APIs, see
+     * {@link #ProviderOperationProxy(String, ResolutionRegistry, String, String, Class)} for sharing a registry between proxies.
      * 
      * @param operationName      The name of the proxied service
      * @param revisionHistory    The revision history to use
@@ -48,22 +65,25 @@ public abstract class ProviderOperationProxy<P, R> extends AbstractOperationProx
     public ProviderOperationProxy(String operationName, RevisionHistory revisionHistory, Set<Integer> supportedRevisions, String parameterTypeName,
             String resultTypeName, Class<P> parameterType) {
 
-        super(operationName, parameterTypeName, resultTypeName);
-
-        this.revisionHistory = revisionHistory;
-        this.supportedRevisions = supportedRevisions;
-        this.parameterType = parameterType;
+        this(operationName, new ResolutionRegistry(revisionHistory, supportedRevisions), parameterTypeName, resultTypeName, parameterType);
     }
 
-    @SuppressWarnings("unchecked")
-    private <T extends JsonNode> T rewritePublicToProviderInternal(Type type, DefinitionResolution definitionResolution, JsonNode representation) {
-        return (T) new PublicToInternalRewriter(definitionResolution).rewritePublicToInternal(type, representation);
-    }
+    /**
+     * Creates a new proxy using the given data.
+     * 
+     * @param operationName      The name of the proxied service
+     * @param resolutionRegistry The registry to obtain the resolutions of consumer APIs from, usually shared by all proxies of a provider
+     * @param parameterTypeName  The internal name of the parameter type
+     * @param resultTypeName     The internal name of the result type
+     * @param parameterType      The actual parameter type for request handling
+     */
+    public ProviderOperationProxy(String operationName, ResolutionRegistry resolutionRegistry, String parameterTypeName, String resultTypeName,
+            Class<P> parameterType) {
 
-    private DefinitionResolution createApiResolution(String consumerApiId, String referencedApiName, int referencedRevision) {
-        // We currently use the file name as the API id
-        ConsumerApiDefinition consumerApi = ConsumerApiLoader.loadFromClasspath(consumerApiId, referencedApiName, referencedRevision);
-        return new DefinitionResolver().resolveConsumerDefinition(this.revisionHistory, this.supportedRevisions, consumerApi);
+        super(operationName, parameterTypeName, resultTypeName);
+
+        this.resolutionRegistry = resolutionRegistry;
+        this.parameterType = parameterType;
     }
 
     /**
@@ -76,10 +96,9 @@ public abstract class ProviderOperationProxy<P, R> extends AbstractOperationProx
      * @return The response in JSON format
      */
     public byte[] invokeOperation(String consumerApiId, String referencedApiName, int referencedRevision, byte[] requestJson) {
-        DefinitionResolution resolution = this.resolutionCache.computeIfAbsent(consumerApiId,
-                consumerId -> this.createApiResolution(consumerId, referencedApiName, referencedRevision));
+        ResolutionPlans plans = this.resolutionRegistry.getPlans(consumerApiId, referencedApiName, referencedRevision);
 
-        return this.invokeOperation(resolution, requestJson);
+        return this.invokeOperation(plans, requestJson);
     }
 
     /**
@@ -90,95 +109,195 @@ public abstract class ProviderOperationProxy<P, R> extends AbstractOperationProx
      * @return The response in JSON format
      */
     public byte[] invokeOperation(DefinitionResolution resolution, byte[] requestJson) {
-        ObjectMapper objectMapper = OBJECT_MAPPER;
+        return this.invokeOperation(this.plansFor(resolution), requestJson);
+    }
 
-        try {
-            JsonNode requestNode = objectMapper.readTree(requestJson);
+    private byte[] invokeOperation(ResolutionPlans plans, byte[] requestJson) {
+        DefinitionResolution resolution = plans.resolution;
+        boolean streaming = (this.getRewriteMode() == RewriteMode.STREAMING);
 
+        try {
             // Determine the actual parameter type name (may be a subtype)
-            Type parameterType = resolution.resolveProviderTypeByInternalName(this.getParameterTypeName());
-            JsonNode rewrittenRequestNode = this.rewritePublicToProviderInternal(parameterType, resolution, requestNode);
+            RecordType<?, ?, ?> parameterType = (RecordType<?, ?, ?>) resolution.resolveProviderTypeByInternalName(this.getParameterTypeName());
+            RecordPlan parameterPlan = plans.publicToInternalCompiler.planFor(parameterType);
+
+            P parameter = (streaming) ? this.readParameterStreaming(parameterPlan, requestJson) : this.readParameterFromTree(parameterPlan, requestJson);
 
-            P parameter = objectMapper.treeToValue(rewrittenRequestNode, this.parameterType);
-            
-            Type resultType;
-            JsonNode responseNode;
+            RecordType<?, ?, ?> resultType;
+            Object resultObject;
             try {
-                // Map the result to JSON
-                R result = this.invokeOperation(parameter);
-                
-                resultType = resolution.resolveProviderTypeByInternalName(this.getResultTypeName());
-                responseNode = objectMapper.valueToTree(result);
+                resultObject = this.invokeOperation(parameter);
+                resultType = (RecordType<?, ?, ?>) resolution.resolveProviderTypeByInternalName(this.getResultTypeName());
             } catch (MappableException e) {
-                // Map the exception data to JSON
-                Object exceptionData = e.getExceptionData();
-                
-                String internalTypeName = exceptionData.getClass().getSimpleName();
-                resultType = resolution.resolveProviderTypeByInternalName(internalTypeName);
-                responseNode = objectMapper.valueToTree(exceptionData);
+                // Map the exception data instead of the result
+                resultObject = e.getExceptionData();
+
+                String internalTypeName = resultObject.getClass().getSimpleName();
+                resultType = (RecordType<?, ?, ?>) resolution.resolveProviderTypeByInternalName(internalTypeName);
             }
 
-            JsonNode rewrittenResponseNode = this.rewriteInternalToPublic(resultType, resolution, responseNode);
-            return objectMapper.writeValueAsBytes(rewrittenResponseNode);
+            RecordPlan resultPlan = plans.internalToPublicCompiler.planFor(resultType);
+            return (streaming) ? this.writeResultStreaming(resultPlan, resultObject) : this.writeResultFromTree(resultPlan, resultObject);
         } catch (IOException e) {
             throw new InvalidDataException("Could not rewrite JSON data on the provider side.", e);
         }
     }
 
-    private JsonNode rewriteInternalToPublic(Type type, DefinitionResolution resolution, JsonNode representation) {
-        return new InternalToPublicRewriter(resolution).rewriteInternalToPublic(type, representation);
+    private P readParameterFromTree(RecordPlan parameterPlan, byte[] requestJson) throws IOException {
+        JsonNode requestNode = OBJECT_MAPPER.readTree(requestJson);
+        JsonNode rewrittenRequestNode = parameterPlan.execute(requestNode, FAIL_ON_UNKNOWN_PUBLIC_MEMBER);
+
+        return OBJECT_MAPPER.treeToValue(rewrittenRequestNode, this.parameterType);
+    }
+
+    private P readParameterStreaming(RecordPlan parameterPlan, byte[] requestJson) throws IOException {
+        ObjectMapper objectMapper = OBJECT_MAPPER;
+
+        TokenBuffer parameterBuffer = new TokenBuffer(objectMapper, false);
+        try (JsonParser parser = objectMapper.createParser(requestJson)) {
+            parser.nextToken();
+            parameterPlan.stream(parser, parameterBuffer, FAIL_ON_UNKNOWN_PUBLIC_MEMBER);
+        }
+
+        try (JsonParser parameterParser = parameterBuffer.asParser(objectMapper)) {
+            return objectMapper.readValue(parameterParser, this.parameterType);
+        }
+    }
+
+    private byte[] writeResultFromTree(RecordPlan resultPlan, Object resultObject) throws IOException {
+        JsonNode responseNode = OBJECT_MAPPER.valueToTree(resultObject);
+        JsonNode rewrittenResponseNode = resultPlan.execute(responseNode, FAIL_ON_UNKNOWN_INTERNAL_MEMBER);
+
+        return OBJECT_MAPPER.writeValueAsBytes(rewrittenResponseNode);
+    }
+
+    private byte[] writeResultStreaming(RecordPlan resultPlan, Object resultObject) throws IOException {
+        ObjectMapper objectMapper = OBJECT_MAPPER;
+
+        TokenBuffer resultBuffer = new TokenBuffer(objectMapper, false);
+        objectMapper.writeValue(resultBuffer, resultObject);
+
+        ByteArrayOutputStream responseStream = new ByteArrayOutputStream();
+        try (JsonParser parser = resultBuffer.asParser(objectMapper); JsonGenerator generator = objectMapper.createGenerator(responseStream)) {
+            parser.nextToken();
+            resultPlan.stream(parser, generator, FAIL_ON_UNKNOWN_INTERNAL_MEMBER);
+        }
+
+        return responseStream.toByteArray();
+    }
+
+    private ResolutionPlans plansFor(DefinitionResolution resolution) {
+        // Resolutions passed in directly are usually reused for many invocations, so we keep the plans for a bounded number of them
+        synchronized (this.directResolutionPlans) {
+            return this.directResolutionPlans.computeIfAbsent(resolution, ResolutionPlans::new);
+        }
+    }
+
+    private static RecordType<?, ?, ?> asRecordType(Type type) {
+        return (type instanceof RecordType) ? (RecordType<?, ?, ?>) type : null;
+    }
+
+    /**
+     * Map that retains a bounded number of entries, evicting the least recently used ones. Resolutions do not override {@link Object#equals(Object)},
+     * so they are effectively compared by identity.
+     */
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 5297015389251460482L;
+
+        private final int maxEntries;
+
+        LruMap(int maxEntries) {
+            super(16, 0.75f, true);
+
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return (this.size() > this.maxEntries);
+        }
+
     }
 
     /**
-     * Specific visitor for rewriting a public to a provider-internal representation.
+     * The compiled rewrite plans for a specific resolution.
      */
-    private static class PublicToInternalRewriter extends AbstractPublicToInternalRewriter {
+    static class ResolutionPlans {
+
+        public final DefinitionResolution resolution;
+
+        public final PublicToInternalPlanCompiler publicToInternalCompiler;
+
+        public final InternalToPublicPlanCompiler internalToPublicCompiler;
+
+        public ResolutionPlans(DefinitionResolution resolution) {
+            this.resolution = resolution;
+            this.publicToInternalCompiler = new PublicToInternalPlanCompiler(resolution);
+            this.internalToPublicCompiler = new InternalToPublicPlanCompiler(resolution);
+        }
+
+    }
+
+    /**
+     * Compiler for plans that rewrite the public representation to the provider-internal representation.
+     */
+    private static class PublicToInternalPlanCompiler extends AbstractPublicToInternalPlanCompiler {
 
         private final DefinitionResolution definitionResolution;
 
-        public PublicToInternalRewriter(DefinitionResolution definitionResolution) {
+        public PublicToInternalPlanCompiler(DefinitionResolution definitionResolution) {
             this.definitionResolution = definitionResolution;
         }
 
         @Override
-        protected PublicToInternalRewriter fork() {
-            return new PublicToInternalRewriter(this.definitionResolution);
+        protected RecordPlan createRecordPlan(RecordType<?, ?, ?> recordType) {
+            String typeIdentifier = (requiresTypeIdentifier(recordType)) ? recordType.getInternalName() : null;
+            return new PublicToInternalRecordPlan(this, typeIdentifier);
         }
 
         @Override
-        protected ObjectNode handlePolymorphicRecordType(String typeId, RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            ProviderRecordType actualProviderType = (ProviderRecordType) this.definitionResolution.resolveProviderTypeByPublicName(typeId);
-            if (actualProviderType == null) {
-                throw new IllegalStateException("Missing type with public name '" + typeId + "'.");
-            }
-            
-            return this.rewriteRecord(actualProviderType, objectNode);            
+        protected String sourceFieldName(Field<?, ?> field) {
+            // Determine the consumer field that is mapped to the provider-internal field. If no such field exists,
+            // it is assumed that the consumer does not provide this field. Note that the public name of the provider-internal
+            // field may differ from the public name of the consumer field, as the provider-internal representation
+            // is built from the latest revision of the field.
+            ConsumerField consumerField = this.definitionResolution.mapProviderField((ProviderField) field);
+            return (consumerField != null) ? consumerField.getPublicName() : null;
         }
-        
+
+        @Override
+        protected String targetFieldName(Field<?, ?> field) {
+            return field.getInternalName();
+        }
+
         @Override
-        protected JsonNode handleMonomorphicRecordType(RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            return this.rewriteRecord(recordType, objectNode);
+        protected RecordType<?, ?, ?> resolveTypeId(String typeId) {
+            return asRecordType(this.definitionResolution.resolveProviderTypeByPublicName(typeId));
         }
-        
-        private ObjectNode rewriteRecord(RecordType<?, ?, ?> recordType, ObjectNode sourceNode) {
+
+    }
+
+    /**
+     * Plan for rewriting a record from the public to the provider-internal representation.
+     */
+    private static class PublicToInternalRecordPlan extends RecordPlan {
+
+        public PublicToInternalRecordPlan(PublicToInternalPlanCompiler compiler, String typeIdentifier) {
+            super(compiler, typeIdentifier);
+        }
+
+        @Override
+        protected JsonNode rewriteRecord(ObjectNode sourceNode, UnrepresentableValueHandler handler) {
             ObjectNode targetNode = OBJECT_MAPPER.createObjectNode();
-            
-            this.handleTypeIdentifier(targetNode, recordType, RecordType::getInternalName);
-
-            for (Field<?, ?> field : recordType) {
-                // Determine the consumer field that is mapped to the provider-internal field. If no such field exists,
-                // it is assumed that the consumer does not provide this field. Note that the public name of the provider-internal
-                // field may differ from the public name of the consumer field, as the provider-internal representation
-                // is built from the latest revision of the field.
-                ConsumerField consumerField = this.definitionResolution.mapProviderField((ProviderField) field);
-                if (consumerField == null) {
-                    continue;
-                }
 
-                JsonNode value = sourceNode.get(consumerField.getPublicName());
+            this.applyTypeIdentifier(targetNode);
+
+            for (FieldPlan fieldPlan : this.getFieldPlans()) {
+                JsonNode value = sourceNode.get(fieldPlan.sourceName);
 
                 if (value != null) {
-                    targetNode.set(field.getInternalName(), this.fork().rewritePublicToInternal(field.getType(), value));
+                    targetNode.set(fieldPlan.targetName, fieldPlan.valuePlan.execute(value, handler));
                 }
             }
 
@@ -186,71 +305,89 @@ public abstract class ProviderOperationProxy<P, R> extends AbstractOperationProx
         }
 
         @Override
-        protected JsonNode onUnrepresentableEnumMember(String name) {
-            // Unrepresentable values are only possible on the consumer side
-            throw new IllegalStateException("Unknown member name '" + name + "' encountered.");
+        protected JsonNode onUnknownTypeId(String typeId, ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            throw new IllegalStateException("Missing type with public name '" + typeId + "'.");
         }
 
     }
 
-    private static class InternalToPublicRewriter extends AbstractInternalToPublicRewriter {
+    /**
+     * Compiler for plans that rewrite the provider-internal representation to the public representation.
+     */
+    private static class InternalToPublicPlanCompiler extends AbstractInternalToPublicPlanCompiler {
 
         private final DefinitionResolution definitionResolution;
 
-        public InternalToPublicRewriter(DefinitionResolution definitionResolution) {
+        public InternalToPublicPlanCompiler(DefinitionResolution definitionResolution) {
             this.definitionResolution = definitionResolution;
         }
 
         @Override
-        protected AbstractInternalToPublicRewriter fork() {
-            return new InternalToPublicRewriter(this.definitionResolution);
+        protected RecordPlan createRecordPlan(RecordType<?, ?, ?> recordType) {
+            RecordType<?, ?, ?> consumerRecordType = (RecordType<?, ?, ?>) this.definitionResolution.mapProviderType(recordType);
+
+            // Handle the type identifier according to the customer type. The public name is the same as for the provider type,
+            // but the necessity of a type identifier may be different
+            String typeIdentifier = (requiresTypeIdentifier(consumerRecordType)) ? consumerRecordType.getPublicName() : null;
+            return new InternalToPublicRecordPlan(this, typeIdentifier, consumerRecordType.hasSubTypes());
+        }
+
+        @Override
+        protected String sourceFieldName(Field<?, ?> field) {
+            return field.getInternalName();
         }
 
         @Override
-        protected ObjectNode handlePolymorphicRecordType(String typeId, RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            ProviderRecordType actualProviderType = (ProviderRecordType) this.definitionResolution.resolveProviderTypeByInternalName(typeId);
-            
-            if (actualProviderType == null) {
-                RecordType<?, ?, ?> sourceType = (RecordType<?, ?, ?>) this.definitionResolution.mapProviderType(recordType);
-                
-                if (sourceType.hasSubTypes()) {
-                    // If no mapped type with the given type id exists, we have an unrepresentable value
-                    return createUnrepresentableValue();
-                } else {                
-                    // If the source type is not polymorphic, we can rewrite the value using the formal type
-                    return this.rewriteRecord(recordType, objectNode);                    
-                }
-            } else {
-                return this.rewriteRecord(actualProviderType, objectNode);
-            }
+        protected String targetFieldName(Field<?, ?> field) {
+            Field<?, ?> consumerField = this.definitionResolution.mapField(field);
+            return (consumerField != null) ? consumerField.getPublicName() : null;
         }
-        
+
         @Override
-        protected JsonNode handleMonomorphicRecordType(RecordType<?, ?, ?> recordType, ObjectNode objectNode) {
-            return this.rewriteRecord(recordType, objectNode);
+        protected RecordType<?, ?, ?> resolveTypeId(String typeId) {
+            return asRecordType(this.definitionResolution.resolveProviderTypeByInternalName(typeId));
         }
 
-        private ObjectNode rewriteRecord(RecordType<?, ?, ?> recordType, ObjectNode sourceNode) {
-            RecordType<?, ?, ?> consumerRecordType = (RecordType<?, ?, ?>) this.definitionResolution.mapProviderType(recordType);
-            
+    }
+
+    /**
+     * Plan for rewriting a record from the provider-internal to the public representation.
+     */
+    private static class InternalToPublicRecordPlan extends RecordPlan {
+
+        private final boolean consumerTypeHasSubTypes;
+
+        public InternalToPublicRecordPlan(InternalToPublicPlanCompiler compiler, String typeIdentifier, boolean consumerTypeHasSubTypes) {
+            super(compiler, typeIdentifier);
+
+            this.consumerTypeHasSubTypes = consumerTypeHasSubTypes;
+        }
+
+        @Override
+        protected JsonNode rewriteRecord(ObjectNode sourceNode, UnrepresentableValueHandler handler) {
             ObjectNode targetNode = OBJECT_MAPPER.createObjectNode();
-            
-            // Handle the type identifier according to the customer type. The public name is the same as for the provider type,
-            // but the necessity of a type identifier may be different
-            this.handleTypeIdentifier(targetNode, consumerRecordType, RecordType::getPublicName);
-            
-            for (Field<?, ?> field : recordType) {
-                JsonNode value = sourceNode.get(field.getInternalName());
-
-                Field<?, ?> consumerField = this.definitionResolution.mapField(field);
-                if (consumerField != null) {
-                    targetNode.set(consumerField.getPublicName(), this.fork().rewriteInternalToPublic(field.getType(), value));
-                }
+
+            this.applyTypeIdentifier(targetNode);
+
+            for (FieldPlan fieldPlan : this.getFieldPlans()) {
+                JsonNode value = sourceNode.get(fieldPlan.sourceName);
+                targetNode.set(fieldPlan.targetName, fieldPlan.valuePlan.executeOnOptionalValue(value, handler));
             }
 
             return targetNode;
         }
 
+        @Override
+        protected JsonNode onUnknownTypeId(String typeId, ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            if (this.consumerTypeHasSubTypes) {
+                // If no mapped type with the given type id exists, we have an unrepresentable value
+                return createUnrepresentableValue();
+            } else {
+                // If the source type is not polymorphic, we can rewrite the value using the formal type
+                return this.rewriteRecord(objectNode, handler);
+            }
+        }
+
     }
 
 }
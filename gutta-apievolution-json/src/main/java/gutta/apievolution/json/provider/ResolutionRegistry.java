@@ -0,0 +1,215 @@
+package gutta.apievolution.json.provider;
+
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.core.apimodel.provider.RevisionHistory;
+import gutta.apievolution.core.resolution.DefinitionResolution;
+import gutta.apievolution.core.resolution.DefinitionResolver;
+import gutta.apievolution.dsl.ConsumerApiLoader;
+import gutta.apievolution.json.provider.ProviderOperationProxy.ResolutionPlans;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registry for the resolutions of consumer APIs against a provider revision history. A single registry is meant to be shared by all provider
+ * operation proxies of a provider, so that each consumer API is only loaded and resolved once, and the rewrite plans compiled for a resolution are
+ * shared between the operations. The registry retains a bounded number of resolutions, evicting the least recently used ones.
+ *
+ * <p/>
+ * Instances of this class are thread-safe. Concurrent requests for the same missing resolution only resolve the consumer API once; the other
+ * requests wait for the result. Resolutions of different consumer APIs may be created concurrently.
+ */
+public class ResolutionRegistry {
+
+    private static final int DEFAULT_MAX_ENTRIES = 100;
+
+    private final RevisionHistory revisionHistory;
+
+    private final Set<Integer> supportedRevisions;
+
+    private final LruMap<String, FutureTask<ResolutionPlans>> entries;
+
+    private final AtomicLong loadCount = new AtomicLong();
+
+    /**
+     * Creates a new registry for the given revision history that retains a default number of resolutions.
+     *
+     * @param revisionHistory    The revision history to resolve consumer APIs against
+     * @param supportedRevisions The set of supported revisions from the history
+     */
+    public ResolutionRegistry(RevisionHistory revisionHistory, Set<Integer> supportedRevisions) {
+        this(revisionHistory, supportedRevisions, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Creates a new registry for the given revision history that retains the given maximum number of resolutions.
+     *
+     * @param revisionHistory    The revision history to resolve consumer APIs against
+     * @param supportedRevisions The set of supported revisions from the history
+     * @param maxEntries         The maximum number of resolutions to retain
+     */
+    public ResolutionRegistry(RevisionHistory revisionHistory, Set<Integer> supportedRevisions, int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The registry must be able to hold at least one entry.");
+        }
+
+        this.revisionHistory = revisionHistory;
+        this.supportedRevisions = supportedRevisions;
+        this.entries = new LruMap<>(maxEntries);
+    }
+
+    /**
+     * Returns the resolution of the given consumer API, loading and resolving the API if necessary.
+     *
+     * @param consumerApiId      The ID of the consumer API
+     * @param referencedApiName  The name of the provider API referenced by the consumer API
+     * @param referencedRevision The provider revision referenced by the consumer API
+     * @return The resolution of the consumer API
+     */
+    public DefinitionResolution getResolution(String consumerApiId, String referencedApiName, int referencedRevision) {
+        return this.getPlans(consumerApiId, referencedApiName, referencedRevision).resolution;
+    }
+
+    /**
+     * Eagerly loads and resolves the given consumer API, e.g., at startup, so that the first request of the consumer is not delayed by the
+     * resolution.
+     *
+     * @param consumerApiId      The ID of the consumer API
+     * @param referencedApiName  The name of the provider API referenced by the consumer API
+     * @param referencedRevision The provider revision referenced by the consumer API
+     */
+    public void warmUp(String consumerApiId, String referencedApiName, int referencedRevision) {
+        this.getPlans(consumerApiId, referencedApiName, referencedRevision);
+    }
+
+    /**
+     * Returns the resolution of the given consumer API together with its compiled rewrite plans.
+     *
+     * @param consumerApiId      The ID of the consumer API
+     * @param referencedApiName  The name of the provider API referenced by the consumer API
+     * @param referencedRevision The provider revision referenced by the consumer API
+     * @return see above
+     */
+    ResolutionPlans getPlans(String consumerApiId, String referencedApiName, int referencedRevision) {
+        FutureTask<ResolutionPlans> task;
+        boolean loadRequired = false;
+
+        synchronized (this.entries) {
+            task = this.entries.get(consumerApiId);
+            if (task == null) {
+                task = new FutureTask<>(() -> this.load(consumerApiId, referencedApiName, referencedRevision));
+                this.entries.put(consumerApiId, task);
+                loadRequired = true;
+            }
+        }
+
+        // Perform the load outside the lock, so that other consumer APIs can be resolved concurrently
+        if (loadRequired) {
+            task.run();
+        }
+
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            // Remove the failed entry, so that the resolution is attempted again on the next request
+            synchronized (this.entries) {
+                this.entries.remove(consumerApiId, task);
+            }
+
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException("Error resolving consumer API '" + consumerApiId + "'.", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the resolution of consumer API '" + consumerApiId + "'.", e);
+        }
+    }
+
+    private ResolutionPlans load(String consumerApiId, String referencedApiName, int referencedRevision) {
+        this.loadCount.incrementAndGet();
+
+        ConsumerApiDefinition consumerApi = this.loadConsumerApi(consumerApiId, referencedApiName, referencedRevision);
+        DefinitionResolution resolution = new DefinitionResolver().resolveConsumerDefinition(this.revisionHistory, this.supportedRevisions, consumerApi);
+
+        return new ResolutionPlans(resolution);
+    }
+
+    /**
+     * Loads the definition of the given consumer API. By default, the API ID is used as the name of a classpath resource containing the definition.
+     *
+     * @param consumerApiId      The ID of the consumer API
+     * @param referencedApiName  The name of the provider API referenced by the consumer API
+     * @param referencedRevision The provider revision referenced by the consumer API
+     * @return The loaded API definition
+     */
+    protected ConsumerApiDefinition loadConsumerApi(String consumerApiId, String referencedApiName, int referencedRevision) {
+        return ConsumerApiLoader.loadFromClasspath(consumerApiId, referencedApiName, referencedRevision);
+    }
+
+    /**
+     * Returns the number of resolutions currently held in this registry, including resolutions that are currently being created.
+     *
+     * @return see above
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Returns the number of consumer APIs that have been loaded and resolved by this registry so far.
+     *
+     * @return see above
+     */
+    public long getLoadCount() {
+        return this.loadCount.get();
+    }
+
+    /**
+     * Returns the number of resolutions that have been evicted from this registry so far.
+     *
+     * @return see above
+     */
+    public long getEvictionCount() {
+        synchronized (this.entries) {
+            return this.entries.evictionCount;
+        }
+    }
+
+    private static class LruMap<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = -3604383407536622473L;
+
+        private final int maxEntries;
+
+        long evictionCount;
+
+        LruMap(int maxEntries) {
+            super(16, 0.75f, true);
+
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (this.size() > this.maxEntries) {
+                this.evictionCount++;
+                return true;
+            }
+
+            return false;
+        }
+
+    }
+
+}
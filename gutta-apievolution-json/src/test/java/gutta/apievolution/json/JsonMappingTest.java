@@ -29,6 +29,8 @@ import gutta.apievolution.json.provider.ProviderStructureWithPolyField;
 import gutta.apievolution.json.provider.ProviderSuperType;
 import gutta.apievolution.json.provider.ProviderTestException;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,6 +38,8 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -49,9 +53,11 @@ class JsonMappingTest {
     /**
      * Tests a simple, JSON-based conversation between a consumer and a provider.
      */
-    @Test
-    void testJsonConversation() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void testJsonConversation(RewriteMode rewriteMode) {
         TestOperationProviderProxy providerProxy = new TestOperationProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
 
         ConsumerParameter parameter = new ConsumerParameter();
@@ -60,6 +66,7 @@ class JsonMappingTest {
         parameter.setTestList(Arrays.asList(ConsumerEnum.VALUE_A, ConsumerEnum.VALUE_B));
 
         TestOperationConsumerProxy consumerProxy = new TestOperationConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
         ConsumerResult result = consumerProxy.invokeOperation(parameter);
 
         assertEquals("test valueX", result.getResultField());
@@ -67,18 +74,45 @@ class JsonMappingTest {
         assertEquals(Arrays.asList(ConsumerEnum.VALUE_B, ConsumerEnum.VALUE_A), result.getResultList());
     }
     
+    /**
+     * Test case: An asynchronous conversation over the local transport works as expected.
+     */
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void asyncJsonConversation(RewriteMode rewriteMode) {
+        TestOperationProviderProxy providerProxy = new TestOperationProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
+        RequestRouter requestRouter = new LocalAsyncRequestRouter(new SimpleJsonRequestRouter(providerProxy));
+
+        ConsumerParameter parameter = new ConsumerParameter();
+        parameter.setTestField("test value");
+        parameter.setTestEnum(ConsumerEnum.VALUE_A);
+        parameter.setTestList(Arrays.asList(ConsumerEnum.VALUE_A, ConsumerEnum.VALUE_B));
+
+        TestOperationConsumerProxy consumerProxy = new TestOperationConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
+        ConsumerResult result = consumerProxy.invokeOperationAsync(parameter).toCompletableFuture().join();
+
+        assertEquals("test valueX", result.getResultField());
+        assertEquals(ConsumerEnum.VALUE_B, result.getResultEnum());
+        assertEquals(Arrays.asList(ConsumerEnum.VALUE_B, ConsumerEnum.VALUE_A), result.getResultList());
+    }
+
     /**
      * Test case: The invocation of a method with polymorphic parameter and result works as expected.
      */
-    @Test
-    void immediatePolymorphicTypes() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void immediatePolymorphicTypes(RewriteMode rewriteMode) {
         PolyOperationProviderProxy providerProxy = new PolyOperationProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter router = new SimpleJsonRequestRouter(providerProxy);
         
         ConsumerSubTypeB parameter = new ConsumerSubTypeB();
         parameter.setFieldB(1234);
         
         PolyOperationConsumerProxy consumerProxy = new PolyOperationConsumerProxy(router);
+        consumerProxy.setRewriteMode(rewriteMode);
         ConsumerSuperType result = consumerProxy.invokeOperation(parameter);
         
         assertNotSame(parameter, result);
@@ -88,9 +122,11 @@ class JsonMappingTest {
     /**
      * Test case: The invocation of a method with parameter and result structures that contain polymorphic values works as expected.
      */
-    @Test
-    void containedPolymorphicTypes() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void containedPolymorphicTypes(RewriteMode rewriteMode) {
         PolyOperation2ProviderProxy providerProxy = new PolyOperation2ProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter router = new SimpleJsonRequestRouter(providerProxy);
         
         ConsumerSubTypeA element = new ConsumerSubTypeA();
@@ -100,6 +136,7 @@ class JsonMappingTest {
         parameter.setField(element);
         
         PolyOperation2ConsumerProxy consumerProxy = new PolyOperation2ConsumerProxy(router);
+        consumerProxy.setRewriteMode(rewriteMode);
         ConsumerStructureWithPolyField result = consumerProxy.invokeOperation(parameter);
         
         assertNotSame(parameter, result);
@@ -109,29 +146,52 @@ class JsonMappingTest {
     /**
      * Test case: A thrown exception is mapped as expected.
      */
-    @Test
-    void exceptionMapping() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void exceptionMapping(RewriteMode rewriteMode) {
         OpWithExceptionProviderProxy providerProxy = new OpWithExceptionProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
         
         OpWithExceptionConsumerProxy consumerProxy = new OpWithExceptionConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
         ConsumerTestException exception = assertThrows(ConsumerTestException.class, () -> consumerProxy.invokeOperation(new ConsumerParameter()));
         
         assertEquals(1234, exception.getExceptionField());
     }
+
+    /**
+     * Test case: An exception thrown during an asynchronous invocation completes the returned stage exceptionally.
+     */
+    @Test
+    void asyncExceptionMapping() {
+        OpWithExceptionProviderProxy providerProxy = new OpWithExceptionProviderProxy();
+        RequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
+
+        OpWithExceptionConsumerProxy consumerProxy = new OpWithExceptionConsumerProxy(requestRouter);
+        consumerProxy.setExecutor(Runnable::run);
+
+        CompletableFuture<ConsumerResult> future = consumerProxy.invokeOperationAsync(new ConsumerParameter()).toCompletableFuture();
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+
+        assertEquals(1234, ((ConsumerTestException) exception.getCause()).getExceptionField());
+    }
     
     /**
      * Test case: Mono-to-poly mapping (parameter) and vice versa (result).
      */
-    @Test
-    void monoToPolyTypeMapping() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void monoToPolyTypeMapping(RewriteMode rewriteMode) {
         MonoToPolyMappingProviderProxy providerProxy = new MonoToPolyMappingProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
         
         ConsumerMonoToPolyType parameter = new ConsumerMonoToPolyType();
         parameter.setField1(1234);
         
         MonoToPolyMappingConsumerProxy consumerProxy = new MonoToPolyMappingConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
         ConsumerMonoToPolyType result = consumerProxy.invokeOperation(parameter);
         
         assertNotSame(parameter, result);
@@ -142,15 +202,18 @@ class JsonMappingTest {
      * Mono-to-poly type mapping where a specialized type is returned that is unknown to the consumer.
      * This does not lead to an error, as the type can be mapped to the formal type.
      */
-    @Test
-    void monoToPolyTypeMappingWithSpecializedResult() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void monoToPolyTypeMappingWithSpecializedResult(RewriteMode rewriteMode) {
         MonoToPolyMappingProviderProxy providerProxy = new MonoToPolyMappingProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
         
         ConsumerMonoToPolyType parameter = new ConsumerMonoToPolyType();
         parameter.setField1(1);
         
         MonoToPolyMappingConsumerProxy consumerProxy = new MonoToPolyMappingConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
         ConsumerMonoToPolyType result = consumerProxy.invokeOperation(parameter);
         
         assertEquals(5678, result.getField1());
@@ -159,9 +222,11 @@ class JsonMappingTest {
     /**
      * Test case: Mono-to-poly mapping (and vice versa) as part of structure mapping.
      */
-    @Test
-    void embeddedMonoToPolyTypeMapping() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void embeddedMonoToPolyTypeMapping(RewriteMode rewriteMode) {
         EmbeddedMonoToPolyMappingProviderProxy providerProxy = new EmbeddedMonoToPolyMappingProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
                 
         ConsumerMonoToPolyType monoToPolyValue = new ConsumerMonoToPolyType();
@@ -171,6 +236,7 @@ class JsonMappingTest {
         parameter.setField(monoToPolyValue);
         
         EmbeddedMonoToPolyMappingConsumerProxy consumerProxy = new EmbeddedMonoToPolyMappingConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
         ConsumerStructureWithMonoToPolyField result = consumerProxy.invokeOperation(parameter);
         
         assertNotSame(parameter, result);
@@ -180,12 +246,15 @@ class JsonMappingTest {
     /**
      * Test case: The provider throws an exception, but the consumer does not expect one. This results in an unrepresentable value.
      */
-    @Test
-    void providerThrowsExceptionButConsumerDoesNotExpectOne() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void providerThrowsExceptionButConsumerDoesNotExpectOne(RewriteMode rewriteMode) {
         OpWithUnmappedExceptionProviderProxy providerProxy = new OpWithUnmappedExceptionProviderProxy();
+        providerProxy.setRewriteMode(rewriteMode);
         RequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
    
         OpWithUnmappedExceptionConsumerProxy consumerProxy = new OpWithUnmappedExceptionConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
         assertThrows(UnrepresentableValueException.class, () -> consumerProxy.invokeOperation(new ConsumerParameter()));
     }
 
@@ -0,0 +1,146 @@
+package gutta.apievolution.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gutta.apievolution.core.apimodel.AtomicType;
+import gutta.apievolution.core.apimodel.Field;
+import gutta.apievolution.core.apimodel.Inherited;
+import gutta.apievolution.core.apimodel.ListType;
+import gutta.apievolution.core.apimodel.Optionality;
+import gutta.apievolution.core.apimodel.RecordType;
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.core.apimodel.consumer.ConsumerEnumType;
+import gutta.apievolution.core.apimodel.consumer.ConsumerRecordType;
+import gutta.apievolution.json.AbstractRewritePlanCompiler.AbstractInternalToPublicPlanCompiler;
+import gutta.apievolution.json.RewritePlan.FieldPlan;
+import gutta.apievolution.json.RewritePlan.RecordPlan;
+import gutta.apievolution.json.RewritePlan.UnrepresentableValueHandler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the compilation and execution of rewrite plans.
+ */
+class RewritePlanCompilerTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final UnrepresentableValueHandler FAIL_ON_UNREPRESENTABLE_VALUE = value -> {
+        throw new NoSuchElementException();
+    };
+
+    /**
+     * Test case: Plans for recursive types are compiled once and refer to themselves.
+     */
+    @Test
+    void recursiveType() {
+        ConsumerApiDefinition apiDefinition = new ConsumerApiDefinition("test", Collections.emptySet(), "test", 0);
+
+        ConsumerRecordType recordType = apiDefinition.newRecordType("Node", 0);
+        recordType.newField("value", "valueInternal", AtomicType.INT_32, Optionality.MANDATORY, Inherited.NO);
+        recordType.newField("successor", "successorInternal", recordType, Optionality.OPTIONAL, Inherited.NO);
+
+        apiDefinition.finalizeDefinition();
+
+        TestPlanCompiler compiler = new TestPlanCompiler(apiDefinition);
+        RecordPlan plan = compiler.planFor(recordType);
+
+        assertSame(plan, compiler.planFor(recordType));
+        assertSame(plan, plan.getFieldPlans()[1].valuePlan);
+    }
+
+    /**
+     * Test case: Execution of a plan renames fields and enum members in nested records and lists.
+     *
+     * @throws IOException If an error occurs while processing the JSON
+     */
+    @Test
+    void planExecution() throws IOException {
+        ConsumerApiDefinition apiDefinition = new ConsumerApiDefinition("test", Collections.emptySet(), "test", 0);
+
+        ConsumerEnumType enumType = apiDefinition.newEnumType("Enum", "EnumInternal", 0);
+        enumType.newEnumMember("A", "AInternal");
+
+        ConsumerRecordType elementType = apiDefinition.newRecordType("Element", 1);
+        elementType.newField("enumField", "enumFieldInternal", enumType, Optionality.MANDATORY, Inherited.NO);
+
+        ConsumerRecordType recordType = apiDefinition.newRecordType("Record", 2);
+        recordType.newField("listField", "listFieldInternal", ListType.unbounded(elementType), Optionality.MANDATORY, Inherited.NO);
+
+        apiDefinition.finalizeDefinition();
+
+        TestPlanCompiler compiler = new TestPlanCompiler(apiDefinition);
+        RecordPlan plan = compiler.planFor(recordType);
+
+        JsonNode internalNode = OBJECT_MAPPER.readTree("{\"listFieldInternal\":[{\"enumFieldInternal\":\"AInternal\"},{\"enumFieldInternal\":null}]}");
+        JsonNode publicNode = plan.execute(internalNode, FAIL_ON_UNREPRESENTABLE_VALUE);
+
+        assertEquals("{\"listField\":[{\"enumField\":\"A\"},{\"enumField\":null}]}", OBJECT_MAPPER.writeValueAsString(publicNode));
+
+        ObjectNode invalidNode = (ObjectNode) OBJECT_MAPPER.readTree("{\"listFieldInternal\":[{\"enumFieldInternal\":\"B\"}]}");
+        assertThrows(NoSuchElementException.class, () -> plan.execute(invalidNode, FAIL_ON_UNREPRESENTABLE_VALUE));
+    }
+
+    private static class TestPlanCompiler extends AbstractInternalToPublicPlanCompiler {
+
+        private final ConsumerApiDefinition apiDefinition;
+
+        public TestPlanCompiler(ConsumerApiDefinition apiDefinition) {
+            this.apiDefinition = apiDefinition;
+        }
+
+        @Override
+        protected RecordPlan createRecordPlan(RecordType<?, ?, ?> recordType) {
+            return new TestRecordPlan(this);
+        }
+
+        @Override
+        protected String sourceFieldName(Field<?, ?> field) {
+            return field.getInternalName();
+        }
+
+        @Override
+        protected String targetFieldName(Field<?, ?> field) {
+            return field.getPublicName();
+        }
+
+        @Override
+        protected RecordType<?, ?, ?> resolveTypeId(String typeId) {
+            return (RecordType<?, ?, ?>) this.apiDefinition.findUDTByInternalName(typeId).orElse(null);
+        }
+
+    }
+
+    private static class TestRecordPlan extends RecordPlan {
+
+        public TestRecordPlan(TestPlanCompiler compiler) {
+            super(compiler, null);
+        }
+
+        @Override
+        protected JsonNode rewriteRecord(ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            ObjectNode targetNode = OBJECT_MAPPER.createObjectNode();
+
+            for (FieldPlan fieldPlan : this.getFieldPlans()) {
+                targetNode.set(fieldPlan.targetName, fieldPlan.valuePlan.executeOnOptionalValue(objectNode.get(fieldPlan.sourceName), handler));
+            }
+
+            return targetNode;
+        }
+
+        @Override
+        protected JsonNode onUnknownTypeId(String typeId, ObjectNode objectNode, UnrepresentableValueHandler handler) {
+            throw new IllegalArgumentException();
+        }
+
+    }
+
+}
@@ -0,0 +1,83 @@
+package gutta.apievolution.json.consumer;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.dsl.ConsumerApiLoader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the direct mapping between the consumer-internal and the public representation.
+ */
+class DirectMappingModuleTest {
+
+    private static final ConsumerApiDefinition CONSUMER_API = ConsumerApiLoader.loadFromClasspath("apis/consumer-api.api", "test.provider", 0);
+
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        objectMapper.disable(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+        objectMapper.registerModule(new DirectMappingModule(CONSUMER_API));
+
+        return objectMapper;
+    }
+
+    /**
+     * Test case: Field names and enum members are written and read using their public names.
+     *
+     * @throws IOException If an error occurs while processing the JSON
+     */
+    @Test
+    void renamedFieldsAndEnumMembers() throws IOException {
+        ObjectMapper objectMapper = createObjectMapper();
+
+        ConsumerParameter parameter = new ConsumerParameter();
+        parameter.setTestField("value");
+        parameter.setTestEnum(ConsumerEnum.VALUE_A);
+        parameter.setTestList(Arrays.asList(ConsumerEnum.VALUE_B, ConsumerEnum.VALUE_A));
+
+        String json = objectMapper.writeValueAsString(parameter);
+        assertEquals("{\"renamedField\":\"value\",\"testEnum\":\"A\",\"testList\":[\"B\",\"A\"]}", json);
+
+        ConsumerResult result = objectMapper.readValue("{\"renamedField\":\"value\",\"resultEnum\":\"B\",\"resultList\":[\"A\"]}", ConsumerResult.class);
+        assertEquals("value", result.getResultField());
+        assertEquals(ConsumerEnum.VALUE_B, result.getResultEnum());
+        assertEquals(Arrays.asList(ConsumerEnum.VALUE_A), result.getResultList());
+    }
+
+    /**
+     * Test case: Type identifiers are written and read using the public type names.
+     *
+     * @throws IOException If an error occurs while processing the JSON
+     */
+    @Test
+    void publicTypeIdentifiers() throws IOException {
+        ObjectMapper objectMapper = createObjectMapper();
+
+        ConsumerSubTypeB value = new ConsumerSubTypeB();
+        value.setFieldB(1234);
+
+        String json = objectMapper.writeValueAsString(value);
+        assertEquals("{\"@type\":\"SubTypeB\",\"fieldB\":1234}", json);
+
+        assertEquals(value, objectMapper.readValue(json, ConsumerSuperType.class));
+    }
+
+    /**
+     * Test case: Unknown enum members cause a mapping exception, so that the caller can fall back to rewriting the representation.
+     */
+    @Test
+    void unknownEnumMember() {
+        ObjectMapper objectMapper = createObjectMapper();
+
+        assertThrows(JsonMappingException.class, () -> objectMapper.readValue("{\"resultEnum\":\"VALUE_A\"}", ConsumerResult.class));
+    }
+
+}
@@ -0,0 +1,176 @@
+package gutta.apievolution.json.provider;
+
+import gutta.apievolution.core.apimodel.consumer.ConsumerApiDefinition;
+import gutta.apievolution.core.apimodel.provider.RevisionHistory;
+import gutta.apievolution.core.resolution.DefinitionResolution;
+import gutta.apievolution.dsl.ConsumerApiLoader;
+import gutta.apievolution.dsl.ProviderApiLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test cases for the resolution registry.
+ */
+class ResolutionRegistryTest {
+
+    private static final RevisionHistory REVISION_HISTORY = ProviderApiLoader.loadHistoryFromClasspath("apis/provider-revision-1.api",
+            "apis/provider-revision-2.api");
+
+    private static final Set<Integer> SUPPORTED_REVISIONS = new HashSet<>(Arrays.asList(0, 1));
+
+    private static final String API_ID = "apis/consumer-api.api";
+
+    private static final String REFERENCED_API_NAME = "test.provider";
+
+    /**
+     * Test case: Repeated requests for the same consumer API return the same resolution, which is only created once.
+     */
+    @Test
+    void resolutionIsReused() {
+        ResolutionRegistry registry = new ResolutionRegistry(REVISION_HISTORY, SUPPORTED_REVISIONS);
+
+        DefinitionResolution resolution = registry.getResolution(API_ID, REFERENCED_API_NAME, 0);
+
+        assertSame(resolution, registry.getResolution(API_ID, REFERENCED_API_NAME, 0));
+        assertEquals(1, registry.getLoadCount());
+        assertEquals(1, registry.size());
+    }
+
+    /**
+     * Test case: Concurrent requests for the same missing resolution only resolve the consumer API once.
+     *
+     * @throws Exception If an error occurs during the test
+     */
+    @Test
+    void concurrentRequestsAreResolvedOnce() throws Exception {
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+
+        ResolutionRegistry registry = new ResolutionRegistry(REVISION_HISTORY, SUPPORTED_REVISIONS) {
+
+            @Override
+            protected ConsumerApiDefinition loadConsumerApi(String consumerApiId, String referencedApiName, int referencedRevision) {
+                loadStarted.countDown();
+                awaitUninterruptibly(releaseLoad);
+                return super.loadConsumerApi(consumerApiId, referencedApiName, referencedRevision);
+            }
+
+        };
+
+        int threadCount = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<DefinitionResolution>> futures = new ArrayList<>();
+            for (int index = 0; index < threadCount; index++) {
+                futures.add(executor.submit(() -> registry.getResolution(API_ID, REFERENCED_API_NAME, 0)));
+            }
+
+            loadStarted.await();
+            releaseLoad.countDown();
+
+            DefinitionResolution resolution = futures.get(0).get();
+            for (Future<DefinitionResolution> future : futures) {
+                assertSame(resolution, future.get());
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(1, registry.getLoadCount());
+    }
+
+    /**
+     * Test case: The least recently used resolution is evicted when the registry is full.
+     */
+    @Test
+    void leastRecentlyUsedResolutionIsEvicted() {
+        ResolutionRegistry registry = new SingleFileRegistry(2);
+
+        DefinitionResolution resolutionA = registry.getResolution("A", REFERENCED_API_NAME, 0);
+        registry.warmUp("B", REFERENCED_API_NAME, 0);
+        registry.getResolution("A", REFERENCED_API_NAME, 0);
+        registry.warmUp("C", REFERENCED_API_NAME, 0);
+
+        assertEquals(2, registry.size());
+        assertEquals(1, registry.getEvictionCount());
+        assertEquals(3, registry.getLoadCount());
+
+        // A has been used more recently than B, so it must still be present
+        assertSame(resolutionA, registry.getResolution("A", REFERENCED_API_NAME, 0));
+        assertEquals(3, registry.getLoadCount());
+
+        registry.getResolution("B", REFERENCED_API_NAME, 0);
+        assertEquals(4, registry.getLoadCount());
+        assertEquals(2, registry.getEvictionCount());
+    }
+
+    /**
+     * Test case: A failed resolution is not retained, so that it is attempted again on the next request.
+     */
+    @Test
+    void failedResolutionIsRetried() {
+        AtomicBoolean failLoad = new AtomicBoolean(true);
+
+        ResolutionRegistry registry = new ResolutionRegistry(REVISION_HISTORY, SUPPORTED_REVISIONS) {
+
+            @Override
+            protected ConsumerApiDefinition loadConsumerApi(String consumerApiId, String referencedApiName, int referencedRevision) {
+                if (failLoad.getAndSet(false)) {
+                    throw new IllegalArgumentException("Load failed.");
+                }
+
+                return super.loadConsumerApi(consumerApiId, referencedApiName, referencedRevision);
+            }
+
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> registry.getResolution(API_ID, REFERENCED_API_NAME, 0));
+        assertEquals(0, registry.size());
+
+        DefinitionResolution resolution = registry.getResolution(API_ID, REFERENCED_API_NAME, 0);
+        assertNotNull(resolution);
+        assertEquals(2, registry.getLoadCount());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Registry that loads the same consumer API for all IDs.
+     */
+    private static class SingleFileRegistry extends ResolutionRegistry {
+
+        public SingleFileRegistry(int maxEntries) {
+            super(REVISION_HISTORY, SUPPORTED_REVISIONS, maxEntries);
+        }
+
+        @Override
+        protected ConsumerApiDefinition loadConsumerApi(String consumerApiId, String referencedApiName, int referencedRevision) {
+            return ConsumerApiLoader.loadFromClasspath(API_ID, referencedApiName, referencedRevision);
+        }
+
+    }
+
+}
@@ -5,12 +5,14 @@ import gutta.apievolution.core.apimodel.provider.RevisionHistory;
 import gutta.apievolution.dsl.ConsumerApiLoader;
 import gutta.apievolution.dsl.ProviderApiLoader;
 import gutta.apievolution.json.RequestRouter;
+import gutta.apievolution.json.RewriteMode;
 import gutta.apievolution.json.SimpleJsonRequestRouter;
 import gutta.apievolution.json.consumer.ConsumerOperationProxy;
 import gutta.apievolution.json.consumer.OnUnrepresentableValue;
 import gutta.apievolution.json.consumer.UnrepresentableValueException;
 import gutta.apievolution.json.provider.ProviderOperationProxy;
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -32,38 +34,50 @@ class UnrepresentableValuesTest {
 
     private static final Set<Integer> SUPPORTED_REVISIONS = new HashSet<>(Arrays.asList(0, 1));        
         
-    @Test
-    void unrepresentableSubtype() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void unrepresentableSubtype(RewriteMode rewriteMode) {
         UnrepresentableSubtypeProviderProxy providerProxy = new UnrepresentableSubtypeProviderProxy("SuperType", "SuperType", ProviderSuperType.class);        
+        providerProxy.setRewriteMode(rewriteMode);
         SimpleJsonRequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
         TestOperationConsumerProxy consumerProxy = new TestOperationConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
 
         assertThrows(UnrepresentableValueException.class, () -> consumerProxy.invokeOperation(new ConsumerSuperType()));    	
     }
     
-    @Test
-    void unrepresentableSubtypeAsNull() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void unrepresentableSubtypeAsNull(RewriteMode rewriteMode) {
     	UnrepresentableSubtypeProviderProxy providerProxy = new UnrepresentableSubtypeProviderProxy("SuperType", "SuperType", ProviderSuperType.class);        
+    	providerProxy.setRewriteMode(rewriteMode);
         SimpleJsonRequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
         TestOperationConsumerProxy consumerProxy = new TestOperationConsumerProxy(requestRouter);
+        consumerProxy.setRewriteMode(rewriteMode);
 
         assertNull(consumerProxy.invokeOperation(new ConsumerSuperType(), OnUnrepresentableValue.returnNull()));
     }
     
-    @Test
-    void unrepresentableEnumMember() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void unrepresentableEnumMember(RewriteMode rewriteMode) {
     	UnrepresentableEnumMemberProviderProxy providerProxy = new UnrepresentableEnumMemberProviderProxy("SuperType", "SuperType", ProviderSuperType.class);
+    	providerProxy.setRewriteMode(rewriteMode);
     	SimpleJsonRequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
     	TestOperationConsumerProxy consumerProxy = new TestOperationConsumerProxy(requestRouter);
+    	consumerProxy.setRewriteMode(rewriteMode);
     	
     	assertThrows(UnrepresentableValueException.class, () -> consumerProxy.invokeOperation(new ConsumerSuperType()));
     }
     
-    @Test
-    void unrepresentableEnumMemberAsNull() {
+    @ParameterizedTest
+    @EnumSource(RewriteMode.class)
+    void unrepresentableEnumMemberAsNull(RewriteMode rewriteMode) {
     	UnrepresentableEnumMemberProviderProxy providerProxy = new UnrepresentableEnumMemberProviderProxy("SuperType", "SuperType", ProviderSuperType.class);
+    	providerProxy.setRewriteMode(rewriteMode);
     	SimpleJsonRequestRouter requestRouter = new SimpleJsonRequestRouter(providerProxy);
     	TestOperationConsumerProxy consumerProxy = new TestOperationConsumerProxy(requestRouter);
+    	consumerProxy.setRewriteMode(rewriteMode);
     	
     	ConsumerSubTypeA result = (ConsumerSubTypeA) consumerProxy.invokeOperation(new ConsumerSuperType(), OnUnrepresentableValue.returnNull());
     	assertEquals(1234, result.getSubValueA());
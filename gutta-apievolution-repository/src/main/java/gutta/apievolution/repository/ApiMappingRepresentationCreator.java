@@ -2,27 +2,31 @@ package gutta.apievolution.repository;
 
 import gutta.apievolution.core.resolution.DefinitionResolution;
 
+import java.util.function.Supplier;
+
 /**
  * Interface for classes that create a concrete representation of an API mapping
- * represented by a definition resolution.
+ * represented by a definition resolution. The resolution is provided by a supplier,
+ * so that creators which are able to reuse previously created representations do not
+ * need to resolve the definitions.
  */
 public interface ApiMappingRepresentationCreator {
 
     /**
      * Creates the consumer-side mapping representation of the given resolution.
      * 
-     * @param resolution The definition resolution to work with
+     * @param resolutionSupplier Supplier for the definition resolution to work with
      * @return The consumer-side mapping in an appropriate representation
      */
-    MappingRepresentation createConsumerSideMapping(DefinitionResolution resolution);
+    MappingRepresentation createConsumerSideMapping(Supplier<DefinitionResolution> resolutionSupplier);
 
     /**
      * Creates the provider-side mapping representation of the given resolution.
      * 
-     * @param resolution The definition resolution to work with
+     * @param resolutionSupplier Supplier for the definition resolution to work with
      * @return The provider-side mapping in an appropriate representation
      */
-    MappingRepresentation createProviderSideMapping(DefinitionResolution resolution);
+    MappingRepresentation createProviderSideMapping(Supplier<DefinitionResolution> resolutionSupplier);
 
     /**
      * Creates a full mapping representation of the given resolution, i.e., a
@@ -30,9 +34,9 @@ public interface ApiMappingRepresentationCreator {
      * representation. This can be useful for in-process communication in order to
      * save the additional mapping step.
      * 
-     * @param resolution The definition resolution to work with
+     * @param resolutionSupplier Supplier for the definition resolution to work with
      * @return The mapping in an appropriate representation
      */
-    MappingRepresentation createFullMapping(DefinitionResolution resolution);
+    MappingRepresentation createFullMapping(Supplier<DefinitionResolution> resolutionSupplier);
 
 }
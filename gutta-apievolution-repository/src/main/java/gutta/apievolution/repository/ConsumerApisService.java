@@ -9,14 +9,20 @@ import gutta.apievolution.core.resolution.DefinitionResolver;
 import gutta.apievolution.dsl.APIParseException;
 import gutta.apievolution.dsl.ConsumerApiLoader;
 import gutta.apievolution.dsl.ProviderApiLoader;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCache;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.FormatVersion;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptFingerprint;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Service for accessing and managing consumer API definitions.
@@ -24,6 +30,10 @@ import java.util.Set;
 @ApplicationScoped
 public class ConsumerApisService {
 
+    private static final int MAX_CACHED_SCRIPTS = 64;
+
+    private final ApiMappingScriptCache scriptCache = new ApiMappingScriptCache(MAX_CACHED_SCRIPTS);
+
     @Inject
     ProviderApisService providerApisService;
 
@@ -58,35 +68,47 @@ public class ConsumerApisService {
         PersistentConsumerApiDefinition persistentConsumerApi = optionalConsumerApi.get();
         PersistentProviderApiDefinition persistentProviderApi = persistentConsumerApi.getReferencedRevision();
 
-        ConsumerApiDefinition consumerApiDefinition = ConsumerApiLoader.loadFromString(persistentConsumerApi.getDefinitionText(),
-                persistentProviderApi.getHistoryName(), persistentProviderApi.getRevisionNumber());
-
         String historyName = persistentProviderApi.getHistoryName();
-        RevisionHistory revisionHistory = this.providerApisService.readRevisionHistory(historyName);
+        List<PersistentProviderApiDefinition> providerRevisions = this.providerApisService.readRevisions(historyName);
         Set<Integer> supportedRevisions = this.providerApisService.readSupportedRevisions(historyName);
 
-        DefinitionResolution definitionResolution = new DefinitionResolver().resolveConsumerDefinition(revisionHistory, supportedRevisions,
-                consumerApiDefinition);
+        // Parsing and resolving the definitions is expensive, so it is only performed if the mapping is not cached
+        Supplier<DefinitionResolution> resolutionSupplier = () -> {
+            ConsumerApiDefinition consumerApiDefinition = ConsumerApiLoader.loadFromString(persistentConsumerApi.getDefinitionText(), historyName,
+                    persistentProviderApi.getRevisionNumber());
+            RevisionHistory revisionHistory = ProviderApisService.toRevisionHistory(providerRevisions);
+
+            return new DefinitionResolver().resolveConsumerDefinition(revisionHistory, supportedRevisions, consumerApiDefinition);
+        };
 
-        ApiMappingRepresentationCreator mappingCreator = this.getMappingCreatorFor(format)
+        Supplier<ApiMappingScriptFingerprint> fingerprintSupplier = () -> ApiMappingScriptFingerprint.of(persistentConsumerApi.getDefinitionText(),
+                persistentProviderApi.getRevisionNumber(), toDefinitionTexts(providerRevisions), supportedRevisions);
+
+        ApiMappingRepresentationCreator mappingCreator = this.getMappingCreatorFor(format, fingerprintSupplier)
                 .orElseThrow(() -> new ApiProcessingException("No mapping creator for format " + format + "."));
 
         switch (type) {
         case CONSUMER:
-            return mappingCreator.createConsumerSideMapping(definitionResolution);
+            return mappingCreator.createConsumerSideMapping(resolutionSupplier);
 
         case PROVIDER:
-            return mappingCreator.createProviderSideMapping(definitionResolution);
+            return mappingCreator.createProviderSideMapping(resolutionSupplier);
 
         case FULL:
-            return mappingCreator.createFullMapping(definitionResolution);
+            return mappingCreator.createFullMapping(resolutionSupplier);
 
         default:
             throw new ApiProcessingException("Unsupported mapping type " + type + ".");
         }
     }
 
-    private Optional<ApiMappingRepresentationCreator> getMappingCreatorFor(String format) {
+    private static List<String> toDefinitionTexts(List<PersistentProviderApiDefinition> definitions) {
+        return definitions.stream()
+                .map(PersistentProviderApiDefinition::getDefinitionText)
+                .collect(Collectors.toList());
+    }
+
+    private Optional<ApiMappingRepresentationCreator> getMappingCreatorFor(String format, Supplier<ApiMappingScriptFingerprint> fingerprintSupplier) {
         if (format == null) {
             return Optional.empty();
         }
@@ -96,7 +118,10 @@ public class ConsumerApisService {
             return Optional.of(new JsonMappingRepresentationCreator());
 
         case "mappingscript":
-            return Optional.of(new MappingScriptRepresentationCreator());
+            return Optional.of(new MappingScriptRepresentationCreator(this.scriptCache, fingerprintSupplier.get(), FormatVersion.V1));
+
+        case "mappingscript-v2":
+            return Optional.of(new MappingScriptRepresentationCreator(this.scriptCache, fingerprintSupplier.get(), FormatVersion.V2));
 
         default:
             return Optional.empty();
@@ -19,6 +19,7 @@ import jakarta.ws.rs.core.MediaType;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.function.Supplier;
 
 /**
  * Representation creator for JSON representation mapping, represented as JSON.
@@ -50,21 +51,24 @@ class JsonMappingRepresentationCreator implements ApiMappingRepresentationCreato
     }
     
     @Override
-    public MappingRepresentation createConsumerSideMapping(DefinitionResolution resolution) {
+    public MappingRepresentation createConsumerSideMapping(Supplier<DefinitionResolution> resolutionSupplier) {
+        DefinitionResolution resolution = resolutionSupplier.get();
         return this.toRepresentation(
                 this.createPublicToInternalMapping(resolution.consumerTypes(), resolution.consumerOperations())
                );
     }
 
     @Override
-    public MappingRepresentation createProviderSideMapping(DefinitionResolution resolution) {
+    public MappingRepresentation createProviderSideMapping(Supplier<DefinitionResolution> resolutionSupplier) {
+        DefinitionResolution resolution = resolutionSupplier.get();
         return this.toRepresentation(
                 this.createPublicToInternalMapping(resolution.providerTypes(), resolution.providerOperations())
                );
     }
 
     @Override
-    public MappingRepresentation createFullMapping(DefinitionResolution resolution) {
+    public MappingRepresentation createFullMapping(Supplier<DefinitionResolution> resolutionSupplier) {
+        DefinitionResolution resolution = resolutionSupplier.get();
         ObjectMapper objectMapper = OBJECT_MAPPER;
 
         ArrayNode rootNode = objectMapper.createArrayNode();
@@ -2,11 +2,15 @@ package gutta.apievolution.repository;
 
 import gutta.apievolution.core.resolution.DefinitionResolution;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCache;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec;
-import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.FormatVersion;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptFingerprint;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
 import jakarta.ws.rs.core.MediaType;
 
+import java.util.function.Supplier;
+
 /**
  * Representation creator for fixed-format mapping scripts. 
  */
@@ -14,27 +18,45 @@ class MappingScriptRepresentationCreator implements ApiMappingRepresentationCrea
 
     private static final String MEDIA_TYPE = MediaType.APPLICATION_OCTET_STREAM;
     
-    private MappingRepresentation createMappingScript(DefinitionResolution resolution,
+    private final ApiMappingScriptCache scriptCache;
+    
+    private final ApiMappingScriptFingerprint fingerprint;
+    
+    private final FormatVersion formatVersion;
+    
+    /**
+     * Creates a new representation creator that takes the scripts from the given cache.
+     * 
+     * @param scriptCache   The cache to take the scripts from
+     * @param fingerprint   The fingerprint of the definitions from which the mappings are created
+     * @param formatVersion The format version in which the scripts are encoded
+     */
+    MappingScriptRepresentationCreator(ApiMappingScriptCache scriptCache, ApiMappingScriptFingerprint fingerprint, FormatVersion formatVersion) {
+        this.scriptCache = scriptCache;
+        this.fingerprint = fingerprint;
+        this.formatVersion = formatVersion;
+    }
+    
+    private MappingRepresentation createMappingScript(Supplier<DefinitionResolution> resolutionSupplier,
             MappingDirection mappingDirection) {
-        ApiMappingScript mappingScript = new ApiMappingScriptGenerator().generateMappingScript(resolution,
-                mappingDirection);
-        byte[] encodedScript = new ApiMappingScriptCodec().encodeScript(mappingScript);
+        ApiMappingScript mappingScript = this.scriptCache.getScript(this.fingerprint, mappingDirection, resolutionSupplier);
+        byte[] encodedScript = new ApiMappingScriptCodec().encodeScript(mappingScript, this.formatVersion);
         
         return new MappingRepresentation(MEDIA_TYPE, encodedScript);
     }
     
     @Override
-    public MappingRepresentation createConsumerSideMapping(DefinitionResolution resolution) {
-        return this.createMappingScript(resolution, MappingDirection.CONSUMER_TO_PROVIDER);
+    public MappingRepresentation createConsumerSideMapping(Supplier<DefinitionResolution> resolutionSupplier) {
+        return this.createMappingScript(resolutionSupplier, MappingDirection.CONSUMER_TO_PROVIDER);
     }
 
     @Override
-    public MappingRepresentation createProviderSideMapping(DefinitionResolution resolution) {
-        return this.createMappingScript(resolution, MappingDirection.PROVIDER_TO_CONSUMER);
+    public MappingRepresentation createProviderSideMapping(Supplier<DefinitionResolution> resolutionSupplier) {
+        return this.createMappingScript(resolutionSupplier, MappingDirection.PROVIDER_TO_CONSUMER);
     }
 
     @Override
-    public MappingRepresentation createFullMapping(DefinitionResolution resolution) {
+    public MappingRepresentation createFullMapping(Supplier<DefinitionResolution> resolutionSupplier) {
         throw new UnsupportedOperationException();
     }
 
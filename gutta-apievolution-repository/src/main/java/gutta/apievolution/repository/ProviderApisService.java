@@ -37,10 +37,11 @@ public class ProviderApisService {
         return this.apisRepository.findByRevision(historyName, revisionNumber);
     }
 
-    RevisionHistory readRevisionHistory(String historyName) {
-        List<PersistentProviderApiDefinition> existingDefinitions = this.apisRepository
-                .findApiDefinitionsInHistory(historyName);
+    List<PersistentProviderApiDefinition> readRevisions(String historyName) {
+        return this.apisRepository.findApiDefinitionsInHistory(historyName);
+    }
 
+    static RevisionHistory toRevisionHistory(List<PersistentProviderApiDefinition> existingDefinitions) {
         List<ProviderApiDefinition> definitions = new ArrayList<>(existingDefinitions.size());
         Optional<ProviderApiDefinition> predecessor = Optional.empty();
 
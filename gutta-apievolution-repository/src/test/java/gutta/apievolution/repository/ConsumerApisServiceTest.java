@@ -3,9 +3,7 @@ package gutta.apievolution.repository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import gutta.apievolution.core.apimodel.provider.ProviderApiDefinition;
-import gutta.apievolution.core.apimodel.provider.RevisionHistory;
-import gutta.apievolution.dsl.ProviderApiLoader;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -175,9 +173,6 @@ class ConsumerApisServiceTest {
         persistentProviderDefinition.setRevisionNumber(0);
         persistentProviderDefinition.setDefinitionText(providerDefinitionText);
 
-        ProviderApiDefinition providerDefinition = ProviderApiLoader.loadFromString(0,
-                persistentProviderDefinition.getDefinitionText(), false, Optional.empty());
-
         PersistentConsumerApiDefinition consumerDefinition = new PersistentConsumerApiDefinition();
         consumerDefinition.setReferencedRevision(persistentProviderDefinition);
         consumerDefinition.setDefinitionText(consumerDefinitionText);
@@ -186,8 +181,8 @@ class ConsumerApisServiceTest {
         when(repositoryMock.findById(1)).thenReturn(Optional.of(consumerDefinition));
 
         ProviderApisService providerServiceMock = mock(ProviderApisService.class);
-        when(providerServiceMock.readRevisionHistory("testHistory"))
-                .thenReturn(new RevisionHistory(providerDefinition));
+        when(providerServiceMock.readRevisions("testHistory"))
+                .thenReturn(Collections.singletonList(persistentProviderDefinition));
         when(providerServiceMock.readSupportedRevisions("testHistory")).thenReturn(Collections.singleton(0));
 
         ConsumerApisService service = new ConsumerApisService();
@@ -286,4 +281,17 @@ class ConsumerApisServiceTest {
         assertTrue(mappingBytes.length > 0);
     }
     
+    /**
+     * Test case: Client mapping represented as a mapping script in format version 2.
+     */
+    @Test
+    void testMappingScriptV2ForConsumer() {
+        byte[] mappingBytes = this.createMapping("boundedProviderApi.api", "boundedConsumerApi.api", "mappingscript-v2", ApiMappingType.CONSUMER);
+        byte[] mappingBytesV1 = this.createScriptMapping(ApiMappingType.CONSUMER);
+        
+        // Both formats must decode to the same script
+        ApiMappingScriptCodec codec = new ApiMappingScriptCodec();
+        assertEquals(codec.decodeScript(mappingBytesV1), codec.decodeScript(mappingBytes));
+    }
+    
 }
@@ -11,6 +11,7 @@ import gutta.apievolution.dsl.NamedInputStream;
 import gutta.apievolution.dsl.ProviderApiLoader;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScript;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec;
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.FormatVersion;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
 
@@ -52,6 +53,7 @@ public class MappingScriptExporter {
         String outputScriptName = null;
         Set<Integer> supportedRevisions = new HashSet<>();
         MappingDirection mappingDirection = null;
+        FormatVersion formatVersion = FormatVersion.V1;
 
         int currentArgumentIndex = 0;
         while (currentArgumentIndex < arguments.length) {
@@ -105,6 +107,23 @@ public class MappingScriptExporter {
                 }
                 break;
 
+            case "-f":
+            case "--format":
+                String format = arguments[currentArgumentIndex++];
+                switch (format) {
+                case "v1":
+                    formatVersion = FormatVersion.V1;
+                    break;
+
+                case "v2":
+                    formatVersion = FormatVersion.V2;
+                    break;
+
+                default:
+                    throw new IllegalArgumentException("Unknown format '" + format + "',  must be 'v1' or 'v2'.");
+                }
+                break;
+
             default:
                 break;
             }
@@ -116,7 +135,7 @@ public class MappingScriptExporter {
         requireNonNull(outputScriptName, "No output script name given.");
 
         return new Arguments(consumerApiName, referencedApiName, referencedRevision, providerRevisionNames, supportedRevisions, mappingDirection,
-                outputScriptName);
+                outputScriptName, formatVersion);
     }
 
     void exportScript(Arguments arguments) {
@@ -132,7 +151,7 @@ public class MappingScriptExporter {
         ApiMappingScript mappingScript = new ApiMappingScriptGenerator().generateMappingScript(definitionResolution, arguments.mappingDirection);
 
         // Write the mapping script
-        this.writeScript(arguments.outputScriptName, mappingScript);
+        this.writeScript(arguments.outputScriptName, mappingScript, arguments.formatVersion);
     }
 
     private ConsumerApiDefinition loadConsumerApi(Arguments arguments) {
@@ -162,8 +181,8 @@ public class MappingScriptExporter {
         return new RevisionHistory(providerApis);
     }
 
-    private void writeScript(String fileName, ApiMappingScript script) {
-        byte[] scriptBytes = new ApiMappingScriptCodec().encodeScript(script);
+    private void writeScript(String fileName, ApiMappingScript script, FormatVersion formatVersion) {
+        byte[] scriptBytes = new ApiMappingScriptCodec().encodeScript(script, formatVersion);
 
         try (OutputStream outputStream = this.openOutputStream(fileName)) {
             outputStream.write(scriptBytes);
@@ -192,8 +211,10 @@ public class MappingScriptExporter {
 
         public final String outputScriptName;
 
+        public final FormatVersion formatVersion;
+
         public Arguments(String consumerApiName, String referencedApiName, int referencedRevision, List<String> providerRevisionNames,
-                Set<Integer> supportedRevisions, MappingDirection mappingDirection, String outputScriptName) {
+                Set<Integer> supportedRevisions, MappingDirection mappingDirection, String outputScriptName, FormatVersion formatVersion) {
             this.consumerApiName = consumerApiName;
             this.referencedApiName = referencedApiName;
             this.referencedRevision = referencedRevision;
@@ -201,6 +222,7 @@ public class MappingScriptExporter {
             this.supportedRevisions = supportedRevisions;
             this.mappingDirection = mappingDirection;
             this.outputScriptName = outputScriptName;
+            this.formatVersion = formatVersion;
         }
 
     }
@@ -1,5 +1,6 @@
 package gutta.apievolution.tools;
 
+import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptCodec.FormatVersion;
 import gutta.apievolution.fixedformat.apimapping.ApiMappingScriptGenerator.MappingDirection;
 import gutta.apievolution.tools.MappingScriptExporter.Arguments;
 import org.junit.jupiter.api.Test;
@@ -30,7 +31,8 @@ class MappingScriptExporterTest {
         List<String> providerRevisionNames = Arrays.asList("apis/provider-revision-1.api", "apis/provider-revision-2.api");
         Set<Integer> supportedRevisions = new HashSet<>(Arrays.asList(0, 1));
         
-        Arguments arguments = new Arguments(consumerApiName, "test.provider", 0, providerRevisionNames, supportedRevisions, MappingDirection.CONSUMER_TO_PROVIDER, "output.dat");
+        Arguments arguments = new Arguments(consumerApiName, "test.provider", 0, providerRevisionNames, supportedRevisions, MappingDirection.CONSUMER_TO_PROVIDER, "output.dat",
+                FormatVersion.V1);
         
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();        
         MappingScriptExporter exporter = new TestScriptExporter(outputStream);